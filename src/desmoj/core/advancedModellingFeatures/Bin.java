@@ -4,7 +4,10 @@ import co.paralleluniverse.fibers.SuspendExecution;
 import desmoj.core.simulator.QueueBased;
 import desmoj.core.simulator.QueueList;
 import desmoj.core.simulator.QueueListFifo;
+import desmoj.core.simulator.QueueListIndexedFifo;
 import desmoj.core.simulator.QueueListLifo;
+import desmoj.core.simulator.QueueListLinkedFifo;
+import desmoj.core.simulator.QueueListLinkedLifo;
 import desmoj.core.simulator.QueueListRandom;
 import desmoj.core.simulator.SimProcess;
 import desmoj.core.simulator.TimeInstant;
@@ -175,6 +178,12 @@ public class Bin extends desmoj.core.simulator.QueueBased {
             _queue = new QueueListLifo<SimProcess>(); break;
         case QueueBased.RANDOM :
             _queue = new QueueListRandom<SimProcess>(); break;
+        case QueueBased.FIFO_LINKED :
+            _queue = new QueueListLinkedFifo<SimProcess>(); break;
+        case QueueBased.LIFO_LINKED :
+            _queue = new QueueListLinkedLifo<SimProcess>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _queue = new QueueListIndexedFifo<SimProcess>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter " + sortOrder + " is not valid! "
@@ -5,7 +5,10 @@ import desmoj.core.simulator.Condition;
 import desmoj.core.simulator.QueueBased;
 import desmoj.core.simulator.QueueList;
 import desmoj.core.simulator.QueueListFifo;
+import desmoj.core.simulator.QueueListIndexedFifo;
 import desmoj.core.simulator.QueueListLifo;
+import desmoj.core.simulator.QueueListLinkedFifo;
+import desmoj.core.simulator.QueueListLinkedLifo;
 import desmoj.core.simulator.QueueListRandom;
 import desmoj.core.simulator.SimProcess;
 
@@ -121,6 +124,12 @@ public class CondQueue<P extends SimProcess> extends desmoj.core.simulator.Queue
             _queue = new QueueListLifo<P>(); break;
         case QueueBased.RANDOM :
             _queue = new QueueListRandom<P>(); break;
+        case QueueBased.FIFO_LINKED :
+            _queue = new QueueListLinkedFifo<P>(); break;
+        case QueueBased.LIFO_LINKED :
+            _queue = new QueueListLinkedLifo<P>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _queue = new QueueListIndexedFifo<P>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter " + sortOrder + " is not valid! "
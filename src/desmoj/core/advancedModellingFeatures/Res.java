@@ -4,13 +4,17 @@ package desmoj.core.advancedModellingFeatures;
 
 import java.util.Enumeration;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
 
 import co.paralleluniverse.fibers.SuspendExecution;
 import desmoj.core.simulator.Model;
 import desmoj.core.simulator.QueueBased;
 import desmoj.core.simulator.QueueList;
 import desmoj.core.simulator.QueueListFifo;
+import desmoj.core.simulator.QueueListIndexedFifo;
 import desmoj.core.simulator.QueueListLifo;
+import desmoj.core.simulator.QueueListLinkedFifo;
+import desmoj.core.simulator.QueueListLinkedLifo;
 import desmoj.core.simulator.QueueListRandom;
 import desmoj.core.simulator.Resource;
 import desmoj.core.simulator.ResourceDB;
@@ -67,7 +71,7 @@ public class Res extends desmoj.core.simulator.QueueBased {
 	 * The number identifying a Res object. Because it is a class variable each
 	 * <code>Res</code> will get its own ID number starting by zero.
 	 */
-	private static long resNumber = 0;
+	private static final AtomicLong resNumber = new AtomicLong();
 
 	/**
 	 * The ID number of this <code>Res</code> object.
@@ -250,7 +254,7 @@ public class Res extends desmoj.core.simulator.QueueBased {
 			int capacity, boolean showInReport, boolean showInTrace) {
 		super(owner, name, showInReport, showInTrace); // construct QueueBased
 
-		_idNumber = resNumber++; // increment the resNumber and get it as
+		_idNumber = resNumber.getAndIncrement(); // increment the resNumber and get it as
 		// IDNumber
 
         // determine the queueing strategy
@@ -261,6 +265,12 @@ public class Res extends desmoj.core.simulator.QueueBased {
             _queue = new QueueListLifo<SimProcess>(); break;
         case QueueBased.RANDOM :
             _queue = new QueueListRandom<SimProcess>(); break;
+        case QueueBased.FIFO_LINKED :
+            _queue = new QueueListLinkedFifo<SimProcess>(); break;
+        case QueueBased.LIFO_LINKED :
+            _queue = new QueueListLinkedLifo<SimProcess>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _queue = new QueueListIndexedFifo<SimProcess>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter " + sortOrder + " is not valid! "
@@ -374,7 +384,7 @@ public class Res extends desmoj.core.simulator.QueueBased {
 			boolean showInTrace) {
 		super(owner, name, showInReport, showInTrace); // construct QueueBased
 
-		_idNumber = resNumber++; // increment the resNumber and get it as
+		_idNumber = resNumber.getAndIncrement(); // increment the resNumber and get it as
 		// IDNumber
 
 		// make an actual queue and give it a reference of this "QueueBased"-Res
@@ -6,7 +6,10 @@ import desmoj.core.simulator.ProcessQueue;
 import desmoj.core.simulator.QueueBased;
 import desmoj.core.simulator.QueueList;
 import desmoj.core.simulator.QueueListFifo;
+import desmoj.core.simulator.QueueListIndexedFifo;
 import desmoj.core.simulator.QueueListLifo;
+import desmoj.core.simulator.QueueListLinkedFifo;
+import desmoj.core.simulator.QueueListLinkedLifo;
 import desmoj.core.simulator.QueueListRandom;
 import desmoj.core.simulator.SimProcess;
 import desmoj.core.simulator.TimeInstant;
@@ -251,6 +254,12 @@ public class Stock extends QueueBased {
             _consumerQueue = new QueueListLifo<SimProcess>(); break;
         case QueueBased.RANDOM :
             _consumerQueue = new QueueListRandom<SimProcess>(); break;
+        case QueueBased.FIFO_LINKED :
+            _consumerQueue = new QueueListLinkedFifo<SimProcess>(); break;
+        case QueueBased.LIFO_LINKED :
+            _consumerQueue = new QueueListLinkedLifo<SimProcess>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _consumerQueue = new QueueListIndexedFifo<SimProcess>(); break;
         default :
             sendWarning(
                     "The given consSortOrder parameter " + consSortOrder + " is not valid! "
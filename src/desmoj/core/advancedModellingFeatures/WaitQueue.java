@@ -5,7 +5,10 @@ import desmoj.core.simulator.ProcessQueue;
 import desmoj.core.simulator.QueueBased;
 import desmoj.core.simulator.QueueList;
 import desmoj.core.simulator.QueueListFifo;
+import desmoj.core.simulator.QueueListIndexedFifo;
 import desmoj.core.simulator.QueueListLifo;
+import desmoj.core.simulator.QueueListLinkedFifo;
+import desmoj.core.simulator.QueueListLinkedLifo;
 import desmoj.core.simulator.QueueListRandom;
 import desmoj.core.simulator.SimProcess;
 import desmoj.core.simulator.TimeInstant;
@@ -177,6 +180,12 @@ public class WaitQueue<M extends SimProcess, S extends SimProcess> extends desmo
 			masterQueue = new QueueListLifo<M>(); break;
 		case QueueBased.RANDOM :
 			masterQueue = new QueueListRandom<M>(); break;
+		case QueueBased.FIFO_LINKED :
+			masterQueue = new QueueListLinkedFifo<M>(); break;
+		case QueueBased.LIFO_LINKED :
+			masterQueue = new QueueListLinkedLifo<M>(); break;
+		case QueueBased.FIFO_INDEXED :
+			masterQueue = new QueueListIndexedFifo<M>(); break;
 		default :
 			sendWarning(
 					"The given mSortOrder parameter " + mSortOrder + " is not valid! "
@@ -492,7 +501,7 @@ public class WaitQueue<M extends SimProcess, S extends SimProcess> extends desmo
 				slave.skipTraceNote(); 
 				slave.activate(); 
 				sRemoved++; 
-				slave.sendTraceNote("has removed " + slave.getQuotedName() + " from the slave queue "); 
+				slave.sendTraceNote("has removed '%s' from the slave queue ", slave); 
 				return true; 
 			}	
 		}
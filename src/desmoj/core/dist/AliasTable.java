@@ -0,0 +1,104 @@
+package desmoj.core.dist;
+
+/**
+ * Alias table of Walker for sampling an index from a finite range of
+ * indices with individual probabilities in constant time, built by Vose's
+ * method in linear time. Used by the empirical distributions in fast sampling
+ * mode. Each sample consumes exactly one uniformly distributed random number,
+ * which is however not mapped monotonously to the index sampled, so alias
+ * sampling is not suitable for antithetic random numbers.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+final class AliasTable {
+
+    /**
+     * Probability of keeping the index of a column instead of taking its
+     * alias.
+     */
+    private final double[] _probability;
+
+    /**
+     * The alias index of each column.
+     */
+    private final int[] _alias;
+
+    /**
+     * Builds the alias table for the (not necessarily normalized) weights
+     * given. The weights must not be negative and must not all be zero.
+     *
+     * @param weights
+     *            double[] : The relative probability of each index
+     */
+    AliasTable(double[] weights) {
+
+        int n = weights.length;
+        _probability = new double[n];
+        _alias = new int[n];
+
+        double total = 0;
+        for (double w : weights) {
+            total += w;
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n], large = new int[n];
+        int numSmall = 0, numLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            _alias[i] = i;
+            if (scaled[i] < 1) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
+            }
+        }
+
+        // fill up each small column with a part of a large one
+        while (numSmall > 0 && numLarge > 0) {
+            int s = small[--numSmall];
+            int l = large[--numLarge];
+            _probability[s] = scaled[s];
+            _alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1;
+            if (scaled[l] < 1) {
+                small[numSmall++] = l;
+            } else {
+                large[numLarge++] = l;
+            }
+        }
+
+        // remaining columns are full (up to rounding errors)
+        while (numLarge > 0) {
+            _probability[large[--numLarge]] = 1;
+        }
+        while (numSmall > 0) {
+            _probability[small[--numSmall]] = 1;
+        }
+    }
+
+    /**
+     * Samples an index, using one random number of the generator given.
+     *
+     * @return int : The index sampled
+     */
+    int sample(UniformRandomGenerator rg) {
+
+        double u = rg.nextDouble() * _probability.length;
+        int i = Math.min((int) u, _probability.length - 1);
+
+        return (u - i) < _probability[i] ? i : _alias[i];
+    }
+}
@@ -44,6 +44,67 @@ public abstract class ContDist extends NumericalDist<Double> {
 		super(owner, name, showInReport, showInTrace);
 	}
 
+	/**
+	 * Constructs a distribution stating whether its samples are obtained by
+	 * inverse transformation, which allows bulk sampling in a tight loop (see
+	 * <code>NumericalDist.sampledByInversion</code>).
+	 * 
+	 * @param owner
+	 *            Model : The distribution's owner
+	 * @param name
+	 *            java.lang.String : The distribution's name
+	 * @param showInReport
+	 *            boolean : Flag to show distribution in report
+	 * @param showInTrace
+	 *            boolean : Flag to show distribution in trace
+	 * @param sampledByInversion
+	 *            boolean : <code>true</code> if samples are obtained by
+	 *            inverse transformation only
+	 */
+	protected ContDist(desmoj.core.simulator.Model owner, String name, boolean showInReport,
+			boolean showInTrace, boolean sampledByInversion) {
+		super(owner, name, showInReport, showInTrace, sampledByInversion);
+	}
+
+    /**
+     * Fills the given range of the buffer with the next <code>len</code>
+     * samples of this distribution, which are the same values as returned by
+     * <code>len</code> calls to <code>sample()</code>. Distributions sampling
+     * by inverse transformation are sampled in a tight loop: the observations
+     * are counted once and, instead of a trace note per sample, a single
+     * trace note is sent for all samples.
+     * 
+     * @param buf
+     *            double[] : The buffer to be filled
+     * @param off
+     *            int : The position of the first sample in the buffer
+     * @param len
+     *            int : The number of samples to draw
+     */
+    public void sampleInto(double[] buf, int off, int len) {
+
+        bulkSample(buf, buf.length, off, len, "void sampleInto(double[] buf, int off, int len)");
+    }
+
+    /**
+     * Returns the next sample as primitive <code>double</code>, taken from
+     * the pre-fetch buffer in pre-fetch mode (see
+     * <code>setPrefetchSize(int)</code>). The buffer is refilled with
+     * <code>getPrefetchSize()</code> samples when exhausted, which is the
+     * only time a trace note is sent. If pre-fetch mode is off, the sample is
+     * obtained by <code>sample()</code>.
+     * 
+     * @return double : The next sample from this distribution
+     */
+    public double samplePrefetched() {
+
+        if (getPrefetchSize() == 0) {
+            return sample();
+        }
+        int position = nextPrefetchPosition("double samplePrefetched()");
+        return ((double[]) prefetchBuffer())[position];
+    }
+
     /**
      * Convenience method to sample a period of random length by creating a
      * <code>TimeSpan</code> whose length is determined by sampling this
@@ -101,6 +101,16 @@ public class ContDistBeta extends ContDist {
 	 */
 	public Double sample() {
 
+		if (useFastSampling()) { // gamma samples by Marsaglia and Tsang
+			incrementObservations();
+			double gammaval1 = FastSamplers.gamma(alpha, randomGenerator);
+			double gammaval2 = FastSamplers.gamma(beta, randomGenerator);
+			double newSample = gammaval1/(gammaval1 + gammaval2);
+			if (this.currentlySendTraceNotes())
+				this.traceLastSample(Double.toString(newSample));
+			return newSample;
+		}
+
 		double newSample = -1; //
 		double randomNumber1 = randomGenerator.nextDouble();
 		double randomNumber2 = randomGenerator.nextDouble();
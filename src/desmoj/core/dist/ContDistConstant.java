@@ -44,7 +44,7 @@ public class ContDistConstant extends ContDist {
 	 */
 	public ContDistConstant(Model owner, String name, double constantValue,
 			boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		_constValue = constantValue;
 
 	}
@@ -71,7 +71,7 @@ public class ContDistCustom extends ContDist {
 	public ContDistCustom(Model owner, String name, Function function,
 			double lower, double upper, boolean showInReport,
 			boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		distFunction = function;
 		lowerBound = lower;
 		upperBound = upper;
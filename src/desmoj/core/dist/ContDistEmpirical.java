@@ -55,6 +55,12 @@ public class ContDistEmpirical extends ContDist {
 	 */
 	private boolean _cumProOneInitialized;
 
+	/**
+	 * Values and cumulative frequencies of the entries as arrays for binary
+	 * search, built on demand and discarded whenever an entry is added.
+	 */
+	private double[] _entryValues, _entryFrequencies;
+
 	/**
 	 * Entries in the Vector for RealDistEmpirical. In order to keep tightly
 	 * coupled classes in one location, this class is a member class of
@@ -109,7 +115,7 @@ public class ContDistEmpirical extends ContDist {
 	public ContDistEmpirical(Model owner, String name, boolean showInReport,
 			boolean showInTrace) {
 
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		_values = new java.util.ArrayList<Entry>(); // Initialize List for values
 		_isInitialized = false; // No entries made yet
 		_cumProOneInitialized = false; // No entries made yet
@@ -134,6 +140,8 @@ public class ContDistEmpirical extends ContDist {
 		}
 
 		_values.add(position, new Entry(value, frequency));
+		_entryValues = null; // rebuilt on demand
+		_entryFrequencies = null;
 
 
 	}
@@ -283,16 +291,30 @@ public class ContDistEmpirical extends ContDist {
 			// the simulation
 		}
 
-		int i = 1; // counting variable to loop values
+		if (_entryFrequencies == null) {
+			_entryValues = new double[_values.size()];
+			_entryFrequencies = new double[_values.size()];
+			for (int i = 0; i < _entryValues.length; i++) {
+				_entryValues[i] = _values.get(i).entryValue;
+				_entryFrequencies[i] = _values.get(i).entryFrequency;
+			}
+		}
 
-		while (_values.get(i).entryFrequency < p) {
-			i++; // try next item
+		// binary search for the first entry (but the very first) reaching p
+		int i = 1, high = _entryFrequencies.length - 1;
+		while (i < high) {
+			int mid = (i + high) >>> 1;
+			if (_entryFrequencies[mid] >= p) {
+				high = mid;
+			} else {
+				i = mid + 1;
+			}
 		}
 
-		double lowVal = _values.get(i - 1).entryValue;
-		double lowFreq = _values.get(i - 1).entryFrequency;
-		double highVal = _values.get(i).entryValue;
-		double highFreq = _values.get(i).entryFrequency;
+		double lowVal = _entryValues[i - 1];
+		double lowFreq = _entryFrequencies[i - 1];
+		double highVal = _entryValues[i];
+		double highFreq = _entryFrequencies[i];
 		double newSample = lowVal
 				+ (((highVal - lowVal) * (p - lowFreq)) / (highFreq - lowFreq));
 
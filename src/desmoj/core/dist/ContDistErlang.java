@@ -55,6 +55,7 @@ public class ContDistErlang extends ContDistExponential {
 	public ContDistErlang(Model owner, String name, long order, double mean,
 			boolean showInReport, boolean showInTrace) {
 		super(owner, name, mean, showInReport, showInTrace);
+		sampledByInversion = false; // sums of exponential samples
 
 		k = order;
 	}
@@ -104,6 +105,10 @@ public class ContDistErlang extends ContDistExponential {
 	 */
 	public Double sample() {
 
+		if (useFastSampling()) { // one gamma sample, see sampleDirectly()
+			return super.sample();
+		}
+
 		double newSample = 0.0; // auxiliary variable for computing the sample
 
 		for (int i = 1; i <= k; i++) { // iteration over order of Erlang number
@@ -124,6 +129,17 @@ public class ContDistErlang extends ContDistExponential {
 		return newSample;
 
 	}
+
+	/**
+	 * Draws a sample by the method of Marsaglia and Tsang in fast sampling
+	 * mode, i.e. as a single gamma distributed value of shape k instead of as
+	 * the mean of k exponentially distributed values.
+	 * 
+	 * @return Double : The sample drawn
+	 */
+	protected Double sampleDirectly() {
+		return FastSamplers.gamma(k, randomGenerator) * mean / k;
+	}
 	
     /**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
@@ -46,7 +46,7 @@ public class ContDistExponential extends ContDist {
 	 */
 	public ContDistExponential(Model owner, String name, double mean,
 			boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		this.mean = mean;
 	}
 
@@ -82,6 +82,15 @@ public class ContDistExponential extends ContDist {
 
         return super.sample();
     }
+
+    /**
+     * Draws a sample by the ziggurat method in fast sampling mode.
+     * 
+     * @return Double : The sample drawn
+     */
+    protected Double sampleDirectly() {
+        return FastSamplers.exponential(randomGenerator) * mean;
+    }
         
     /**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
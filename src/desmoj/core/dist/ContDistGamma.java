@@ -61,7 +61,7 @@ public class ContDistGamma extends ContDist {
 	 */
 	public ContDistGamma(Model owner, String name, double alpha, double beta,
 			boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		this.alpha = alpha;
 		this.beta = beta;
 	    this.gammadist = new org.apache.commons.math.distribution.GammaDistributionImpl(alpha, beta);
@@ -110,6 +110,16 @@ public class ContDistGamma extends ContDist {
 
         return super.sample();
     }
+
+    /**
+     * Draws a sample by the method of Marsaglia and Tsang in fast sampling
+     * mode.
+     * 
+     * @return Double : The sample drawn
+     */
+    protected Double sampleDirectly() {
+        return FastSamplers.gamma(alpha, randomGenerator) * beta;
+    }
         
     /**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
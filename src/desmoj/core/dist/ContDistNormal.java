@@ -230,7 +230,8 @@ public class ContDistNormal extends ContDist {
 	 * standard deviation values specified for this distribution. The basic
 	 * algorithm has been taken from the Java API
 	 * <code>java.util.Random.nextGaussian()</code> with the feature of
-	 * antithetic random numbers added.
+	 * antithetic random numbers added. In fast sampling mode, the ziggurat
+	 * method is used instead.
 	 * 
 	 * @return Double : The next normally (also known as "Gaussian") distributed
 	 *         sample from this distribution.
@@ -242,7 +243,12 @@ public class ContDistNormal extends ContDist {
 		incrementObservations(); // increase count of samples
 
 		do {
-			if (haveNextGaussian) { // a Gaussian already calculated?
+			if (useFastSampling()) { // ziggurat method, no buffering needed
+
+				double z = FastSamplers.normal(randomGenerator);
+				newSample = z < 0 ? z * stdDevLeft + mode : z * stdDevRight + mode;
+
+			} else if (haveNextGaussian) { // a Gaussian already calculated?
 
 				haveNextGaussian = false; // set Flag that last Gaussian is
 				// gone
@@ -61,7 +61,7 @@ public class ContDistTriangular extends ContDist {
 	 */
 	public ContDistTriangular(Model owner, String name, double lower,
 			double upper, double peak, boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		this.lower = lower;
 		this.upper = upper;
 		this.peak = peak;
@@ -59,7 +59,7 @@ public class ContDistUniform extends ContDist {
 	 */
 	public ContDistUniform(Model owner, String name, double lowerBorder,
 			double upperBorder, boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 
 		if (lowerBorder <= upperBorder) {
 			_min = lowerBorder;
@@ -71,6 +71,16 @@ public class ContDistWeibull extends ContDistExponential {
 
         return super.sample();
     }
+
+    /**
+     * Draws a sample by transforming an exponential sample drawn by the
+     * ziggurat method in fast sampling mode.
+     * 
+     * @return Double : The sample drawn
+     */
+    protected Double sampleDirectly() {
+        return Math.pow(FastSamplers.exponential(randomGenerator) * mean, 1 / beta);
+    }
         
     /**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
@@ -98,7 +98,7 @@ public class DiscreteDistBinomial extends DiscreteDist<Long> {
 	 */
 	public DiscreteDistBinomial(Model owner, String name, double probability,
 			int amount, boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		this.probability = probability;
 		this.amount = amount;
 		valueList = new ArrayList<Entry>();
@@ -174,6 +174,16 @@ public class DiscreteDistBinomial extends DiscreteDist<Long> {
 
         return super.sample();
     }
+
+    /**
+     * Draws a sample by the BTPE algorithm (or by inversion if only few
+     * successes are expected) in fast sampling mode.
+     * 
+     * @return Long : The sample drawn
+     */
+    protected Long sampleDirectly() {
+        return FastSamplers.binomial(amount, probability, randomGenerator);
+    }
         
     /**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
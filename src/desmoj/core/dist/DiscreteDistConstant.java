@@ -44,7 +44,7 @@ public class DiscreteDistConstant<N extends Number> extends DiscreteDist<N> {
 	 */
 	public DiscreteDistConstant(Model owner, String name, N constantValue,
 			boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		_constValue = constantValue;
 
 	}
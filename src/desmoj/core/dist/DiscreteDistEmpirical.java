@@ -43,6 +43,19 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 	 */
 	private double _totalProbabilities;
 
+	/**
+	 * Cumulative probabilities of the entries for sampling by inverse
+	 * transformation, built on demand and discarded whenever entries are
+	 * added or removed.
+	 */
+	private double[] _cumulative;
+
+	/**
+	 * Alias table of the entries for sampling in fast sampling mode, built on
+	 * demand and discarded whenever entries are added or removed.
+	 */
+	private AliasTable _aliasTable;
+
 	/**
 	 * Inner class for entries
 	 */
@@ -92,7 +105,7 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 	public DiscreteDistEmpirical(Model owner, String name,
 			boolean showInReport, boolean showInTrace) {
 
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		_values = new java.util.ArrayList<Entry>(); // Initialize Vector for
 		// values
 		_isInitialized = false; // No entries made yet
@@ -126,6 +139,7 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 		_values.add(new Entry(value, frequency));
 		_isInitialized = true;
 		_totalProbabilities += frequency;
+		discardTables();
 	}
 
 	/**
@@ -136,13 +150,15 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 	 */
 	public void removeEntry(N value) {
 
-        for (Entry e : _values) {
+        for (java.util.Iterator<Entry> i = _values.iterator(); i.hasNext();) {
+            Entry e = i.next();
             if (e.entryValue == value) {
                 _totalProbabilities -= e.entryFrequency;
-                _values.remove(e);
+                i.remove();
             }
 
         }
+        discardTables();
 
         if (_values.isEmpty()) {
             _isInitialized = false;
@@ -171,13 +187,15 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
      */
     public void removeEntry(N value, double tolerance) {
 
-        for (Entry e : _values) {
+        for (java.util.Iterator<Entry> i = _values.iterator(); i.hasNext();) {
+            Entry e = i.next();
             if (e.entryValue.doubleValue() - value.doubleValue() < tolerance) {
                 _totalProbabilities -= e.entryFrequency;
-                _values.remove(e);
+                i.remove();
             }
 
         }
+        discardTables();
 
         if (_values.isEmpty()) {
             _isInitialized = false;
@@ -213,7 +231,9 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 
 	/**
 	 * Returns the next sample specified by the empirical distribution. In
-	 * contrast to RealDistEmpirical here is no interpolation needed.
+	 * contrast to RealDistEmpirical here is no interpolation needed. The
+	 * sample is looked up by binary search or, in fast sampling mode, by the
+	 * alias method.
 	 * 
 	 * @return N : The next sample for this empirical distribution or
 	 *         returns zero (0) with a warning if the distribution has not been
@@ -249,17 +269,70 @@ public class DiscreteDistEmpirical<N extends Number> extends DiscreteDist<N> {
 			return null; // return null if its not initialized
 		}
 
-		double currentCumProbability = 0;
-		int i = 0;
+		if (_cumulative == null) {
+			_cumulative = new double[_values.size()];
+			double currentCumProbability = 0;
+			for (int i = 0; i < _cumulative.length; i++) {
+				currentCumProbability += (_values.get(i).entryFrequency)
+						/ _totalProbabilities;
+				_cumulative[i] = currentCumProbability;
+			}
+		}
 
-		while (true) {
-		    currentCumProbability += (_values.get(i).entryFrequency)
-					/ _totalProbabilities;
-		    if (currentCumProbability >= p) break; 
-            i++;
+		// binary search for the first entry reaching p
+		int low = 0, high = _cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (_cumulative[mid] >= p) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
 		}
 
-		N newSample = _values.get(i).entryValue;
+		return checkSample(_values.get(low).entryValue);
+	}
+
+	/**
+	 * Draws a sample by the alias method in fast sampling mode, taking
+	 * constant time regardless of the number of entries.
+	 * 
+	 * @return N : The sample drawn
+	 */
+	protected N sampleDirectly() {
+
+		if (!_isInitialized) { // let inversion issue the warning
+			return getInverseOfCumulativeProbabilityFunction(randomGenerator.nextDouble());
+		}
+
+		if (_aliasTable == null) {
+			double[] frequencies = new double[_values.size()];
+			for (int i = 0; i < frequencies.length; i++) {
+				frequencies[i] = _values.get(i).entryFrequency;
+			}
+			_aliasTable = new AliasTable(frequencies);
+		}
+
+		return checkSample(_values.get(_aliasTable.sample(randomGenerator)).entryValue);
+	}
+
+	/**
+	 * Discards the tables for sampling, to be rebuilt on demand after entries
+	 * have been added or removed.
+	 */
+	private void discardTables() {
+
+		_cumulative = null;
+		_aliasTable = null;
+	}
+
+	/**
+	 * Warns if a negative sample is returned from a non-negative
+	 * distribution.
+	 * 
+	 * @return N : The sample given
+	 */
+	private N checkSample(N newSample) {
 
 		double parseDouble = Double.parseDouble(newSample.toString());
 		if (nonNegative && parseDouble < 0) {
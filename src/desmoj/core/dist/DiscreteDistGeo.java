@@ -94,7 +94,7 @@ public class DiscreteDistGeo extends DiscreteDist<Long> {
 	 */
 	public DiscreteDistGeo(Model owner, String name, double probability,
 			boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		
 		if (probability <= 0 || probability >= 1) {
 			sendWarning(
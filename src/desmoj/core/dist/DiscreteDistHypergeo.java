@@ -105,7 +105,7 @@ public class DiscreteDistHypergeo extends DiscreteDist<Long> {
 	public DiscreteDistHypergeo(Model owner, String name, int setSize,
 			int markedAmount, int subsetSize, boolean showInReport,
 			boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 		this.setSize = setSize;
 		this.markedAmount = markedAmount;
 		this.subsetSize = subsetSize;
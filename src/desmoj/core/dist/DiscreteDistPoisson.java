@@ -101,6 +101,13 @@ public class DiscreteDistPoisson extends DiscreteDist<Long> {
 	    
 	    incrementObservations();
 	    
+	    if (useFastSampling()) { // PTRS, accurate for large means, too
+	        long sample = FastSamplers.poisson(mean, randomGenerator);
+	        if (this.currentlySendTraceNotes())
+	            this.traceLastSample(Long.toString(sample));
+	        return sample;
+	    }
+	    
 	    double l = Math.exp(-mean);
 	    long k = 0;
 	    double p = 1;
@@ -64,7 +64,7 @@ public class DiscreteDistUniform extends DiscreteDist<Long> {
 	 */
 	public DiscreteDistUniform(Model owner, String name, long minValue,
 			long maxValue, boolean showInReport, boolean showInTrace) {
-		super(owner, name, showInReport, showInTrace);
+		super(owner, name, showInReport, showInTrace, true);
 
 		if (minValue <= maxValue) {
 			_min = minValue;
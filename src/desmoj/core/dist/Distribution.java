@@ -81,6 +81,12 @@ public abstract class Distribution extends desmoj.core.simulator.Reportable {
 	 */
 	protected boolean nonNegative;
 
+	/**
+	 * The status of fast sampling mode. If set to <code>true</code>, samples
+	 * are drawn by a direct algorithm unless antithetic mode is on.
+	 */
+	protected boolean fastSampling;
+
 	/**
 	 * Creates a RandomDistribution object which gets its initial seed from the
 	 * experiment's seedgenerator. The
@@ -303,6 +309,48 @@ public abstract class Distribution extends desmoj.core.simulator.Reportable {
 
 	}
 
+	/**
+	 * Switches this distribution to fast sampling mode, in which samples are
+	 * drawn by a direct algorithm specific to the distribution (e.g. the
+	 * ziggurat method for exponential and normal samples, the method of
+	 * Marsaglia and Tsang for gamma samples or the alias method for empirical
+	 * distributions) instead of by inverse transformation, if the
+	 * distribution provides one. Such algorithms consume a varying number of
+	 * random numbers per sample or do not map random numbers monotonously to
+	 * samples, so that samples of different runs are no longer synchronized.
+	 * Thus, fast sampling is off by default and has no effect while
+	 * antithetic mode is on; it should not be used for experiments relying on
+	 * common random numbers either.
+	 * 
+	 * @param fastSampling
+	 *            boolean : <code>true</code> switches fast sampling mode on,
+	 *            <code>false</code> switches it off
+	 */
+	public void setFastSampling(boolean fastSampling) {
+		this.fastSampling = fastSampling;
+	}
+	
+	/**
+	 * Tells whether fast sampling mode is switched on for this distribution.
+	 * 
+	 * @return boolean : The status of fast sampling mode
+	 * @see desmoj.core.dist.Distribution#setFastSampling
+	 */
+	public boolean isFastSampling() {
+		return fastSampling;
+	}
+	
+	/**
+	 * Tells whether samples are currently to be drawn by the direct algorithm
+	 * of fast sampling mode, which is the case if fast sampling mode is on and
+	 * antithetic mode is off.
+	 * 
+	 * @return boolean : <code>true</code> if samples are drawn directly
+	 */
+	protected boolean useFastSampling() {
+		return fastSampling && !antithetic;
+	}
+	
 	/**
 	 * Sets the nonNegative switch to the given value. If nonNegative is set to
 	 * <code>true</code> the distribution returns positive samples only,
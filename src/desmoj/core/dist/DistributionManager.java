@@ -51,6 +51,29 @@ public class DistributionManager extends NamedObject {
 	 * The seed of the internal seed-generator
 	 */
 	private long _seed;
+
+	/**
+	 * Value sets substream mode for all distributions registering at the
+	 * distributionmanager.
+	 */
+	private boolean _substreamMode;
+
+	/**
+	 * The substream to be assigned to the first distribution registering in
+	 * substream mode.
+	 */
+	private long _firstSubstream;
+
+	/**
+	 * The number of substreams assigned so far.
+	 */
+	private long _substreamsAssigned;
+
+	/**
+	 * Value sets fast sampling mode for all distributions registering at the
+	 * distributionmanager.
+	 */
+	private boolean _fastSamplingMode;
 	
 	/**
 	 * Creates a new distributionManager with the given name and the given
@@ -97,8 +120,16 @@ public class DistributionManager extends NamedObject {
 	 */
 	public void newSeedAll() {
 
+		// in substream mode, a common new seed keeps the substreams apart
+		long commonSeed = _substreamMode ? nextSeed() : 0;
+
 		for (Distribution d : _distributions) {
-			d.setSeed(nextSeed());
+			if (_substreamMode
+					&& d.randomGenerator instanceof SplittableRandomGenerator) {
+				d.setSeed(commonSeed);
+			} else {
+				d.setSeed(nextSeed());
+			}
 		}
 	}
 
@@ -125,7 +156,16 @@ public class DistributionManager extends NamedObject {
 	public void register(Distribution dist) {
 
 		dist.setAntithetic(_antitheticMode); // set antithetic mode to default
-		dist.setSeed(nextSeed()); // set new seed
+		dist.setFastSampling(_fastSamplingMode);
+		if (_substreamMode
+				&& dist.randomGenerator instanceof SplittableRandomGenerator) {
+			// own substream of the common seed
+			((SplittableRandomGenerator) dist.randomGenerator)
+					.setSubstream(_firstSubstream + _substreamsAssigned++);
+			dist.setSeed(_seed);
+		} else {
+			dist.setSeed(nextSeed()); // set new seed
+		}
 		_distributions.add(dist); // add to Vector
 
 	}
@@ -155,6 +195,37 @@ public class DistributionManager extends NamedObject {
 		}
 	}
 
+	/**
+	 * Sets fast sampling mode on all registered distributions and on all
+	 * distributions registering later on. In fast sampling mode,
+	 * distributions draw samples by direct algorithms instead of by inverse
+	 * transformation wherever available; see
+	 * <code>Distribution.setFastSampling(boolean)</code>. Fast sampling is
+	 * off by default and should not be switched on for experiments relying on
+	 * common random numbers.
+	 * 
+	 * @param fastSamplingMode
+	 *            boolean : The new status of fast sampling mode
+	 */
+	public void setFastSamplingAll(boolean fastSamplingMode) {
+
+		_fastSamplingMode = fastSamplingMode;
+		for (Distribution d : _distributions) {
+			d.setFastSampling(fastSamplingMode);
+		}
+	}
+
+	/**
+	 * Tells whether fast sampling mode is set for distributions registering
+	 * at the distributionmanager.
+	 * 
+	 * @return boolean : The status of fast sampling mode
+	 */
+	public boolean isFastSamplingMode() {
+
+		return _fastSamplingMode;
+	}
+
 	/**
 	 * Sets the seed of the SeedGenerator to the given value. If the seed is not
 	 * set here, its default is zero, unless specified in the experimentoptions.
@@ -170,6 +241,62 @@ public class DistributionManager extends NamedObject {
 
 	}
 
+	/**
+	 * Switches substream mode on or off for all distributions registering from
+	 * now on. In substream mode, each distribution whose random number
+	 * generator implements <code>SplittableRandomGenerator</code> (e.g.
+	 * <code>Xoshiro256StarStarRandomGenerator</code>) is seeded with the seed
+	 * of this distributionmanager and assigned a substream of its own, so the
+	 * streams of all distributions are guaranteed not to overlap. Other
+	 * distributions are seeded by the seed generator as usual. Substream mode
+	 * is off by default.
+	 * <p>
+	 * Distributions are assigned consecutive substreams in the order they
+	 * register, so the assignment is reproducible as long as the model
+	 * creates its distributions in the same order.
+	 * 
+	 * @see desmoj.core.dist.SplittableRandomGenerator
+	 * @see #setRandomNumberGenerator(Class)
+	 * 
+	 * @param substreamMode
+	 *            boolean : The new status of substream mode
+	 */
+	public void setSubstreamMode(boolean substreamMode) {
+
+		_substreamMode = substreamMode;
+
+	}
+
+	/**
+	 * Returns the status of substream mode.
+	 * 
+	 * @return boolean : <code>true</code> if distributions registering are
+	 *         assigned substreams of their own, <code>false</code> otherwise
+	 */
+	public boolean isSubstreamMode() {
+
+		return _substreamMode;
+
+	}
+
+	/**
+	 * Sets the substream to be assigned to the next distribution registering
+	 * in substream mode; the following distributions get the subsequent
+	 * substreams. Starting the replications of an experiment at multiples of
+	 * (an upper bound of) the number of distributions of the model gives each
+	 * replication its own range of substreams, keeping all replications
+	 * apart. The default is 0.
+	 * 
+	 * @param firstSubstream
+	 *            long : The substream to be assigned next
+	 */
+	public void setFirstSubstream(long firstSubstream) {
+
+		_firstSubstream = firstSubstream;
+		_substreamsAssigned = 0;
+
+	}
+
 	/**
 	 * Returns the initial seed.
 	 * 
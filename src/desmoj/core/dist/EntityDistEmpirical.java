@@ -46,6 +46,19 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 	 */
 	private double _totalProbabilities;
 
+	/**
+	 * Cumulative relative probabilities of the entries for sampling by
+	 * inverse transformation, built on demand and discarded whenever the
+	 * entries change.
+	 */
+	private double[] _cumulative;
+
+	/**
+	 * Alias table of the entries for sampling in fast sampling mode, built on
+	 * demand and discarded whenever the entries change.
+	 */
+	private AliasTable _aliasTable;
+
 	/**
 	 * Inner class for entries.
 	 */
@@ -154,6 +167,7 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 		this._totalProbabilities += probability;
 		if (this._totalProbabilities > 0.0)
 			this._isInitialized = true;
+		this.discardTables();
 		return true;
 	}
 
@@ -203,6 +217,7 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 			if (entry.entity == e) {
 				this._totalProbabilities += newProbability - entry.probability;
 				entry.probability = newProbability;
+				this.discardTables();
 				if (this._totalProbabilities <= 0.0)
 					this._isInitialized = false;
 				return;
@@ -244,6 +259,7 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 			if (this._entries.get(i).entity == e) {
 				this._totalProbabilities -= this._entries.get(i).probability;
 				this._entries.remove(i);
+				this.discardTables();
 				if (this._totalProbabilities <= 0.0)
 					this._isInitialized = false;
 				return true;
@@ -253,7 +269,8 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 	}
 
 	/**
-	 * Returns the next empirically distributed entity sample.
+	 * Returns the next empirically distributed entity sample, which is looked
+	 * up by binary search or, in fast sampling mode, by the alias method.
 	 * 
 	 * @return E : The next empirically distributed entity sample
 	 */
@@ -278,17 +295,51 @@ public class EntityDistEmpirical<E extends Entity> extends EntityDist<E> {
 		// using results as index
 		incrementObservations(); // increase count of samples
 
+		if (this.useFastSampling()) { // alias method, constant time
+			if (this._aliasTable == null) {
+				double[] probabilities = new double[this._entries.size()];
+				for (int i = 0; i < probabilities.length; i++) {
+					probabilities[i] = this._entries.get(i).probability;
+				}
+				this._aliasTable = new AliasTable(probabilities);
+			}
+			return this._entries.get(this._aliasTable.sample(randomGenerator)).entity;
+		}
+
 		double q = randomGenerator.nextDouble() * this._totalProbabilities;
 		if (antithetic)
 			q = this._totalProbabilities - q; // check for antithetic
 
-		double currentSum = 0;
-		for (int i = 0; i < this._entries.size() - 1; i++) {
-			currentSum += this._entries.get(i).probability;
-			if (currentSum > q)
-				return this._entries.get(i).entity;
+		if (this._cumulative == null) {
+			this._cumulative = new double[this._entries.size() - 1];
+			double currentSum = 0;
+			for (int i = 0; i < this._cumulative.length; i++) {
+				currentSum += this._entries.get(i).probability;
+				this._cumulative[i] = currentSum;
+			}
 		}
-		return this._entries.get(this._entries.size() - 1).entity;
+
+		// binary search for the first entry exceeding q, the last entry if none
+		int low = 0, high = this._cumulative.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (this._cumulative[mid] > q) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return this._entries.get(low).entity;
+	}
+
+	/**
+	 * Discards the tables for sampling, to be rebuilt on demand after the
+	 * entries have changed.
+	 */
+	private void discardTables() {
+
+		this._cumulative = null;
+		this._aliasTable = null;
 	}
 
 	/**
@@ -0,0 +1,398 @@
+package desmoj.core.dist;
+
+import org.apache.commons.math.special.Gamma;
+
+/**
+ * Direct (non-inversion) sampling algorithms used by the numerical
+ * distributions in fast sampling mode (see
+ * <code>Distribution.setFastSampling(boolean)</code>). The algorithms are
+ * the ziggurat method of Marsaglia and Tsang for standard exponential and
+ * standard normal samples, the method of Marsaglia and Tsang for gamma
+ * samples, Hörmann's transformed rejection with squeeze (PTRS) for Poisson
+ * samples and the BTPE algorithm of Kachitvichyanukul and Schmeiser for
+ * binomial samples. All of them consume a varying number of uniformly
+ * distributed random numbers per sample, so samples are not synchronized
+ * between the runs of an experiment as required by antithetic or common
+ * random numbers.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+final class FastSamplers {
+
+    /**
+     * Start of the tail of the exponential ziggurat.
+     */
+    private static final double EXP_R = 7.69711747013104972;
+
+    /**
+     * Area of each layer of the exponential ziggurat.
+     */
+    private static final double EXP_V = 3.949659822581572e-3;
+
+    /**
+     * Start of the tail of the normal ziggurat.
+     */
+    private static final double NORM_R = 3.442619855899;
+
+    /**
+     * Area of each layer of the normal ziggurat.
+     */
+    private static final double NORM_V = 9.91256303526217e-3;
+
+    /**
+     * Right edges of the 256 layers of the exponential ziggurat and the
+     * density at these edges.
+     */
+    private static final double[] EXP_X = new double[257], EXP_F = new double[257];
+
+    /**
+     * Right edges of the 128 layers of the normal ziggurat and the density at
+     * these edges.
+     */
+    private static final double[] NORM_X = new double[129], NORM_F = new double[129];
+
+    static {
+        // exponential: f(x) = exp(-x)
+        EXP_X[0] = EXP_V / Math.exp(-EXP_R);
+        EXP_X[1] = EXP_R;
+        for (int i = 2; i < 256; i++) {
+            EXP_X[i] = -Math.log(EXP_V / EXP_X[i - 1] + Math.exp(-EXP_X[i - 1]));
+        }
+        EXP_X[256] = 0;
+        for (int i = 0; i <= 256; i++) {
+            EXP_F[i] = Math.exp(-EXP_X[i]);
+        }
+
+        // normal: f(x) = exp(-x*x/2)
+        NORM_X[0] = NORM_V / Math.exp(-0.5 * NORM_R * NORM_R);
+        NORM_X[1] = NORM_R;
+        for (int i = 2; i < 128; i++) {
+            NORM_X[i] = Math.sqrt(-2 * Math.log(NORM_V / NORM_X[i - 1]
+                    + Math.exp(-0.5 * NORM_X[i - 1] * NORM_X[i - 1])));
+        }
+        NORM_X[128] = 0;
+        for (int i = 0; i <= 128; i++) {
+            NORM_F[i] = Math.exp(-0.5 * NORM_X[i] * NORM_X[i]);
+        }
+    }
+
+    /**
+     * Not to be instantiated.
+     */
+    private FastSamplers() {
+    }
+
+    /**
+     * Returns 53 random bits, taken from a single number of the generator
+     * given.
+     */
+    private static long bits(UniformRandomGenerator rg) {
+
+        if (rg instanceof SplittableRandomGenerator) {
+            return ((SplittableRandomGenerator) rg).nextLong() >>> 11;
+        }
+        return (long) (rg.nextDouble() * 0x1.0p53);
+    }
+
+    /**
+     * Returns a uniformly distributed number in (0,1].
+     */
+    private static double positive(UniformRandomGenerator rg) {
+
+        return 1 - rg.nextDouble();
+    }
+
+    /**
+     * Samples the standard exponential distribution (mean 1).
+     */
+    static double exponential(UniformRandomGenerator rg) {
+
+        while (true) {
+            long j = bits(rg);
+            int i = (int) (j & 0xFF);
+            double x = (j >>> 8) * 0x1.0p-45 * EXP_X[i];
+
+            if (x < EXP_X[i + 1]) {
+                return x; // inside the layer's rectangle
+            }
+            if (i == 0) {
+                return EXP_R - Math.log(positive(rg)); // memoryless tail
+            }
+            if (EXP_F[i] + rg.nextDouble() * (EXP_F[i + 1] - EXP_F[i]) < Math.exp(-x)) {
+                return x; // below the density in the layer's wedge
+            }
+        }
+    }
+
+    /**
+     * Samples the standard normal distribution (mean 0, standard deviation 1).
+     */
+    static double normal(UniformRandomGenerator rg) {
+
+        while (true) {
+            long j = bits(rg);
+            int i = (int) (j & 0x7F);
+            boolean negative = (j & 0x80) != 0;
+            double x = (j >>> 8) * 0x1.0p-45 * NORM_X[i];
+
+            if (x < NORM_X[i + 1]) {
+                return negative ? -x : x;
+            }
+            if (i == 0) {
+                double y;
+                do { // Marsaglia's tail method
+                    x = -Math.log(positive(rg)) / NORM_R;
+                    y = -Math.log(positive(rg));
+                } while (y + y < x * x);
+                return negative ? -(NORM_R + x) : NORM_R + x;
+            }
+            if (NORM_F[i] + rg.nextDouble() * (NORM_F[i + 1] - NORM_F[i]) < Math.exp(-0.5 * x * x)) {
+                return negative ? -x : x;
+            }
+        }
+    }
+
+    /**
+     * Samples the gamma distribution with the shape given and scale 1.
+     *
+     * @param shape
+     *            double : The shape parameter, must be positive
+     */
+    static double gamma(double shape, UniformRandomGenerator rg) {
+
+        if (shape < 1) {
+            // boost to shape + 1 and scale down
+            return gamma(shape + 1, rg) * Math.pow(positive(rg), 1 / shape);
+        }
+
+        double d = shape - 1.0 / 3;
+        double c = 1 / Math.sqrt(9 * d);
+
+        while (true) {
+            double x, v;
+            do {
+                x = normal(rg);
+                v = 1 + c * x;
+            } while (v <= 0);
+            v = v * v * v;
+            double u = positive(rg);
+            double x2 = x * x;
+            if (u < 1 - 0.0331 * x2 * x2) {
+                return d * v; // squeeze
+            }
+            if (Math.log(u) < 0.5 * x2 + d * (1 - v + Math.log(v))) {
+                return d * v;
+            }
+        }
+    }
+
+    /**
+     * Samples the Poisson distribution with the mean given, using PTRS for
+     * means of 10 or more and multiplication of uniform numbers otherwise.
+     *
+     * @param mean
+     *            double : The mean, must not be negative
+     */
+    static long poisson(double mean, UniformRandomGenerator rg) {
+
+        if (mean < 10) {
+            double limit = Math.exp(-mean);
+            double p = positive(rg);
+            long k = 0;
+            while (p > limit) {
+                k++;
+                p *= positive(rg);
+            }
+            return k;
+        }
+
+        double slam = Math.sqrt(mean);
+        double loglam = Math.log(mean);
+        double b = 0.931 + 2.53 * slam;
+        double a = -0.059 + 0.02483 * b;
+        double invalpha = 1.1239 + 1.1328 / (b - 3.4);
+        double vr = 0.9277 - 3.6224 / (b - 2);
+
+        while (true) {
+            double u = rg.nextDouble() - 0.5;
+            double v = rg.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+
+            if (us >= 0.07 && v <= vr) {
+                return k; // squeeze
+            }
+            if (k < 0 || (us < 0.013 && v > us)) {
+                continue;
+            }
+            if (Math.log(v) + Math.log(invalpha) - Math.log(a / (us * us) + b)
+                    <= -mean + k * loglam - Gamma.logGamma(k + 1)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * Samples the binomial distribution with the number of trials and success
+     * probability given, using BTPE if at least 30 successes (or failures,
+     * whatever is less likely) are expected and inversion otherwise.
+     *
+     * @param n
+     *            int : The number of trials, must not be negative
+     * @param p
+     *            double : The success probability, between 0 and 1
+     */
+    static long binomial(int n, double p, UniformRandomGenerator rg) {
+
+        double r = Math.min(p, 1 - p);
+        long y = r * n > 30 ? btpe(n, r, rg) : binomialInversion(n, r, rg);
+
+        return p > 0.5 ? n - y : y;
+    }
+
+    /**
+     * Binomial sampling by sequential inversion, for <code>p &lt;= 0.5</code>.
+     */
+    private static long binomialInversion(int n, double p, UniformRandomGenerator rg) {
+
+        double q = 1 - p;
+        double qn = Math.exp(n * Math.log(q));
+        double bound = Math.min(n, n * p + 10 * Math.sqrt(n * p * q + 1));
+
+        long x = 0;
+        double px = qn;
+        double u = rg.nextDouble();
+        while (u > px) {
+            x++;
+            if (x > bound) { // numerical trouble, start over
+                x = 0;
+                px = qn;
+                u = rg.nextDouble();
+            } else {
+                u -= px;
+                px = ((n - x + 1) * p * px) / (x * q);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Binomial sampling by the BTPE algorithm, for <code>p &lt;= 0.5</code>.
+     */
+    private static long btpe(int n, double r, UniformRandomGenerator rg) {
+
+        double q = 1 - r;
+        double fm = n * r + r;
+        long m = (long) Math.floor(fm);
+        double p1 = Math.floor(2.195 * Math.sqrt(n * r * q) - 4.6 * q) + 0.5;
+        double xm = m + 0.5;
+        double xl = xm - p1;
+        double xr = xm + p1;
+        double c = 0.134 + 20.5 / (15.3 + m);
+        double a = (fm - xl) / (fm - xl * r);
+        double laml = a * (1 + a / 2);
+        a = (xr - fm) / (xr * q);
+        double lamr = a * (1 + a / 2);
+        double p2 = p1 * (1 + 2 * c);
+        double p3 = p2 + c / laml;
+        double p4 = p3 + c / lamr;
+        double nrq = n * r * q;
+
+        while (true) {
+            double u = rg.nextDouble() * p4;
+            double v = rg.nextDouble();
+            long y;
+
+            if (u <= p1) { // triangular region, accepted immediately
+                return (long) Math.floor(xm - p1 * v + u);
+            }
+            if (u <= p2) { // parallelograms
+                double x = xl + (u - p1) / c;
+                v = v * c + 1 - Math.abs(m - x + 0.5) / p1;
+                if (v > 1) {
+                    continue;
+                }
+                y = (long) Math.floor(x);
+            } else if (u <= p3) { // left exponential tail
+                y = (long) Math.floor(xl + Math.log(v) / laml);
+                if (y < 0 || v == 0) {
+                    continue;
+                }
+                v = v * (u - p2) * laml;
+            } else { // right exponential tail
+                y = (long) Math.floor(xr - Math.log(v) / lamr);
+                if (y > n || v == 0) {
+                    continue;
+                }
+                v = v * (u - p3) * lamr;
+            }
+
+            long k = Math.abs(y - m);
+            if (k <= 20 || k >= nrq / 2 - 1) {
+                // explicit evaluation of f(y) / f(m)
+                double s = r / q;
+                double aa = s * (n + 1);
+                double f = 1;
+                if (m < y) {
+                    for (long i = m + 1; i <= y; i++) {
+                        f *= (aa / i - s);
+                    }
+                } else if (m > y) {
+                    for (long i = y + 1; i <= m; i++) {
+                        f /= (aa / i - s);
+                    }
+                }
+                if (v > f) {
+                    continue;
+                }
+                return y;
+            }
+
+            // squeeze using upper and lower bounds on log(f(y))
+            double rho = (k / nrq) * ((k * (k / 3.0 + 0.625) + 0.16666666666666666) / nrq + 0.5);
+            double t = -k * k / (2 * nrq);
+            double la = Math.log(v);
+            if (la < t - rho) {
+                return y;
+            }
+            if (la > t + rho) {
+                continue;
+            }
+
+            // final acceptance test using Stirling's formula
+            double x1 = y + 1;
+            double f1 = m + 1;
+            double z = n + 1 - m;
+            double w = n - y + 1;
+            double x2 = x1 * x1;
+            double f2 = f1 * f1;
+            double z2 = z * z;
+            double w2 = w * w;
+            if (la <= xm * Math.log(f1 / x1) + (n - m + 0.5) * Math.log(z / w)
+                    + (y - m) * Math.log(w * r / (x1 * q))
+                    + stirling(f1, f2) + stirling(z, z2) + stirling(x1, x2) + stirling(w, w2)) {
+                return y;
+            }
+        }
+    }
+
+    /**
+     * Correction term of Stirling's formula used by BTPE.
+     */
+    private static double stirling(double x, double x2) {
+
+        return (13680. - (462. - (132. - (99. - 140. / x2) / x2) / x2) / x2) / x / 166320.;
+    }
+}
@@ -129,16 +129,22 @@ public class MersenneTwisterRandomGenerator implements
 	 */
 	public void twistNumbers() {
 
-		for (int i = 0; i < 624; i++) {
-			int y = mersenneTwister[i] & 0x80000000
-					| mersenneTwister[(i + 1) % 624] & 0x7fffffff;
-			if (y % 2 == 0) {
-				mersenneTwister[i] = mersenneTwister[(i + 397) % 624] ^ y >>> 1;
-			} else {
-				mersenneTwister[i] = mersenneTwister[(i + 397) % 624] ^ y >>> 1
-						^ 0x9908b0df;
-			}
+		int[] mt = mersenneTwister;
+		int i = 0;
+
+		// the loop is split where the indices i + 1 and i + 397 wrap around
+		// to avoid computing them modulo 624
+		for (; i < 624 - 397; i++) {
+			int y = mt[i] & 0x80000000 | mt[i + 1] & 0x7fffffff;
+			mt[i] = mt[i + 397] ^ y >>> 1 ^ (-(y & 1) & 0x9908b0df);
+		}
+		for (; i < 623; i++) {
+			int y = mt[i] & 0x80000000 | mt[i + 1] & 0x7fffffff;
+			mt[i] = mt[i + 397 - 624] ^ y >>> 1 ^ (-(y & 1) & 0x9908b0df);
 		}
+		int y = mt[623] & 0x80000000 | mt[0] & 0x7fffffff;
+		mt[623] = mt[396] ^ y >>> 1 ^ (-(y & 1) & 0x9908b0df);
+
 		this.currentIndex = 0; // reset index to of number to read next
 	}
 
@@ -25,9 +25,63 @@ import desmoj.core.simulator.TimeSpan;
  */
 public abstract class NumericalDist<N extends Number> extends Distribution {
 
+	/**
+	 * Tells whether <code>sample()</code> obtains the samples by the default
+	 * inverse transformation of <code>NumericalDist</code> (or directly in
+	 * fast sampling mode), in which case bulk sampling (see
+	 * <code>ContDist.sampleInto(double[], int, int)</code> and
+	 * <code>DiscreteDist.sampleInto(long[], int, int)</code>) draws the
+	 * samples in a tight loop, bypassing the bookkeeping of
+	 * <code>sample()</code>. Otherwise, bulk sampling calls
+	 * <code>sample()</code> for each value. Set by the constructor; subclasses
+	 * of distributions sampling by inversion which override
+	 * <code>sample()</code> with a different algorithm have to reset it.
+	 */
+	protected boolean sampledByInversion;
+
+	/**
+	 * The buffer of pre-drawn samples in pre-fetch mode (a
+	 * <code>double[]</code> or a <code>long[]</code>), <code>null</code> if
+	 * pre-fetch mode is off.
+	 */
+	private Object _prefetchBuffer;
+
+	/**
+	 * The number of samples pre-fetched at a time, 0 if pre-fetch mode is off.
+	 */
+	private int _prefetchSize;
+
+	/**
+	 * The position of the next sample to take from the pre-fetch buffer.
+	 */
+	private int _prefetchPosition;
+
 	public NumericalDist(Model owner, String name, boolean showInReport,
 			boolean showInTrace) {
+		this(owner, name, showInReport, showInTrace, false);
+	}
+
+	/**
+	 * Constructs a distribution producing numbers, stating whether its
+	 * samples are obtained by inverse transformation.
+	 * 
+	 * @param owner
+	 *            Model : The distribution's owner
+	 * @param name
+	 *            java.lang.String : The distribution's name
+	 * @param showInReport
+	 *            boolean : Flag to show distribution in report
+	 * @param showInTrace
+	 *            boolean : Flag to show distribution in trace
+	 * @param sampledByInversion
+	 *            boolean : <code>true</code> if <code>sample()</code> is not
+	 *            overridden with an algorithm other than inverse
+	 *            transformation, see <code>sampledByInversion</code>
+	 */
+	protected NumericalDist(Model owner, String name, boolean showInReport,
+			boolean showInTrace, boolean sampledByInversion) {
 		super(owner, name, showInReport, showInTrace);
+		this.sampledByInversion = sampledByInversion;
 	}
 
 	/**
@@ -43,30 +97,12 @@ public abstract class NumericalDist<N extends Number> extends Distribution {
 	    
 	    this.incrementObservations();
 	    
-	    N sample;
-	    int attempts = 0;
-	    
-	    do {
-	    
-    	    sample = this.antithetic ? 
-    	            getInverseOfCumulativeProbabilityFunction(1 - randomGenerator.nextDouble()) :
-    	                getInverseOfCumulativeProbabilityFunction(randomGenerator.nextDouble());
-            attempts++;
-    	            
-    	            
-	    } while (nonNegative && sample.doubleValue() < 0 && attempts < 100);
+	    N sample = draw();
 	    
 	    if (nonNegative && sample.doubleValue() < 0) {
-	        sendWarning(
-                    "NumericalDist that was set non-negative faild to sample a non-negative value." + 
-	                    "Returning a negative result.",
-                    "NumericalDist: " + this.getName()
-                            + " Method: public void sample()",
-                    "100 Attempts of sampling the distribution yielded a negative value.",
-                    "Make sure the range of the NumericalDist is at least partially non-negative.");
+	        warnNegativeSample("public void sample()");
 	    }
 	    
-	    
 	    if (this.currentlySendTraceNotes()) {
 	        this.sendTraceNote("samples " + sample + " from " + this);
 	    }
@@ -77,6 +113,232 @@ public abstract class NumericalDist<N extends Number> extends Distribution {
 	    return sample;
 	}
 	
+	/**
+	 * Draws one sample by inverse transformation (or directly in fast
+	 * sampling mode), repeating up to 100 times while a non-negative
+	 * distribution yields a negative value. Neither counts the observation
+	 * nor sends trace or debug output, which is left to the callers,
+	 * <code>sample()</code> and bulk sampling.
+	 * 
+	 * @return N : The sample drawn
+	 */
+	N draw() {
+	    
+	    N sample;
+	    int attempts = 0;
+	    
+	    do {
+	        if (this.useFastSampling())
+	            sample = sampleDirectly();
+	        else
+	            sample = this.antithetic ? 
+	                getInverseOfCumulativeProbabilityFunction(1 - randomGenerator.nextDouble()) :
+	                    getInverseOfCumulativeProbabilityFunction(randomGenerator.nextDouble());
+	        attempts++;
+	    } while (nonNegative && sample.doubleValue() < 0 && attempts < 100);
+	    
+	    return sample;
+	}
+	
+	/**
+	 * Draws one sample by an algorithm specific to the distribution, used
+	 * instead of inverse transformation in fast sampling mode. The default
+	 * implementation still uses inverse transformation; subclasses override
+	 * this method if a faster algorithm is available.
+	 * 
+	 * @return N : The sample drawn
+	 */
+	protected N sampleDirectly() {
+	    return getInverseOfCumulativeProbabilityFunction(randomGenerator.nextDouble());
+	}
+	
+	/**
+	 * Switches pre-fetch mode on or off. In pre-fetch mode, the samples
+	 * returned by <code>samplePrefetched()</code> of <code>ContDist</code>
+	 * and <code>DiscreteDist</code> are drawn in blocks of the given size into
+	 * a buffer, see <code>sampleInto()</code>. Samples still in the buffer are
+	 * discarded when the distribution is reset or its seed is changed. A size
+	 * of 0 switches pre-fetch mode off (default).
+	 * <p>
+	 * Note that changing the parameters of the distribution only affects
+	 * the samples drawn into the buffer after the change.
+	 * 
+	 * @param size
+	 *            int : The number of samples to pre-fetch at a time, or 0
+	 */
+	public void setPrefetchSize(int size) {
+
+	    if (size < 0) {
+	        sendWarning(
+	                "The given pre-fetch size is negative. Pre-fetch mode is switched off.",
+	                "NumericalDist: " + getName() + " Method: void setPrefetchSize(int size)",
+	                "A negative number of samples can not be pre-fetched.",
+	                "Make sure to provide a non-negative pre-fetch size.");
+	        size = 0;
+	    }
+
+	    _prefetchBuffer = size == 0 ? null : newBuffer(size);
+	    _prefetchSize = size;
+	    _prefetchPosition = size;
+	}
+
+	/**
+	 * Returns the number of samples pre-fetched at a time, 0 if pre-fetch
+	 * mode is off.
+	 * 
+	 * @return int : The pre-fetch size
+	 */
+	public int getPrefetchSize() {
+
+	    return _prefetchSize;
+	}
+
+	/**
+	 * Resets the distribution like <code>Distribution.reset()</code>,
+	 * discarding the samples in the pre-fetch buffer.
+	 */
+	public void reset() {
+
+	    super.reset();
+	    _prefetchPosition = _prefetchSize;
+	}
+
+	/**
+	 * Resets the distribution like <code>Distribution.reset(long)</code>,
+	 * discarding the samples in the pre-fetch buffer.
+	 * 
+	 * @param newSeed
+	 *            long : new seed to be used by underlying random number
+	 *            generator after reset
+	 */
+	public void reset(long newSeed) {
+
+	    super.reset(newSeed);
+	    _prefetchPosition = _prefetchSize;
+	}
+
+	/**
+	 * Creates a pre-fetch buffer of the given size, a <code>double[]</code>
+	 * unless overridden.
+	 */
+	Object newBuffer(int size) {
+	    return new double[size];
+	}
+
+	/**
+	 * Returns the pre-fetch buffer, to be read at the position returned by
+	 * <code>nextPrefetchPosition()</code>.
+	 */
+	Object prefetchBuffer() {
+	    return _prefetchBuffer;
+	}
+
+	/**
+	 * Returns the position of the next sample in the pre-fetch buffer,
+	 * refilling the buffer if exhausted, and counts the observation. Only
+	 * called in pre-fetch mode.
+	 */
+	int nextPrefetchPosition(String method) {
+
+	    if (_prefetchPosition == _prefetchSize) {
+	        refillPrefetchBuffer(method);
+	    }
+
+	    this.incrementObservations();
+	    return _prefetchPosition++;
+	}
+
+	/**
+	 * Refills the exhausted pre-fetch buffer.
+	 */
+	private void refillPrefetchBuffer(String method) {
+
+	    fill(_prefetchBuffer, 0, _prefetchSize, method);
+	    if (this.sampledByInversion) {
+	        if (this.currentlySendTraceNotes()) {
+	            this.sendTraceNote("pre-fetches " + _prefetchSize + " values from " + this);
+	        }
+	    } else {
+	        // sample() has counted, observations are counted when taken
+	        this.incrementObservations(-_prefetchSize);
+	    }
+	    _prefetchPosition = 0;
+	}
+
+	/**
+	 * Fills the given range of a <code>double[]</code> or
+	 * <code>long[]</code> buffer with the next samples, which are the same
+	 * values as returned by successive calls to <code>sample()</code>. If
+	 * sampled by inversion, the observations are counted once and a single
+	 * trace note is sent for all samples.
+	 */
+	void bulkSample(Object buf, int bufferLength, int off, int len, String method) {
+
+	    if (off < 0 || len < 0 || off > bufferLength - len) {
+	        sendWarning(
+	                "Can not sample into the buffer given. Command ignored!",
+	                "NumericalDist: " + this.getName() + " Method: " + method,
+	                "The range [" + off + ", " + off + " + " + len 
+	                    + ") does not fit into a buffer of length " + bufferLength + ".",
+	                "Make sure the offset and the length are non-negative and "
+	                    + "do not exceed the buffer.");
+	        return;
+	    }
+
+	    fill(buf, off, len, method);
+
+	    // otherwise counted and traced by sample()
+	    if (this.sampledByInversion) {
+	        this.incrementObservations(len);
+	        if (this.currentlySendTraceNotes()) {
+	            this.sendTraceNote("samples " + len + " values from " + this);
+	        }
+	    }
+	}
+
+	/**
+	 * Fills the given range of a <code>double[]</code> or
+	 * <code>long[]</code> buffer, counting the observations only if they are
+	 * obtained by <code>sample()</code>.
+	 */
+	private void fill(Object buf, int off, int len, String method) {
+
+	    boolean negative = false;
+	    if (buf instanceof double[]) {
+	        double[] doubles = (double[]) buf;
+	        for (int i = off; i < off + len; i++) {
+	            double sample = (this.sampledByInversion ? draw() : sample()).doubleValue();
+	            negative |= sample < 0;
+	            doubles[i] = sample;
+	        }
+	    } else {
+	        long[] longs = (long[]) buf;
+	        for (int i = off; i < off + len; i++) {
+	            long sample = (this.sampledByInversion ? draw() : sample()).longValue();
+	            negative |= sample < 0;
+	            longs[i] = sample;
+	        }
+	    }
+	    if (negative && nonNegative && this.sampledByInversion) {
+	        warnNegativeSample(method);
+	    }
+	}
+	
+	/**
+	 * Sends the warning that a distribution set non-negative has failed to
+	 * sample a non-negative value.
+	 */
+	private void warnNegativeSample(String method) {
+	    
+	    sendWarning(
+	            "NumericalDist that was set non-negative faild to sample a non-negative value." + 
+	                "Returning a negative result.",
+	            "NumericalDist: " + this.getName()
+	                + " Method: " + method,
+	            "100 Attempts of sampling the distribution yielded a negative value.",
+	            "Make sure the range of the NumericalDist is at least partially non-negative.");
+	}
+	
 	/**
      * Abstract method to map a double <code>p</code> from 0...1 to the 
      * distribution's domain by determining the value x that satisfies
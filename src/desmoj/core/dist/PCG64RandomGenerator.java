@@ -0,0 +1,246 @@
+package desmoj.core.dist;
+
+/**
+ * PCG64 uniform pseudo random generator configured such that a stream of
+ * [0,1) double values is produced. The generator is the 128 bit linear
+ * congruential generator with the XSL-RR output function by O'Neill ("PCG: A
+ * family of simple fast space-efficient statistically good algorithms for
+ * random number generation", 2014), as used by default in NumPy. Its period of
+ * 2<sup>128</sup> is divided into 2<sup>64</sup> substreams of
+ * 2<sup>64</sup> numbers each. Any position of the stream is reached in
+ * logarithmic time by the jump-ahead of linear congruential generators
+ * (Brown: "Random number generation with arbitrary strides", 1994). Seeds are
+ * expanded to the 128 bit state with SplitMix64.
+ * 
+ * @see desmoj.core.dist.SplittableRandomGenerator
+ * @see desmoj.core.dist.UniformRandomGenerator
+ * 
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public class PCG64RandomGenerator implements SplittableRandomGenerator {
+
+	/**
+	 * The multiplier of the linear congruential generator (high and low
+	 * 64 bits).
+	 */
+	private static final long MULT_HI = 0x2360ed051fc65da4L,
+			MULT_LO = 0x4385df649fccf645L;
+
+	/**
+	 * The increment of the linear congruential generator (high and low 64
+	 * bits).
+	 */
+	private static final long INC_HI = 0x5851f42d4c957f2dL,
+			INC_LO = 0x14057b7ef767814fL;
+
+	/**
+	 * The 128 bit state of the generator (high and low 64 bits).
+	 */
+	private long _hi, _lo;
+
+	/**
+	 * The seed set last.
+	 */
+	private long _seed;
+
+	/**
+	 * The substream currently used.
+	 */
+	private long _substream;
+
+	/**
+	 * Creates a PCG64RandomGenerator with seed 42.
+	 */
+	public PCG64RandomGenerator() {
+		this(42);
+	}
+
+	/**
+	 * Creates a PCG64RandomGenerator with given value as initial seed.
+	 * 
+	 * @param seed
+	 *            long : The initial seed of the underlying pseudo random
+	 *            generator
+	 */
+	public PCG64RandomGenerator(long seed) {
+		this.setSeed(seed);
+	}
+
+	/**
+	 * Returns the next pseudo random uniform [0,1) distributed double value
+	 * from the stream produced by this generator.
+	 * 
+	 * @return double : The next pseudo random uniform [0,1) distributed double
+	 *         value
+	 */
+	public double nextDouble() {
+
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns the next pseudo random uniform distributed long value from the
+	 * stream produced by this generator.
+	 * 
+	 * @return long : The next pseudo random long value
+	 */
+	public long nextLong() {
+
+		// state = state * MULT + INC (mod 2^128)
+		long lo = _lo * MULT_LO;
+		long hi = multiplyHigh(_lo, MULT_LO) + _hi * MULT_LO + _lo * MULT_HI;
+		_lo = lo + INC_LO;
+		_hi = hi + INC_HI + (Long.compareUnsigned(_lo, lo) < 0 ? 1 : 0);
+
+		// XSL-RR output
+		return Long.rotateRight(_hi ^ _lo, (int) (_hi >>> 58));
+	}
+
+	/**
+	 * Sets the seed for the pseudo random number generator, positioning it at
+	 * the beginning of the current substream.
+	 * 
+	 * @param newSeed
+	 *            long : The new initial seed value for the pseudo random number
+	 *            generator
+	 */
+	public void setSeed(long newSeed) {
+
+		_seed = newSeed;
+
+		long z = newSeed;
+		_hi = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+		_lo = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+
+		if (_substream != 0) {
+			advance(_substream, 0); // substream * 2^64
+		}
+	}
+
+	/**
+	 * Selects one of the 2<sup>64</sup> substreams of 2<sup>64</sup> numbers.
+	 * Negative numbers denote the substreams from 2<sup>63</sup> on.
+	 * 
+	 * @param substream
+	 *            long : The number of the substream, starting with 0
+	 */
+	public void setSubstream(long substream) {
+
+		_substream = substream;
+		setSeed(_seed);
+	}
+
+	/**
+	 * Returns the number of the substream currently used.
+	 * 
+	 * @return long : The number of the substream
+	 */
+	public long getSubstream() {
+		return _substream;
+	}
+
+	/**
+	 * Advances the generator to the beginning of the next substream.
+	 */
+	public void jump() {
+		setSubstream(_substream + 1);
+	}
+
+	/**
+	 * Splits this generator, see
+	 * <code>SplittableRandomGenerator.split()</code>.
+	 * 
+	 * @return SplittableRandomGenerator : A new generator continuing the
+	 *         current substream
+	 */
+	public SplittableRandomGenerator split() {
+
+		PCG64RandomGenerator copy = new PCG64RandomGenerator(_seed);
+		copy._substream = _substream;
+		copy._hi = _hi;
+		copy._lo = _lo;
+		jump();
+		return copy;
+	}
+
+	/**
+	 * Advances the state by the given unsigned 128 bit number of steps in
+	 * logarithmic time.
+	 * 
+	 * @param deltaHi
+	 *            long : The high 64 bits of the number of steps
+	 * @param deltaLo
+	 *            long : The low 64 bits of the number of steps
+	 */
+	void advance(long deltaHi, long deltaLo) {
+
+		long accMultHi = 0, accMultLo = 1, accPlusHi = 0, accPlusLo = 0;
+		long curMultHi = MULT_HI, curMultLo = MULT_LO;
+		long curPlusHi = INC_HI, curPlusLo = INC_LO;
+
+		while ((deltaHi | deltaLo) != 0) {
+			if ((deltaLo & 1) != 0) {
+				// accMult *= curMult
+				long lo = accMultLo * curMultLo;
+				accMultHi = multiplyHigh(accMultLo, curMultLo) + accMultHi
+						* curMultLo + accMultLo * curMultHi;
+				accMultLo = lo;
+				// accPlus = accPlus * curMult + curPlus
+				lo = accPlusLo * curMultLo;
+				long hi = multiplyHigh(accPlusLo, curMultLo) + accPlusHi
+						* curMultLo + accPlusLo * curMultHi;
+				accPlusLo = lo + curPlusLo;
+				accPlusHi = hi + curPlusHi
+						+ (Long.compareUnsigned(accPlusLo, lo) < 0 ? 1 : 0);
+			}
+			// curPlus = (curMult + 1) * curPlus
+			long m1Lo = curMultLo + 1;
+			long m1Hi = curMultHi + (m1Lo == 0 ? 1 : 0);
+			long lo = m1Lo * curPlusLo;
+			curPlusHi = multiplyHigh(m1Lo, curPlusLo) + m1Hi * curPlusLo
+					+ m1Lo * curPlusHi;
+			curPlusLo = lo;
+			// curMult *= curMult
+			lo = curMultLo * curMultLo;
+			curMultHi = multiplyHigh(curMultLo, curMultLo) + 2 * curMultHi
+					* curMultLo;
+			curMultLo = lo;
+			// delta >>>= 1
+			deltaLo = (deltaLo >>> 1) | (deltaHi << 63);
+			deltaHi >>>= 1;
+		}
+
+		// state = accMult * state + accPlus
+		long lo = accMultLo * _lo;
+		long hi = multiplyHigh(accMultLo, _lo) + accMultHi * _lo + accMultLo
+				* _hi;
+		_lo = lo + accPlusLo;
+		_hi = hi + accPlusHi + (Long.compareUnsigned(_lo, lo) < 0 ? 1 : 0);
+	}
+
+	/**
+	 * Returns the high 64 bits of the unsigned 128 bit product of the given
+	 * values.
+	 */
+	private static long multiplyHigh(long a, long b) {
+
+		long a0 = a & 0xffffffffL, a1 = a >>> 32;
+		long b0 = b & 0xffffffffL, b1 = b >>> 32;
+		long p01 = a0 * b1, p10 = a1 * b0;
+		long middle = ((a0 * b0) >>> 32) + (p01 & 0xffffffffL)
+				+ (p10 & 0xffffffffL);
+		return a1 * b1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+	}
+}
@@ -0,0 +1,183 @@
+package desmoj.core.dist;
+
+/**
+ * SplitMix64 uniform pseudo random generator configured such that a stream of
+ * [0,1) double values is produced. The generator adds a fixed odd constant
+ * (the golden gamma) to a 64 bit state for each number and scrambles the
+ * result, see Steele, Lea and Flood: "Fast splittable pseudorandom number
+ * generators" (OOPSLA 2014). The period is 2<sup>64</sup>, which is divided
+ * into 2<sup>24</sup> substreams of 2<sup>40</sup> numbers each. Any position
+ * of the stream can be reached in constant time.
+ * <p>
+ * The generator is very fast and has a minimal state, but its period is short
+ * compared to <code>Xoshiro256StarStarRandomGenerator</code> or
+ * <code>PCG64RandomGenerator</code>.
+ * 
+ * @see desmoj.core.dist.SplittableRandomGenerator
+ * @see desmoj.core.dist.UniformRandomGenerator
+ * 
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public class SplitMix64RandomGenerator implements SplittableRandomGenerator {
+
+	/**
+	 * The increment of the state for each number drawn.
+	 */
+	private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The binary logarithm of the length of a substream.
+	 */
+	private static final int SUBSTREAM_BITS = 40;
+
+	/**
+	 * The number of substreams.
+	 */
+	private static final long SUBSTREAMS = 1L << (64 - SUBSTREAM_BITS);
+
+	/**
+	 * The state of the generator.
+	 */
+	private long _state;
+
+	/**
+	 * The seed set last.
+	 */
+	private long _seed;
+
+	/**
+	 * The substream currently used.
+	 */
+	private long _substream;
+
+	/**
+	 * Creates a SplitMix64RandomGenerator with seed 42.
+	 */
+	public SplitMix64RandomGenerator() {
+		this(42);
+	}
+
+	/**
+	 * Creates a SplitMix64RandomGenerator with given value as initial seed.
+	 * 
+	 * @param seed
+	 *            long : The initial seed of the underlying pseudo random
+	 *            generator
+	 */
+	public SplitMix64RandomGenerator(long seed) {
+		this.setSeed(seed);
+	}
+
+	/**
+	 * Returns the next pseudo random uniform [0,1) distributed double value
+	 * from the stream produced by this generator.
+	 * 
+	 * @return double : The next pseudo random uniform [0,1) distributed double
+	 *         value
+	 */
+	public double nextDouble() {
+
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns the next pseudo random uniform distributed long value from the
+	 * stream produced by this generator.
+	 * 
+	 * @return long : The next pseudo random long value
+	 */
+	public long nextLong() {
+
+		return mix(_state += GAMMA);
+	}
+
+	/**
+	 * Sets the seed for the pseudo random number generator, positioning it at
+	 * the beginning of the current substream.
+	 * 
+	 * @param newSeed
+	 *            long : The new initial seed value for the pseudo random number
+	 *            generator
+	 */
+	public void setSeed(long newSeed) {
+
+		_seed = newSeed;
+		_state = newSeed + (_substream << SUBSTREAM_BITS) * GAMMA;
+	}
+
+	/**
+	 * Selects one of the 2<sup>24</sup> substreams of 2<sup>40</sup>
+	 * numbers.
+	 * 
+	 * @param substream
+	 *            long : The number of the substream, starting with 0
+	 */
+	public void setSubstream(long substream) {
+
+		if (substream < 0 || substream >= SUBSTREAMS) {
+			throw new IllegalArgumentException("Substream " + substream
+					+ " out of range [0, " + SUBSTREAMS + ").");
+		}
+		_substream = substream;
+		setSeed(_seed);
+	}
+
+	/**
+	 * Returns the number of the substream currently used.
+	 * 
+	 * @return long : The number of the substream
+	 */
+	public long getSubstream() {
+		return _substream;
+	}
+
+	/**
+	 * Advances the generator to the beginning of the next substream.
+	 */
+	public void jump() {
+		setSubstream(_substream + 1);
+	}
+
+	/**
+	 * Splits this generator, see
+	 * <code>SplittableRandomGenerator.split()</code>.
+	 * 
+	 * @return SplittableRandomGenerator : A new generator continuing the
+	 *         current substream
+	 */
+	public SplittableRandomGenerator split() {
+
+		SplitMix64RandomGenerator copy = new SplitMix64RandomGenerator(_seed);
+		copy._substream = _substream;
+		copy._state = _state;
+		jump();
+		return copy;
+	}
+
+	/**
+	 * The finalizer of SplitMix64 (variant 13 of Stafford's mixers), also
+	 * used to expand seeds of other generators.
+	 * 
+	 * @param z
+	 *            long : The value to mix
+	 * @return long : The mixed value
+	 */
+	static long mix(long z) {
+
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
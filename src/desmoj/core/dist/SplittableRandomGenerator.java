@@ -0,0 +1,78 @@
+package desmoj.core.dist;
+
+/**
+ * Interface for uniform pseudo random number generators whose period is
+ * partitioned into substreams of a fixed length. Substreams of the same seed
+ * never overlap as long as no more numbers are drawn from a substream than its
+ * length, so distributions drawing from different substreams of one seed are
+ * guaranteed to be independent of each other in the sense of non-overlapping
+ * streams. This is what the <code>DistributionManager</code> uses in
+ * substream mode to supply each distribution with its own substream.
+ * <p>
+ * The substream selected by <code>setSubstream(long)</code> is kept when the
+ * seed is changed: <code>setSeed(long)</code> always positions the generator
+ * at the beginning of the selected substream of the stream determined by the
+ * seed. Substream 0 is the plain stream of the seed.
+ * 
+ * @see desmoj.core.dist.UniformRandomGenerator
+ * @see desmoj.core.dist.DistributionManager#setSubstreamMode(boolean)
+ * 
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public interface SplittableRandomGenerator extends UniformRandomGenerator {
+
+	/**
+	 * Returns the next uniform distributed long pseudo random number from the
+	 * random generator's stream.
+	 * 
+	 * @return long : The next uniformly distributed long value
+	 */
+	public long nextLong();
+
+	/**
+	 * Selects the substream to be used, which takes effect immediately: the
+	 * generator is positioned at the beginning of the given substream of the
+	 * stream of the last seed set.
+	 * 
+	 * @param substream
+	 *            long : The number of the substream, starting with 0
+	 * @throws IllegalArgumentException
+	 *             if the generator does not provide the given substream
+	 */
+	public void setSubstream(long substream);
+
+	/**
+	 * Returns the number of the substream currently used.
+	 * 
+	 * @return long : The number of the substream
+	 */
+	public long getSubstream();
+
+	/**
+	 * Advances the generator to the beginning of the next substream.
+	 */
+	public void jump();
+
+	/**
+	 * Splits this generator. The generator returned continues the current
+	 * substream of this generator from the current position, while this
+	 * generator advances to the beginning of the next substream. Thus the
+	 * streams of both generators do not overlap.
+	 * 
+	 * @return SplittableRandomGenerator : A new generator continuing the
+	 *         current substream
+	 */
+	public SplittableRandomGenerator split();
+}
@@ -0,0 +1,277 @@
+package desmoj.core.dist;
+
+/**
+ * Xoshiro256** uniform pseudo random generator configured such that a stream
+ * of [0,1) double values is produced. The algorithm by Blackman and Vigna
+ * ("Scrambled linear pseudorandom number generators", ACM TOMS 2021) has a
+ * 256 bit state and a period of 2<sup>256</sup> - 1, which is divided into
+ * 2<sup>64</sup> substreams of 2<sup>128</sup> numbers each, as defined by
+ * the jump function of the algorithm. Seeds are expanded to the state with
+ * SplitMix64 as recommended by the authors.
+ * <p>
+ * Since the jump function is linear over GF(2), jumping to substream
+ * <i>k</i> means multiplying the state with the <i>k</i>-th power of the jump
+ * matrix. The powers of two of the jump matrix are computed once when needed,
+ * so any substream is reached with at most 64 matrix-vector products.
+ * 
+ * @see desmoj.core.dist.SplittableRandomGenerator
+ * @see desmoj.core.dist.UniformRandomGenerator
+ * 
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public class Xoshiro256StarStarRandomGenerator implements
+		SplittableRandomGenerator {
+
+	/**
+	 * The polynomial of the jump function advancing the state by
+	 * 2<sup>128</sup> numbers.
+	 */
+	private static final long[] JUMP = { 0x180ec6d33cfd0abaL,
+			0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL };
+
+	/**
+	 * The jump matrix raised to the powers of two computed so far:
+	 * <code>_jumpPowers[i][j]</code> is the image of the j-th unit vector
+	 * under the 2<sup>i</sup>-th power of the jump matrix.
+	 */
+	private static long[][][] _jumpPowers = new long[0][][];
+
+	/**
+	 * The state of the generator.
+	 */
+	private long _s0, _s1, _s2, _s3;
+
+	/**
+	 * The seed set last.
+	 */
+	private long _seed;
+
+	/**
+	 * The substream currently used.
+	 */
+	private long _substream;
+
+	/**
+	 * Creates a Xoshiro256StarStarRandomGenerator with seed 42.
+	 */
+	public Xoshiro256StarStarRandomGenerator() {
+		this(42);
+	}
+
+	/**
+	 * Creates a Xoshiro256StarStarRandomGenerator with given value as initial
+	 * seed.
+	 * 
+	 * @param seed
+	 *            long : The initial seed of the underlying pseudo random
+	 *            generator
+	 */
+	public Xoshiro256StarStarRandomGenerator(long seed) {
+		this.setSeed(seed);
+	}
+
+	/**
+	 * Returns the next pseudo random uniform [0,1) distributed double value
+	 * from the stream produced by this generator.
+	 * 
+	 * @return double : The next pseudo random uniform [0,1) distributed double
+	 *         value
+	 */
+	public double nextDouble() {
+
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns the next pseudo random uniform distributed long value from the
+	 * stream produced by this generator.
+	 * 
+	 * @return long : The next pseudo random long value
+	 */
+	public long nextLong() {
+
+		long result = Long.rotateLeft(_s1 * 5, 7) * 9;
+		long t = _s1 << 17;
+
+		_s2 ^= _s0;
+		_s3 ^= _s1;
+		_s1 ^= _s2;
+		_s0 ^= _s3;
+		_s2 ^= t;
+		_s3 = Long.rotateLeft(_s3, 45);
+
+		return result;
+	}
+
+	/**
+	 * Sets the seed for the pseudo random number generator, positioning it at
+	 * the beginning of the current substream.
+	 * 
+	 * @param newSeed
+	 *            long : The new initial seed value for the pseudo random number
+	 *            generator
+	 */
+	public void setSeed(long newSeed) {
+
+		_seed = newSeed;
+
+		// expand the seed with SplitMix64, never giving the all-zero state
+		long z = newSeed;
+		_s0 = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+		_s1 = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+		_s2 = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+		_s3 = SplitMix64RandomGenerator.mix(z += 0x9e3779b97f4a7c15L);
+
+		// jump to the substream
+		for (int i = 0; i < 64 && (_substream >>> i) != 0; i++) {
+			if ((_substream >>> i & 1) != 0) {
+				multiply(jumpPower(i));
+			}
+		}
+	}
+
+	/**
+	 * Selects one of the 2<sup>64</sup> substreams of 2<sup>128</sup>
+	 * numbers. Negative numbers denote the substreams from
+	 * 2<sup>63</sup> on.
+	 * 
+	 * @param substream
+	 *            long : The number of the substream, starting with 0
+	 */
+	public void setSubstream(long substream) {
+
+		_substream = substream;
+		setSeed(_seed);
+	}
+
+	/**
+	 * Returns the number of the substream currently used.
+	 * 
+	 * @return long : The number of the substream
+	 */
+	public long getSubstream() {
+		return _substream;
+	}
+
+	/**
+	 * Advances the generator to the beginning of the next substream by
+	 * applying the jump function to the state it had at the beginning of the
+	 * current substream.
+	 */
+	public void jump() {
+		_substream++;
+		setSeed(_seed);
+	}
+
+	/**
+	 * Splits this generator, see
+	 * <code>SplittableRandomGenerator.split()</code>.
+	 * 
+	 * @return SplittableRandomGenerator : A new generator continuing the
+	 *         current substream
+	 */
+	public SplittableRandomGenerator split() {
+
+		Xoshiro256StarStarRandomGenerator copy = new Xoshiro256StarStarRandomGenerator(
+				_seed);
+		copy._substream = _substream;
+		copy._s0 = _s0;
+		copy._s1 = _s1;
+		copy._s2 = _s2;
+		copy._s3 = _s3;
+		jump();
+		return copy;
+	}
+
+	/**
+	 * Replaces the state by its product with the given matrix.
+	 */
+	private void multiply(long[][] matrix) {
+
+		long[] s = { _s0, _s1, _s2, _s3 };
+		long r0 = 0, r1 = 0, r2 = 0, r3 = 0;
+		for (int w = 0; w < 4; w++) {
+			// visit the set bits of the state only
+			for (long bits = s[w]; bits != 0; bits &= bits - 1) {
+				long[] column = matrix[w << 6 | Long.numberOfTrailingZeros(bits)];
+				r0 ^= column[0];
+				r1 ^= column[1];
+				r2 ^= column[2];
+				r3 ^= column[3];
+			}
+		}
+		_s0 = r0;
+		_s1 = r1;
+		_s2 = r2;
+		_s3 = r3;
+	}
+
+	/**
+	 * Returns the 2<sup>i</sup>-th power of the jump matrix, computing the
+	 * missing powers by repeated squaring.
+	 */
+	private static synchronized long[][] jumpPower(int i) {
+
+		if (i >= _jumpPowers.length) {
+			long[][][] powers = new long[i + 1][][];
+			System.arraycopy(_jumpPowers, 0, powers, 0, _jumpPowers.length);
+
+			Xoshiro256StarStarRandomGenerator g = new Xoshiro256StarStarRandomGenerator();
+			for (int p = _jumpPowers.length; p <= i; p++) {
+				powers[p] = new long[256][];
+				for (int j = 0; j < 256; j++) {
+					// image of the j-th unit vector
+					g._s0 = j < 64 ? 1L << j : 0;
+					g._s1 = j >>> 6 == 1 ? 1L << (j & 63) : 0;
+					g._s2 = j >>> 6 == 2 ? 1L << (j & 63) : 0;
+					g._s3 = j >>> 6 == 3 ? 1L << (j & 63) : 0;
+					if (p == 0) {
+						g.applyJumpPolynomial();
+					} else {
+						g.multiply(powers[p - 1]);
+						g.multiply(powers[p - 1]);
+					}
+					powers[p][j] = new long[] { g._s0, g._s1, g._s2, g._s3 };
+				}
+			}
+			_jumpPowers = powers;
+		}
+		return _jumpPowers[i];
+	}
+
+	/**
+	 * The jump function of the reference implementation, advancing the
+	 * current state by 2<sup>128</sup> numbers.
+	 */
+	private void applyJumpPolynomial() {
+
+		long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+		for (long word : JUMP) {
+			for (int b = 0; b < 64; b++) {
+				if ((word & 1L << b) != 0) {
+					t0 ^= _s0;
+					t1 ^= _s1;
+					t2 ^= _s2;
+					t3 ^= _s3;
+				}
+				nextLong();
+			}
+		}
+		_s0 = t0;
+		_s1 = t1;
+		_s2 = t2;
+		_s3 = t3;
+	}
+}
@@ -0,0 +1,137 @@
+package desmoj.core.report;
+
+/**
+ * Captures all relevant information about the BatchMeans.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+
+public class BatchMeansReporter extends desmoj.core.report.TallyReporter {
+
+	// ****** methods ******
+
+	/**
+	 * Constructor for a new BatchMeansReporter. Note that although any
+	 * Reportable is accepted you should make sure that only subtypes of
+	 * BatchMeans are passed to this constructor. Otherwise the number of
+	 * column titles and their individual headings will differ from the actual
+	 * content collected by this reporter.
+	 *
+	 * @param informationSource
+	 *            desmoj.core.simulator.Reportable : The BatchMeans to report
+	 *            about.
+	 */
+	public BatchMeansReporter(desmoj.core.simulator.Reportable informationSource) {
+		super(informationSource); // make a Reporter
+
+		numColumns = 12;
+		columns = new String[numColumns];
+		columns[0] = "Title";
+		columns[1] = "(Re)set";
+		columns[2] = "Obs";
+		columns[3] = "Mean";
+		columns[4] = "Std.Dv";
+		columns[5] = "Min";
+		columns[6] = "Max";
+		columns[7] = "WarmUpObs";
+		columns[8] = "SteadyMean";
+		columns[9] = "ConfLevel";
+		columns[10] = "ConfSteadyMean";
+		columns[11] = "Unit";
+		groupHeading = "BatchMeans";
+		groupID = 1662; // see Reporter for more information about groupID
+		entries = new String[numColumns];
+	}
+
+	/**
+	 * Returns an array of Strings each containing the data for the
+	 * corresponding column in array <code>columns[]</code>. Implement this
+	 * method in a way, that an array of the same length as the column titles is
+	 * produced containing the data at the point of time this method is called
+	 * by someone else to produce up-to-date information.
+	 *
+	 * @return java.lang.String[] : Array containing the data for reporting
+	 */
+	public String[] getEntries() {
+		if (source instanceof desmoj.core.statistic.BatchMeans) {
+			// the BatchMeans we report about (source = informationSource)
+			desmoj.core.statistic.BatchMeans bm = (desmoj.core.statistic.BatchMeans) source;
+
+			// Title
+			entries[0] = bm.getName();
+			// (Re)set
+			entries[1] = bm.resetAt().toString();
+			// Obs
+			entries[2] = Long.toString(bm.getObservations());
+			// Mean
+			if (bm.getObservations() == 0) {
+				entries[3] = "Insufficient data";
+			} else {
+				entries[3] = Double.toString(bm.getMean());
+			}
+			// Std.Dev
+			if (bm.getObservations() < 2) {
+				entries[4] = "Insufficient data";
+			} else {
+				entries[4] = Double.toString(bm.getStdDev());
+			}
+			// Min
+			if (bm.getObservations() == 0) {
+				entries[5] = "Insufficient data";
+			} else {
+				entries[5] = Double.toString(bm.getMinimum());
+			}
+			// Max
+			if (bm.getObservations() == 0) {
+				entries[6] = "Insufficient data";
+			} else {
+				entries[6] = Double.toString(bm.getMaximum());
+			}
+
+			// warm-up and steady-state mean
+			if (bm.getNumberOfBatches() == 0) {
+				entries[7] = "Insufficient data";
+				entries[8] = "Insufficient data";
+			} else {
+				entries[7] = Long.toString(bm.getWarmUpObservations());
+				entries[8] = Double.toString(bm.getSteadyStateMean());
+			}
+
+			// ConfLevel
+			entries[9] = Double.toString(bm.getConfidenceLevel());
+
+			// confidence interval of the steady-state mean
+			if (!bm.hasSufficientBatches()) {
+				entries[10] = "Insufficient data";
+			} else {
+				entries[10] = "["
+						+ bm.getConfidenceIntervalOfSteadyStateMeanLowerBound()
+						+ ", "
+						+ bm.getConfidenceIntervalOfSteadyStateMeanUpperBound()
+						+ "]";
+			}
+
+			// Unit
+			entries[11] = bm.getUnitText();
+
+		} else {
+			for (int i = 0; i < numColumns; i++) {
+				entries[i] = "Invalid source!";
+			} // end for
+		} // end else
+
+		return entries;
+	}
+} // end class BatchMeansReporter
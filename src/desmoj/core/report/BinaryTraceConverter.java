@@ -0,0 +1,234 @@
+package desmoj.core.report;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import desmoj.core.simulator.Entity;
+import desmoj.core.simulator.EventAbstract;
+
+/**
+ * Renders a binary trace log written by <code>BinaryTraceOutput</code> to any
+ * trace <code>OutputType</code>, e.g. <code>HTMLTraceOutput</code>,
+ * <code>ASCIITraceOutput</code> or the <code>XMLTraceOutput</code> of the XML
+ * extension. The output is the same as if the output type had been registered
+ * for the trace of the experiment, except that it is produced after the
+ * simulation run. A log cut off because the simulation has crashed is rendered
+ * up to its last complete note.
+ * <p>
+ * From the command line, use<br>
+ * <code>java desmoj.core.report.BinaryTraceConverter &lt;log file&gt;
+ * [html|ascii|xml|&lt;output type class&gt;] [&lt;output path&gt;]</code><br>
+ * which renders the log to HTML in the working directory by default.
+ *
+ * @see BinaryTraceOutput
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class BinaryTraceConverter {
+
+	/**
+	 * A tracenote read from a binary trace log, carrying the names and the
+	 * formatted time as written instead of referring to a running model.
+	 */
+	private static class RecordedTraceNote extends TraceNote {
+
+		private final String _experiment;
+		private final String _model;
+		private final String _time;
+		private final String _event;
+		private final String _entity;
+		private final String _description;
+
+		RecordedTraceNote(String experiment, String model, String time,
+				String event, String entity, String description) {
+			super(null, description, null, (Entity) null, (EventAbstract) null);
+			_experiment = experiment;
+			_model = model;
+			_time = time;
+			_event = event;
+			_entity = entity;
+			_description = description;
+		}
+
+		public String getExperimentName() {
+			return _experiment;
+		}
+
+		public String getModelName() {
+			return _model;
+		}
+
+		public String getTime() {
+			return _time;
+		}
+
+		public String getEvent() {
+			return _event;
+		}
+
+		public String getEntity() {
+			return _entity;
+		}
+
+		public String getDescription() {
+			return _description;
+		}
+	}
+
+	/**
+	 * Renders a binary trace log to the given output, which is opened with the
+	 * given path and name and closed after all notes have been passed to it.
+	 *
+	 * @param logFileName
+	 *            String : The name of the binary trace log
+	 * @param output
+	 *            OutputType : The unopened trace output to render to
+	 * @param pathname
+	 *            String : The path to write the output to, the working
+	 *            directory if <code>null</code>
+	 * @param name
+	 *            String : The name of the output, the name of the experiment
+	 *            that has written the log if <code>null</code>
+	 * @return long : The number of notes rendered
+	 * @throws IOException
+	 *             if the log can not be read or is no binary trace log
+	 */
+	public static long convert(String logFileName, OutputType output,
+			String pathname, String name) throws IOException {
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(logFileName), 1 << 16));
+		try {
+			if (in.readInt() != BinaryTraceOutput.MAGIC
+					|| in.readInt() != BinaryTraceOutput.VERSION) {
+				throw new IOException(logFileName + " is no binary trace log"
+						+ " of version " + BinaryTraceOutput.VERSION);
+			}
+			String experiment = in.readUTF();
+			output.open(pathname, (name != null) ? name : experiment);
+
+			long notes = 0;
+			try {
+				ArrayList<String> names = new ArrayList<String>();
+				String time = "----";
+				while (true) {
+					int tag;
+					try {
+						tag = in.readUnsignedByte();
+					} catch (EOFException e) {
+						break; // log cut off between records
+					}
+					if (tag == BinaryTraceOutput.TAG_TIME) {
+						time = BinaryTraceOutput.readString(in);
+					} else if (tag == BinaryTraceOutput.TAG_NOTE) {
+						String model = readName(in, names);
+						String event = readName(in, names);
+						String entity = readName(in, names);
+						String description = BinaryTraceOutput.readString(in);
+						output.receive(new RecordedTraceNote(experiment, model,
+								time, event, entity, description));
+						notes++;
+					} else if (tag == BinaryTraceOutput.TAG_END) {
+						break;
+					} else {
+						throw new IOException("Unknown record " + tag + " in "
+								+ logFileName);
+					}
+				}
+			} catch (EOFException e) {
+				// log cut off within a record, render the notes read so far
+			}
+
+			if (output instanceof OutputTypeEndToExport) {
+				((OutputTypeEndToExport) output).export(pathname,
+						(name != null) ? name : experiment);
+			}
+			output.close();
+			return notes;
+		} finally {
+			in.close();
+		}
+
+	}
+
+	/**
+	 * Reads a reference to a name, and the name itself if it is written right
+	 * after.
+	 */
+	private static String readName(DataInputStream in, ArrayList<String> names)
+			throws IOException {
+
+		int ref = BinaryTraceOutput.readVarInt(in);
+		if (ref == BinaryTraceOutput.REF_NEW) {
+			String name = BinaryTraceOutput.readString(in);
+			names.add(name);
+			return name;
+		}
+		if (ref == BinaryTraceOutput.REF_INLINE)
+			return BinaryTraceOutput.readString(in);
+		int number = ref - BinaryTraceOutput.REF_OFFSET;
+		if (number >= names.size())
+			throw new IOException("Undefined name " + number
+					+ " in binary trace log");
+		return names.get(number);
+
+	}
+
+	/**
+	 * Renders a binary trace log from the command line.
+	 *
+	 * @param args
+	 *            String[] : The name of the log, optionally followed by the
+	 *            output format (<code>html</code>, <code>ascii</code>,
+	 *            <code>xml</code> or the class name of an
+	 *            <code>OutputType</code>) and the output path
+	 */
+	public static void main(String[] args) throws Exception {
+
+		if (args.length < 1 || args.length > 3) {
+			System.err.println("usage: java " + BinaryTraceConverter.class.getName()
+					+ " <log file> [html|ascii|xml|<output type class>]"
+					+ " [<output path>]");
+			System.exit(1);
+		}
+
+		String format = (args.length > 1) ? args[1] : "html";
+		String type;
+		if (format.equalsIgnoreCase("html"))
+			type = "desmoj.core.report.HTMLTraceOutput";
+		else if (format.equalsIgnoreCase("ascii"))
+			type = "desmoj.core.report.ASCIITraceOutput";
+		else if (format.equalsIgnoreCase("xml"))
+			type = "desmoj.extensions.xml.report.XMLTraceOutput";
+		else
+			type = format;
+		OutputType output;
+		try {
+			output = (OutputType) Class.forName(type).getDeclaredConstructor()
+					.newInstance();
+		} catch (ReflectiveOperationException e) {
+			System.err.println("Can't create the output type " + type + " : " + e);
+			System.exit(1);
+			return;
+		}
+
+		long notes = convert(args[0], output, (args.length > 2) ? args[2] : null, null);
+		System.out.println(notes + " trace notes rendered by " + type);
+
+	}
+}
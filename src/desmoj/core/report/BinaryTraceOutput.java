@@ -0,0 +1,485 @@
+package desmoj.core.report;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import desmoj.core.simulator.TimeInstant;
+
+/**
+ * BinaryTraceOutput writes tracenotes to a compact binary log instead of
+ * formatting them to a HTML or ASCII table on the simulation thread. Receiving
+ * a tracenote only publishes it to a lock-free ring buffer; a background
+ * thread takes the notes from the buffer, formats the simulation time and
+ * writes them to the file <code>&lt;name&gt;_trace.dsjtrace</code>. If the
+ * buffer is full, the simulation waits for the writer, so no note is lost.
+ * <p>
+ * The log is rendered to the usual HTML, ASCII or XML trace by
+ * <code>BinaryTraceConverter</code> after the simulation run. To use this
+ * output, pass <code>"desmoj.core.report.BinaryTraceOutput"</code> as the
+ * trace output type to the constructor of the <code>Experiment</code>.
+ * <p>
+ * The file starts with the magic number <code>0x44534A52</code> ("DSJR"), a
+ * format version and the name of the experiment, followed by records, each
+ * starting with a tag byte. Model, event and entity names are written once and
+ * referred to by number thereafter, the simulation time is only written when
+ * it changes. Strings are written as the length of their UTF-8 bytes followed
+ * by the bytes, numbers as variable length integers.
+ *
+ * @see BinaryTraceConverter
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class BinaryTraceOutput implements OutputType {
+
+	/**
+	 * The magic number starting a binary trace log.
+	 */
+	static final int MAGIC = 0x44534A52;
+
+	/**
+	 * The version of the file format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Tag of a record setting the simulation time of the following notes.
+	 */
+	static final int TAG_TIME = 1;
+
+	/**
+	 * Tag of a record holding a tracenote.
+	 */
+	static final int TAG_NOTE = 2;
+
+	/**
+	 * Tag of the record marking the regular end of the log.
+	 */
+	static final int TAG_END = 3;
+
+	/**
+	 * Reference to a name written right after, being assigned the next number.
+	 */
+	static final int REF_NEW = 0;
+
+	/**
+	 * Reference to a name written right after, not being assigned a number as
+	 * the maximum number of names has been reached.
+	 */
+	static final int REF_INLINE = 1;
+
+	/**
+	 * The offset of the numbers of names to their references.
+	 */
+	static final int REF_OFFSET = 2;
+
+	/**
+	 * The maximum number of names referred to by number.
+	 */
+	static final int MAX_NAMES = 1 << 16;
+
+	/**
+	 * The default number of notes the ring buffer can hold.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/**
+	 * The ring buffer handing the notes to the writer thread.
+	 */
+	private final TraceNoteRingBuffer _buffer;
+
+	/**
+	 * The thread writing the notes to the file, <code>null</code> if not open.
+	 */
+	private Thread _writer;
+
+	/**
+	 * Set when the output is closed, to let the writer drain the buffer and
+	 * terminate.
+	 */
+	private volatile boolean _closed;
+
+	/**
+	 * The exception or error the writer failed with, <code>null</code> if
+	 * none.
+	 */
+	private volatile Throwable _failure;
+
+	/**
+	 * Set once the failure of the writer has been reported.
+	 */
+	private volatile boolean _failureReported;
+
+	/**
+	 * The name of the file written.
+	 */
+	private String _fileName;
+
+	/**
+	 * The stream writing to the file, used by the writer thread only.
+	 */
+	private DataOutputStream _out;
+
+	/**
+	 * The numbers of the names written so far, used by the writer thread only.
+	 */
+	private final HashMap<String, Integer> _names = new HashMap<String, Integer>();
+
+	/**
+	 * The simulation time of the last note written, used by the writer thread
+	 * only.
+	 */
+	private TimeInstant _lastTime;
+
+	/**
+	 * Creates a binary trace output buffering up to
+	 * <code>DEFAULT_CAPACITY</code> notes.
+	 */
+	public BinaryTraceOutput() {
+
+		this(DEFAULT_CAPACITY);
+
+	}
+
+	/**
+	 * Creates a binary trace output buffering up to the given number of notes
+	 * before the simulation has to wait for the writer.
+	 *
+	 * @param capacity
+	 *            int : The number of notes to buffer, rounded up to the next
+	 *            power of two
+	 */
+	public BinaryTraceOutput(int capacity) {
+
+		_buffer = new TraceNoteRingBuffer(capacity);
+
+	}
+
+	/**
+	 * Opens the file <code>&lt;name&gt;_trace.dsjtrace</code> in the given
+	 * path, writes the header and starts the writer thread. The writer
+	 * inherits the time settings of the experiment opening this output and
+	 * formats the simulation time accordingly.
+	 *
+	 * @param pathname
+	 *            String : The path to write in, the working directory if
+	 *            <code>null</code>
+	 * @param name
+	 *            String : The name of the experiment
+	 */
+	public void open(String pathname, String name) {
+
+		if (_writer != null)
+			return; // already open
+
+		if ((pathname == null) || (pathname.length() == 0))
+			pathname = System.getProperty("user.dir", ".");
+		if ((name == null) || (name.length() == 0))
+			name = "DESMOJ";
+		_fileName = pathname + File.separator + name + "_trace" + getAppendix();
+
+		try {
+			_out = new DataOutputStream(new BufferedOutputStream(
+					new FileOutputStream(_fileName), 1 << 16));
+			_out.writeInt(MAGIC);
+			_out.writeInt(VERSION);
+			_out.writeUTF(name);
+		} catch (IOException ioEx) {
+			System.out.println("IOException thrown : " + ioEx);
+			System.out.println("description: Can't open file " + _fileName);
+			System.out.println("origin     : Experiment auxiliaries");
+			System.out.println("location   : BinaryTraceOutput.open(String, String)");
+			System.out.println("hint       : Check access to the file and"
+					+ " that it is not in use by some other application.");
+			_out = null;
+			return;
+		}
+
+		_closed = false;
+		_failure = null;
+		_failureReported = false;
+		_writer = new Thread(new Runnable() {
+			public void run() {
+				writeNotes();
+			}
+		}, "DESMO-J trace writer " + name);
+		_writer.setDaemon(true);
+		_writer.start();
+
+	}
+
+	/**
+	 * Closes this output. Waits for the writer thread to write all notes
+	 * received, then writes the end of the log and closes the file. Reports
+	 * the failure of the writer, if any and not reported yet.
+	 */
+	public void close() {
+
+		if (_writer == null)
+			return; // not open
+
+		_closed = true;
+		LockSupport.unpark(_writer);
+		boolean interrupted = false;
+		while (_writer.isAlive()) {
+			try {
+				_writer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		_writer = null;
+
+		if (_failure != null)
+			reportFailure("BinaryTraceOutput.close()");
+
+	}
+
+	/**
+	 * Returns the file appendix of binary trace logs.
+	 */
+	public String getAppendix() {
+
+		return ".dsjtrace";
+
+	}
+
+	/**
+	 * Returns the name of the file written or <code>null</code> if this output
+	 * has not been opened yet.
+	 *
+	 * @return java.lang.String : The name of the file
+	 */
+	public String getFileName() {
+
+		return _fileName;
+
+	}
+
+	/**
+	 * Receives a TraceNote and hands it to the writer thread. Other types of
+	 * messages are ignored, as are all notes if this output is not open. If
+	 * the writer has failed, the failure is reported once and all further
+	 * notes are dropped.
+	 *
+	 * @param m
+	 *            Message : The TraceNote to be written to the log
+	 */
+	public void receive(Message m) {
+
+		if (!(m instanceof TraceNote))
+			return; // got wrong message or null
+		Thread writer = _writer;
+		if (writer == null)
+			return; // not open
+
+		if (_failure != null) {
+			if (!_failureReported)
+				reportFailure("BinaryTraceOutput.receive(Message)");
+			return;
+		}
+
+		while (!_buffer.offer((TraceNote) m)) {
+			// buffer full, wait for the writer
+			if (_failure != null || !writer.isAlive()) {
+				reportFailure("BinaryTraceOutput.receive(Message)");
+				return;
+			}
+			LockSupport.unpark(writer);
+			Thread.yield();
+		}
+
+	}
+
+	/**
+	 * Reports the failure of the writer thread once, like the other outputs
+	 * report files they can not write.
+	 *
+	 * @param location
+	 *            String : The method noticing the failure
+	 */
+	private synchronized void reportFailure(String location) {
+
+		if (_failureReported)
+			return;
+		_failureReported = true;
+		Throwable failure = _failure;
+		System.out.println((failure == null ? "Trace writer terminated"
+				: failure.getClass().getSimpleName() + " thrown : " + failure));
+		System.out.println("description: Can't write to " + _fileName);
+		System.out.println("origin     : Experiment auxiliaries");
+		System.out.println("location   : " + location);
+		System.out.println("hint       : Check access to the file and"
+				+ " that it is not in use by some other application.");
+		System.out.println("The System will not be shut down. But the file "
+				+ _fileName + " is incomplete, no more tracenotes will be "
+				+ "written to it!");
+
+	}
+
+	/**
+	 * Reporters are not handled by this class so this method simply returns.
+	 *
+	 * @param r
+	 *            Reporter : The reporter to be processed
+	 */
+	public void receive(Reporter r) {
+
+		return; // No reporters are handled here
+
+	}
+
+	/**
+	 * The loop of the writer thread, taking notes from the buffer until this
+	 * output is closed and the buffer is drained. Flushes the file whenever
+	 * the buffer runs empty and parks for up to a millisecond while it stays
+	 * empty.
+	 */
+	private void writeNotes() {
+
+		try {
+			int idle = 0;
+			while (true) {
+				TraceNote note = _buffer.poll();
+				if (note != null) {
+					write(note);
+					idle = 0;
+				} else if (_closed && _buffer.isEmpty()) {
+					break; // all notes written
+				} else if (idle++ == 0) {
+					_out.flush();
+				} else if (idle < 100) {
+					Thread.yield();
+				} else {
+					LockSupport.parkNanos(this, 1000000L);
+				}
+			}
+			_out.writeByte(TAG_END);
+		} catch (Throwable t) {
+			// any failure, e.g. a runtime exception formatting the time,
+			// is stored to be reported by the simulation thread
+			_failure = t;
+		} finally {
+			try {
+				_out.close();
+			} catch (IOException e) {
+				if (_failure == null)
+					_failure = e;
+			}
+			_out = null;
+			_names.clear();
+			_lastTime = null;
+		}
+
+	}
+
+	/**
+	 * Writes a note, preceded by its simulation time if it differs from the
+	 * time of the previous note.
+	 */
+	private void write(TraceNote note) throws IOException {
+
+		TimeInstant time = note.getSendTime();
+		if (_lastTime == null || time == null || !time.equals(_lastTime)) {
+			_out.writeByte(TAG_TIME);
+			writeString(_out, note.getTime());
+			_lastTime = time;
+		}
+		_out.writeByte(TAG_NOTE);
+		writeName(note.getModelName());
+		writeName(note.getEvent());
+		writeName(note.getEntity());
+		writeString(_out, note.getDescription());
+
+	}
+
+	/**
+	 * Writes a reference to a name, followed by the name itself if it has not
+	 * been written before.
+	 */
+	private void writeName(String name) throws IOException {
+
+		Integer number = _names.get(name);
+		if (number != null) {
+			writeVarInt(_out, number + REF_OFFSET);
+		} else if (_names.size() < MAX_NAMES) {
+			_names.put(name, _names.size());
+			writeVarInt(_out, REF_NEW);
+			writeString(_out, name);
+		} else {
+			writeVarInt(_out, REF_INLINE);
+			writeString(_out, name);
+		}
+
+	}
+
+	/**
+	 * Writes a non-negative int in 7-bit groups, least significant first.
+	 */
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+
+	}
+
+	/**
+	 * Reads a non-negative int written by <code>writeVarInt</code>.
+	 */
+	static int readVarInt(DataInputStream in) throws IOException {
+
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed number in binary trace log");
+
+	}
+
+	/**
+	 * Writes a string as the length of its UTF-8 bytes followed by the bytes.
+	 */
+	static void writeString(DataOutputStream out, String s) throws IOException {
+
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+
+	}
+
+	/**
+	 * Reads a string written by <code>writeString</code>.
+	 */
+	static String readString(DataInputStream in) throws IOException {
+
+		byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+
+	}
+}
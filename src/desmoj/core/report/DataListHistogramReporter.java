@@ -1,5 +1,7 @@
 package desmoj.core.report;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import desmoj.core.simulator.Reportable;
 import desmoj.core.statistic.DataListTally;
 
@@ -32,12 +34,12 @@ public class DataListHistogramReporter extends Reporter {
 	/**
 	 * Counter for the instances of this class
 	 */
-	private static int _entireReporterCount = 0;
+	private static final AtomicInteger _entireReporterCount = new AtomicInteger();
 
 	/**
 	 * Counter for the instances of this class which are not already destructed.
 	 */
-	private static int _activeReporterCount = 0;
+	private static final AtomicInteger _activeReporterCount = new AtomicInteger();
 
 	/**
 	 * The histogram's dimensions, containing the lowest value, the greatest
@@ -65,10 +67,9 @@ public class DataListHistogramReporter extends Reporter {
 
 		// To produce a single table for each DataList, the reporters need to be
 		// counted and groupID is calculated using this counters.
-		_activeReporterCount++;
-		_entireReporterCount++;
+		_activeReporterCount.incrementAndGet();
 
-		groupID = 2011 + (_entireReporterCount * 100);
+		groupID = 2011 + (_entireReporterCount.incrementAndGet() * 100);
 		groupHeading = "Histogram for " + informationSource.getName();
 
 		_dimensions = getIntervalDimensions(min, max);
@@ -95,10 +96,8 @@ public class DataListHistogramReporter extends Reporter {
 	 * Destructor for a DataListReporter
 	 */
 	protected void finalize() {
-		_activeReporterCount--;
-
-		if (_activeReporterCount == 0)
-			_entireReporterCount = 0;
+		if (_activeReporterCount.decrementAndGet() == 0)
+			_entireReporterCount.set(0);
 	}
 
 	/**
@@ -0,0 +1,123 @@
+package desmoj.core.report;
+
+import desmoj.core.simulator.TimeSpan;
+
+/**
+ * Captures all relevant information about the LogLinearHistogram, i.e. the
+ * Tally values and selected percentiles with their maximum relative error.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+public class LogLinearHistogramReporter extends desmoj.core.report.Reporter {
+
+	/**
+	 * The percentiles reported.
+	 */
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	// ****** methods ******
+
+	/**
+	 * Constructor for a new LogLinearHistogramReporter. Note that although any
+	 * Reportable is accepted you should make sure that only subtypes of
+	 * LogLinearHistogram are passed to this constructor. Otherwise the number
+	 * of column titles and their individual headings will differ from the
+	 * actual content collected by this reporter.
+	 *
+	 * @param informationSource
+	 *            desmoj.core.simulator.Reportable : The LogLinearHistogram to
+	 *            report about.
+	 */
+	public LogLinearHistogramReporter(
+			desmoj.core.simulator.Reportable informationSource) {
+		super(informationSource); // make a Reporter
+
+		numColumns = 12;
+		columns = new String[numColumns];
+		columns[0] = "Title";
+		columns[1] = "(Re)set";
+		columns[2] = "Obs";
+		columns[3] = "Mean";
+		columns[4] = "Min";
+		columns[5] = "50%";
+		columns[6] = "90%";
+		columns[7] = "99%";
+		columns[8] = "99.9%";
+		columns[9] = "Max";
+		columns[10] = "Rel.Err";
+		columns[11] = "Unit";
+		groupHeading = "Log-Linear Histograms";
+		groupID = 1612; // see Reporter for more information about groupID
+		entries = new String[numColumns];
+	}
+
+	/**
+	 * Returns an array of Strings each containing the data for the
+	 * corresponding column in array <code>columns[]</code>.
+	 *
+	 * @return java.lang.String[] : Array containing the data for reporting
+	 */
+	public String[] getEntries() {
+		if (source instanceof desmoj.core.statistic.LogLinearHistogram) {
+			// the LogLinearHistogram we report about
+			desmoj.core.statistic.LogLinearHistogram lh = (desmoj.core.statistic.LogLinearHistogram) source;
+			boolean showTimeSpans = lh.getShowTimeSpansInReport();
+
+			// Title
+			entries[0] = lh.getName();
+			// (Re)set
+			entries[1] = lh.resetAt().toString();
+			// Obs
+			entries[2] = Long.toString(lh.getObservations());
+
+			if (lh.getObservations() == 0) {
+				for (int i = 3; i <= 9; i++) {
+					entries[i] = "Insufficient data";
+				}
+			} else {
+				entries[3] = this.format(showTimeSpans, lh.getMean());
+				entries[4] = this.format(showTimeSpans, lh.getMinimum());
+				for (int i = 0; i < PERCENTILES.length; i++) {
+					entries[5 + i] = this.format(showTimeSpans,
+							lh.getValueAtPercentile(PERCENTILES[i]));
+				}
+				entries[9] = this.format(showTimeSpans, lh.getMaximum());
+			}
+			// Rel.Err
+			entries[10] = (float) (lh.getRelativeError() * 100) + "%";
+			// Unit
+			entries[11] = lh.getUnitText();
+
+		} else {
+			for (int i = 0; i < numColumns; i++) {
+				entries[i] = "Invalid source!";
+			} // end for
+		} // end else
+
+		return entries;
+	}
+
+	private String format(boolean showTimeSpans, double value) {
+		String out = Double.toString(value);
+		if (showTimeSpans && value < 0.0)
+			out += " (Invalid)";
+		else if (showTimeSpans && value >= Long.MAX_VALUE)
+			out += " (Invalid)";
+		else if (showTimeSpans)
+			out = new TimeSpan(value).toString();
+		return out;
+	}
+
+} // end class LogLinearHistogramReporter
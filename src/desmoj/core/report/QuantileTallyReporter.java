@@ -0,0 +1,119 @@
+package desmoj.core.report;
+
+import java.util.Arrays;
+
+import desmoj.core.simulator.TimeSpan;
+import desmoj.core.statistic.QuantileTally;
+
+/**
+ * Captures all relevant information about the QuantileTally, i.e. the Tally
+ * values and the percentiles estimated. As all reporters of a group share the
+ * column headings, all QuantileTallies shown in a report should report the
+ * same percentiles.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+public class QuantileTallyReporter extends desmoj.core.report.TallyReporter {
+
+	/**
+	 * The number of columns of the TallyReporter.
+	 */
+	private final int _tallyColumns;
+
+	/**
+	 * The percentiles reported.
+	 */
+	private double[] _percentiles;
+
+	// ****** methods ******
+
+	/**
+	 * Constructor for a new QuantileTallyReporter. Note that although any
+	 * Reportable is accepted you should make sure that only subtypes of
+	 * QuantileTally are passed to this constructor. Otherwise the number of
+	 * column titles and their individual headings will differ from the actual
+	 * content collected by this reporter.
+	 *
+	 * @param informationSource
+	 *            desmoj.core.simulator.Reportable : The QuantileTally to report
+	 *            about.
+	 */
+	public QuantileTallyReporter(
+			desmoj.core.simulator.Reportable informationSource) {
+		super(informationSource); // make a Reporter
+
+		_tallyColumns = numColumns;
+		_percentiles = new double[0];
+		if (source instanceof QuantileTally) {
+			setPercentiles(((QuantileTally) source).getReportedPercentiles());
+		}
+		groupHeading = "Quantile Tallies";
+		groupID = 1613; // see Reporter for more information about groupID
+	}
+
+	/**
+	 * Adds a column per percentile to the columns of the TallyReporter.
+	 */
+	private void setPercentiles(double[] percentiles) {
+		_percentiles = percentiles;
+		numColumns = _tallyColumns + percentiles.length;
+		columns = Arrays.copyOf(columns, numColumns);
+		for (int i = 0; i < percentiles.length; i++) {
+			double p = percentiles[i];
+			columns[_tallyColumns + i] = (p == Math.rint(p) ? Long
+					.toString((long) p) : Double.toString(p)) + "%";
+		}
+		entries = new String[numColumns];
+	}
+
+	/**
+	 * Returns an array of Strings each containing the data for the
+	 * corresponding column in array <code>columns[]</code>.
+	 *
+	 * @return java.lang.String[] : Array containing the data for reporting
+	 */
+	public String[] getEntries() {
+		if (source instanceof QuantileTally) {
+			QuantileTally qt = (QuantileTally) source;
+			double[] percentiles = qt.getReportedPercentiles();
+			if (!Arrays.equals(percentiles, _percentiles)) {
+				setPercentiles(percentiles);
+			}
+		}
+
+		entries = super.getEntries(); // fills the columns of the Tally
+
+		if (source instanceof QuantileTally) {
+			QuantileTally qt = (QuantileTally) source;
+			boolean showTimeSpansInReport = qt.getShowTimeSpansInReport();
+			for (int i = 0; i < _percentiles.length; i++) {
+				if (qt.getObservations() == 0) {
+					entries[_tallyColumns + i] = "Insufficient data";
+				} else {
+					double value = qt.getPercentile(_percentiles[i]);
+					entries[_tallyColumns + i] = showTimeSpansInReport
+							&& value >= 0 ? new TimeSpan(value).toString()
+							: Double.toString(value);
+				}
+			}
+		} else {
+			for (int i = _tallyColumns; i < numColumns; i++) {
+				entries[i] = "Invalid source!";
+			}
+		}
+
+		return entries;
+	}
+}
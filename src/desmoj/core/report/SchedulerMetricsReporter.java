@@ -0,0 +1,140 @@
+package desmoj.core.report;
+
+import java.text.DecimalFormat;
+import java.util.Map;
+
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.Reportable;
+import desmoj.core.simulator.SchedulerMetrics;
+
+/**
+ * A reporter about the throughput of the scheduler during a simulation run,
+ * including the number of events processed per second, the high-water mark of
+ * the event-list size, the context switches and the number of events and
+ * wall clock time per class of event or SimProcess. Only reported if the
+ * metrics have been enabled by <code>Experiment.setMetricsEnabled(true)</code>
+ * before the experiment was started.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class SchedulerMetricsReporter extends desmoj.core.report.TableReporter {
+
+    /**
+     * An inner class providing the scheduler metrics report.
+     */
+    public static class SchedulerMetricsReporterProvider extends Reportable {
+
+        SchedulerMetricsReporter r;
+
+        public SchedulerMetricsReporterProvider(Model model) {
+            super(model, "SchedulerMetricsReportProvider", true, false);
+            r = new SchedulerMetricsReporter(model);
+        }
+
+        public Reporter createDefaultReporter() {
+            return r;
+        }
+    }
+
+    /**
+     * The number of rows preceding the rows per class.
+     */
+    private static final int GENERAL_ROWS = 6;
+
+    /**
+     * Creates a scheduler metrics reporter for the given model.
+     *
+     * @param model
+     *            Model : The model whose experiment to report about.
+     */
+    public SchedulerMetricsReporter(Model model) {
+
+        super(model, "Scheduler Metrics");
+
+        groupID = 1999999999; // right after the simulation run
+        numRows = GENERAL_ROWS;
+        numColumns = 3;
+        this.columns = new String[] { "Property", "Content", "Time [ms]" };
+        this.groupHeading = "";
+    }
+
+    /**
+     * Returns the output of the SchedulerMetricsReporter.
+     *
+     * @return String[][] : The scheduler metrics to be written into the
+     *         report.
+     */
+    public String[][] getEntryTable() {
+
+        SchedulerMetrics metrics = getModel().getExperiment().getMetrics();
+        if (metrics == null) {
+            numRows = 1;
+            entryTable = new String[][] { { "Metrics", "Disabled", "" } };
+            return entryTable;
+        }
+
+        Map<String, Long> counts = metrics.getCountsByClass();
+        Map<String, Long> nanos = metrics.getNanosByClass();
+        DecimalFormat rate = new DecimalFormat("0.0");
+
+        numRows = GENERAL_ROWS + counts.size();
+        entryTable = new String[numRows][numColumns];
+
+        entryTable[0][0] = "Events processed";
+        entryTable[0][1] = Long.toString(metrics.getEventsProcessed());
+        entryTable[0][2] = millis(metrics.getEventRoutineNanos()
+                + metrics.getLifeCycleNanos());
+
+        entryTable[1][0] = "Events per second";
+        entryTable[1][1] = rate.format(metrics.getEventRate());
+        entryTable[1][2] = "";
+
+        entryTable[2][0] = "Event-list high-water mark";
+        entryTable[2][1] = Integer.toString(metrics.getEventListHighWaterMark());
+        entryTable[2][2] = "";
+
+        entryTable[3][0] = "Context switches";
+        entryTable[3][1] = metrics.getContextSwitches() + " ("
+                + rate.format(metrics.getContextSwitchRate()) + " per second)";
+        entryTable[3][2] = "";
+
+        entryTable[4][0] = "Time in eventRoutine()";
+        entryTable[4][1] = "";
+        entryTable[4][2] = millis(metrics.getEventRoutineNanos());
+
+        entryTable[5][0] = "Time in lifeCycle()";
+        entryTable[5][1] = "";
+        entryTable[5][2] = millis(metrics.getLifeCycleNanos());
+
+        int row = GENERAL_ROWS;
+        for (Map.Entry<String, Long> e : counts.entrySet()) {
+            entryTable[row][0] = e.getKey();
+            entryTable[row][1] = e.getValue().toString();
+            Long n = nanos.get(e.getKey());
+            entryTable[row][2] = millis(n == null ? 0 : n);
+            row++;
+        }
+
+        return entryTable;
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds.
+     */
+    private static String millis(long nanos) {
+
+        return new DecimalFormat("0.000").format(nanos / 1e6);
+    }
+}
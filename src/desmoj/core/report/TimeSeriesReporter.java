@@ -51,25 +51,11 @@ public class TimeSeriesReporter extends desmoj.core.report.Reporter {
             entries[2] = Double.toString(StatisticObject.round(timeSeries.get_start().getTimeAsDouble()));
             entries[3] = Double.toString(StatisticObject.round(timeSeries.get_end().getTimeAsDouble()));
 			entries[4] = Long.toString(timeSeries.getObservations());
-			List<Double> timeListBuff = timeSeries.getTimeValues();
-			List<Double> dataListBuff = timeSeries.getDataValues();
-			if (dataListBuff == null || dataListBuff.size() == 0) {
-	            entries[5] = Double.toString(StatisticObject.UNDEFINED);
-	            entries[6] = Double.toString(StatisticObject.UNDEFINED);
-	            entries[7] = Double.toString(StatisticObject.UNDEFINED);
-                entries[8] = Double.toString(StatisticObject.UNDEFINED);
-			} else {
-   	            entries[5] = Double.toString(dataListBuff.get(0));
-	            entries[6] = Double.toString(dataListBuff.get(timeListBuff.size()-1));
-			    double min = dataListBuff.get(0);
-    			double max = dataListBuff.get(0);
-    			for (int i = 1; i < dataListBuff.size(); i++) {
-    			    if (dataListBuff.get(i) > max) max = dataListBuff.get(i);
-    			    if (dataListBuff.get(i) < min) min = dataListBuff.get(i);
-    			}
-                entries[7] = Double.toString(min);
-                entries[8] = Double.toString(max);
-            }	
+			// exact values, independent of the points retained in memory
+            entries[5] = Double.toString(timeSeries.getFirstValue());
+            entries[6] = Double.toString(timeSeries.getLastValue());
+            entries[7] = Double.toString(timeSeries.getMinimum());
+            entries[8] = Double.toString(timeSeries.getMaximum());
 			entries[9] = timeSeries.getGroup();
 		}
 		groupHeading = "TimeSeries";
@@ -0,0 +1,134 @@
+package desmoj.core.report;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free ring buffer handing trace notes from the simulation to
+ * the thread writing them to a <code>BinaryTraceOutput</code>. There is only
+ * one producer at a time, as the simulation runs only one strand at a time,
+ * and exactly one consumer. Publishing a note is an array store and an ordered
+ * write of the tail, without any lock or allocation.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+final class TraceNoteRingBuffer {
+
+	/**
+	 * The slots of the buffer, the length being a power of two.
+	 */
+	private final TraceNote[] _slots;
+
+	/**
+	 * The length of the buffer minus one, masking a sequence to its slot.
+	 */
+	private final int _mask;
+
+	/**
+	 * The sequence of the next note to be taken by the consumer.
+	 */
+	private final AtomicLong _head = new AtomicLong();
+
+	/**
+	 * The sequence of the next note to be published by the producer.
+	 */
+	private final AtomicLong _tail = new AtomicLong();
+
+	/**
+	 * The head as last seen by the producer, refreshed only when the buffer
+	 * seems to be full.
+	 */
+	private long _cachedHead;
+
+	/**
+	 * The tail as last seen by the consumer, refreshed only when the buffer
+	 * seems to be empty.
+	 */
+	private long _cachedTail;
+
+	/**
+	 * Creates a ring buffer holding at least the given number of notes.
+	 *
+	 * @param capacity
+	 *            int : The minimum number of notes, rounded up to the next
+	 *            power of two
+	 */
+	TraceNoteRingBuffer(int capacity) {
+
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		_slots = new TraceNote[size];
+		_mask = size - 1;
+
+	}
+
+	/**
+	 * Returns the number of notes the buffer can hold.
+	 */
+	int capacity() {
+
+		return _slots.length;
+
+	}
+
+	/**
+	 * Publishes a note, to be called by the producer only.
+	 *
+	 * @return boolean : <code>false</code> if the buffer is full and the note
+	 *         has not been published
+	 */
+	boolean offer(TraceNote note) {
+
+		long tail = _tail.get();
+		if (tail - _cachedHead >= _slots.length) {
+			_cachedHead = _head.get();
+			if (tail - _cachedHead >= _slots.length)
+				return false; // still full
+		}
+		_slots[(int) tail & _mask] = note;
+		_tail.lazySet(tail + 1); // publishes the slot written before
+		return true;
+
+	}
+
+	/**
+	 * Takes the oldest note, to be called by the consumer only.
+	 *
+	 * @return TraceNote : The oldest note or <code>null</code> if the buffer
+	 *         is empty
+	 */
+	TraceNote poll() {
+
+		long head = _head.get();
+		if (head == _cachedTail) {
+			_cachedTail = _tail.get();
+			if (head == _cachedTail)
+				return null; // still empty
+		}
+		int slot = (int) head & _mask;
+		TraceNote note = _slots[slot];
+		_slots[slot] = null; // do not keep the note reachable
+		_head.lazySet(head + 1);
+		return note;
+
+	}
+
+	/**
+	 * Returns if the buffer is empty as seen by the calling thread.
+	 */
+	boolean isEmpty() {
+
+		return _head.get() == _tail.get();
+
+	}
+}
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import desmoj.core.dist.DiscreteDistUniform;
 
@@ -115,14 +116,14 @@ public class CanvasTimeSeries extends AbstractNumericalChartCanvas<Double> {
 	 */
 	private List<Color> _dataColors;
 	
-	private static int nextColorAvailable = 0;
+	private static final AtomicInteger nextColorAvailable = new AtomicInteger();
 	
 	public CanvasTimeSeries(String name, int canvasHeight, int canvasWidth, ChartDataTimeSeries timeSeriesData, String axis_x, String axis_y) {
 		super(name, canvasHeight, canvasWidth);
 		_timeSeries = new ArrayList<ChartDataTimeSeries>();
 		_dataColors = new ArrayList<Color>();
 		_timeSeries.add(timeSeriesData);
-		_dataColors.add(getColor(nextColorAvailable++));
+		_dataColors.add(getColor(nextColorAvailable.getAndIncrement()));
 		_numOfXScale = Long.MIN_VALUE;
 		_numOfYScale = Long.MIN_VALUE;
 		_startXScale = Double.NaN;
@@ -240,7 +241,7 @@ public class CanvasTimeSeries extends AbstractNumericalChartCanvas<Double> {
 	 */
 	public Color addTimeSeries(ChartDataTimeSeries timeSeries) {
 		_timeSeries.add(timeSeries);
-		Color color = getColor(nextColorAvailable++);
+		Color color = getColor(nextColorAvailable.getAndIncrement());
 		this._dataColors.add(color);
 		return color;
 	}
@@ -42,6 +42,19 @@ public enum CoroutineModel {
         public SimStrandFactory createStrandFactory(String experimentName) {
             return new FiberSimStrandFactory();
         }
+    },
+
+    /**
+     * Use a JDK virtual thread for every process.
+     * Virtual threads are as cheap as fibers when parked, but require no bytecode manipulation.
+     * This model is suited for process-oriented models with a very large number of live processes.
+     * Requires Java 21 or later.
+     */
+    VIRTUAL_THREADS {
+        @Override
+        public SimStrandFactory createStrandFactory(String experimentName) {
+            return new VirtualThreadSimStrandFactory(experimentName);
+        }
     };
     
     abstract SimStrandFactory createStrandFactory(String experimentName);
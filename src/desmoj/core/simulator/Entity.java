@@ -65,6 +65,12 @@ public abstract class Entity extends Schedulable {
 	 * The <code>Queue</code>s or other <code>QueueBased</code> objects where this Entity is queued.
 	 */
 	private ArrayList<QueueBased> _myQueues;
+
+	/**
+	 * The nodes of this Entity in <code>QueueListLinked</code>s, chained
+	 * across the lists it is enqueued in.
+	 */
+	QueueListLinked.Node _queueListNodes;
 	
 	/**
 	 * The identfication number of this Entity.
@@ -407,7 +413,9 @@ public abstract class Entity extends Schedulable {
         }
 
         // generate trace
-        this.generateTraceForScheduling(what, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(what, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(this, what, dt);
@@ -595,7 +603,9 @@ public abstract class Entity extends Schedulable {
         }
     
         // generate trace
-        this.generateTraceForScheduling(what, who2, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(what, who2, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(this, who2, what, dt);
@@ -816,7 +826,9 @@ public abstract class Entity extends Schedulable {
         }
         
         // generate trace
-        this.generateTraceForScheduling(what, who2, who3, null, null, TimeOperations.add(presentTime(), dt), null);
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(what, who2, who3, null, null, TimeOperations.add(presentTime(), dt), null);
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(this, who2, who3, what, dt);
@@ -1747,6 +1759,7 @@ public abstract class Entity extends Schedulable {
     protected Entity clone() throws CloneNotSupportedException {
         Entity c = (Entity) super.clone();
         c._myQueues = new ArrayList<QueueBased>();
+        c._queueListNodes = null;
         c._identNumber = this.getModel().linkWithIdentNumber(c);
         return c;
     }
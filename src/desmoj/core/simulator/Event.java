@@ -1,5 +1,7 @@
 package desmoj.core.simulator;
 
+import java.util.concurrent.TimeUnit;
+
 import co.paralleluniverse.fibers.SuspendExecution;
 import desmoj.core.dist.NumericalDist;
 
@@ -192,7 +194,9 @@ public abstract class Event<E extends Entity> extends EventAbstract {
         }
         
         // generate trace
-        this.generateTraceForScheduling(who, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(who, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(who, this, dt);
@@ -202,6 +206,62 @@ public abstract class Event<E extends Entity> extends EventAbstract {
                     + getModel().getExperiment().getScheduler().toString());
         }
 
+    }
+
+	/**
+     * Schedules this event to act on the given Entity after the given span of
+     * simulation time, given as a primitive value in the time unit given.
+     * Unlike <code>schedule(E, TimeSpan)</code>, no <code>TimeSpan</code> or
+     * <code>TimeInstant</code> objects are created unless needed for the trace,
+     * so models scheduling many events avoid allocating time objects.
+     * Preemption is not allowed.
+     * 
+     * @param who
+     *            E : The Entity this event happens to
+     * @param dt
+     *            long : The offset to the current simulation time this
+     *            Event is to happen, not negative
+     * @param unit
+     *            TimeUnit : The time unit of the offset
+     * @see #schedule(Entity, TimeSpan)
+     */
+    public void schedule(E who, long dt, TimeUnit unit) {
+        if ((who == null)) {
+            sendWarning("Can't schedule Event!", "Event : " + getName()
+                    + " Method: schedule(Entity who, long dt, TimeUnit unit)",
+                    "The Entity given as parameter is a null reference.",
+                    "Be sure to have a valid Entity reference for this event to "
+                            + "be scheduled with.");
+            return; // no proper parameter
+        }
+
+        if (!isModelCompatible(who)) {
+            sendWarning("Can't schedule Event! Command ignored", "Entity : "
+                    + getName() + " Method: schedule(Entity who, long dt, TimeUnit unit)",
+                    "The Entity to be scheduled with this event is not "
+                            + "modelcompatible.",
+                    "Make sure to use compatible model components only.");
+            return; // is not compatible
+        }
+
+        long dtInEpsilon = TimeOperations.toEpsilon(dt, unit,
+                getModel().getExperiment().getContext());
+        Scheduler scheduler = getModel().getExperiment().getScheduler();
+
+        // generate trace
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(who, null, null, null, null, TimeInstant.ofEpsilon(
+                    TimeOperations.addInEpsilon(scheduler.presentTimeInEpsilon(), dtInEpsilon)), null);
+        }
+        
+        // schedule Event
+        scheduler.scheduleNoPreempt(who, this, dtInEpsilon);
+
+        if (currentlySendDebugNotes()) {
+            sendDebugNote("schedules on EventList<br>"
+                    + scheduler.toString());
+        }
+
     }
     
     /**
@@ -341,7 +401,9 @@ public abstract class Event<E extends Entity> extends EventAbstract {
         TimeSpan dt = dist.sampleTimeSpan();
         
         // generate trace
-        this.generateTraceForScheduling(who, null, null, null, null, TimeOperations.add(presentTime(), dt), "sampled from " + dist.getQuotedName());
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(who, null, null, null, null, TimeOperations.add(presentTime(), dt), "sampled from " + dist.getQuotedName());
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(who, this, dt);
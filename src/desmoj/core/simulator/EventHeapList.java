@@ -0,0 +1,671 @@
+package desmoj.core.simulator;
+
+import java.util.Arrays;
+
+import desmoj.core.exception.SimAbortedException;
+import desmoj.core.report.ErrorMessage;
+
+/**
+ * An {@link EventList} implementation based on an implicit 4-ary heap. The
+ * heap is keyed on the raw point of simulation time in epsilon (a primitive
+ * <code>long</code>), the priority and a sequence number assigned on insertion
+ * that breaks ties in FIFO order, so concurrent events are processed in the
+ * same order as by <code>EventTreeList</code> or <code>SortedMapEventList</code>.
+ * The keys are held in primitive arrays parallel to the heap of event-notes,
+ * thus comparisons do not have to dereference the notes or their
+ * <code>TimeInstant</code>s.
+ * <p>
+ * Insertion and removal of arbitrary event-notes take O(log n) time, access to
+ * the first event-note O(1). Event-notes inserted via
+ * <code>insertBefore()</code> or <code>insertAfter()</code> share the heap
+ * slot of their reference note and are chained to it in a doubly linked list,
+ * which keeps these operations in O(1) as well. Note that
+ * <code>nextNote()</code>, <code>prevNote()</code> and <code>lastNote()</code>
+ * require a linear scan of the heap; they are only used to copy or print the
+ * event-list, not while the simulation is running.
+ * <p>
+ * This event-list is intended for models with a large number of pending
+ * events. To use it, call
+ * <code>experiment.setEventList(EventHeapList.class)</code>.
+ *
+ * @see EventTreeList
+ * @see SortedMapEventList
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class EventHeapList extends EventList {
+
+	/**
+	 * The number of children of each heap node.
+	 */
+	private static final int ARITY = 4;
+
+	/**
+	 * The initial capacity of the heap arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The event-notes stored in the heap, i.e. the first note of each chain of
+	 * notes inserted relative to each other.
+	 */
+	private EventNote[] _notes;
+
+	/**
+	 * The points of simulation time (in epsilon) of the event-notes in the heap.
+	 */
+	private long[] _times;
+
+	/**
+	 * The priorities of the event-notes in the heap.
+	 */
+	private int[] _priorities;
+
+	/**
+	 * The FIFO tie-break sequence numbers of the event-notes in the heap.
+	 */
+	private long[] _sequences;
+
+	/**
+	 * The number of event-notes stored in the heap.
+	 */
+	private int _size;
+
+	/**
+	 * The number of event-notes in this event-list, including those chained
+	 * to the notes stored in the heap.
+	 */
+	private int _count;
+
+	/**
+	 * The sequence number to be assigned to the next note inserted via
+	 * <code>insert()</code>.
+	 */
+	private long _nextSequence;
+
+	/**
+	 * The sequence number last assigned to a note inserted via
+	 * <code>insertAsFirst()</code>. Counts downwards, so these notes precede
+	 * all other notes of the same time and priority.
+	 */
+	private long _firstSequence;
+
+	/**
+	 * Constructs an empty event-list.
+	 */
+	public EventHeapList() {
+
+		_notes = new EventNote[INITIAL_CAPACITY];
+		_times = new long[INITIAL_CAPACITY];
+		_priorities = new int[INITIAL_CAPACITY];
+		_sequences = new long[INITIAL_CAPACITY];
+		_size = 0;
+		_nextSequence = 0;
+		_firstSequence = 0;
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	EventNote firstNote() {
+
+		return _size == 0 ? null : _notes[0];
+	}
+
+	/**
+	 * Inserts the new event-note preserving the temporal order of the
+	 * event-notes contained in the event-list. Event-notes with equal time and
+	 * priority are kept in FIFO order.
+	 *
+	 * @param newNote
+	 *            EventNote : the new note to be inserted in the event-list
+	 *            keeping the temporal order
+	 */
+	@Override
+	void insert(EventNote newNote) {
+
+		addNoteToEntities(newNote);
+		push(newNote, _nextSequence++);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void insertAfter(EventNote afterNote, EventNote newNote) {
+
+		if (!contains(afterNote)) {
+			throw referenceNotFoundException(newNote, "insertAfter");
+		}
+		// chain the new note behind its reference
+		correctTimeAndPriority(newNote, afterNote);
+		newNote._heapIndex = -1;
+		newNote._chainPrev = afterNote;
+		newNote._chainNext = afterNote._chainNext;
+		if (afterNote._chainNext != null) {
+			afterNote._chainNext._chainPrev = newNote;
+		}
+		afterNote._chainNext = newNote;
+		addNoteToEntities(newNote);
+	}
+
+	/**
+	 * Inserts the given EventNote at the first position in the event-list.
+	 * Note that for consistency the time and priority of the new event-note
+	 * are set to those of the current first entry, if the current first entry
+	 * would otherwise precede the new event-note.
+	 *
+	 * @param newNote
+	 *            EventNote : The event-note to be inserted at the first
+	 *            position in the event-list.
+	 */
+	@Override
+	void insertAsFirst(EventNote newNote) {
+
+		if (_size > 0) {
+			EventNote oldFirst = _notes[0];
+			long time = newNote.getTimeInEpsilon();
+			if (time > _times[0]
+					|| (time == _times[0] && newNote.getPriority() < _priorities[0])) {
+				correctTimeAndPriority(newNote, oldFirst);
+			}
+		}
+		addNoteToEntities(newNote);
+		push(newNote, --_firstSequence);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void insertBefore(EventNote beforeNote, EventNote newNote) {
+
+		if (!contains(beforeNote)) {
+			throw referenceNotFoundException(newNote, "insertBefore");
+		}
+		correctTimeAndPriority(newNote, beforeNote);
+		if (beforeNote._chainPrev == null) {
+			// reference is stored in the heap => new note takes over its
+			// slot, the keys remain unchanged
+			int index = beforeNote._heapIndex;
+			_notes[index] = newNote;
+			newNote._heapIndex = index;
+			newNote._heapSequence = beforeNote._heapSequence;
+			newNote._chainPrev = null;
+			beforeNote._heapIndex = -1;
+		} else {
+			// reference is chained => link in front of it
+			newNote._heapIndex = -1;
+			newNote._chainPrev = beforeNote._chainPrev;
+			beforeNote._chainPrev._chainNext = newNote;
+		}
+		newNote._chainNext = beforeNote;
+		beforeNote._chainPrev = newNote;
+		addNoteToEntities(newNote);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	int size() {
+
+		return _count;
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	boolean isEmpty() {
+
+		return _size == 0;
+	}
+
+	/**
+	 * Returns the last EventNote in the event-list. Requires a linear scan of
+	 * the leaves of the heap.
+	 *
+	 * @return EventNote : the last EventNote in the event-list, null if the
+	 *         event-list is empty
+	 */
+	@Override
+	EventNote lastNote() {
+
+		if (_size == 0) {
+			return null;
+		}
+		int last = 0;
+		for (int i = _size == 1 ? 0 : parent(_size - 1) + 1; i < _size; i++) {
+			if (compare(i, last) > 0) {
+				last = i;
+			}
+		}
+		return lastOfChain(_notes[last]);
+	}
+
+	/**
+	 * Returns the next event-note in the event-list relative to the given
+	 * EventNote. Unless the given note has a chained successor, this requires
+	 * a linear scan of the heap.
+	 *
+	 * @return EventNote : The event-note following the given EventNote or
+	 *         <code>null</code> if the given EventNote was last or not found
+	 * @param origin
+	 *            EventNote : The event-note whose successor is wanted
+	 */
+	@Override
+	EventNote nextNote(EventNote origin) {
+
+		if (!contains(origin)) {
+			return null;
+		}
+		if (origin._chainNext != null) {
+			return origin._chainNext;
+		}
+		int ref = firstOfChain(origin)._heapIndex;
+		int next = -1;
+		for (int i = 0; i < _size; i++) {
+			if (compare(i, ref) > 0 && (next < 0 || compare(i, next) < 0)) {
+				next = i;
+			}
+		}
+		return next < 0 ? null : _notes[next];
+	}
+
+	/**
+	 * Returns the previous EventNote in the event-list relative to the given
+	 * EventNote. Unless the given note has a chained predecessor, this
+	 * requires a linear scan of the heap.
+	 *
+	 * @return EventNote : The event-note preceding the given EventNote or
+	 *         <code>null</code> if the given EventNote was first or not found
+	 * @param origin
+	 *            EventNote : The event-note whose predecessor is wanted
+	 */
+	@Override
+	EventNote prevNote(EventNote origin) {
+
+		if (!contains(origin)) {
+			return null;
+		}
+		if (origin._chainPrev != null) {
+			return origin._chainPrev;
+		}
+		int ref = origin._heapIndex;
+		int prev = -1;
+		for (int i = 0; i < _size; i++) {
+			if (compare(i, ref) < 0 && (prev < 0 || compare(i, prev) > 0)) {
+				prev = i;
+			}
+		}
+		return prev < 0 ? null : lastOfChain(_notes[prev]);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void remove(EventNote note) {
+
+		if (!contains(note)) {
+			return; // do nothing if it doesn't exist
+		}
+		unlink(note);
+		removeNoteFromEntities(note);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	EventNote removeFirst() {
+
+		if (_size == 0) {
+			return null;
+		}
+		EventNote note = _notes[0];
+		unlink(note);
+		removeNoteFromEntities(note);
+		return note;
+	}
+
+	/**
+	 * {@inheritDoc}. Sorts a copy of the heap, followed by the notes chained
+	 * to each heap entry.
+	 */
+	@Override
+	EventNote[] toArray() {
+
+		EventNote[] heads = Arrays.copyOf(_notes, _size);
+		Arrays.sort(heads, (a, b) -> compare(a._heapIndex, b._heapIndex));
+
+		EventNote[] notes = new EventNote[_count];
+		int i = 0;
+		for (EventNote head : heads) {
+			for (EventNote note = head; note != null; note = note._chainNext) {
+				notes[i++] = note;
+			}
+		}
+		return notes;
+	}
+
+	/**
+	 * Returns a string representing the entries of this event-list in a row,
+	 * in ascending order.
+	 */
+	public String toString() {
+
+		StringBuffer textBuffer = new StringBuffer();
+		for (EventNote note : toArray()) {
+			textBuffer.append("[");
+			textBuffer.append(note);
+			textBuffer.append("]");
+		}
+		return textBuffer.toString();
+	}
+
+	/**
+	 * Returns if the event-list processes concurrent Events in random order or
+	 * not.
+	 *
+	 * @return boolean: <code>false</code> since no randomization
+	 */
+	public boolean isRandomizingConcurrentEvents() {
+		return false;
+	}
+
+	/**
+	 * Tests if the given event-note is contained in this event-list, either
+	 * directly in the heap or chained to a note in the heap.
+	 */
+	private boolean contains(EventNote note) {
+
+		EventNote head = firstOfChain(note);
+		int index = head._heapIndex;
+		return index >= 0 && index < _size && _notes[index] == head;
+	}
+
+	/**
+	 * Removes the given contained event-note from the heap or from its chain.
+	 */
+	private void unlink(EventNote note) {
+
+		if (note._chainPrev != null) {
+			// chained note => just unlink it
+			note._chainPrev._chainNext = note._chainNext;
+			if (note._chainNext != null) {
+				note._chainNext._chainPrev = note._chainPrev;
+			}
+		} else if (note._chainNext != null) {
+			// head of a chain => successor takes over the slot with equal keys
+			EventNote successor = note._chainNext;
+			int index = note._heapIndex;
+			_notes[index] = successor;
+			successor._heapIndex = index;
+			successor._heapSequence = note._heapSequence;
+			successor._chainPrev = null;
+		} else {
+			removeAt(note._heapIndex);
+		}
+		note._heapIndex = -1;
+		note._chainPrev = null;
+		note._chainNext = null;
+	}
+
+	/**
+	 * Adds the given event-note to the heap with the given sequence number.
+	 */
+	private void push(EventNote newNote, long sequence) {
+
+		if (_size == _notes.length) {
+			int capacity = _notes.length * 2;
+			_notes = Arrays.copyOf(_notes, capacity);
+			_times = Arrays.copyOf(_times, capacity);
+			_priorities = Arrays.copyOf(_priorities, capacity);
+			_sequences = Arrays.copyOf(_sequences, capacity);
+		}
+		newNote._heapSequence = sequence;
+		newNote._chainPrev = null;
+		newNote._chainNext = null;
+		siftUp(_size++, newNote, newNote.getTimeInEpsilon(),
+				newNote.getPriority(), sequence);
+	}
+
+	/**
+	 * Removes the event-note at the given position of the heap.
+	 */
+	private void removeAt(int index) {
+
+		int last = --_size;
+		EventNote moved = _notes[last];
+		long time = _times[last];
+		int priority = _priorities[last];
+		long sequence = _sequences[last];
+		_notes[last] = null;
+		if (index == last) {
+			return;
+		}
+		siftDown(index, moved, time, priority, sequence);
+		if (_notes[index] == moved) {
+			siftUp(index, moved, time, priority, sequence);
+		}
+	}
+
+	/**
+	 * Moves the hole at the given position up until the given entry can be
+	 * stored there without violating the heap order.
+	 */
+	private void siftUp(int index, EventNote note, long time, int priority,
+			long sequence) {
+
+		while (index > 0) {
+			int parent = parent(index);
+			if (!precedes(time, priority, sequence, parent)) {
+				break;
+			}
+			set(index, _notes[parent], _times[parent], _priorities[parent],
+					_sequences[parent]);
+			index = parent;
+		}
+		set(index, note, time, priority, sequence);
+	}
+
+	/**
+	 * Moves the hole at the given position down until the given entry can be
+	 * stored there without violating the heap order.
+	 */
+	private void siftDown(int index, EventNote note, long time, int priority,
+			long sequence) {
+
+		int child;
+		while ((child = index * ARITY + 1) < _size) {
+			// find the smallest child
+			int end = Math.min(child + ARITY, _size);
+			int min = child;
+			for (int i = child + 1; i < end; i++) {
+				if (compare(i, min) < 0) {
+					min = i;
+				}
+			}
+			if (precedes(time, priority, sequence, min)) {
+				break;
+			}
+			set(index, _notes[min], _times[min], _priorities[min],
+					_sequences[min]);
+			index = min;
+		}
+		set(index, note, time, priority, sequence);
+	}
+
+	/**
+	 * Stores the given entry at the given position of the heap.
+	 */
+	private void set(int index, EventNote note, long time, int priority,
+			long sequence) {
+
+		_notes[index] = note;
+		_times[index] = time;
+		_priorities[index] = priority;
+		_sequences[index] = sequence;
+		note._heapIndex = index;
+	}
+
+	/**
+	 * Tests if the given key precedes the key of the entry at the given
+	 * position of the heap. Earlier time comes first, then higher priority,
+	 * then lower sequence number.
+	 */
+	private boolean precedes(long time, int priority, long sequence, int index) {
+
+		if (time != _times[index]) {
+			return time < _times[index];
+		}
+		if (priority != _priorities[index]) {
+			return priority > _priorities[index];
+		}
+		return sequence < _sequences[index];
+	}
+
+	/**
+	 * Compares the keys of the entries at the given positions of the heap.
+	 */
+	private int compare(int i, int j) {
+
+		if (_times[i] != _times[j]) {
+			return _times[i] < _times[j] ? -1 : 1;
+		}
+		if (_priorities[i] != _priorities[j]) {
+			return _priorities[i] > _priorities[j] ? -1 : 1;
+		}
+		return Long.compare(_sequences[i], _sequences[j]);
+	}
+
+	/**
+	 * Returns the position of the parent of the given heap position.
+	 */
+	private static int parent(int index) {
+
+		return (index - 1) / ARITY;
+	}
+
+	/**
+	 * Returns the first note of the chain the given note belongs to.
+	 */
+	private static EventNote firstOfChain(EventNote note) {
+
+		while (note._chainPrev != null) {
+			note = note._chainPrev;
+		}
+		return note;
+	}
+
+	/**
+	 * Returns the last note of the chain the given note belongs to.
+	 */
+	private static EventNote lastOfChain(EventNote note) {
+
+		while (note._chainNext != null) {
+			note = note._chainNext;
+		}
+		return note;
+	}
+
+	/**
+	 * Sets the time and priority of the new event-note to those of the
+	 * reference note, keeping the temporal order.
+	 */
+	private static void correctTimeAndPriority(EventNote newNote,
+			EventNote reference) {
+
+		newNote.setTime(reference.getTimeInEpsilon());
+		newNote.setPriority(reference.getPriority());
+	}
+
+	/**
+	 * Add the {@link EventNote} to its various entities.
+	 */
+	private void addNoteToEntities(EventNote newNote) {
+
+		_count++;
+		Entity who1 = newNote.getEntity1();
+		if (who1 != null) {
+			who1.addEventNote(newNote);
+		}
+
+		Entity who2 = newNote.getEntity2();
+		if (who2 != null) {
+			who2.addEventNote(newNote);
+		}
+
+		Entity who3 = newNote.getEntity3();
+		if (who3 != null) {
+			who3.addEventNote(newNote);
+		}
+
+		EventAbstract Event = newNote.getEvent();
+		if (Event != null) {
+			Event.addEventNote(newNote);
+		}
+	}
+
+	/**
+	 * Remove the {@link EventNote} from its various entities.
+	 */
+	private void removeNoteFromEntities(EventNote note) {
+
+		_count--;
+		if (note.getEntity1() != null) { // if an entity exists (no external event)
+			note.getEntity1().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEntity2() != null) { // if an entity exists (no external event)
+			note.getEntity2().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEntity3() != null) { // if an entity exists (no external event)
+			note.getEntity3().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEvent() != null) { // if an event exists
+			note.getEvent().removeEventNote(note); // remove EventNote
+		}
+	}
+
+	/**
+	 * Creates (but does not throw) an exception saying that an
+	 * {@link EventNote} that should be used as a reference point could not be
+	 * found.
+	 */
+	private SimAbortedException referenceNotFoundException(EventNote newNote,
+			String method) {
+
+		Model mBuffer = null; // buffer current model
+		if (newNote.getEntity1() != null) {
+			mBuffer = newNote.getEntity1().getModel();
+		}
+		if (newNote.getEvent() != null) {
+			mBuffer = newNote.getEvent().getModel();
+		}
+		return new SimAbortedException(new ErrorMessage(mBuffer,
+				"Can not insert new event-note with reference to given EventNote! "
+						+ "Simulation aborted",
+				"Internal DESMO-J class : EventHeapList Method : " + method,
+				"The reference event-note is not contained in the event heap list.",
+				"This is a fatal error. Contact DESMOJ support",
+				newNote.getTime()));
+	}
+}
@@ -105,6 +105,13 @@ public abstract class EventList {
 	 */
 	abstract boolean isEmpty();
 
+	/**
+	 * Returns the number of event-notes contained in the event-list.
+	 * 
+	 * @return int : The number of event-notes in the event-list
+	 */
+	abstract int size();
+
 	/**
 	 * Returns the last EventNote in the event-list.
 	 * 
@@ -151,7 +158,25 @@ public abstract class EventList {
 	 * @return The removed note, or null if the list was empty.
 	 */
 	abstract EventNote removeFirst();
-	
+
+	/**
+	 * Returns the event-notes contained in the event-list in their temporal
+	 * order, leaving the event-list unchanged. Walks the event-list from the
+	 * first to the last event-note; implementations whose
+	 * <code>nextNote()</code> is not constant in time should override this.
+	 *
+	 * @return EventNote[] : A snapshot of the event-notes in the event-list
+	 */
+	EventNote[] toArray() {
+
+		EventNote[] notes = new EventNote[size()];
+		int i = 0;
+		for (EventNote note = firstNote(); note != null && i < notes.length; note = nextNote(note)) {
+			notes[i++] = note;
+		}
+		return i == notes.length ? notes : java.util.Arrays.copyOf(notes, i);
+	}
+
 	/**
 	 * Returns if the event-list processes concurrent Events in random order or
 	 * not.
@@ -63,6 +63,14 @@ public class EventNote implements Comparable<EventNote>
 	 * happen to a certain discrete point of time.
 	 */
 	private TimeInstant _myTimeInstant; // time that the event is supposed to happen
+
+	/**
+	 * The point of simulation time associated to an event and an entity in
+	 * the unit of epsilon. The <code>TimeInstant</code> above is only
+	 * created on demand if the event-note has been scheduled using a
+	 * primitive time value, so the scheduler's hot paths work on this value.
+	 */
+	private long _myTimeInEpsilon;
 	
 	/**
      * The priority associated to this EventNote.
@@ -83,7 +91,36 @@ public class EventNote implements Comparable<EventNote>
      * the same instant.
      */
     private boolean _isConnected; // flag for connection to predecessor
-    
+
+    /**
+     * Position of this event-note in the heap array of an
+     * <code>EventHeapList</code>, or -1 if the note is not stored in the
+     * heap directly (i.e. not scheduled or chained to another note scheduled
+     * for the same instant). For internal framework use only.
+     */
+    int _heapIndex = -1;
+
+    /**
+     * FIFO tie-break sequence number assigned by an <code>EventHeapList</code>
+     * to order notes of equal time and priority. For internal framework use only.
+     */
+    long _heapSequence;
+
+    /**
+     * Predecessor and successor of this event-note in the chain of notes an
+     * <code>EventHeapList</code> or <code>LadderEventList</code> keeps for
+     * <code>insertBefore()</code> and <code>insertAfter()</code>. For internal
+     * framework use only.
+     */
+    EventNote _chainPrev, _chainNext;
+
+    /**
+     * The entry an event-list implementation like <code>LadderEventList</code>
+     * has stored this event-note in, allowing to locate the note without
+     * searching. For internal framework use only.
+     */
+    Object _listEntry;
+
 	/**
 	 * Event notes can only be created if all relevant data can be supplied at
 	 * creation time. Note that all relevant associations of the given
@@ -112,13 +149,50 @@ public class EventNote implements Comparable<EventNote>
      *            Schedulable : The Schedulable responsible for creating this event note            
 	 */
 	public EventNote(Entity who1, Entity who2, Entity who3, EventAbstract what, TimeInstant when, int howImportant, Schedulable source)
+	{
+		init(who1, who2, who3, what, when, howImportant, source);
+	}
+
+	/**
+	 * Sets all data of this event-note like the constructor does. Used by the
+	 * scheduler to reuse event-notes recycled after processing. This is a
+	 * package visibility method for internal framework use only.
+	 * 
+	 * @see EventNote#EventNote(Entity, Entity, Entity, EventAbstract, TimeInstant, int, Schedulable)
+	 */
+	void init(Entity who1, Entity who2, Entity who3, EventAbstract what, TimeInstant when, int howImportant, Schedulable source)
 	{
 	    assert when != null;
+		init(who1, who2, who3, what, when.getTimeInEpsilon(), howImportant, source);
+		_myTimeInstant = when;
+	}
+
+	/**
+	 * Creates an event-note for the point of simulation time given in the
+	 * unit of epsilon, creating the corresponding <code>TimeInstant</code>
+	 * only on demand. This is a package visibility constructor for internal
+	 * framework use only.
+	 * 
+	 * @see EventNote#EventNote(Entity, Entity, Entity, EventAbstract, TimeInstant, int, Schedulable)
+	 */
+	EventNote(Entity who1, Entity who2, Entity who3, EventAbstract what, long whenInEpsilon, int howImportant, Schedulable source)
+	{
+		init(who1, who2, who3, what, whenInEpsilon, howImportant, source);
+	}
+
+	/**
+	 * Sets all data of this event-note like the constructor does, the point of
+	 * simulation time given in the unit of epsilon. This is a package
+	 * visibility method for internal framework use only.
+	 */
+	void init(Entity who1, Entity who2, Entity who3, EventAbstract what, long whenInEpsilon, int howImportant, Schedulable source)
+	{
 		_myEntity1 = who1;
 		_myEntity2 = who2;
 		_myEntity3 = who3;
 		_myEvent = what;
-		_myTimeInstant = when;
+		_myTimeInstant = null;
+		_myTimeInEpsilon = whenInEpsilon;
 	    _myPriority = howImportant;
 	    _mySource = source;
 		
@@ -126,6 +200,37 @@ public class EventNote implements Comparable<EventNote>
 			what.addEventNote(this);
 
 	}
+
+	/**
+	 * Clears all data of this event-note after it has been processed, so that
+	 * a recycled event-note does not keep entities, events or simulation time
+	 * objects reachable. This is a package visibility method for internal
+	 * framework use only.
+	 * 
+	 * @return boolean : Is <code>false</code> if this event-note has already
+	 *         been cleared, <code>true</code> otherwise
+	 */
+	boolean clear()
+	{
+		if (_myTimeInEpsilon == Long.MIN_VALUE)
+			return false; // recycled before
+
+		_myEntity1 = null;
+		_myEntity2 = null;
+		_myEntity3 = null;
+		_myEvent = null;
+		_myTimeInstant = null;
+		_myTimeInEpsilon = Long.MIN_VALUE;
+		_myPriority = 0;
+		_mySource = null;
+		_isConnected = false;
+		_heapIndex = -1;
+		_heapSequence = 0;
+		_chainPrev = null;
+		_chainNext = null;
+		_listEntry = null;
+		return true;
+	}
 	
 	/**
 	 * Copies the event-note.
@@ -142,17 +247,17 @@ public class EventNote implements Comparable<EventNote>
 
 		if (getNumberOfEntities()<=1)
 		{
-			evn =  new EventNote(_myEntity1, null, null, _myEvent, _myTimeInstant, _myPriority, source);
+			evn =  new EventNote(_myEntity1, null, null, _myEvent, getTime(), _myPriority, source);
 			evn._isConnected = this.isConnected();
 		}
 		else if (getNumberOfEntities()==2)
 		{
-			evn = new EventNote(_myEntity1, _myEntity2, null, _myEvent, _myTimeInstant, _myPriority, source);
+			evn = new EventNote(_myEntity1, _myEntity2, null, _myEvent, getTime(), _myPriority, source);
 			evn._isConnected = this.isConnected();
 		}
 		else if (getNumberOfEntities()==3)
 		{
-			evn =  new EventNote(_myEntity1, _myEntity2, _myEntity3, _myEvent, _myTimeInstant, _myPriority, source);
+			evn =  new EventNote(_myEntity1, _myEntity2, _myEntity3, _myEvent, getTime(), _myPriority, source);
 			evn._isConnected = this.isConnected();
 		}
 		{
@@ -170,7 +275,7 @@ public class EventNote implements Comparable<EventNote>
 	        return false;
 	    }
 		EventNote note = (EventNote) object;
-		return _myTimeInstant.equals(note._myTimeInstant)
+		return _myTimeInEpsilon == note._myTimeInEpsilon
             && equalsWithNull(_myEvent, note._myEvent)
             && equalsWithNull(_myEntity1, note._myEntity1)
             && equalsWithNull(_myEntity2, note._myEntity2)
@@ -195,7 +300,7 @@ public class EventNote implements Comparable<EventNote>
                (_myEntity2 == null ?     983 : _myEntity2.hashCode()) ^ 
                (_myEntity3 == null ?   33637 : _myEntity3.hashCode()) ^ 
                (_myEvent   == null ? 7288583 : _myEvent.hashCode()) ^ 
-                                         _myTimeInstant.hashCode();
+                   (int) (_myTimeInEpsilon ^ (_myTimeInEpsilon >>> 32));
     }
 	
 	/**
@@ -210,7 +315,7 @@ public class EventNote implements Comparable<EventNote>
 	 */
 	public int compareTo(EventNote note)
 	{
-		int time_comparison = this.getTime().compareTo(note.getTime());
+		int time_comparison = Long.compare(_myTimeInEpsilon, note._myTimeInEpsilon);
 		if (time_comparison != 0) 
 		    return time_comparison;
 		else
@@ -299,9 +404,28 @@ public class EventNote implements Comparable<EventNote>
 	public TimeInstant getTime() 
 	{
 
+		if (_myTimeInstant == null) {
+			// scheduled using a primitive time value, create on demand
+			_myTimeInstant = TimeInstant.ofEpsilon(_myTimeInEpsilon);
+		}
 		return _myTimeInstant;
 
 	}
+
+	/**
+	 * Returns the point of time associated with this event-note in the unit of
+	 * epsilon without creating a <code>TimeInstant</code>. This is a package
+	 * visibility method for internal framework use only.
+	 * 
+	 * @return long : Point of time in simulation associated with this
+	 *         EventNote in the unit of epsilon
+	 */
+	long getTimeInEpsilon()
+	{
+
+		return _myTimeInEpsilon;
+
+	}
 	
 	/**
      * Returns the priority of this event-note.
@@ -384,9 +508,25 @@ public class EventNote implements Comparable<EventNote>
         assert time != null;
 
 		_myTimeInstant = time;
+		_myTimeInEpsilon = time.getTimeInEpsilon();
 
 	}
     
+    /**
+     * Sets the point of time for this event-note to the time given in the unit
+     * of epsilon, creating the corresponding <code>TimeInstant</code> only on
+     * demand. This is a package visibility method for internal framework use
+     * only.
+     * 
+     * @param timeInEpsilon
+     *            long : the new point of simulation time this event-note is
+     *            associated with in the unit of epsilon.
+     */
+    void setTime(long timeInEpsilon) {
+        _myTimeInstant = null;
+        _myTimeInEpsilon = timeInEpsilon;
+    }
+
     /**
      * Sets the priority for this event-note to the time given as parameter.
      * This method is to be used by the scheduler to correct the point of time
@@ -477,7 +617,7 @@ public class EventNote implements Comparable<EventNote>
 			EntityString = "En:" + _myEntity1 + "," + _myEntity2 + "," + _myEntity3 + " ";
 		}
 
-		return (EntityString + "Ev:" + _myEvent + " t:" + _myTimeInstant);
+		return (EntityString + "Ev:" + _myEvent + " t:" + getTime());
 
 	}
 
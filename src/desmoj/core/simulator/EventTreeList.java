@@ -407,6 +407,17 @@ public class EventTreeList extends EventList {
 
 	}
 
+	/**
+	 * Returns the number of event-notes contained in the event-list.
+	 * 
+	 * @return int : The number of event-notes in the event-list
+	 */
+	int size() {
+
+		return eTreeList.size();
+
+	}
+
 	/**
 	 * Returns the last EventNote in the event-list. If the event-list is empty,
 	 * <code>null</code> will be returned.
@@ -549,6 +560,17 @@ public class EventTreeList extends EventList {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}. Copies the tree list instead of searching each
+	 * successor.
+	 */
+	@Override
+	EventNote[] toArray() {
+
+		return (EventNote[]) eTreeList.toArray(new EventNote[eTreeList.size()]);
+
+	}
+
 	/**
 	 * Returns a string representing the entries of this tree list in a row. The
 	 * resulting string includes all Event notes in ascending order as they are
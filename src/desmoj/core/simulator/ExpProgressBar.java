@@ -95,8 +95,8 @@ public class ExpProgressBar extends JFrame {
 		// Create a timer.
 		_timer = new Timer(HALF_A_SECOND, new ActionListener() {
 			public void actionPerformed(ActionEvent evt) {
-				long crntTime = _myExperiment.getSimClock().getTime().getTimeInEpsilon();
-		        long start = TimeOperations.getStartTime().getTimeInEpsilon();
+				long crntTime = _myExperiment.getSimClock().getTimeInEpsilon();
+		        long start = _myExperiment.getContext().startTime.getTimeInEpsilon();
 				long stop = _myExperiment.getStopTime().getTimeInEpsilon();
 		        int progress = (int) (100.0D * (crntTime - start) / (stop - start));
 				_progressBar.setValue(progress);
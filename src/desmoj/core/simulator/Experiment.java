@@ -25,6 +25,7 @@ import desmoj.core.report.MessageReceiver;
 import desmoj.core.report.OutputType;
 import desmoj.core.report.OutputTypeEndToExport;
 import desmoj.core.report.Reporter;
+import desmoj.core.report.SchedulerMetricsReporter;
 import desmoj.core.report.SimulationRunReporter;
 import desmoj.core.report.TraceNote;
 
@@ -129,7 +130,7 @@ public class Experiment extends NamedObject {
 	 * The last suffix used with filenames when creating multiple batch runs of
 	 * an experiment.
 	 */
-	private static int lastSuffix;
+	private int _lastSuffix;
 
 	/**
 	 * The class reference to messages of type desmoj.core.report.TraceNote
@@ -151,7 +152,11 @@ public class Experiment extends NamedObject {
 	 */
 	static Class<desmoj.core.report.Reporter> reporter;
 	
-	private static CoroutineModel coroutineModel = CoroutineModel.THREADS;
+	/**
+	 * The settings of this experiment, i.e. its time settings and coroutine
+	 * model, bound to all threads running this experiment.
+	 */
+	private ExperimentContext _context;
 	
     /**
      * Flag indicating at least one error or warning has occurred.
@@ -210,6 +215,12 @@ public class Experiment extends NamedObject {
 	 */
 	private java.util.ArrayList<FileOutput> _registryFileOutput;
 
+	/**
+	 * The list to register all other files and streams to close them after
+	 * finishing the Experiment.
+	 */
+	private java.util.ArrayList<java.io.Closeable> _registryCloseable;
+
 	/**
 	 * The resource database storing all resource allocations and requests. Also
 	 * needed to detect deadlocks.
@@ -235,6 +246,44 @@ public class Experiment extends NamedObject {
      */
     private List<ModelCondition> _stopConditions;
 
+    /**
+     * The <code>ModelCondition</code>s among the stop conditions which are
+     * not <code>StopTrigger</code>s and thus have to be checked periodically.
+     */
+    private List<ModelCondition> _polledStopConditions;
+
+    /**
+     * The <code>StopTrigger</code>s among the stop conditions whose watched
+     * reportables have changed and which have to be checked after the current
+     * event.
+     */
+    private List<StopTrigger> _changedStopTriggers;
+
+    /**
+     * The number of events after which the polled stop conditions are checked
+     * again, 1 (i.e. after every event) by default. Not used if
+     * <code>_stopCheckSpanInEpsilon</code> is set.
+     */
+    private long _stopCheckEvents = 1;
+
+    /**
+     * The span of simulation time in epsilon after which the polled stop
+     * conditions are checked again, 0 if checked after a number of events.
+     */
+    private long _stopCheckSpanInEpsilon = 0;
+
+    /**
+     * The number of events processed since the polled stop conditions have
+     * been checked last.
+     */
+    private long _eventsSinceStopCheck = 0;
+
+    /**
+     * The point of simulation time in epsilon the polled stop conditions are
+     * checked next if checked after a span of simulation time.
+     */
+    private long _nextStopCheckInEpsilon = Long.MIN_VALUE;
+
 	/**
 	 * Flag indicating whether a progress bar for this experiment should be
 	 * displayed or not.
@@ -266,6 +315,12 @@ public class Experiment extends NamedObject {
 	 */
 	private long _realTimeStartTime;
 
+	/**
+	 * The name the scheduler metrics are registered with as MBean,
+	 * <code>null</code> if not registered.
+	 */
+	private javax.management.ObjectName _metricsMBeanName;
+
 	/**
 	 * The output types of the debug channel.
      */
@@ -491,6 +546,9 @@ public class Experiment extends NamedObject {
             ArrayList<String> reportOutputs, ArrayList<String> traceOutputs,
             ArrayList<String> errorOutputs, ArrayList<String> debugOutputs)
     {
+        // own settings, starting with those made before creating the experiment
+        _context = ExperimentContext.createForExperiment();
+
         // initialize variables
         _traceOutput = new ArrayList<OutputType>();
         _debugOutput = new ArrayList<OutputType>();
@@ -500,13 +558,16 @@ public class Experiment extends NamedObject {
         _stopConditions = new ArrayList<ModelCondition>(); // empty, i.e. no Stopper
                                                         // can be set at
                                                         // instantiation time
-        _strandFactory = coroutineModel.createStrandFactory(name);
+        _polledStopConditions = new ArrayList<ModelCondition>();
+        _changedStopTriggers = new ArrayList<StopTrigger>();
+        _strandFactory = _context.coroutineModel.createStrandFactory(name);
         
         System.getProperties().setProperty("co.paralleluniverse.fibers.disableAgentWarning", Boolean.TRUE.toString()); // suppress non-running agent warning
                 
         _registryFileOutput = new ArrayList<FileOutput>();
+        _registryCloseable = new ArrayList<java.io.Closeable>();
         _registryOutputType = new ArrayList<OutputType>();
-        lastSuffix = 0; // no batches have run so far ;-)
+        _lastSuffix = 0; // no batches have run so far ;-)
         _showProgressBar = true; // display a progress bar for this experiment
         _showProgressBarAutoclose = false; // do not autoclose progress bar for this experiment
         _error = false; // no error or warning so far ;-)
@@ -715,6 +776,156 @@ public class Experiment extends NamedObject {
 		return _nameCatalog;
 	}
 
+	/**
+	 * Switches lazy naming of entities, events and processes on or off. In
+	 * lazy naming mode, the number added to the name of a new Schedulable to
+	 * make it unique is stored as a number, and the name including this
+	 * number is only built when first requested, e.g. by the trace, the report
+	 * or <code>toString()</code>. This saves building strings for each of
+	 * many short-lived entities never shown. Default is off. Affects
+	 * Schedulables created or renamed after the call only.
+	 * 
+	 * @param lazy
+	 *            boolean : <code>true</code> to build names on demand
+	 */
+	public void setLazyNaming(boolean lazy) {
+		_nameCatalog.setLazy(lazy);
+	}
+
+	/**
+	 * Tells whether lazy naming of entities, events and processes is switched
+	 * on.
+	 * 
+	 * @return boolean : <code>true</code> if names are built on demand
+	 * @see #setLazyNaming(boolean)
+	 */
+	public boolean isLazyNaming() {
+		return _nameCatalog.isLazy();
+	}
+
+	/**
+	 * Switches recycling of event-notes on or off. If switched on, the
+	 * scheduler keeps the event-notes processed and reuses them for events
+	 * scheduled later instead of allocating a new event-note per event, which
+	 * reduces the load on the garbage collector in long runs of models with
+	 * high event rates. Default is off. Together with
+	 * <code>SchedulablePool</code>s for entities and events, models can run in
+	 * steady state with hardly any allocation.
+	 * 
+	 * @param recycle
+	 *            boolean : <code>true</code> to recycle event-notes
+	 * @see SchedulablePool
+	 */
+	public void setEventNoteRecycling(boolean recycle) {
+		clientScheduler.setEventNoteRecycling(recycle);
+	}
+
+	/**
+	 * Tells whether event-notes are recycled after processing.
+	 * 
+	 * @return boolean : <code>true</code> if event-notes are recycled
+	 * @see #setEventNoteRecycling(boolean)
+	 */
+	public boolean isEventNoteRecycling() {
+		return clientScheduler.isEventNoteRecycling();
+	}
+
+	/**
+	 * Switches the collection of scheduler throughput metrics on or off, see
+	 * <code>SchedulerMetrics</code>. Default is off. If switched on before
+	 * the experiment is started, the metrics are shown in a section of the
+	 * report. Switching the metrics off keeps the metrics collected so far,
+	 * which are continued when switching them on again, and unregisters them
+	 * from JMX.
+	 * 
+	 * @param enabled
+	 *            boolean : <code>true</code> to collect metrics
+	 * @see #registerMetricsMBean()
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		if (!enabled) {
+			unregisterMetricsMBean();
+		}
+		clientScheduler.setMetricsEnabled(enabled);
+	}
+
+	/**
+	 * Tells whether scheduler throughput metrics are collected.
+	 * 
+	 * @return boolean : <code>true</code> if metrics are collected
+	 * @see #setMetricsEnabled(boolean)
+	 */
+	public boolean isMetricsEnabled() {
+		return clientScheduler.isMetricsEnabled();
+	}
+
+	/**
+	 * Returns the scheduler throughput metrics collected so far.
+	 * 
+	 * @return SchedulerMetrics : The metrics or <code>null</code> if metrics
+	 *         have never been enabled
+	 * @see #setMetricsEnabled(boolean)
+	 */
+	public SchedulerMetrics getMetrics() {
+		return clientScheduler.getMetrics();
+	}
+
+	/**
+	 * Registers the scheduler throughput metrics with the platform MBean
+	 * server, so they can be queried at runtime by JMX clients like JConsole,
+	 * enabling the metrics if not enabled yet. The MBean is named
+	 * <code>desmoj:type=SchedulerMetrics,name="</code><i>experiment
+	 * name</i><code>"</code> and unregistered when the experiment is
+	 * finished.
+	 * 
+	 * @return javax.management.ObjectName : The name of the MBean or
+	 *         <code>null</code> if it could not be registered
+	 * @see SchedulerMetricsMXBean
+	 */
+	public javax.management.ObjectName registerMetricsMBean() {
+
+		if (_metricsMBeanName != null) {
+			return _metricsMBeanName; // already registered
+		}
+		setMetricsEnabled(true);
+		try {
+			javax.management.ObjectName name = new javax.management.ObjectName(
+					"desmoj:type=SchedulerMetrics,name="
+							+ javax.management.ObjectName.quote(getName()));
+			java.lang.management.ManagementFactory.getPlatformMBeanServer()
+					.registerMBean(getMetrics(), name);
+			_metricsMBeanName = name;
+		} catch (javax.management.JMException e) {
+			sendWarning("Can not register scheduler metrics as MBean! Command ignored.",
+					"Experiment '" + getName()
+							+ "', Method 'registerMetricsMBean()'",
+					"The MBean server refused the registration: " + e.getMessage(),
+					"Make sure no other experiment of the same name has "
+							+ "registered its metrics in this JVM.");
+		}
+		return _metricsMBeanName;
+
+	}
+
+	/**
+	 * Unregisters the scheduler throughput metrics from the platform MBean
+	 * server, if registered.
+	 */
+	private void unregisterMetricsMBean() {
+
+		if (_metricsMBeanName == null) {
+			return;
+		}
+		try {
+			java.lang.management.ManagementFactory.getPlatformMBeanServer()
+					.unregisterMBean(_metricsMBeanName);
+		} catch (javax.management.JMException e) {
+			// already unregistered by someone else, nothing left to do
+		}
+		_metricsMBeanName = null;
+
+	}
+
 	/**
 	 * Adds a messagereceiver for the given subtype of message to the
 	 * experiment. Whenever a model produces a message of that type, it will
@@ -994,6 +1205,8 @@ public class Experiment extends NamedObject {
 			return;
 		}
 
+		bindContext(); // reports refer to the time settings of this experiment
+
 		if (_traceOutput != null)		{
 			for (OutputType trc : _traceOutput)			
 			{
@@ -1024,6 +1237,8 @@ public class Experiment extends NamedObject {
 			}
 		}
 
+		unregisterMetricsMBean();
+
 		// set status to let all simthreads be killed
 		_status = ABORTED;
 
@@ -1032,10 +1247,26 @@ public class Experiment extends NamedObject {
 			o.close();
 		for (FileOutput f : _registryFileOutput)
 			f.close();
+		for (java.io.Closeable c : _registryCloseable) {
+			try {
+				c.close();
+			} catch (java.io.IOException e) {
+				sendWarning("Can not close a registered file! Command ignored.",
+						"Experiment '" + getName() + "' method void finish().",
+						"An IOException was thrown: " + e.getMessage(),
+						"Check access to the file and that it is not in use by "
+								+ "some other application.");
+			}
+		}
 
 		// kill all SimThreads still active
+		this.getScheduler().getStrandHandoff().release();
 		this.getStrandFactory().cleanUp();
 
+		// the settings remain bound to this thread, but are no longer
+		// shared with threads of other experiments
+		_context.close();
+
 	}
 
 	/**
@@ -1062,7 +1293,7 @@ public class Experiment extends NamedObject {
 	 */	
 	public TimeUnit getEpsilonUnit() {
 
-		return TimeOperations.getEpsilon();
+		return _context.epsilon;
 	}
 
 	/**
@@ -1155,7 +1386,7 @@ public class Experiment extends NamedObject {
 	 * @return TimeUnit : The reference unit.
 	 */
 	public TimeUnit getReferenceUnit() {
-		return TimeOperations.getReferenceUnit();
+		return _context.referenceUnit;
 	}
 
 	/**
@@ -1225,7 +1456,14 @@ public class Experiment extends NamedObject {
       */
       public void removeStopConditions() {
       
+             for (ModelCondition c : this._stopConditions) {
+                 if (c instanceof StopTrigger) {
+                     ((StopTrigger) c).disarm();
+                 }
+             }
              this._stopConditions.clear();
+             this._polledStopConditions.clear();
+             this._changedStopTriggers.clear();
       }
 
 	SimStrandFactory getStrandFactory() {
@@ -1374,6 +1612,8 @@ public class Experiment extends NamedObject {
 	 */
 	public void proceed() {
 
+		bindContext(); // time settings of this experiment
+
 		if (_status < STARTED) {
 			sendWarning(
 					"Can not proceed with Experiment! Command ignored.",
@@ -1426,9 +1666,11 @@ public class Experiment extends NamedObject {
                 private static final long serialVersionUID = -1079147860194926426L;
                 @Override
                 public void run() throws SuspendExecution, InterruptedException {
+                    bindContext();
                     doProceed();
                 }
             });
+            this.getScheduler().getStrandHandoff().setOwner(this._schedulerStrand);
             this._schedulerStrand.start();
             this._schedulerStrand.join();
             this._schedulerStrand = null;
@@ -1473,8 +1715,11 @@ public class Experiment extends NamedObject {
                 }
 
 				// check potential stop conditions
-				if (!_stopConditions.isEmpty()) {
-				    for (ModelCondition c : _stopConditions) {
+				if (!_changedStopTriggers.isEmpty() && checkStopTriggers()) {
+				    _status = STOPPED;
+				}
+				if (!_polledStopConditions.isEmpty() && isStopCheckDue()) {
+				    for (ModelCondition c : _polledStopConditions) {
     					if (c.check()) {
     						_status = STOPPED;
     						break;
@@ -1503,6 +1748,66 @@ public class Experiment extends NamedObject {
 		}
     }
 
+    /**
+     * Checks the stop triggers whose watched reportables have changed. The
+     * triggers fulfilled remain marked as changed, so they are checked again
+     * if the experiment is proceeded.
+     * 
+     * @return boolean : <code>true</code> if at least one of the stop
+     *         triggers is fulfilled
+     */
+    private boolean checkStopTriggers() {
+        
+        int fulfilled = 0;
+        int changed = _changedStopTriggers.size();
+        for (int i = 0; i < changed; i++) {
+            StopTrigger trigger = _changedStopTriggers.get(i);
+            if (trigger.checkChanged()) {
+                _changedStopTriggers.set(fulfilled++, trigger);
+            }
+        }
+        // remove the triggers not fulfilled, keeping any marked while checking
+        _changedStopTriggers.subList(fulfilled, changed).clear();
+        return fulfilled > 0;
+    }
+    
+    /**
+     * Tells if the polled stop conditions have to be checked after the
+     * current event, according to the interval set by
+     * <code>setStopConditionCheckInterval()</code>.
+     * 
+     * @return boolean : <code>true</code> if the stop conditions are due
+     */
+    private boolean isStopCheckDue() {
+        
+        if (_stopCheckSpanInEpsilon > 0) {
+            long now = clientScheduler.getSimClock().getTimeInEpsilon();
+            if (now < _nextStopCheckInEpsilon) {
+                return false;
+            }
+            _nextStopCheckInEpsilon = (now > Long.MAX_VALUE - _stopCheckSpanInEpsilon) 
+                    ? Long.MAX_VALUE : now + _stopCheckSpanInEpsilon;
+            return true;
+        }
+        if (++_eventsSinceStopCheck < _stopCheckEvents) {
+            return false;
+        }
+        _eventsSinceStopCheck = 0;
+        return true;
+    }
+    
+    /**
+     * Called by a <code>StopTrigger</code> armed for this experiment whose
+     * watched reportable has changed.
+     * 
+     * @param trigger
+     *            StopTrigger : The trigger to check after the current event
+     */
+    void stopTriggerChanged(StopTrigger trigger) {
+        
+        _changedStopTriggers.add(trigger);
+    }
+
     private void disasterRecovery(Exception e) {
         System.err.println("disaster recovery");
         // this is the disaster recovery routine to stop simulation and save
@@ -1594,6 +1899,50 @@ public class Experiment extends NamedObject {
 
 	}
 
+	/**
+	 * Registers a file or stream which is neither an <code>OutputType</code>
+	 * nor a <code>FileOutput</code>, e.g. the binary spill file of a
+	 * TimeSeries. Registered files will be closed after the experiment has
+	 * finished.
+	 * 
+	 * @param file
+	 *            java.io.Closeable : The file to be closed with the end of an
+	 *            experiment
+	 */
+	public void registerCloseable(java.io.Closeable file) {
+
+		if (file == null) {
+			sendWarning("Can not register Closeable! Command ignored.",
+					"Experiment '" + getName()
+							+ "' method void registerCloseable(Closeable file).",
+					"The parameter given was a null reference.",
+					"Make sure to only connect valid files at the Experiment.");
+			return;
+		}
+
+		if (_registryCloseable.contains(file))
+			return; // file already registered
+
+		_registryCloseable.add(file);
+
+	}
+
+	/**
+	 * De-registers a file or stream registered by
+	 * <code>registerCloseable(Closeable)</code>, e.g. because it has been
+	 * closed by the user.
+	 * 
+	 * @param file
+	 *            java.io.Closeable : The file not to be closed with the end
+	 *            of an experiment
+	 */
+	public void deRegisterCloseable(java.io.Closeable file) {
+
+		_registryCloseable.remove(file);
+		// remove whether it was inside or not
+
+	}
+
 	/**
 	 * Connects a model to this experiment. The given model must not be submodel
 	 * of other models and not already be connected to some other experiment.
@@ -2106,6 +2455,8 @@ public class Experiment extends NamedObject {
 	 * 
 	 * @see desmoj.core.simulator.EventTreeList, FIFO order
 	 * @see desmoj.core.simulator.SortedMapEventList, FIFO order
+	 * @see desmoj.core.simulator.EventHeapList, FIFO order
+	 * @see desmoj.core.simulator.LadderEventList, FIFO order
 	 * @see desmoj.core.simulator.RandominzingEventTreeList, random order
 	 * 
 	 * @param eventList
@@ -2208,6 +2559,10 @@ public class Experiment extends NamedObject {
      * existing <code>TimeSpan</code> and <code>TimeInstant</code> objects will 
      * point to wrong spans/durations.
      * Default is <code>TimeUnit.MICROSECONDS</code>.
+     * <p>
+     * The setting applies to the experiment bound to the calling thread, or,
+     * if called before creating an experiment, to all experiments the calling
+     * thread creates afterwards.
      * 
      * @param epsilon
      *            TimeUnit : The granularity of simulation time, i.e. the
@@ -2215,7 +2570,7 @@ public class Experiment extends NamedObject {
      */
     public static void setEpsilon(TimeUnit epsilon) {
         
-        if (!epsilon.equals(TimeOperations.getEpsilon()) && TimeOperations.timeObjectsCreated) {
+        if (!epsilon.equals(TimeOperations.getEpsilon()) && TimeOperations.timeObjectsCreated()) {
                 System.out.println("Warning    : Internal time granularity epsilon has changed after already creating time objects.");
                 System.out.println("description: Existing TimeSpan and TimeInstant objects will point to wrong spans/durations.");
                 System.out.println("origin     : Experiment auxiliaries");
@@ -2232,6 +2587,9 @@ public class Experiment extends NamedObject {
      * time step of 1 in statements without an explicit declaration of a time
      * unit like in <code>new TimeSpan(5)</code>. 
      * Default is <code>TimeUnit.SECONDS</code>.
+     * Like epsilon, the reference unit is set for the experiment bound to the
+     * calling thread or, before creating an experiment, for all experiments
+     * the calling thread creates afterwards.
      * 
      * @param referenceUnit
      *            TimeUnit : the reference time unit
@@ -2333,6 +2691,8 @@ public class Experiment extends NamedObject {
 			return;
 		}
 
+		bindContext(); // time settings of this experiment
+
 		// check initial TimeInstant parameter
 		if (initTime != null) {
 			clientScheduler.getSimClock().setInitTime(initTime);
@@ -2354,8 +2714,11 @@ public class Experiment extends NamedObject {
 		// client.init(); already done in connectToExperiment
 		_client.doInitialSchedules();
 		_client.doSubmodelSchedules();
-		TimeOperations.setStartTime(initTime);
+		_context.startTime = initTime;
 		_client.register(new SimulationRunReporter.SimulationRunReporterProvider(_client));
+		if (isMetricsEnabled()) {
+		    _client.register(new SchedulerMetricsReporter.SchedulerMetricsReporterProvider(_client));
+		}
 		// now everything is set up, go on and process events
 		_status = STARTED;
 		this._realTimeStartTime = System.nanoTime();
@@ -2374,9 +2737,16 @@ public class Experiment extends NamedObject {
 	 * if none of the conditions in question can be proven to be met during the 
 	 * run of the simulation!
 	 * 
+	 * <p>
+	 * Conditions are checked after every event unless a different interval
+	 * is set using <code>setStopConditionCheckInterval()</code>. A
+	 * <code>StopTrigger</code> is checked only after events changing the
+	 * reportable it watches instead, regardless of that interval.
+	 * 
 	 * @param stopCond
 	 *            ModelCondition : A condition to stop the simulation once
      *            it's check() methode returns true.
+	 * @see StopTrigger
 	 */
 	public void stop(ModelCondition stopCond) {
 
@@ -2390,10 +2760,98 @@ public class Experiment extends NamedObject {
 							+ "this experiment.");
 		} else {
 			this._stopConditions.add(stopCond);
+			if (stopCond instanceof StopTrigger) {
+			    ((StopTrigger) stopCond).arm(this);
+			} else {
+			    this._polledStopConditions.add(stopCond);
+			}
 		}
 
 	}
 
+	/**
+	 * Sets the number of events after which the conditions to stop the
+	 * simulation are checked again. By default, the conditions are checked
+	 * after every event, which is expensive for conditions scanning queues or
+	 * statistics. Checking them every <code>k</code> events instead stops the
+	 * simulation up to <code>k-1</code> events late. Replaces an interval set
+	 * by <code>setStopConditionCheckInterval(TimeSpan)</code>. Does not
+	 * affect <code>StopTrigger</code>s.
+	 * 
+	 * @param events
+	 *            long : The number of events between two checks, at least 1
+	 */
+	public void setStopConditionCheckInterval(long events) {
+
+		if (events < 1) {
+			sendWarning("Can not set stop-condition check interval! Command ignored.",
+					"Experiment '" + getName()
+							+ "', Method 'setStopConditionCheckInterval(long events)'",
+					"The number of events passed is less than 1.",
+					"Make sure to provide a positive number of events.");
+			return;
+		}
+		_stopCheckEvents = events;
+		_stopCheckSpanInEpsilon = 0;
+		_eventsSinceStopCheck = 0;
+
+	}
+
+	/**
+	 * Sets the span of simulation time after which the conditions to stop the
+	 * simulation are checked again. The conditions are checked after the first
+	 * event and then after the first event at or after each span of
+	 * simulation time has passed since the last check, so the simulation may
+	 * stop up to the given span late. Replaces an interval set by
+	 * <code>setStopConditionCheckInterval(long)</code>. Does not affect
+	 * <code>StopTrigger</code>s.
+	 * 
+	 * @param dt
+	 *            TimeSpan : The span of simulation time between two checks,
+	 *            larger than zero
+	 */
+	public void setStopConditionCheckInterval(TimeSpan dt) {
+
+		if (dt == null || dt.getTimeInEpsilon() <= 0) {
+			sendWarning("Can not set stop-condition check interval! Command ignored.",
+					"Experiment '" + getName()
+							+ "', Method 'setStopConditionCheckInterval(TimeSpan dt)'",
+					"The parameter passed was either null or a time span of zero.",
+					"Make sure to provide a valid time span larger than zero.");
+			return;
+		}
+		_stopCheckSpanInEpsilon = dt.getTimeInEpsilon();
+		_nextStopCheckInEpsilon = Long.MIN_VALUE;
+
+	}
+
+	/**
+	 * Returns the number of events after which the conditions to stop the
+	 * simulation are checked again, or 0 if checked after a span of
+	 * simulation time.
+	 * 
+	 * @return long : The number of events between two checks
+	 */
+	public long getStopConditionCheckEvents() {
+
+		return (_stopCheckSpanInEpsilon > 0) ? 0 : _stopCheckEvents;
+
+	}
+
+	/**
+	 * Returns the span of simulation time after which the conditions to stop
+	 * the simulation are checked again, or <code>null</code> if checked after
+	 * a number of events.
+	 * 
+	 * @return TimeSpan : The span of simulation time between two checks
+	 */
+	public TimeSpan getStopConditionCheckSpan() {
+
+		return (_stopCheckSpanInEpsilon > 0) ? new TimeSpan(
+				_stopCheckSpanInEpsilon, _context.epsilon) : null;
+
+	}
+
 	/**
 	 * Stops the simulation at the given point of simulation time. If no valid
 	 * simulation time is given, the default is 0 which would not
@@ -2641,10 +3099,10 @@ public class Experiment extends NamedObject {
 			// open new file with old name stripping off old suffix and
 			// adding new suffix
 			nameBuffer = nameBuffer.substring(0, nameBuffer.lastIndexOf("."));
-			f.open(nameBuffer.substring(0, (nameBuffer.length() - lastSuffix))
+			f.open(nameBuffer.substring(0, (nameBuffer.length() - _lastSuffix))
 					+ suffix + "html");
 		}
-		lastSuffix = suffix.length(); // remember last suffix length
+		_lastSuffix = suffix.length(); // remember last suffix length
 		report(m);
 	}
 
@@ -2685,13 +3143,13 @@ public class Experiment extends NamedObject {
 			nameBuffer = nameBuffer.substring(0, nameBuffer.lastIndexOf("_"));
 			// strip the previous suffix
 			nameBuffer = nameBuffer.substring(0, nameBuffer.length()
-					- lastSuffix);
+					- _lastSuffix);
 			// add new suffix
 			nameBuffer = nameBuffer + suffix;
 			// now open file with new name
 			f.open(nameBuffer);
 		}
-		lastSuffix = suffix.length(); // remember last suffix length
+		_lastSuffix = suffix.length(); // remember last suffix length
 	}
 
 	/**
@@ -2725,9 +3183,57 @@ public class Experiment extends NamedObject {
 	 * Fibers can have performance benefits, but demand the use of bytecode manipulation.
 	 * To use fibers, the Quasar agent has to be activated at the JVM command line.
 	 * See http://docs.paralleluniverse.co/quasar/#instrumentation for further details.
+	 * <p>
+	 * Like the time settings, the coroutine model is a setting of the calling
+	 * thread, adopted by all experiments the thread creates afterwards.
 	 */
 	public static void setCoroutineModel(CoroutineModel model) {
-	    coroutineModel = model;
+	    ExperimentContext.forUpdate().coroutineModel = model;
+	}
+	
+	/**
+	 * Returns the coroutine model experiments created by the calling thread
+	 * will use.
+	 * 
+	 * @return CoroutineModel : The coroutine model of the calling thread
+	 */
+	public static CoroutineModel getCoroutineModel() {
+	    return ExperimentContext.current().coroutineModel;
+	}
+	
+	/**
+	 * Gives the calling thread settings of its own, initially copied from the
+	 * settings the thread currently uses. Afterwards, calls of
+	 * <code>setEpsilon(TimeUnit)</code>, <code>setReferenceUnit(TimeUnit)</code>,
+	 * <code>setTimeFormatter(TimeFormatter)</code> and
+	 * <code>setCoroutineModel(CoroutineModel)</code> by this thread only affect
+	 * the experiments this thread creates. Threads running experiments in
+	 * parallel (e.g. replications) should call this method before adjusting
+	 * these settings, which otherwise apply to the experiment last created by
+	 * the calling thread, if still running.
+	 */
+	public static void isolateSettings() {
+	    ExperimentContext.isolate();
+	}
+	
+	/**
+	 * Returns the settings of this experiment, i.e. its time settings and
+	 * coroutine model. This is a package private method for internal framework
+	 * use only.
+	 * 
+	 * @return ExperimentContext : The settings of this experiment
+	 */
+	ExperimentContext getContext() {
+	    return _context;
+	}
+	
+	/**
+	 * Binds the settings of this experiment to the current thread, so that
+	 * time operations of this thread refer to this experiment's time settings.
+	 * This is a package private method for internal framework use only.
+	 */
+	void bindContext() {
+	    ExperimentContext.bind(_context);
 	}
 	
     Strand getSchedulerStrand() {
@@ -0,0 +1,292 @@
+package desmoj.core.simulator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The settings of an <code>Experiment</code> that used to be global, i.e. the
+ * time settings accessed via <code>TimeOperations</code> (granularity epsilon,
+ * reference time unit, start time and time formatter) and the coroutine model
+ * to create the experiment's strands with.
+ * <p>
+ * Each <code>Experiment</code> owns a context of its own, created fresh when
+ * the experiment is set up. It adopts the settings the creating thread has made
+ * beforehand, e.g. by <code>Experiment.setReferenceUnit(TimeUnit)</code>, which
+ * are kept in a context of that thread until the experiment is created. The
+ * framework reaches the context via the experiment, creating time objects
+ * while the simulation runs without looking it up. The static methods of
+ * <code>TimeOperations</code> (and thus <code>new TimeSpan(5)</code>) use the
+ * context the experiment binds to the thread creating it and to its strands.
+ * Threads without a context bound, e.g. those of a user interface, use the
+ * only context open if there is just one, i.e. a single experiment set up and
+ * not finished yet or a single thread with settings made for experiments yet
+ * to be created, which is the behaviour of earlier versions of DESMO-J, and
+ * the default settings otherwise. The default settings are never changed.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+final class ExperimentContext {
+
+    /**
+     * The default settings, read by threads without a context bound unless
+     * there is just one context open. Never changed.
+     */
+    static final ExperimentContext DEFAULTS = new ExperimentContext();
+
+    /**
+     * The context bound to the current thread, if any.
+     */
+    private static final ThreadLocal<ExperimentContext> BOUND_CONTEXT = new ThreadLocal<ExperimentContext>();
+
+    /**
+     * The contexts open, i.e. those of experiments not finished yet and those
+     * holding the settings of threads for experiments yet to be created.
+     * Guarded by the lock of the class.
+     */
+    private static final Set<ExperimentContext> OPEN_CONTEXTS = new HashSet<ExperimentContext>();
+
+    /**
+     * The only context open, <code>null</code> if none or several contexts
+     * are open.
+     */
+    private static volatile ExperimentContext _soleContext;
+
+    /**
+     * Flag to indicate that time objects have been created with the default
+     * settings, passed on to the contexts created from the default settings.
+     */
+    private static volatile boolean _timeObjectsCreatedByDefault;
+
+    /**
+     * The granularity of simulation time. Default is MICROSECONDS.
+     */
+    TimeUnit epsilon = TimeUnit.MICROSECONDS;
+
+    /**
+     * The reference time unit specifying what is meant by the simulation time
+     * step of 1 in statements without an explicit declaration of a time unit
+     * like in <code>new TimeSpan(5)</code>. Default is SECONDS.
+     */
+    TimeUnit referenceUnit = TimeUnit.SECONDS;
+
+    /**
+     * The point in simulation time when the experiment has started.
+     */
+    TimeInstant startTime;
+
+    /**
+     * The TimeFormatter to use for printing TimeInstants, created on demand.
+     */
+    TimeFormatter timeFormatter;
+
+    /**
+     * Flag to indicate that a user-defined <code>TimeFormatter</code> is used
+     * (<code>true</code>), while <code>false</code> means the default is
+     * applied.
+     */
+    boolean customTimeFormatterUsed;
+
+    /**
+     * Flag to indicate that the user has already created
+     * <code>TimeInstants</code> or <code>TimeSpans</code>, proving a means of
+     * sending a warning if <code>epsilon</code> is changed afterwards.
+     */
+    boolean timeObjectsCreated;
+
+    /**
+     * The coroutine model used to create the strands of experiments.
+     */
+    CoroutineModel coroutineModel = CoroutineModel.THREADS;
+
+    /**
+     * Flag to indicate this context holds the settings of a thread for
+     * experiments yet to be created, rather than those of an experiment.
+     */
+    private boolean _threadSettings;
+
+    /**
+     * Creates a context with the default settings.
+     */
+    private ExperimentContext() {
+    }
+
+    /**
+     * Creates a context adopting the settings made in the context given, but
+     * not its state like the start time or the default time formatter.
+     *
+     * @param template
+     *            ExperimentContext : The context to adopt the settings from
+     */
+    private ExperimentContext(ExperimentContext template) {
+        this.epsilon = template.epsilon;
+        this.referenceUnit = template.referenceUnit;
+        if (template.customTimeFormatterUsed) {
+            this.timeFormatter = template.timeFormatter;
+            this.customTimeFormatterUsed = true;
+        }
+        this.timeObjectsCreated = (template == DEFAULTS) ? _timeObjectsCreatedByDefault
+                : template.timeObjectsCreated;
+        this.coroutineModel = template.coroutineModel;
+    }
+
+    /**
+     * Returns the context to be used by the current thread: the context bound
+     * to the current thread, otherwise the only context open if there is just
+     * one, otherwise the default settings, which must not be changed.
+     *
+     * @return ExperimentContext : The current context
+     */
+    static ExperimentContext current() {
+        ExperimentContext context = BOUND_CONTEXT.get();
+        if (context != null) {
+            return context;
+        }
+        context = _soleContext;
+        return context != null ? context : DEFAULTS;
+    }
+
+    /**
+     * Returns the context settings of the current thread are to be made in:
+     * the context bound to the thread if it is still open, otherwise a new
+     * context holding the settings of this thread for the experiments it will
+     * create, adopting the settings of the context bound before (if any).
+     *
+     * @return ExperimentContext : The context to change
+     */
+    static ExperimentContext forUpdate() {
+        ExperimentContext context = BOUND_CONTEXT.get();
+        if (context != null && context.isOpen()) {
+            return context;
+        }
+        context = new ExperimentContext(context != null ? context : DEFAULTS);
+        context._threadSettings = true;
+        open(context);
+        BOUND_CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * Creates the context of a new experiment, adopting the settings the
+     * current thread has made for it, and binds it to the current thread.
+     *
+     * @return ExperimentContext : The context of the new experiment
+     */
+    static ExperimentContext createForExperiment() {
+        ExperimentContext template = BOUND_CONTEXT.get();
+        ExperimentContext context = new ExperimentContext(template != null ? template : DEFAULTS);
+        open(context);
+        if (template != null && template._threadSettings) {
+            close(template); // settings handed over to the experiment
+        }
+        BOUND_CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * Binds the given context to the current thread.
+     *
+     * @param context
+     *            ExperimentContext : The context to bind, or <code>null</code>
+     *            to return to the default settings
+     */
+    static void bind(ExperimentContext context) {
+        if (context == null) {
+            BOUND_CONTEXT.remove();
+        } else {
+            BOUND_CONTEXT.set(context);
+        }
+    }
+
+    /**
+     * Gives the current thread settings of its own for the experiments it will
+     * create, copying the settings it currently uses.
+     */
+    static void isolate() {
+        ExperimentContext context = new ExperimentContext(current());
+        context._threadSettings = true;
+        open(context);
+        ExperimentContext previous = BOUND_CONTEXT.get();
+        if (previous != null && previous._threadSettings) {
+            close(previous);
+        }
+        BOUND_CONTEXT.set(context);
+    }
+
+    /**
+     * Notes that time objects have been created with the settings of this
+     * context.
+     */
+    void markTimeObjectsCreated() {
+        if (this == DEFAULTS) {
+            if (!_timeObjectsCreatedByDefault) {
+                _timeObjectsCreatedByDefault = true;
+            }
+        } else if (!timeObjectsCreated) {
+            timeObjectsCreated = true;
+        }
+    }
+
+    /**
+     * Tells whether time objects have been created with the settings of this
+     * context.
+     *
+     * @return boolean : <code>true</code> if time objects have been created
+     */
+    boolean isTimeObjectsCreated() {
+        return (this == DEFAULTS) ? _timeObjectsCreatedByDefault : timeObjectsCreated;
+    }
+
+    /**
+     * Closes this context when its experiment has finished, so that it is no
+     * longer used by threads without a context bound.
+     */
+    void close() {
+        close(this);
+    }
+
+    /**
+     * Tells whether this context is open.
+     */
+    private boolean isOpen() {
+        synchronized (ExperimentContext.class) {
+            return OPEN_CONTEXTS.contains(this);
+        }
+    }
+
+    /**
+     * Adds a context to the contexts open.
+     */
+    private static synchronized void open(ExperimentContext context) {
+        OPEN_CONTEXTS.add(context);
+        updateSoleContext();
+    }
+
+    /**
+     * Removes a context from the contexts open.
+     */
+    private static synchronized void close(ExperimentContext context) {
+        OPEN_CONTEXTS.remove(context);
+        updateSoleContext();
+    }
+
+    /**
+     * Sets the only context open, if there is just one. To be called holding
+     * the lock of the class.
+     */
+    private static void updateSoleContext() {
+        _soleContext = (OPEN_CONTEXTS.size() == 1) ? OPEN_CONTEXTS.iterator().next() : null;
+    }
+}
@@ -1,5 +1,7 @@
 package desmoj.core.simulator;
 
+import java.util.concurrent.TimeUnit;
+
 import co.paralleluniverse.fibers.SuspendExecution;
 import desmoj.core.dist.NumericalDist;
 
@@ -91,7 +93,9 @@ public abstract class ExternalEvent extends EventAbstract
         }
 
         // generate trace
-        this.generateTraceForScheduling(null, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(null, null, null, null, null, TimeOperations.add(presentTime(), dt), null);
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(null, this, dt);
@@ -101,6 +105,39 @@ public abstract class ExternalEvent extends EventAbstract
                     + getModel().getExperiment().getScheduler().toString());
         }
     }
+
+    /**
+     * Schedules this external event to happen after the given span of
+     * simulation time, given as a primitive value in the time unit given.
+     * Unlike <code>schedule(TimeSpan)</code>, no <code>TimeSpan</code> or
+     * <code>TimeInstant</code> objects are created unless needed for the trace.
+     * 
+     * @param dt
+     *            long : The offset to the current simulation time this
+     *            external event is to happen, not negative
+     * @param unit
+     *            TimeUnit : The time unit of the offset
+     * @see #schedule(TimeSpan)
+     */
+    public void schedule(long dt, TimeUnit unit) {
+        long dtInEpsilon = TimeOperations.toEpsilon(dt, unit,
+                getModel().getExperiment().getContext());
+        Scheduler scheduler = getModel().getExperiment().getScheduler();
+
+        // generate trace
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(null, null, null, null, null, TimeInstant.ofEpsilon(
+                    TimeOperations.addInEpsilon(scheduler.presentTimeInEpsilon(), dtInEpsilon)), null);
+        }
+        
+        // schedule Event
+        scheduler.scheduleNoPreempt(null, this, dtInEpsilon);
+
+        if (currentlySendDebugNotes()) {
+            sendDebugNote("schedules on EventList<br>"
+                    + scheduler.toString());
+        }
+    }
     
     /**
      * Schedules this external event to make the desired changes to the
@@ -180,7 +217,9 @@ public abstract class ExternalEvent extends EventAbstract
         TimeSpan dt = dist.sampleTimeSpan();
         
         // generate trace
-        this.generateTraceForScheduling(null, null, null, null, null, TimeOperations.add(presentTime(), dt), " Sampled from " + dist.getQuotedName() + ".");
+        if (currentlySendTraceNotes()) {
+            this.generateTraceForScheduling(null, null, null, null, null, TimeOperations.add(presentTime(), dt), " Sampled from " + dist.getQuotedName() + ".");
+        }
         
         // schedule Event
         getModel().getExperiment().getScheduler().scheduleNoPreempt(null, this, dt);
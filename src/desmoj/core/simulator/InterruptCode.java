@@ -1,5 +1,7 @@
 package desmoj.core.simulator;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents a code to be passed to interrupted SimProcesses to give
  * information about the reason for the interruption. Each new interrupt code
@@ -31,9 +33,9 @@ public class InterruptCode extends NamedObject {
 
 	/**
 	 * Static counter to provide each new interrupt code with a unique internal
-	 * serial number.
+	 * serial number, shared by experiments running in parallel.
 	 */
-	private static int irqCounter = 0;
+	private static final AtomicInteger irqCounter = new AtomicInteger();
 
 	/**
 	 * The internal unique number to identify different interrupt codes.
@@ -68,7 +70,7 @@ public class InterruptCode extends NamedObject {
 
 		super(name);
 
-		_irqCode = ++irqCounter; // increment counter and set code
+		_irqCode = irqCounter.incrementAndGet(); // increment counter and set code
 
 	}
 
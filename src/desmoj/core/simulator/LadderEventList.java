@@ -0,0 +1,870 @@
+package desmoj.core.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import desmoj.core.exception.SimAbortedException;
+import desmoj.core.report.ErrorMessage;
+
+/**
+ * An {@link EventList} implementation based on a ladder queue as proposed by
+ * Tang, Goh and Thng (<i>Ladder Queue: An O(1) Priority Queue Structure for
+ * Large-Scale Discrete Event Simulation</i>, ACM TOMACS 15(3), 2005).
+ * <p>
+ * The ladder queue consists of three tiers: An unsorted <i>top</i> list
+ * receiving events scheduled into the far future, a <i>ladder</i> of rungs
+ * with unsorted buckets of decreasing width partitioning the nearer future,
+ * and a sorted <i>bottom</i> list containing the events to be processed next.
+ * Events are only sorted once they are moved from a bucket into the bottom
+ * list, so insertion and removal of the first event-note take amortized O(1)
+ * time, which makes this event-list well suited for models scheduling most of
+ * their events a short time ahead, e.g. arrival generators. Times are
+ * compared as raw epsilon values, events of equal time and priority are kept
+ * in FIFO order with the same contract as <code>SortedMapEventList</code>.
+ * <p>
+ * Event-notes inserted via <code>insertBefore()</code> or
+ * <code>insertAfter()</code> are chained to their reference note. Note that
+ * <code>nextNote()</code>, <code>prevNote()</code> and <code>lastNote()</code>
+ * require a linear scan of all tiers; they are only used to copy or print the
+ * event-list, not while the simulation is running. To use this event-list,
+ * call <code>experiment.setEventList(LadderEventList.class)</code>.
+ *
+ * @see SortedMapEventList
+ * @see EventHeapList
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class LadderEventList extends EventList {
+
+	/**
+	 * Number of events in a bucket (or the bottom list) above which the bucket
+	 * is split into a new rung instead of being sorted.
+	 */
+	private static final int THRESHOLD = 50;
+
+	/**
+	 * Maximum number of rungs of the ladder.
+	 */
+	private static final int MAX_RUNGS = 8;
+
+	/**
+	 * Node of the ladder queue, carrying the first event-note of a chain of
+	 * notes inserted relative to each other together with its sort keys.
+	 */
+	private static final class Node {
+
+		private EventNote note;
+		private final long time;
+		private final int priority;
+		private final long sequence;
+		private Node prev, next;
+		private Bucket bucket;
+
+		private Node(EventNote note, long time, int priority, long sequence) {
+			this.note = note;
+			this.time = time;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * Tests if this node is to be processed before the given other node.
+		 * Earlier time comes first, then higher priority, then lower sequence
+		 * number.
+		 */
+		private boolean precedes(Node other) {
+			if (time != other.time) {
+				return time < other.time;
+			}
+			if (priority != other.priority) {
+				return priority > other.priority;
+			}
+			return sequence < other.sequence;
+		}
+	}
+
+	/**
+	 * Orders nodes as they are to be processed.
+	 */
+	private static final Comparator<Node> NODE_ORDER = new Comparator<Node>() {
+		public int compare(Node a, Node b) {
+			return a == b ? 0 : (a.precedes(b) ? -1 : 1);
+		}
+	};
+
+	/**
+	 * Doubly linked list of nodes, used for the top list, the buckets of the
+	 * rungs and the bottom list.
+	 */
+	private static final class Bucket {
+
+		private Node head, tail;
+		private int size;
+
+		/**
+		 * Appends the given node to the end of this list.
+		 */
+		private void append(Node node) {
+			node.bucket = this;
+			node.prev = tail;
+			node.next = null;
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.next = node;
+			}
+			tail = node;
+			size++;
+		}
+
+		/**
+		 * Inserts the given node after the given predecessor, which is
+		 * <code>null</code> to insert at the front of this list.
+		 */
+		private void insertAfter(Node pred, Node node) {
+			node.bucket = this;
+			node.prev = pred;
+			node.next = pred == null ? head : pred.next;
+			if (node.next == null) {
+				tail = node;
+			} else {
+				node.next.prev = node;
+			}
+			if (pred == null) {
+				head = node;
+			} else {
+				pred.next = node;
+			}
+			size++;
+		}
+
+		/**
+		 * Removes the given node from this list.
+		 */
+		private void unlink(Node node) {
+			if (node.prev == null) {
+				head = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+			if (node.next == null) {
+				tail = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+			node.prev = null;
+			node.next = null;
+			node.bucket = null;
+			size--;
+		}
+
+		/**
+		 * Empties this list, returning its former head.
+		 */
+		private Node clear() {
+			Node first = head;
+			head = null;
+			tail = null;
+			size = 0;
+			return first;
+		}
+	}
+
+	/**
+	 * A rung of the ladder, partitioning a time interval into buckets of equal
+	 * width.
+	 */
+	private static final class Rung {
+
+		private Bucket[] buckets = new Bucket[0];
+		private int numberOfBuckets;
+		private long start;
+		private long width;
+		private int current;
+
+		/**
+		 * Returns the start of the time interval covered by the current bucket.
+		 */
+		private long currentStart() {
+			return start + current * width;
+		}
+
+		/**
+		 * Re-initializes this rung to cover the given number of buckets of the
+		 * given width, starting at the given time.
+		 */
+		private void reset(long start, long width, int numberOfBuckets) {
+			if (buckets.length < numberOfBuckets) {
+				Bucket[] enlarged = Arrays.copyOf(buckets, numberOfBuckets);
+				for (int i = buckets.length; i < numberOfBuckets; i++) {
+					enlarged[i] = new Bucket();
+				}
+				buckets = enlarged;
+			}
+			this.start = start;
+			this.width = width;
+			this.numberOfBuckets = numberOfBuckets;
+			this.current = 0;
+		}
+
+		/**
+		 * Adds the given node to the bucket covering its time.
+		 */
+		private void add(Node node) {
+			long index = (node.time - start) / width;
+			buckets[(int) Math.max(current, Math.min(index, numberOfBuckets - 1))]
+					.append(node);
+		}
+	}
+
+	/**
+	 * Unsorted list of the events scheduled at or after <code>_topStart</code>.
+	 */
+	private final Bucket _top = new Bucket();
+
+	/**
+	 * Smallest and largest time of the events in the top list.
+	 */
+	private long _topMin, _topMax;
+
+	/**
+	 * Events scheduled at or after this time are added to the top list.
+	 */
+	private long _topStart;
+
+	/**
+	 * The rungs of the ladder, of which the first <code>_numberOfRungs</code>
+	 * are in use.
+	 */
+	private final Rung[] _rungs;
+
+	/**
+	 * The number of rungs in use.
+	 */
+	private int _numberOfRungs;
+
+	/**
+	 * Sorted list of the events to be processed next.
+	 */
+	private final Bucket _bottom = new Bucket();
+
+	/**
+	 * The number of nodes in this event-list.
+	 */
+	private int _size;
+
+	/**
+	 * The number of event-notes in this event-list, including those chained
+	 * to the notes stored in the nodes.
+	 */
+	private int _count;
+
+	/**
+	 * The sequence number to be assigned to the next note inserted via
+	 * <code>insert()</code>.
+	 */
+	private long _nextSequence;
+
+	/**
+	 * The sequence number last assigned to a note inserted via
+	 * <code>insertAsFirst()</code>. Counts downwards, so these notes precede
+	 * all other notes of the same time and priority.
+	 */
+	private long _firstSequence;
+
+	/**
+	 * Constructs an empty event-list.
+	 */
+	public LadderEventList() {
+
+		_rungs = new Rung[MAX_RUNGS];
+		for (int i = 0; i < MAX_RUNGS; i++) {
+			_rungs[i] = new Rung();
+		}
+		_numberOfRungs = 0;
+		_topStart = Long.MIN_VALUE;
+		_topMin = Long.MAX_VALUE;
+		_topMax = Long.MIN_VALUE;
+		_size = 0;
+		_count = 0;
+		_nextSequence = 0;
+		_firstSequence = 0;
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	EventNote firstNote() {
+
+		Node first = firstNode();
+		return first == null ? null : first.note;
+	}
+
+	/**
+	 * Inserts the new event-note preserving the temporal order of the
+	 * event-notes contained in the event-list. Event-notes with equal time and
+	 * priority are kept in FIFO order.
+	 *
+	 * @param newNote
+	 *            EventNote : the new note to be inserted in the event-list
+	 *            keeping the temporal order
+	 */
+	@Override
+	void insert(EventNote newNote) {
+
+		addNoteToEntities(newNote);
+		add(newNode(newNote, _nextSequence++));
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void insertAfter(EventNote afterNote, EventNote newNote) {
+
+		if (nodeOf(afterNote) == null) {
+			throw referenceNotFoundException(newNote, "insertAfter");
+		}
+		correctTimeAndPriority(newNote, afterNote);
+		newNote._chainPrev = afterNote;
+		newNote._chainNext = afterNote._chainNext;
+		if (afterNote._chainNext != null) {
+			afterNote._chainNext._chainPrev = newNote;
+		}
+		afterNote._chainNext = newNote;
+		newNote._listEntry = null;
+		addNoteToEntities(newNote);
+	}
+
+	/**
+	 * Inserts the given EventNote at the first position in the event-list.
+	 * Note that for consistency the time and priority of the new event-note
+	 * are set to those of the current first entry, if the current first entry
+	 * would otherwise precede the new event-note.
+	 *
+	 * @param newNote
+	 *            EventNote : The event-note to be inserted at the first
+	 *            position in the event-list.
+	 */
+	@Override
+	void insertAsFirst(EventNote newNote) {
+
+		Node oldFirst = firstNode();
+		if (oldFirst != null) {
+			long time = newNote.getTimeInEpsilon();
+			if (time > oldFirst.time
+					|| (time == oldFirst.time && newNote.getPriority() < oldFirst.priority)) {
+				correctTimeAndPriority(newNote, oldFirst.note);
+			}
+		}
+		addNoteToEntities(newNote);
+		add(newNode(newNote, --_firstSequence));
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void insertBefore(EventNote beforeNote, EventNote newNote) {
+
+		Node node = nodeOf(beforeNote);
+		if (node == null) {
+			throw referenceNotFoundException(newNote, "insertBefore");
+		}
+		correctTimeAndPriority(newNote, beforeNote);
+		if (beforeNote._chainPrev == null) {
+			// reference is the first of its chain => new note takes its place
+			node.note = newNote;
+			newNote._listEntry = node;
+			newNote._chainPrev = null;
+			beforeNote._listEntry = null;
+		} else {
+			newNote._listEntry = null;
+			newNote._chainPrev = beforeNote._chainPrev;
+			beforeNote._chainPrev._chainNext = newNote;
+		}
+		newNote._chainNext = beforeNote;
+		beforeNote._chainPrev = newNote;
+		addNoteToEntities(newNote);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	boolean isEmpty() {
+
+		return _size == 0;
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	int size() {
+
+		return _count;
+	}
+
+	/**
+	 * Returns the last EventNote in the event-list. Requires a linear scan of
+	 * all tiers.
+	 *
+	 * @return EventNote : the last EventNote in the event-list, null if the
+	 *         event-list is empty
+	 */
+	@Override
+	EventNote lastNote() {
+
+		Node last = null;
+		for (Node node : allNodes()) {
+			if (last == null || last.precedes(node)) {
+				last = node;
+			}
+		}
+		return last == null ? null : lastOfChain(last.note);
+	}
+
+	/**
+	 * Returns the next event-note in the event-list relative to the given
+	 * EventNote. Unless the given note has a chained successor, this requires
+	 * a linear scan of all tiers.
+	 *
+	 * @return EventNote : The event-note following the given EventNote or
+	 *         <code>null</code> if the given EventNote was last or not found
+	 * @param origin
+	 *            EventNote : The event-note whose successor is wanted
+	 */
+	@Override
+	EventNote nextNote(EventNote origin) {
+
+		Node ref = nodeOf(origin);
+		if (ref == null) {
+			return null;
+		}
+		if (origin._chainNext != null) {
+			return origin._chainNext;
+		}
+		Node next = null;
+		for (Node node : allNodes()) {
+			if (ref.precedes(node) && (next == null || node.precedes(next))) {
+				next = node;
+			}
+		}
+		return next == null ? null : next.note;
+	}
+
+	/**
+	 * Returns the previous EventNote in the event-list relative to the given
+	 * EventNote. Unless the given note has a chained predecessor, this
+	 * requires a linear scan of all tiers.
+	 *
+	 * @return EventNote : The event-note preceding the given EventNote or
+	 *         <code>null</code> if the given EventNote was first or not found
+	 * @param origin
+	 *            EventNote : The event-note whose predecessor is wanted
+	 */
+	@Override
+	EventNote prevNote(EventNote origin) {
+
+		Node ref = nodeOf(origin);
+		if (ref == null) {
+			return null;
+		}
+		if (origin._chainPrev != null) {
+			return origin._chainPrev;
+		}
+		Node prev = null;
+		for (Node node : allNodes()) {
+			if (node.precedes(ref) && (prev == null || prev.precedes(node))) {
+				prev = node;
+			}
+		}
+		return prev == null ? null : lastOfChain(prev.note);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	void remove(EventNote note) {
+
+		Node node = nodeOf(note);
+		if (node == null) {
+			return; // do nothing if it doesn't exist
+		}
+		unlink(node, note);
+		removeNoteFromEntities(note);
+	}
+
+	/**
+	 * {@inheritDoc}.
+	 */
+	@Override
+	EventNote removeFirst() {
+
+		Node first = firstNode();
+		if (first == null) {
+			return null;
+		}
+		EventNote note = first.note;
+		unlink(first, note);
+		removeNoteFromEntities(note);
+		return note;
+	}
+
+	/**
+	 * {@inheritDoc}. Sorts the nodes of all tiers, followed by the notes
+	 * chained to each node.
+	 */
+	@Override
+	EventNote[] toArray() {
+
+		List<Node> nodes = allNodes();
+		nodes.sort(NODE_ORDER);
+
+		List<EventNote> notes = new ArrayList<EventNote>(_count);
+		for (Node node : nodes) {
+			for (EventNote note = node.note; note != null; note = note._chainNext) {
+				notes.add(note);
+			}
+		}
+		return notes.toArray(new EventNote[notes.size()]);
+	}
+
+	/**
+	 * Returns a string representing the entries of this event-list in a row,
+	 * in ascending order.
+	 */
+	public String toString() {
+
+		StringBuffer textBuffer = new StringBuffer();
+		for (EventNote note : toArray()) {
+			textBuffer.append("[");
+			textBuffer.append(note);
+			textBuffer.append("]");
+		}
+		return textBuffer.toString();
+	}
+
+	/**
+	 * Returns if the event-list processes concurrent Events in random order or
+	 * not.
+	 *
+	 * @return boolean: <code>false</code> since no randomization
+	 */
+	public boolean isRandomizingConcurrentEvents() {
+		return false;
+	}
+
+	/**
+	 * Creates the node for the given event-note and sequence number.
+	 */
+	private Node newNode(EventNote newNote, long sequence) {
+
+		Node node = new Node(newNote, newNote.getTimeInEpsilon(),
+				newNote.getPriority(), sequence);
+		newNote._listEntry = node;
+		newNote._chainPrev = null;
+		newNote._chainNext = null;
+		return node;
+	}
+
+	/**
+	 * Returns the node the given event-note (or the first note of its chain)
+	 * is stored in, or <code>null</code> if it is not contained in this
+	 * event-list.
+	 */
+	private Node nodeOf(EventNote note) {
+
+		EventNote head = note;
+		while (head._chainPrev != null) {
+			head = head._chainPrev;
+		}
+		if (!(head._listEntry instanceof Node)) {
+			return null;
+		}
+		Node node = (Node) head._listEntry;
+		return node.note == head && node.bucket != null ? node : null;
+	}
+
+	/**
+	 * Adds the given node to the tier covering its time.
+	 */
+	private void add(Node node) {
+
+		_size++;
+		if (node.time >= _topStart) {
+			_top.append(node);
+			_topMin = Math.min(_topMin, node.time);
+			_topMax = Math.max(_topMax, node.time);
+			return;
+		}
+		for (int i = 0; i < _numberOfRungs; i++) {
+			if (node.time >= _rungs[i].currentStart()) {
+				_rungs[i].add(node);
+				return;
+			}
+		}
+		addToBottom(node);
+	}
+
+	/**
+	 * Inserts the given node into the sorted bottom list, scanning from its
+	 * end. Converts the bottom list into a new rung if it grows too long.
+	 */
+	private void addToBottom(Node node) {
+
+		Node pred = _bottom.tail;
+		while (pred != null && node.precedes(pred)) {
+			pred = pred.prev;
+		}
+		_bottom.insertAfter(pred, node);
+
+		if (_bottom.size > THRESHOLD && _numberOfRungs < MAX_RUNGS
+				&& _bottom.head.time != _bottom.tail.time) {
+			long end = _numberOfRungs > 0
+					? _rungs[_numberOfRungs - 1].currentStart() : _topStart;
+			spawnRung(_bottom, _bottom.head.time, end);
+		}
+	}
+
+	/**
+	 * Removes the given event-note from the given node, which is removed from
+	 * its tier if no chained notes are left.
+	 */
+	private void unlink(Node node, EventNote note) {
+
+		if (note._chainPrev != null) {
+			note._chainPrev._chainNext = note._chainNext;
+			if (note._chainNext != null) {
+				note._chainNext._chainPrev = note._chainPrev;
+			}
+		} else if (note._chainNext != null) {
+			// first of a chain => successor takes over the node
+			EventNote successor = note._chainNext;
+			node.note = successor;
+			successor._listEntry = node;
+			successor._chainPrev = null;
+		} else {
+			node.bucket.unlink(node);
+			_size--;
+		}
+		note._listEntry = null;
+		note._chainPrev = null;
+		note._chainNext = null;
+	}
+
+	/**
+	 * Returns the first node, refilling the bottom list from the ladder or the
+	 * top list if necessary.
+	 */
+	private Node firstNode() {
+
+		if (_size == 0) {
+			return null;
+		}
+		while (_bottom.head == null) {
+			if (_numberOfRungs == 0) {
+				// transfer the top list to a new ladder
+				long width = Math.max(1, (_topMax - _topMin) / _top.size + 1);
+				int buckets = (int) ((_topMax - _topMin) / width + 1);
+				Rung rung = _rungs[_numberOfRungs++];
+				rung.reset(_topMin, width, buckets);
+				_topStart = _topMin + buckets * width;
+				for (Node node = _top.clear(); node != null;) {
+					Node next = node.next;
+					rung.add(node);
+					node = next;
+				}
+				_topMin = Long.MAX_VALUE;
+				_topMax = Long.MIN_VALUE;
+				continue;
+			}
+			Rung rung = _rungs[_numberOfRungs - 1];
+			while (rung.current < rung.numberOfBuckets
+					&& rung.buckets[rung.current].head == null) {
+				rung.current++;
+			}
+			if (rung.current == rung.numberOfBuckets) {
+				_numberOfRungs--; // rung exhausted
+				continue;
+			}
+			Bucket bucket = rung.buckets[rung.current];
+			long bucketStart = rung.currentStart();
+			rung.current++;
+			if (bucket.size > THRESHOLD && rung.width > 1
+					&& _numberOfRungs < MAX_RUNGS) {
+				// too many events to sort => split bucket into a new rung
+				spawnRung(bucket, bucketStart, bucketStart + rung.width);
+			} else {
+				// sort bucket into the bottom list
+				Node[] nodes = new Node[bucket.size];
+				int i = 0;
+				for (Node node = bucket.clear(); node != null; node = node.next) {
+					nodes[i++] = node;
+				}
+				Arrays.sort(nodes, NODE_ORDER);
+				for (Node node : nodes) {
+					_bottom.append(node);
+				}
+			}
+		}
+		return _bottom.head;
+	}
+
+	/**
+	 * Moves the nodes of the given list to a new rung covering the interval
+	 * from the given start to the given end.
+	 */
+	private void spawnRung(Bucket source, long start, long end) {
+
+		long width = Math.max(1, (end - start + source.size - 1) / source.size);
+		int buckets = (int) ((end - start + width - 1) / width);
+		Rung rung = _rungs[_numberOfRungs++];
+		rung.reset(start, width, buckets);
+		for (Node node = source.clear(); node != null;) {
+			Node next = node.next;
+			rung.add(node);
+			node = next;
+		}
+	}
+
+	/**
+	 * Returns all nodes of all tiers, in no particular order.
+	 */
+	private List<Node> allNodes() {
+
+		List<Node> nodes = new ArrayList<Node>(_size);
+		collect(_bottom, nodes);
+		for (int i = 0; i < _numberOfRungs; i++) {
+			Rung rung = _rungs[i];
+			for (int j = rung.current; j < rung.numberOfBuckets; j++) {
+				collect(rung.buckets[j], nodes);
+			}
+		}
+		collect(_top, nodes);
+		return nodes;
+	}
+
+	/**
+	 * Adds the nodes of the given list to the given collection.
+	 */
+	private static void collect(Bucket bucket, List<Node> nodes) {
+
+		for (Node node = bucket.head; node != null; node = node.next) {
+			nodes.add(node);
+		}
+	}
+
+	/**
+	 * Returns the last note of the chain the given note belongs to.
+	 */
+	private static EventNote lastOfChain(EventNote note) {
+
+		while (note._chainNext != null) {
+			note = note._chainNext;
+		}
+		return note;
+	}
+
+	/**
+	 * Sets the time and priority of the new event-note to those of the
+	 * reference note, keeping the temporal order.
+	 */
+	private static void correctTimeAndPriority(EventNote newNote,
+			EventNote reference) {
+
+		newNote.setTime(reference.getTimeInEpsilon());
+		newNote.setPriority(reference.getPriority());
+	}
+
+	/**
+	 * Add the {@link EventNote} to its various entities.
+	 */
+	private void addNoteToEntities(EventNote newNote) {
+
+		_count++;
+		Entity who1 = newNote.getEntity1();
+		if (who1 != null) {
+			who1.addEventNote(newNote);
+		}
+
+		Entity who2 = newNote.getEntity2();
+		if (who2 != null) {
+			who2.addEventNote(newNote);
+		}
+
+		Entity who3 = newNote.getEntity3();
+		if (who3 != null) {
+			who3.addEventNote(newNote);
+		}
+
+		EventAbstract Event = newNote.getEvent();
+		if (Event != null) {
+			Event.addEventNote(newNote);
+		}
+	}
+
+	/**
+	 * Remove the {@link EventNote} from its various entities.
+	 */
+	private void removeNoteFromEntities(EventNote note) {
+
+		_count--;
+		if (note.getEntity1() != null) { // if an entity exists (no external event)
+			note.getEntity1().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEntity2() != null) { // if an entity exists (no external event)
+			note.getEntity2().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEntity3() != null) { // if an entity exists (no external event)
+			note.getEntity3().removeEventNote(note); // removes list entry in Entity!
+		}
+
+		if (note.getEvent() != null) { // if an event exists
+			note.getEvent().removeEventNote(note); // remove EventNote
+		}
+	}
+
+	/**
+	 * Creates (but does not throw) an exception saying that an
+	 * {@link EventNote} that should be used as a reference point could not be
+	 * found.
+	 */
+	private SimAbortedException referenceNotFoundException(EventNote newNote,
+			String method) {
+
+		Model mBuffer = null; // buffer current model
+		if (newNote.getEntity1() != null) {
+			mBuffer = newNote.getEntity1().getModel();
+		}
+		if (newNote.getEvent() != null) {
+			mBuffer = newNote.getEvent().getModel();
+		}
+		return new SimAbortedException(new ErrorMessage(mBuffer,
+				"Can not insert new event-note with reference to given EventNote! "
+						+ "Simulation aborted",
+				"Internal DESMO-J class : LadderEventList Method : " + method,
+				"The reference event-note is not contained in the ladder event list.",
+				"This is a fatal error. Contact DESMOJ support",
+				newNote.getTime()));
+	}
+}
@@ -1,6 +1,7 @@
 package desmoj.core.simulator;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import desmoj.core.report.DebugNote;
 import desmoj.core.report.ErrorMessage;
@@ -363,18 +364,63 @@ public class ModelComponent extends NamedObject {
 		// send trace message only if trace mode of this model component
 		// and trace output is activated
 		// This bugfix was contributed by Heine Kolltveit
-	    
-	    String mode = ""; // no special mode
-	    
-	    if (currentModel().isConnected() && currentModel().getExperiment().isPreparing())
-	        mode = "initially ";
-	    
 		if (currentlySendTraceNotes()) {
-			sendMessage(new TraceNote(currentModel(), mode + description,
-					presentTime(), currentEntityAll(), currentEvent()));
+			sendTraceNoteNow(description);
 		}
 	}
 
+	/**
+	 * Creates and sends a tracenote whose description is only built if this
+	 * model component currently sends trace notes, so that the description
+	 * costs nothing while the trace is switched off, e.g.
+	 * <code>sendTraceNote(() -&gt; "serves " + customer + " for " + time)</code>
+	 * instead of <code>sendTraceNote("serves " + customer + " for " + time)</code>.
+	 * 
+	 * @param description
+	 *            java.util.function.Supplier : Supplies the description of
+	 *            the tracenote
+	 */
+	public void sendTraceNote(Supplier<String> description) {
+		if (currentlySendTraceNotes()) {
+			sendTraceNoteNow(description.get());
+		}
+	}
+
+	/**
+	 * Creates and sends a tracenote whose description is composed from the
+	 * given format and arguments as by <code>String.format()</code>, but only
+	 * if this model component currently sends trace notes. Thus, the arguments
+	 * are not converted to strings while the trace is switched off, provided
+	 * the objects themselves are passed, e.g. an entity rather than its
+	 * <code>getName()</code>.
+	 * 
+	 * @param format
+	 *            java.lang.String : The format of the description, see
+	 *            <code>java.util.Formatter</code>
+	 * @param args
+	 *            java.lang.Object[] : The arguments referenced by the format
+	 */
+	public void sendTraceNote(String format, Object... args) {
+		if (currentlySendTraceNotes()) {
+			sendTraceNoteNow(String.format(format, args));
+		}
+	}
+
+	/**
+	 * Sends a tracenote with the given description, the trace being switched
+	 * on.
+	 */
+	private void sendTraceNoteNow(String description) {
+
+		String mode = ""; // no special mode
+
+		if (currentModel().isConnected() && currentModel().getExperiment().isPreparing())
+			mode = "initially ";
+
+		sendMessage(new TraceNote(currentModel(), mode + description,
+				presentTime(), currentEntityAll(), currentEvent()));
+	}
+
 	/**
 	 * returns true if this model component should currently send trace notes
 	 * (i.e. experiment and the component are both in trace mode).
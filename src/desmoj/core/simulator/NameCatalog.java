@@ -1,7 +1,5 @@
 package desmoj.core.simulator;
 
-import java.util.HashMap;
-
 /**
  * Keeps track of the names given for Schedulables within an experiment. To help
  * identify individual entities, events and all other types of Schedulables,
@@ -28,12 +26,33 @@ import java.util.HashMap;
 public class NameCatalog {
 
 	/**
-	 * Stores the names of all Schedulables within an experiment. The names are
-	 * used as the indexing value via the string's method to produce a hashing
-	 * key value. The numbers for each individual name are stored as objects of
-	 * their wrapper class.
+	 * The initial capacity of the table, a power of two.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The names registered so far, stored at the position of their hash
+	 * value (open addressing with linear probing). Free positions are
+	 * <code>null</code>.
+	 */
+	private String[] _names;
+
+	/**
+	 * The number of objects created with the name at the same position of
+	 * <code>_names</code>.
+	 */
+	private int[] _counters;
+
+	/**
+	 * The number of names registered.
+	 */
+	private int _size;
+
+	/**
+	 * Flag indicating lazy naming, i.e. names including the suffix are only
+	 * built on demand.
 	 */
-	private HashMap<String,Integer> _catalog;
+	private boolean _lazy;
 
 	/**
 	 * Constructs a single namecatalog for registering names of all Schedulables
@@ -42,7 +61,8 @@ public class NameCatalog {
 	NameCatalog() {
 
 		super();
-		_catalog = new HashMap<String,Integer>();
+		_names = new String[INITIAL_CAPACITY];
+		_counters = new int[INITIAL_CAPACITY];
 
 	}
 
@@ -62,19 +82,92 @@ public class NameCatalog {
 		if (name == null)
 			name = "unnamed";
 
-		Integer number = _catalog.get(name);
+		return name + "#" + registeredNumber(name);
+
+	}
+
+	/**
+	 * Registers the given name in the namecatalog and returns the number to
+	 * add to the name as a suffix, without building the name itself.
+	 * 
+	 * @return int : The number of objects created with this name, including
+	 *         the new one
+	 * @param name
+	 *            java.lang.String : The name for a new Schedulable, not
+	 *            <code>null</code>
+	 */
+	int registeredNumber(String name) {
+
+		int mask = _names.length - 1;
+		int i = mix(name.hashCode()) & mask;
+		String key;
+		while ((key = _names[i]) != null) {
+			if (key == name || key.equals(name)) {
+				return ++_counters[i];
+			}
+			i = (i + 1) & mask;
+		}
 
-		if (number != null) {
-			int i = number.intValue();
-			i++;
-			_catalog.put(name, i);
-			return name + "#" + i;
-		} else {
-			_catalog.put(name, 1);
-			return name + "#1";
+		// new name
+		_names[i] = name;
+		_counters[i] = 1;
+		if (++_size > _names.length / 2) {
+			grow();
 		}
+		return 1;
 
 	}
+
+	/**
+	 * Switches lazy naming on or off for Schedulables created from now on.
+	 * 
+	 * @param lazy
+	 *            boolean : <code>true</code> to build names on demand
+	 */
+	void setLazy(boolean lazy) {
+		_lazy = lazy;
+	}
+
+	/**
+	 * Tells whether names are built on demand.
+	 * 
+	 * @return boolean : <code>true</code> in lazy naming mode
+	 */
+	boolean isLazy() {
+		return _lazy;
+	}
+
+	/**
+	 * Doubles the capacity of the table.
+	 */
+	private void grow() {
+
+		String[] oldNames = _names;
+		int[] oldCounters = _counters;
+		_names = new String[oldNames.length * 2];
+		_counters = new int[oldNames.length * 2];
+		int mask = _names.length - 1;
+		for (int j = 0; j < oldNames.length; j++) {
+			if (oldNames[j] != null) {
+				int i = mix(oldNames[j].hashCode()) & mask;
+				while (_names[i] != null) {
+					i = (i + 1) & mask;
+				}
+				_names[i] = oldNames[j];
+				_counters[i] = oldCounters[j];
+			}
+		}
+
+	}
+
+	/**
+	 * Spreads the bits of a hash code, as names often differ in their last
+	 * characters only.
+	 */
+	private static int mix(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
 	
     /**
      * Returns the first part of name without added number as suffix. 
@@ -33,6 +33,12 @@ public abstract class NamedObject {
 	 */
 	private String _myName;
 
+	/*
+	 * The number to be added to the name as a suffix when the name is first
+	 * requested, 0 if the name is complete.
+	 */
+	private int _nameSuffix;
+
 	/**
 	 * Constructs a named object with the given initial name. Note, that this
 	 * allows clients to produce more than one object with one name, thus being
@@ -59,6 +65,11 @@ public abstract class NamedObject {
 	 */
 	public String getName() {
 
+		if (_nameSuffix != 0) {
+			// build the name on first request only
+			_myName = _myName + "#" + _nameSuffix;
+			_nameSuffix = 0;
+		}
 		return _myName;
 
 	}
@@ -71,7 +82,7 @@ public abstract class NamedObject {
 	 */
 	public String getQuotedName() {
 
-		return "'" + _myName + "'";
+		return "'" + getName() + "'";
 
 	}
 
@@ -89,6 +100,24 @@ public abstract class NamedObject {
 	protected void rename(String newName) {
 
 		_myName = newName;
+		_nameSuffix = 0;
+
+	}
+
+	/**
+	 * Sets the name to the given name with the number given as suffix, but
+	 * defers building the name to the first call of <code>getName()</code>.
+	 * Used for lazy naming of Schedulables.
+	 * 
+	 * @param name
+	 *            java.lang.String : The name without suffix
+	 * @param suffix
+	 *            int : The number to add to the name as a suffix
+	 */
+	void setSuffixedName(String name, int suffix) {
+
+		_myName = name;
+		_nameSuffix = suffix;
 
 	}
 
@@ -101,7 +130,7 @@ public abstract class NamedObject {
 	 */
 	public String toString() {
 
-		return _myName;
+		return getName();
 
 	}
 }
\ No newline at end of file
@@ -70,8 +70,10 @@ public class ProcessQueue<P extends SimProcess> extends QueueBased implements It
      * @param sortOrder
      *            int : determines the sort order of the underlying queue
      *            implementation. Choose a constant from <code>QueueBased</code>:
-     *            <code>QueueBased.FIFO</code>, <code>QueueBased.LIFO</code> or
-     *            QueueBased.Random.
+     *            <code>QueueBased.FIFO</code>, <code>QueueBased.LIFO</code>,
+     *            QueueBased.Random, <code>QueueBased.FIFO_LINKED</code>,
+     *            <code>QueueBased.LIFO_LINKED</code> or
+     *            <code>QueueBased.FIFO_INDEXED</code>.
      * @param qCapacity
      *            int : The capacity of the Queue, that is how many processes can
      *            be enqueued. Zero (0) can be used as shortcut for
@@ -98,6 +100,12 @@ public class ProcessQueue<P extends SimProcess> extends QueueBased implements It
             _ql = new QueueListLifo<P>(); break;
         case QueueBased.RANDOM :
             _ql = new QueueListRandom<P>(); break;
+        case QueueBased.FIFO_LINKED :
+            _ql = new QueueListLinkedFifo<P>(); break;
+        case QueueBased.LIFO_LINKED :
+            _ql = new QueueListLinkedLifo<P>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _ql = new QueueListIndexedFifo<P>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter " + sortOrder + " is not valid! "
@@ -821,7 +829,7 @@ public class ProcessQueue<P extends SimProcess> extends QueueBased implements It
 							+ "waiting durations");
 			return null; // no proper parameter
 		}
-		TimeInstant i = _ql.timemap.get(p);
+		TimeInstant i = _ql.entryTime(p);
 		
 		if (i == null) {
 			sendWarning("Cannot query waiting time!", "Queue : "
@@ -1103,6 +1111,12 @@ public class ProcessQueue<P extends SimProcess> extends QueueBased implements It
             _ql = new QueueListLifo<P>(); break;
         case QueueBased.RANDOM :
             _ql = new QueueListRandom<P>(); break;
+        case QueueBased.FIFO_LINKED :
+            _ql = new QueueListLinkedFifo<P>(); break;
+        case QueueBased.LIFO_LINKED :
+            _ql = new QueueListLinkedLifo<P>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _ql = new QueueListIndexedFifo<P>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter is negative or too big! "
@@ -82,8 +82,10 @@ public class Queue<E extends Entity> extends QueueBased implements Iterable<E>{
 	 * @param sortOrder
 	 *            int : determines the sort order of the underlying queue
 	 *            implementation. Choose a constant from <code>QueueBased</code>:
-	 *            <code>QueueBased.FIFO</code>, <code>QueueBased.LIFO</code> or
-	 *            QueueBased.Random.
+	 *            <code>QueueBased.FIFO</code>, <code>QueueBased.LIFO</code>,
+	 *            QueueBased.Random, <code>QueueBased.FIFO_LINKED</code>,
+	 *            <code>QueueBased.LIFO_LINKED</code> or
+	 *            <code>QueueBased.FIFO_INDEXED</code>.
 	 * @param qCapacity
 	 *            int : The capacity of the Queue, that is how many entities can
 	 *            be enqueued. Zero (0) can be used as shortcut for
@@ -110,6 +112,12 @@ public class Queue<E extends Entity> extends QueueBased implements Iterable<E>{
             _ql = new QueueListLifo<E>(); break;
         case QueueBased.RANDOM :
             _ql = new QueueListRandom<E>(); break;
+        case QueueBased.FIFO_LINKED :
+            _ql = new QueueListLinkedFifo<E>(); break;
+        case QueueBased.LIFO_LINKED :
+            _ql = new QueueListLinkedLifo<E>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _ql = new QueueListIndexedFifo<E>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter " + sortOrder + " is not valid! "
@@ -781,7 +789,7 @@ public class Queue<E extends Entity> extends QueueBased implements Iterable<E>{
 							+ "waiting durations");
 			return null; // no proper parameter
 		}
-		TimeInstant i = _ql.timemap.get(e);
+		TimeInstant i = _ql.entryTime(e);
 		
 		if (i == null) {
 			sendWarning("Cannot query waiting time!", "Queue : "
@@ -1037,6 +1045,12 @@ public class Queue<E extends Entity> extends QueueBased implements Iterable<E>{
             _ql = new QueueListLifo<E>(); break;
         case QueueBased.RANDOM :
             _ql = new QueueListRandom<E>(); break;
+        case QueueBased.FIFO_LINKED :
+            _ql = new QueueListLinkedFifo<E>(); break;
+        case QueueBased.LIFO_LINKED :
+            _ql = new QueueListLinkedLifo<E>(); break;
+        case QueueBased.FIFO_INDEXED :
+            _ql = new QueueListIndexedFifo<E>(); break;
         default :
             sendWarning(
                     "The given sortOrder parameter is negative or too big! "
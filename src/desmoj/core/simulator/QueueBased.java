@@ -149,6 +149,26 @@ public abstract class QueueBased extends desmoj.core.simulator.Reportable implem
 	 */
 	public final static int RANDOM = 2;
 
+	/**
+	 * Defining a constant for the FIFO service discipline implemented by an intrusive doubly-linked list (<code>QueueListLinkedFifo</code>):
+	 * Entities are ordered as with <code>FIFO</code>, but enqueueing behind entities of the same priority, removing and checking for
+	 * membership take constant time.
+	 */
+	public final static int FIFO_LINKED = 3;
+
+	/**
+	 * Defining a constant for the LIFO service discipline implemented by an intrusive doubly-linked list (<code>QueueListLinkedLifo</code>):
+	 * Entities are ordered as with <code>LIFO</code>, but enqueueing in front of entities of the same priority, removing and checking for
+	 * membership take constant time.
+	 */
+	public final static int LIFO_LINKED = 4;
+
+	/**
+	 * Defining a constant for the FIFO service discipline implemented by a priority-indexed list (<code>QueueListIndexedFifo</code>): Entities are
+	 * ordered as with <code>FIFO</code>, but the insertion point is found in logarithmic time of the number of distinct priorities enqueued.
+	 */
+	public final static int FIFO_INDEXED = 5;
+
 	/**
 	 * Represents the maximum number of entities in the queue (default is unlimited capacity).
 	 */
@@ -208,6 +228,7 @@ public abstract class QueueBased extends desmoj.core.simulator.Reportable implem
 		}
 
 		notifyObservers(this, QueueAction.ITEM_ADDED);
+		notifyStopTriggers();
 	}
 
 	public void addObserver(Observer<QueueBased, QueueAction> observer) {
@@ -314,6 +335,7 @@ public abstract class QueueBased extends desmoj.core.simulator.Reportable implem
 		incrementObservations();
 
 		notifyObservers(this, QueueAction.ITEM_DELETED);
+		notifyStopTriggers();
 	}
 
 	public void deleteObserver(Observer<QueueBased, QueueAction> observer) {
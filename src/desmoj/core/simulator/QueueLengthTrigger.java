@@ -0,0 +1,92 @@
+package desmoj.core.simulator;
+
+/**
+ * A stop trigger fulfilled once the length of a queue reaches a given length,
+ * e.g. to stop an experiment when a system becomes congested. The trigger is
+ * checked only after events which have inserted or removed entries from the
+ * queue.
+ *
+ * @see Experiment#stop(ModelCondition)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+public class QueueLengthTrigger extends StopTrigger {
+
+	/**
+	 * The queue watched.
+	 */
+	private QueueBased _queue;
+
+	/**
+	 * The length to reach.
+	 */
+	private int _length;
+
+	/**
+	 * Constructs a trigger fulfilled once the given queue contains at least
+	 * the given number of entries.
+	 *
+	 * @param owner
+	 *            Model : The main model this trigger is associated to
+	 * @param name
+	 *            java.lang.String : The name of this trigger
+	 * @param showInTrace
+	 *            boolean : Flag for showing this trigger in trace-files
+	 * @param queue
+	 *            QueueBased : The queue to watch
+	 * @param length
+	 *            int : The queue length to reach
+	 */
+	public QueueLengthTrigger(Model owner, String name, boolean showInTrace,
+			QueueBased queue, int length) {
+
+		super(owner, name, showInTrace, queue);
+		_queue = queue;
+		_length = length;
+
+		if (queue == null) {
+			sendWarning("Can not watch queue! Trigger will never be fulfilled.",
+					"QueueLengthTrigger : " + getName() + " Constructor: "
+							+ "QueueLengthTrigger(Model, String, boolean, "
+							+ "QueueBased, int)",
+					"The queue passed was a null reference.",
+					"Make sure to provide a valid queue to watch.");
+		}
+
+	}
+
+	/**
+	 * Returns <code>true</code> if the queue contains at least the given
+	 * number of entries.
+	 *
+	 * @return boolean : Is <code>true</code> if the queue length has been
+	 *         reached, <code>false</code> otherwise
+	 */
+	public boolean check() {
+
+		return _queue != null && _queue.length() >= _length;
+
+	}
+
+	/**
+	 * Returns the queue length to reach.
+	 *
+	 * @return int : The queue length to reach
+	 */
+	public int getLength() {
+
+		return _length;
+
+	}
+}
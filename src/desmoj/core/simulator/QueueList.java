@@ -279,6 +279,19 @@ public abstract class QueueList<E extends Entity> implements PropertyChangeListe
 		return clientQ.length();
 	}
 	
+	/**
+	 * Returns the time the given entity has been inserted into this list or
+	 * <code>null</code> if it is not contained.
+	 * 
+	 * @return TimeInstant : The time of insertion or <code>null</code>
+	 * @param e
+	 *            Entity : The Entity assumed to be in the list
+	 */
+	TimeInstant entryTime(Entity e)
+	{
+		return timemap.get(e);
+	}
+	
 	/**
 	 * This method is used for statistical data in the class QueueBased.
 	 * 
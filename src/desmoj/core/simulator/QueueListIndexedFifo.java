@@ -0,0 +1,154 @@
+package desmoj.core.simulator;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contains the implementation of a priority-indexed queue list. The entities
+ * are queued first according to their priority and second in FIFO (first in
+ * first out) order, like in <code>QueueListFifo</code>. The entities of the
+ * same priority form a bucket within an intrusive doubly-linked list, and the
+ * last entity of each bucket is kept in a tree indexed by priority. So the
+ * insertion point of a new entity is found in O(log p) for p distinct
+ * priorities instead of scanning the entities of lower priority, which makes
+ * this class the right choice for queues holding many entities with many
+ * different priorities. Removals and membership checks take constant time
+ * (apart from updating the index).
+ * <p>
+ * The index is built from the priorities the entities had when being
+ * inserted. Inserting entities at arbitrary positions via
+ * <code>insertAfter()</code> or <code>insertBefore()</code> may break the
+ * ordering by priority. As long as it is broken, the insertion point is
+ * searched backwards from the end of the list like in
+ * <code>QueueListFifo</code>; the index is used again as soon as the
+ * ordering is restored.
+ *
+ * @see QueueListLinked
+ * @see QueueListFifo
+ * @see QueueBased
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class QueueListIndexedFifo<E extends Entity> extends QueueListLinked<E> {
+
+	/**
+	 * The last node of each priority contained.
+	 */
+	private TreeMap<Integer, Node> _lastOfPriority;
+
+	/**
+	 * Set if the index has to be rebuilt because a node has been inserted at
+	 * an arbitrary position.
+	 */
+	private boolean _indexInvalid;
+
+	/**
+	 * Constructs an empty <code>QueueListIndexedFifo</code> with no reference
+	 * to its client QueueBased. This no-arg constructor is necessary to
+	 * instantiate an object of this class by calling the
+	 * <code>java.lang.Class.newInstance()</code> method. The reference to the
+	 * QueueBased object making use of this queue-functionality must be provided
+	 * later by calling the setQueueBased() method. The initial length is always
+	 * zero.
+	 */
+	public QueueListIndexedFifo() {
+
+		super();
+
+		// set the abbreviation for this kind of queueing discipline
+		this.abbreviation = "FIFO";
+
+		_lastOfPriority = new TreeMap<Integer, Node>();
+	}
+
+	/**
+	 * Returns the last node of the lowest priority not below the priority of
+	 * the given entity.
+	 *
+	 * @return Node : The node to insert the new entity after or
+	 *         <code>null</code>
+	 * @param e
+	 *            Entity : The Entity to be inserted
+	 */
+	Node insertionPoint(E e) {
+
+		if (_indexInvalid && !rebuildIndex()) {
+			// not ordered by priority, search like QueueListFifo
+			Node n = tail();
+			while (n != null && n.priority < e.getQueueingPriority()) {
+				n = n.prev;
+			}
+			return n;
+		}
+
+		Map.Entry<Integer, Node> last = _lastOfPriority.ceilingEntry(e
+				.getQueueingPriority());
+		return last == null ? null : last.getValue();
+	}
+
+	/**
+	 * Makes a node inserted at its regular position the last one of its
+	 * priority.
+	 */
+	void linked(Node n, boolean ordered) {
+
+		if (!ordered) {
+			_indexInvalid = true;
+		} else if (!_indexInvalid) {
+			_lastOfPriority.put(n.priority, n);
+		}
+	}
+
+	/**
+	 * Passes the role of the last node of its priority from the given node to
+	 * its predecessor of the same priority, if any.
+	 */
+	void unlinking(Node n) {
+
+		if (n.prev == null && n.next == null) { // the list becomes empty
+			_lastOfPriority.clear();
+			_indexInvalid = false;
+		} else if (!_indexInvalid && _lastOfPriority.get(n.priority) == n) {
+			if (n.prev != null && n.prev.priority == n.priority) {
+				_lastOfPriority.put(n.priority, n.prev);
+			} else {
+				_lastOfPriority.remove(n.priority);
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds the index from the nodes currently contained if they are
+	 * ordered by priority.
+	 *
+	 * @return boolean : <code>true</code> if the index has been rebuilt,
+	 *         <code>false</code> if the list is not ordered by priority
+	 */
+	private boolean rebuildIndex() {
+
+		for (Node n = head(); n != null && n.next != null; n = n.next) {
+			if (n.priority < n.next.priority) {
+				return false;
+			}
+		}
+
+		_lastOfPriority.clear();
+		for (Node n = head(); n != null; n = n.next) {
+			_lastOfPriority.put(n.priority, n);
+		}
+		_indexInvalid = false;
+		return true;
+	}
+}
@@ -0,0 +1,795 @@
+package desmoj.core.simulator;
+
+import desmoj.core.simulator.Entity;
+import desmoj.core.simulator.QueueBased;
+
+/**
+ * Is the abstract superclass of the queue lists implemented as intrusive
+ * doubly-linked lists. Each entity enqueued in such a list carries a node
+ * holding its predecessor, its successor and its time of insertion, so no
+ * <code>java.util.LinkedList</code> and no <code>timemap</code> are needed.
+ * Membership checks, removals and the insertion of an entity behind (or in
+ * front of) all entities with the same priority are performed in constant
+ * time, only the search for the position of an entity with a different
+ * priority than its neighbours is linear in the number of entities passed.
+ * <p>
+ * Access by position (<code>get(int)</code>, <code>get(E)</code> and
+ * <code>remove(int)</code>) still requires walking the list.
+ *
+ * @see QueueList
+ * @see QueueListLinkedFifo
+ * @see QueueListLinkedLifo
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public abstract class QueueListLinked<E extends Entity> extends QueueList<E> {
+
+	/**
+	 * The position of an entity in one linked queue list. All nodes of an
+	 * entity are chained via <code>nextOfEntity</code>, starting at
+	 * <code>Entity._queueListNodes</code>.
+	 */
+	static final class Node {
+
+		/**
+		 * The list this node belongs to.
+		 */
+		final QueueListLinked<?> list;
+
+		/**
+		 * The entity enqueued.
+		 */
+		final Entity entity;
+
+		/**
+		 * The time the entity has been inserted.
+		 */
+		final TimeInstant entryTime;
+
+		/**
+		 * The queueing priority of the entity at the time of insertion.
+		 */
+		final int priority;
+
+		/**
+		 * The neighbours within the list.
+		 */
+		Node prev, next;
+
+		/**
+		 * The next node of the same entity (in another list).
+		 */
+		Node nextOfEntity;
+
+		Node(QueueListLinked<?> list, Entity entity, TimeInstant entryTime) {
+			this.list = list;
+			this.entity = entity;
+			this.entryTime = entryTime;
+			this.priority = entity.getQueueingPriority();
+		}
+	}
+
+	/**
+	 * An abbreviation to identify the sort of queueing discipline (like FIFO or
+	 * LIFO or ...)
+	 */
+	protected java.lang.String abbreviation;
+
+	/**
+	 * The first and the last node of the list.
+	 */
+	private Node _head, _tail;
+
+	/**
+	 * Constructs an empty <code>QueueListLinked</code> with no reference to
+	 * its client QueueBased. The reference to the QueueBased object making use
+	 * of this queue-functionality must be provided later by calling the
+	 * setQueueBased() method.
+	 */
+	public QueueListLinked() {
+
+		super();
+
+		// we don't know the client queue yet.
+		// Must be provided later by calling the setQueueBased() method
+		clientQ = null;
+	}
+
+	/**
+	 * Returns the node after which the given entity has to be inserted
+	 * according to its priority and the queueing discipline of the subclass.
+	 * Returns <code>null</code> if the entity has to become the first one.
+	 *
+	 * @return Node : The node to insert the new entity after or
+	 *         <code>null</code>
+	 * @param e
+	 *            Entity : The Entity to be inserted
+	 */
+	abstract Node insertionPoint(E e);
+
+	/**
+	 * Is called after the given node has been linked into the list. The
+	 * parameter <code>ordered</code> tells whether the node has been placed
+	 * at the position returned by <code>insertionPoint()</code> or at an
+	 * arbitrary position via <code>insertAfter()</code> or
+	 * <code>insertBefore()</code>. Does nothing by default.
+	 */
+	void linked(Node n, boolean ordered) {
+	}
+
+	/**
+	 * Is called before the given node is unlinked from the list, so its
+	 * neighbours are still set. Does nothing by default.
+	 */
+	void unlinking(Node n) {
+	}
+
+	/**
+	 * Returns the first node of the list, <code>null</code> if the list is
+	 * empty.
+	 */
+	Node head() {
+		return _head;
+	}
+
+	/**
+	 * Returns the last node of the list, <code>null</code> if the list is
+	 * empty.
+	 */
+	Node tail() {
+		return _tail;
+	}
+
+	/**
+	 * Returns the node of the given entity in this list, <code>null</code>
+	 * if the entity is not enqueued here. The search only visits the nodes of
+	 * the entity, which are as many as the queues it is waiting in.
+	 */
+	Node nodeOf(Entity e) {
+
+		for (Node n = e._queueListNodes; n != null; n = n.nextOfEntity) {
+			if (n.list == this) {
+				return n;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true if the given Entity is contained in the list, false
+	 * otherwise.
+	 *
+	 * @return boolean : True if the given Entity is contained in the list,
+	 *         false otherwise
+	 * @param e
+	 *            Entity : The Entity assumed to be in the list
+	 */
+	public boolean contains(E e) {
+
+		if (e == null) { // check for nullreference
+			sendWarning(
+					"Can not check if the given Entity is contained in QueueListLinked. "
+							+ "Command ignored!",
+					"Class: QueueListLinked Method: boolean contains(Entity e).",
+					"The Entity reference given as parameter is a null reference.",
+					"Be sure to only use valid references.");
+			return false;
+		}
+
+		return nodeOf(e) != null;
+	}
+
+	/**
+	 * Returns the time the given entity has been inserted into this list or
+	 * <code>null</code> if it is not contained.
+	 *
+	 * @return TimeInstant : The time of insertion or <code>null</code>
+	 * @param e
+	 *            Entity : The Entity assumed to be in the list
+	 */
+	TimeInstant entryTime(Entity e) {
+
+		Node n = nodeOf(e);
+		return n == null ? null : n.entryTime;
+	}
+
+	/**
+	 * Returns the first entity stored in the list. If the queue is empty,
+	 * <code>null</code> is returned.
+	 *
+	 * @return Entity : The first entity in the list or <code>null</code> if
+	 *         list is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E first() {
+
+		return _head == null ? null : (E) _head.entity;
+	}
+
+	/**
+	 * Returns the position of the named <code>Entity</code>.
+	 * The first position is 0, the last one size()-1.
+	 *
+	 * @return : The position of the <code>Entity</code> or <code>-1</code> if no such exists.
+	 */
+	public int get(E element) {
+
+		if (element == null || nodeOf(element) == null) {
+			return -1;
+		}
+
+		int index = 0;
+		for (Node n = _head; n != null; n = n.next, index++) {
+			if (n.entity == element) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the <code>Entity</code> queued at the named position.
+	 * The first position is 0, the last one size()-1.
+	 *
+	 * @return Entity : The <code>Entity</code> at the position of
+	 *         <code>int</code> or <code>null</code> if no such position exists.
+	 */
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+
+		// check if there are elements queued
+		if (isEmpty()) {
+			sendWarning("Can not retrieve Entity. Command ignored.",
+					"Class: QueueListLinked Method: Entity get(int index).",
+					"The Queue is empty, no Entities are contained.",
+					"Check if an entity is enqueued by calling method "
+							+ "contains(Entity e).");
+			return null;
+		}
+
+		if ((index > this.size() - 1) | (index < 0)) {
+			sendWarning("Can not retrieve index. Command ignored.",
+					"Class: QueueListLinked Method: Entity get(int index).",
+					"The index of the method is out of the list range.",
+					"Check correct position in queue.");
+			return null;
+		}
+
+		// walk from the nearer end
+		Node n;
+		if (index < this.size() / 2) {
+			n = _head;
+			for (int i = 0; i < index; i++) {
+				n = n.next;
+			}
+		} else {
+			n = _tail;
+			for (int i = this.size() - 1; i > index; i--) {
+				n = n.prev;
+			}
+		}
+		return (E) n.entity;
+	}
+
+	/**
+	 * Returns an abbreviation as a String to identify the sort of queueing
+	 * discipline (like FIFO or LIFO or ...). Is used to display the queueing
+	 * discipline in the report of the QueueBased objects.
+	 *
+	 * @return java.lang.String : An abbreviation to identify the sort of
+	 *         queueing discipline (like FIFO or LIFO or ...)
+	 */
+	public String getAbbreviation() {
+
+		return abbreviation;
+	}
+
+	/**
+	 * Adds a new Entity to the QueueList. Entities are inserted according
+	 * to their priority in descending order. The highest priority Entity will
+	 * always be first in the queue. Entities with same priority are inserted in
+	 * the order of the queueing discipline of the subclass.
+	 *
+	 * @param e
+	 *            Entity : The Entity to add to the QueueList
+	 */
+	public void insert(E e) {
+
+		if (e == null) { // check for null reference
+			sendWarning(
+					"Can not insert entity. Command ignored.",
+					"Class: QueueListLinked Method: insert(Entity e).",
+					"The Entity reference given as parameter is a null reference.",
+					"Be sure to only use valid references.");
+			return;
+		}
+
+		if (contains(e)) { // entity must not be contained twice in queue
+			sendWarning("Can not insert entity. Command ignored.",
+					"Class: QueueListLinked Method: insert(Entity e).",
+					"The Entity given as parameter is already enqueued.",
+					"Make sure the entity is not enqueued here by calling "
+							+ "method 'contains(Entity e)'.");
+			return;
+		}
+
+		link(e, insertionPoint(e), true);
+	}
+
+	/**
+	 * Inserts the given "e" after the position of "which" in the QueueList.
+	 * Returns true if "e" is inserted correctly after "which". If the list is
+	 * empty or the referenced "which" is not contained, the "e" will not be
+	 * inserted and false is returned.
+	 *
+	 * @return boolean : Is <code>true</code> if inserted correctly,
+	 *         <code>false</code> otherwise
+	 * @param e
+	 *            Entity : The Entity to be inserted
+	 * @param which
+	 *            Entity : The referenced Entity that the given "e" has to be
+	 *            inserted after
+	 */
+	boolean insertAfter(E e, E which) {
+
+		Node whichNode = checkInsertion(e, which,
+				"boolean insertAfter(Entity e, Entity which).");
+		if (whichNode == null) {
+			return false;
+		}
+
+		link(e, whichNode, false);
+		return true; // inserted
+	}
+
+	/**
+	 * Inserts the given "e" before the position of "which" in the
+	 * QueueList. Returns true if "e" is inserted correctly before "which".
+	 * If the list is empty or the referenced "which" is not contained, the "e"
+	 * will not be inserted and false is returned.
+	 *
+	 * @return boolean : Is <code>true</code> if inserted correctly,
+	 *         <code>false</code> otherwise
+	 * @param e
+	 *            Entity : The Entity to be inserted
+	 * @param which
+	 *            Entity : The referenced Entity that the given "e" has to be
+	 *            inserted before
+	 */
+	boolean insertBefore(E e, E which) {
+
+		Node whichNode = checkInsertion(e, which,
+				"boolean insertBefore(Entity e, Entity which).");
+		if (whichNode == null) {
+			return false;
+		}
+
+		link(e, whichNode.prev, false);
+		return true; // inserted
+	}
+
+	/**
+	 * Returns <code>true</code>, if no elements are inside the
+	 * <code>QueueList</code>,<code>false</code> otherwise
+	 *
+	 * @return boolean : true, if no elements are inside the
+	 *         <code>QueueList</code>, false otherwise
+	 */
+	public boolean isEmpty() {
+
+		return _head == null;
+	}
+
+	/**
+	 * Returns the last Entity stored in the QueueList. If the QueueList
+	 * is empty, <code>null</code> is returned.
+	 *
+	 * @return Entity : The last Entity in the list or <code>null</code> if
+	 *         QueueList is empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E last() {
+
+		return _tail == null ? null : (E) _tail.entity;
+	}
+
+	/**
+	 * Returns the predecessor to the given Entity in the QueueList. If
+	 * there is no predecessor or no Entity, <code>null</code> is returned.
+	 *
+	 * @return Entity : The Entity before the given parameter in the
+	 *         QueueList or <code>null</code> if e has no predecessor in
+	 *         the QueueList or Entity parameter 'e' itself is not contained
+	 * @param e
+	 *            Entity : The Entity contained in the QueueList whose
+	 *            predecessor will be returned.
+	 */
+	@SuppressWarnings("unchecked")
+	E pred(E e) {
+
+		if (e == null) { // check for null reference
+			sendWarning("Can not return predecessor Entity. Command ignored.",
+					"Class: QueueListLinked Method: Entity pred (Entity e).",
+					"The Entity reference 'e' given as parameter is a null "
+							+ "reference.",
+					"Check if Entity 'e' is enqueued using method "
+							+ "'QueueListLinked.contains(e)'.");
+			return null;
+		}
+
+		Node n = nodeOf(e);
+		return (n == null || n.prev == null) ? null : (E) n.prev.entity;
+	}
+
+	/**
+	 * This method will be called every time the Stock (the number of available
+	 * units) has changed.
+	 *
+	 * @param evt
+	 *            java.beans.PropertyChangeEvent : The event specifying the
+	 *            property that has changed ans its old and new value.
+	 */
+	public void propertyChange(java.beans.PropertyChangeEvent evt) {
+
+		// check if the property expected has changed
+		if (evt.getPropertyName() == "avail") {
+			// check if anybody is in the queue
+			if (!isEmpty()) {
+				// get the first process in the queue
+				SimProcess next = (SimProcess) first();
+
+				// check if the process is not a null pointer or is not
+				// modelcompatible
+				if (next == null || !getQueueBased().isModelCompatible(next)) {
+					sendWarning(
+							"The first process in the queue is not valid. "
+									+ "The attempted action is ignored!",
+							"Class: QueueListLinked Method: propertyChange("
+									+ "PropertyChangeEvent evt).",
+							"The process is a null pointer or does not belong "
+									+ "to this model.",
+							"Make sure that only real SimProcesses of this model "
+									+ "are stored in a queue.");
+					return;
+				}
+
+				// is the process scheduled already?
+				if (next.isScheduled()) {
+					next.skipTraceNote(); // do not tell in the trace, that we
+					// ...
+					next.cancel(); // get the process from the event-list
+				}
+
+				// remember if the process is blocked
+				boolean wasBlocked = next.isBlocked();
+
+				// invalidate the block for a moment
+				if (wasBlocked) {
+					next.setBlocked(false);
+				}
+
+				next.skipTraceNote(); // do not tell in the trace, that we ...
+				next.activateAfter(getQueueBased().current()); // schedule this
+				// process right after the current
+
+				// set the block back
+				if (wasBlocked) {
+					next.setBlocked(true);
+				}
+			} // end if isEmpty()
+		} // end if propertyName == available
+	}
+
+	/**
+	 * Removes the given Entity from the QueueList. Returns <code>true</code>
+	 * if it has been removed, <code>false</code> if the given reference is
+	 * <code>null</code> or the Entity is not contained.
+	 *
+	 * @return boolean : Is <code>true</code> if the given Entity is contained
+	 *         in the QueueList, <code>false</code> otherwise
+	 * @param e
+	 *            Entity : The Entity to be removed from the QueueList
+	 */
+	public boolean remove(E e) {
+
+		if (e == null) { // check for null reference
+			sendWarning(
+					"Can not remove Entity. Command ignored.",
+					"Class: QueueListLinked Method: boolean remove(Entity e).",
+					"The Entity reference given as parameter is a null reference.",
+					"Be sure to only use valid references.");
+			return false;
+		}
+
+		// check if anything can be removed at all
+		if (isEmpty()) {
+			sendWarning("Can not remove Entity. Command ignored.",
+					"Class: QueueListLinked Method: boolean remove(Entity e).",
+					"The Queue is empty, no Entities are contained.",
+					"Check if an entity is enqueued by calling method "
+							+ "contains(Entity e).");
+			return false;
+		}
+
+		Node n = nodeOf(e);
+		if (n == null) { // check for element
+			sendWarning("Can not remove Entity. Command ignored.",
+					"Class: QueueListLinked Method: boolean remove(Entity e).",
+					"The Entity reference 'e' given as parameter is not contained "
+							+ "in the queue.",
+					"Insert e first.");
+			return false;
+		}
+
+		unlink(n);
+		return true; // job done
+	}
+
+	/**
+	 * Removes the <code>Entity</code> queued at the named position.
+	 * The first position is 0, the last one size()-1.
+	 *
+	 * @return : The method returns <code>true</code> as the <code>Entity</code>
+	 * 			 was deleted or <code>false></code> if otherwise.
+	 */
+	public boolean remove(int index) {
+
+		E e = this.get(index);
+
+		if (e == null) { // if there is nothing to be removed
+			return false;
+		}
+
+		unlink(nodeOf(e));
+		return true;
+	}
+
+	/**
+	 * Removes the first entity from this QueueList and returns
+	 * <code>true</code> if it was removed successfully. If the QueueList
+	 * is empty, <code>false</code> is returned.
+	 *
+	 * @return boolean : Is <code>true</code>, if the first element has been
+	 *         removed successfully, <code>false</code> if the QueueList
+	 *         happened to be empty.
+	 */
+	boolean removeFirst() {
+
+		if (isEmpty()) {
+			sendWarning(
+					"Can not remove first entity in queue. Command ignored.",
+					"Class: QueueListLinked Method: boolean removeFirst().",
+					"The queue is empty, thus no Entity can be removed.",
+					"Check if any Entity 'e' is enqueued using method "
+							+ "'QueueListLinked.contains(e)'.");
+			return false; // nothing from nothing leaves nothing
+		}
+
+		unlink(_head);
+		return true;
+	}
+
+	/**
+	 * Removes the last Entity from the QueueList and returns
+	 * <code>true</code> if it was removed successfully. If the QueueList
+	 * is empty, <code>false</code> is returned.
+	 *
+	 * @return boolean : Is <code>true</code>, if the last element has been
+	 *         removed successfully, <code>false</code> if the QueueList
+	 *         happened to be empty
+	 */
+	boolean removeLast() {
+
+		if (isEmpty()) {
+			sendWarning(
+					"Can not remove last Entity in queue. Command ignored.",
+					"Class: QueueListLinked Method: boolean removeLast().",
+					"The queue is empty, thus no Entity can be removed.",
+					"Check if any Entity 'e' is enqueued using method "
+							+ "'QueueListLinked.contains(e)'.");
+			return false; // nothing from nothing leaves nothing
+		}
+
+		unlink(_tail);
+		return true;
+	}
+
+	/**
+	 * Sends a warning to the error output by forwarding it to the associated
+	 * QueueBased's <code>sendwarning</code> method. Warnings are sent only if
+	 * the QueueBased's flag for queue implementation warnings is set to
+	 * <code>true</code>.
+	 *
+	 * @param description
+	 *            java.lang.String : describing the error
+	 * @param location
+	 *            java.lang.String : describing the location the error occurred
+	 * @param reason
+	 *            java.lang.String : describing the possible cause for this
+	 *            error
+	 * @param prevention
+	 *            java.lang.String : telling what to do to prevent this error
+	 * @see QueueBased
+	 */
+	void sendWarning(String description, String location, String reason,
+			String prevention) {
+
+		if (clientQ.qImpWarn()) {
+			clientQ.sendWarning(description, location, reason, prevention);
+		}
+	}
+
+	/**
+	 * Returns the successor to the given Entity in the QueueList. If there
+	 * is no successor or no Entity in the QueueList, <code>null</code> is
+	 * returned.
+	 *
+	 * @return Entity : The Entity after the given parameter in the
+	 *         QueueList or <code>null</code> if the given Entity
+	 *         parameter 'e' has no successor in the QueueList or e itself
+	 *         is not contained in the QueueList
+	 * @param e
+	 *            Entity : The Entity contained in the QueueList
+	 */
+	@SuppressWarnings("unchecked")
+	public E succ(E e) {
+
+		if (e == null) { // check for null reference
+			sendWarning("Can not return successing Entity. Command ignored.",
+					"Class: QueueListLinked Method: Entity succ (Entity e).",
+					"The Entity reference 'e' given as parameter is a null "
+							+ "reference.",
+					"Check if Entity 'e' is enqueued using method "
+							+ "'QueueListLinked.contains(e)'.");
+			return null;
+		}
+
+		Node n = nodeOf(e);
+		return (n == null || n.next == null) ? null : (E) n.next.entity;
+	}
+
+	/**
+	 * Returns a string representation of the QueueList. The string is built
+	 * by concatenating all string representations of the contained entities,
+	 * calling their <code>toString()</code> methods.
+	 *
+	 * @return java.lang.String : The string representation of the QueueList
+	 */
+	public String toString() {
+
+		if (isEmpty()) {
+			return "-";
+		}
+
+		StringBuilder s = new StringBuilder();
+		int i = 0;
+		for (Node n = _head; n != null; n = n.next, i++) {
+			s.append(i).append(":[").append(n.entity).append("]<br>");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Checks the parameters of <code>insertAfter()</code> and
+	 * <code>insertBefore()</code>, returning the node of "which" or
+	 * <code>null</code> if "e" must not be inserted.
+	 */
+	private Node checkInsertion(E e, E which, String method) {
+
+		if (e == null) { // check for null reference
+			sendWarning("Can not insert entity. Command ignored.",
+					"Class 'QueueListLinked' Method: " + method,
+					"The Entity reference 'e' given as parameter is a null "
+							+ "reference.",
+					"Be sure to only use valid references.");
+			return null;
+		}
+
+		if (which == null) { // check for null reference
+			sendWarning("Can not insert entity. Command ignored.",
+					"Class 'QueueListLinked' Method: " + method,
+					"The Entity reference 'which' given as parameter is a null "
+							+ "reference.",
+					"Be sure to only use valid references.");
+			return null;
+		}
+
+		if (contains(e)) { // entity must not be contained twice in the queue
+			sendWarning("Can not insert entity. Command ignored.",
+					"Class 'QueueListLinked' Method: " + method,
+					"The Entity 'e' given as parameter is already enqueued.",
+					"Make sure the entity is not enqueued here by calling "
+							+ "method 'contains(Entity e)'.");
+			return null;
+		}
+
+		Node whichNode = nodeOf(which);
+		if (whichNode == null) { // reference entity must be enqueued
+			sendWarning("Can not insert entity. Command ignored.",
+					"Class 'QueueListLinked' Method: " + method,
+					"The Entity 'which' given as parameter is not enqueued.",
+					"Make sure the entity is enqueued here by calling "
+							+ "method 'contains(Entity which)'.");
+		}
+		return whichNode;
+	}
+
+	/**
+	 * Links a new node for the given entity after the given node (or as first
+	 * node if <code>pred</code> is <code>null</code>) and updates the
+	 * statistics.
+	 */
+	private void link(E e, Node pred, boolean ordered) {
+
+		Node n = new Node(this, e, clientQ.presentTime());
+
+		n.prev = pred;
+		n.next = (pred == null) ? _head : pred.next;
+		if (n.prev == null) {
+			_head = n;
+		} else {
+			n.prev.next = n;
+		}
+		if (n.next == null) {
+			_tail = n;
+		} else {
+			n.next.prev = n;
+		}
+
+		// attach to the entity
+		n.nextOfEntity = e._queueListNodes;
+		e._queueListNodes = n;
+		linked(n, ordered);
+
+		e.addQueueBased(this.clientQ); // sets entity's queue as this queued
+		clientQ.addItem(); // update statistics
+	}
+
+	/**
+	 * Unlinks the given node and updates the statistics.
+	 */
+	private void unlink(Node n) {
+
+		unlinking(n);
+
+		if (n.prev == null) {
+			_head = n.next;
+		} else {
+			n.prev.next = n.next;
+		}
+		if (n.next == null) {
+			_tail = n.prev;
+		} else {
+			n.next.prev = n.prev;
+		}
+		n.prev = n.next = null;
+
+		// detach from the entity
+		Entity e = n.entity;
+		if (e._queueListNodes == n) {
+			e._queueListNodes = n.nextOfEntity;
+		} else {
+			Node p = e._queueListNodes;
+			while (p.nextOfEntity != n) {
+				p = p.nextOfEntity;
+			}
+			p.nextOfEntity = n.nextOfEntity;
+		}
+		n.nextOfEntity = null;
+
+		e.removeQueueBased(this.clientQ); // remove entity's queue note
+		clientQ.deleteItem(n.entryTime); // tell QueueBased the entry time
+	}
+}
@@ -0,0 +1,65 @@
+package desmoj.core.simulator;
+
+/**
+ * Contains the implementation of an intrusive doubly-linked list to represent
+ * queueing functionality. The entities are queued first according to their
+ * priority and second in FIFO (first in first out) order. Inserting an entity
+ * with a priority not higher than the one of the last entity, removing an
+ * entity and checking if an entity is contained take constant time, so this
+ * class is an alternative to <code>QueueListFifo</code> for long queues.
+ *
+ * @see QueueListLinked
+ * @see QueueListFifo
+ * @see QueueBased
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class QueueListLinkedFifo<E extends Entity> extends QueueListLinked<E> {
+
+	/**
+	 * Constructs an empty <code>QueueListLinkedFifo</code> with no reference
+	 * to its client QueueBased. This no-arg constructor is necessary to
+	 * instantiate an object of this class by calling the
+	 * <code>java.lang.Class.newInstance()</code> method. The reference to the
+	 * QueueBased object making use of this queue-functionality must be provided
+	 * later by calling the setQueueBased() method. The initial length is always
+	 * zero.
+	 */
+	public QueueListLinkedFifo() {
+
+		super();
+
+		// set the abbreviation for this kind of queueing discipline
+		this.abbreviation = "FIFO";
+	}
+
+	/**
+	 * Returns the last node whose entity has at least the priority of the
+	 * given entity, searching backwards from the end of the list.
+	 *
+	 * @return Node : The node to insert the new entity after or
+	 *         <code>null</code>
+	 * @param e
+	 *            Entity : The Entity to be inserted
+	 */
+	Node insertionPoint(E e) {
+
+		Node n = tail();
+		while (n != null && Entity.isSmaller(n.entity, e)) {
+			n = n.prev;
+		}
+		return n;
+	}
+}
@@ -61,6 +61,11 @@ public abstract class Reportable extends ModelComponent {
      * This Reportable's Reporter
      */
     private Reporter _myReporter = null;
+
+    /**
+     * The stop triggers watching this reportable, <code>null</code> if none
+     */
+    private StopTrigger[] _stopTriggers = null;
     
     /**
      * Creates a reportable object with all parameters required. The reportable
@@ -257,6 +262,58 @@ public final Reporter getReporter() {
         _lastReset = presentTime(); // register the reset time
     }
 
+    /**
+     * Notifies the stop triggers watching this reportable that its values
+     * have changed, so they are evaluated after the current event. Subclasses
+     * call this method whenever they are updated; it returns at once if no
+     * stop trigger is watching this reportable.
+     * 
+     * @see StopTrigger
+     */
+    protected void notifyStopTriggers() {
+
+        if (_stopTriggers != null) {
+            for (StopTrigger trigger : _stopTriggers) {
+                trigger.markChanged();
+            }
+        }
+    }
+
+    /**
+     * Adds a stop trigger to be notified of changes of this reportable.
+     * 
+     * @param trigger
+     *            StopTrigger : The stop trigger watching this reportable
+     */
+    void addStopTrigger(StopTrigger trigger) {
+
+        if (_stopTriggers == null) {
+            _stopTriggers = new StopTrigger[] { trigger };
+        } else {
+            _stopTriggers = java.util.Arrays.copyOf(_stopTriggers,
+                    _stopTriggers.length + 1);
+            _stopTriggers[_stopTriggers.length - 1] = trigger;
+        }
+    }
+
+    /**
+     * Removes a stop trigger no longer watching this reportable.
+     * 
+     * @param trigger
+     *            StopTrigger : The stop trigger to remove
+     */
+    void removeStopTrigger(StopTrigger trigger) {
+
+        if (_stopTriggers == null) {
+            return;
+        }
+        java.util.List<StopTrigger> rest = new java.util.ArrayList<StopTrigger>(
+                java.util.Arrays.asList(_stopTriggers));
+        rest.remove(trigger);
+        _stopTriggers = rest.isEmpty() ? null : rest
+                .toArray(new StopTrigger[rest.size()]);
+    }
+
     /**
      * Shows the point in simulation time when the last reset of this reportable
      * was made.
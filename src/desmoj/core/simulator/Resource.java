@@ -1,5 +1,7 @@
 package desmoj.core.simulator;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import desmoj.core.advancedModellingFeatures.Res;
 
 //34567890123456789012345678901234567890123456789012345678901234567890123456
@@ -38,7 +40,7 @@ public class Resource extends ModelComponent {
 	 * The number identifying a Resource. Because it is a class variable each
 	 * Resource will get its own ID number starting by zero.
 	 */
-	private static long resourceNumber = 0;
+	private static final AtomicLong resourceNumber = new AtomicLong();
 
 	/**
 	 * The ID number of this Resource object.
@@ -74,7 +76,7 @@ public class Resource extends ModelComponent {
 	public Resource(Model ownerModel, String name, Res resPool,
 			boolean showInTrace) {
 		super(ownerModel, name, showInTrace); // create the ModelComponent
-		_idNumber = resourceNumber++; // increment the ID number
+		_idNumber = resourceNumber.getAndIncrement(); // increment the ID number
 		rename(name + " resource No. " + _idNumber); // set the name
 		this._resPool = resPool; // set the reference to the resource pool
 		// this resource belongs to
@@ -30,7 +30,11 @@ import desmoj.core.report.Reporter;
 public class Schedulable extends ModelComponent {
 
     /**
-     * A list containing all scheduled entries for this Schedulable in future.
+     * A list containing all scheduled entries for this Schedulable in future,
+     * sorted by their point of time and priority. Holds a single entry inline
+     * and only spills to a sorted array if scheduled multiple times (see
+     * <code>ScheduledNotes</code>). Subclasses may assign any other mutable
+     * list.
      */
     protected List<EventNote> _schedule;    
     
@@ -40,6 +44,19 @@ public class Schedulable extends ModelComponent {
      */
     private Reportable _correspondingReportable = null;
 
+    /**
+     * Flag indicating this Schedulable has been released to a
+     * <code>SchedulablePool</code> and is available for reuse. For internal
+     * framework use only.
+     */
+    boolean _pooled;
+
+    /**
+     * The tracker a <code>SchedulablePool</code> in debug mode uses to detect
+     * this Schedulable not being released. For internal framework use only.
+     */
+    Object _poolTracker;
+
 	/**
 	 * Constructs a Schedulable object with the given name. Note that to
 	 * identify the multiple objects that can be created of one type of
@@ -54,9 +71,15 @@ public class Schedulable extends ModelComponent {
 	public Schedulable(Model owner, String name, boolean showInTrace) {
 
 		// create modelcomponent with the checked and registered name
-		super(owner, owner.getExperiment().getNameCatalog()
-				.registeredName(name), showInTrace);
-		this._schedule = new LinkedList<EventNote>();
+		super(owner, owner.getExperiment().getNameCatalog().isLazy() ? name
+				: owner.getExperiment().getNameCatalog().registeredName(name),
+				showInTrace);
+		NameCatalog catalog = owner.getExperiment().getNameCatalog();
+		if (catalog.isLazy()) {
+			String base = (name == null) ? "unnamed" : name;
+			setSuffixedName(base, catalog.registeredNumber(base));
+		}
+		this._schedule = new ScheduledNotes();
 	}
 
 
@@ -162,8 +185,13 @@ public class Schedulable extends ModelComponent {
 	 */
 	public void rename(String newName) {
 
-		super.rename(getModel().getExperiment().getNameCatalog()
-				.registeredName(newName));
+		NameCatalog catalog = getModel().getExperiment().getNameCatalog();
+		if (catalog.isLazy()) {
+			String base = (newName == null) ? "unnamed" : newName;
+			setSuffixedName(base, catalog.registeredNumber(base));
+		} else {
+			super.rename(catalog.registeredName(newName));
+		}
 
 	}
 	
@@ -400,7 +428,10 @@ public class Schedulable extends ModelComponent {
      */
     void addEventNote(EventNote note)
     {
-        if (!_schedule.contains(note)) {
+        if (_schedule instanceof ScheduledNotes) {
+            ((ScheduledNotes) _schedule).insert(note); // ignored if contained
+        } else if (!_schedule.contains(note)) {
+            // list assigned by a subclass
             _schedule.add(note);
             java.util.Collections.sort(_schedule);
         }
@@ -418,7 +449,9 @@ public class Schedulable extends ModelComponent {
         Schedulable c = (Schedulable) super.clone();
         NameCatalog nc = this.getModel().getExperiment().getNameCatalog();
         c.rename(nc.getNameWithoutSuffix(this.getName()));
-        c._schedule = new LinkedList<EventNote>();
+        c._schedule = new ScheduledNotes();
+        c._pooled = false;
+        c._poolTracker = null;
         return c;
     }
     
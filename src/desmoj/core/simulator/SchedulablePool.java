@@ -0,0 +1,371 @@
+package desmoj.core.simulator;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A pool of entities or events to be reused instead of creating a new object
+ * for each arrival, customer, job etc. Models with high arrival rates thus
+ * keep the number of objects allocated and the load on the garbage collector
+ * low, especially in combination with event-note recycling (see
+ * <code>Experiment.setEventNoteRecycling(boolean)</code>).
+ * <p>
+ * Subclasses implement <code>create()</code> to create a new object if none is
+ * available for reuse, and may override <code>reset(T)</code> to restore the
+ * initial state of the attributes of an object released. Objects are obtained
+ * by <code>acquire()</code> and returned by <code>release(T)</code> once they
+ * are no longer used by the model, e.g. when leaving the system (see
+ * <code>desmoj.extensions.chaining.Sink.setPool(SchedulablePool)</code>).
+ * Objects released must neither be scheduled nor queued anymore and must not
+ * be used by the model after their release. Note that an object reused keeps
+ * its name and identification number. SimProcesses cannot be pooled, as their
+ * life cycle cannot be restarted.
+ * <p>
+ * In debug mode (see <code>debugOn()</code>), the pool detects leaks, i.e.
+ * objects acquired which have been reclaimed by the garbage collector without
+ * being released before, and sends a warning for each leak. As leaks are
+ * detected after garbage collection only, the pool checks for leaks whenever
+ * an object is acquired and on calling <code>checkForLeaks()</code>. Objects
+ * released twice are rejected with a warning regardless of the debug mode.
+ *
+ * @see Experiment#setEventNoteRecycling(boolean)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ * @param <T>
+ *            the type of entities or events pooled
+ */
+public abstract class SchedulablePool<T extends Schedulable> extends ModelComponent {
+
+	/**
+	 * Keeps track of an object acquired in debug mode, to detect it being
+	 * reclaimed by the garbage collector without being released.
+	 */
+	private static class Tracker extends WeakReference<Schedulable> {
+
+		/**
+		 * The name of the object tracked.
+		 */
+		private final String _name;
+
+		/**
+		 * The point of simulation time the object has been acquired at.
+		 */
+		private final TimeInstant _acquired;
+
+		/**
+		 * Creates a tracker for the object given.
+		 */
+		Tracker(Schedulable object, TimeInstant acquired,
+				ReferenceQueue<Schedulable> queue) {
+			super(object, queue);
+			_name = object.getName();
+			_acquired = acquired;
+		}
+	}
+
+	/**
+	 * The objects available for reuse, the first <code>_available</code>
+	 * positions being used.
+	 */
+	private Object[] _free;
+
+	/**
+	 * The number of objects available for reuse.
+	 */
+	private int _available;
+
+	/**
+	 * The maximum number of objects kept for reuse.
+	 */
+	private int _capacity;
+
+	/**
+	 * The number of objects created by this pool.
+	 */
+	private long _created;
+
+	/**
+	 * The number of objects acquired from this pool.
+	 */
+	private long _acquired;
+
+	/**
+	 * The number of objects released to this pool.
+	 */
+	private long _released;
+
+	/**
+	 * The number of leaks detected.
+	 */
+	private long _leaks;
+
+	/**
+	 * The trackers of the objects acquired in debug mode and not yet released.
+	 */
+	private Set<Tracker> _trackers;
+
+	/**
+	 * The queue the trackers of objects reclaimed by the garbage collector are
+	 * enqueued to.
+	 */
+	private ReferenceQueue<Schedulable> _reclaimed;
+
+	/**
+	 * Constructs a pool keeping an unlimited number of objects released for
+	 * reuse.
+	 *
+	 * @param owner
+	 *            Model : The model this pool is associated to
+	 * @param name
+	 *            java.lang.String : The name of this pool
+	 */
+	public SchedulablePool(Model owner, String name) {
+
+		this(owner, name, Integer.MAX_VALUE);
+
+	}
+
+	/**
+	 * Constructs a pool keeping at most the given number of objects released
+	 * for reuse. Objects released to a full pool are left to the garbage
+	 * collector.
+	 *
+	 * @param owner
+	 *            Model : The model this pool is associated to
+	 * @param name
+	 *            java.lang.String : The name of this pool
+	 * @param capacity
+	 *            int : The maximum number of objects kept for reuse
+	 */
+	public SchedulablePool(Model owner, String name, int capacity) {
+
+		super(owner, name);
+		_capacity = Math.max(capacity, 0);
+		_free = new Object[Math.min(_capacity, 16)];
+
+	}
+
+	/**
+	 * Creates a new object if no object is available for reuse.
+	 *
+	 * @return T : A new entity or event
+	 */
+	protected abstract T create();
+
+	/**
+	 * Restores the initial state of the attributes of an object released,
+	 * before it is kept for reuse. The default implementation does nothing.
+	 *
+	 * @param object
+	 *            T : The object released
+	 */
+	protected void reset(T object) {
+	}
+
+	/**
+	 * Returns an object available for reuse or, if none is available, a new
+	 * object created by <code>create()</code>.
+	 *
+	 * @return T : An entity or event not used by the model
+	 */
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+
+		T object;
+		if (_available > 0) {
+			object = (T) _free[--_available];
+			_free[_available] = null;
+			object._pooled = false;
+		} else {
+			object = create();
+			_created++;
+		}
+		_acquired++;
+
+		if (debugIsOn()) {
+			checkForLeaks();
+			if (_trackers == null) {
+				_trackers = new HashSet<Tracker>();
+				_reclaimed = new ReferenceQueue<Schedulable>();
+			}
+			Tracker tracker = new Tracker(object, presentTime(), _reclaimed);
+			_trackers.add(tracker);
+			object._poolTracker = tracker;
+		}
+		return object;
+
+	}
+
+	/**
+	 * Returns an object no longer used by the model to this pool for reuse. The
+	 * object must neither be scheduled nor queued. Releasing an object twice
+	 * or an object which is still scheduled or queued is ignored with a
+	 * warning.
+	 *
+	 * @param object
+	 *            T : The object no longer used by the model
+	 */
+	public void release(T object) {
+
+		if (object == null) {
+			sendWarning("Can't release object to pool! Command ignored.",
+					"SchedulablePool : " + getName()
+							+ " Method: void release(T object)",
+					"The object given as parameter is a null reference.",
+					"Make sure to only release valid objects.");
+			return;
+		}
+		if (object._pooled) {
+			sendWarning("Can't release object to pool! Command ignored.",
+					"SchedulablePool : " + getName()
+							+ " Method: void release(T object)",
+					"The object " + object.getName()
+							+ " has already been released.",
+					"Make sure to release objects only once and not to use "
+							+ "them after their release.");
+			return;
+		}
+		if (object.isScheduled()
+				|| (object instanceof Entity && ((Entity) object).isQueued())) {
+			sendWarning("Can't release object to pool! Command ignored.",
+					"SchedulablePool : " + getName()
+							+ " Method: void release(T object)",
+					"The object " + object.getName()
+							+ " is still scheduled or queued.",
+					"Cancel the object and remove it from all queues before "
+							+ "releasing it.");
+			return;
+		}
+		if (object instanceof SimProcess) {
+			sendWarning("Can't release object to pool! Command ignored.",
+					"SchedulablePool : " + getName()
+							+ " Method: void release(T object)",
+					"The object " + object.getName() + " is a SimProcess.",
+					"SimProcesses can not be pooled.");
+			return;
+		}
+
+		Object tracker = object._poolTracker;
+		if (tracker != null) {
+			_trackers.remove(tracker);
+			((Tracker) tracker).clear();
+			object._poolTracker = null;
+		}
+		_released++;
+
+		if (_available < _capacity) {
+			reset(object);
+			if (_available == _free.length) {
+				_free = java.util.Arrays.copyOf(_free,
+						(int) Math.min((long) _capacity, 2L * _free.length));
+			}
+			_free[_available++] = object;
+			object._pooled = true;
+		}
+
+	}
+
+	/**
+	 * Checks for objects acquired in debug mode which have been reclaimed by
+	 * the garbage collector without being released, sending a warning for
+	 * each.
+	 *
+	 * @return int : The number of leaks detected by this call
+	 */
+	public int checkForLeaks() {
+
+		if (_reclaimed == null) {
+			return 0;
+		}
+		int leaks = 0;
+		Reference<? extends Schedulable> ref;
+		while ((ref = _reclaimed.poll()) != null) {
+			Tracker tracker = (Tracker) ref;
+			if (_trackers.remove(tracker)) {
+				leaks++;
+				sendWarning("Object acquired from pool has not been released!",
+						"SchedulablePool : " + getName(), "The object "
+								+ tracker._name + " acquired at "
+								+ tracker._acquired
+								+ " has been reclaimed by the garbage "
+								+ "collector without being released.",
+						"Release all objects acquired from a pool once they "
+								+ "are no longer used by the model.");
+			}
+		}
+		_leaks += leaks;
+		return leaks;
+
+	}
+
+	/**
+	 * Returns the number of objects available for reuse.
+	 *
+	 * @return int : The number of objects available
+	 */
+	public int getAvailable() {
+
+		return _available;
+
+	}
+
+	/**
+	 * Returns the number of objects created by this pool.
+	 *
+	 * @return long : The number of objects created
+	 */
+	public long getCreated() {
+
+		return _created;
+
+	}
+
+	/**
+	 * Returns the number of objects acquired from this pool so far, including
+	 * the objects created.
+	 *
+	 * @return long : The number of objects acquired
+	 */
+	public long getAcquired() {
+
+		return _acquired;
+
+	}
+
+	/**
+	 * Returns the number of objects acquired which have not been released yet.
+	 *
+	 * @return long : The number of objects in use
+	 */
+	public long getInUse() {
+
+		return _acquired - _released;
+
+	}
+
+	/**
+	 * Returns the number of leaks detected in debug mode so far.
+	 *
+	 * @return long : The number of leaks detected
+	 * @see #checkForLeaks()
+	 */
+	public long getLeaks() {
+
+		return _leaks;
+
+	}
+}
@@ -0,0 +1,352 @@
+package desmoj.core.simulator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The event-notes a <code>Schedulable</code> is scheduled with, sorted by
+ * their point of time and priority like the event-list. As most Schedulables
+ * are scheduled with no or a single event-note at a time, a single event-note
+ * is kept in a slot of its own; only if more event-notes are added, they
+ * spill to a sorted array, which is kept for reuse. Event-notes are usually
+ * added at the end and removed from the front of the array, both of which
+ * take constant time.
+ * <p>
+ * Unlike other lists, event-notes are identified by reference, not by
+ * <code>equals()</code>, so <code>insert()</code> adds an event-note only
+ * once and <code>remove(Object)</code>, <code>contains(Object)</code>,
+ * <code>indexOf(Object)</code> and <code>lastIndexOf(Object)</code> only
+ * find the event-note given, not another one equal to it.
+ * Event-notes must not change their point of time or priority while contained
+ * in this list. The positional <code>List</code> methods are supported as
+ * well, storing event-notes where given. This is a class for internal
+ * framework use only.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+final class ScheduledNotes extends AbstractList<EventNote> implements RandomAccess {
+
+	/**
+	 * The only event-note if the size is 1, <code>null</code> otherwise.
+	 */
+	private EventNote _slot;
+
+	/**
+	 * The event-notes if the size is 2 or more, stored sorted at the
+	 * positions <code>_head</code> to <code>_head + _size - 1</code>.
+	 */
+	private EventNote[] _spill;
+
+	/**
+	 * The position of the first event-note in <code>_spill</code>.
+	 */
+	private int _head;
+
+	/**
+	 * The number of event-notes.
+	 */
+	private int _size;
+
+	/**
+	 * Returns the event-note at the given position.
+	 *
+	 * @param index
+	 *            int : The position, starting at 0
+	 * @return EventNote : The event-note at the given position
+	 */
+	public EventNote get(int index) {
+
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ _size);
+		}
+		return _size == 1 ? _slot : _spill[_head + index];
+
+	}
+
+	/**
+	 * Returns the number of event-notes.
+	 *
+	 * @return int : The number of event-notes
+	 */
+	public int size() {
+
+		return _size;
+
+	}
+
+	/**
+	 * Replaces the event-note at the given position. The caller is
+	 * responsible for keeping the event-notes sorted.
+	 *
+	 * @param index
+	 *            int : The position, starting at 0
+	 * @param note
+	 *            EventNote : The event-note to store at the given position
+	 * @return EventNote : The event-note previously at the given position
+	 */
+	public EventNote set(int index, EventNote note) {
+
+		EventNote old = get(index);
+		if (_size == 1) {
+			_slot = note;
+		} else {
+			_spill[_head + index] = note;
+		}
+		return old;
+
+	}
+
+	/**
+	 * Inserts the event-note at the given position. The caller is responsible
+	 * for keeping the event-notes sorted; <code>add(EventNote)</code> appends
+	 * the event-note at the end.
+	 *
+	 * @param index
+	 *            int : The position, starting at 0
+	 * @param note
+	 *            EventNote : The event-note to insert
+	 */
+	public void add(int index, EventNote note) {
+
+		if (index < 0 || index > _size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ _size);
+		}
+		insertAt(index, note);
+
+	}
+
+	/**
+	 * Adds the event-note at its position in the order of point of time and
+	 * priority, after all event-notes of the same point of time and priority.
+	 * Does nothing if the event-note is already contained.
+	 *
+	 * @param note
+	 *            EventNote : The event-note to add
+	 * @return boolean : <code>true</code> if the event-note has been added
+	 */
+	boolean insert(EventNote note) {
+
+		if (_size == 0) {
+			insertAt(0, note);
+			return true;
+		}
+		if (_size == 1) {
+			if (_slot == note) {
+				return false;
+			}
+			insertAt(_slot.compareTo(note) <= 0 ? 1 : 0, note);
+			return true;
+		}
+
+		// find the position from the end, as notes are mostly added in order
+		int pos = _head + _size;
+		while (pos > _head && _spill[pos - 1].compareTo(note) > 0) {
+			pos--;
+		}
+		// the note can only be contained among the notes of equal order
+		for (int i = pos - 1; i >= _head && _spill[i].compareTo(note) == 0; i--) {
+			if (_spill[i] == note) {
+				return false;
+			}
+		}
+		insertAt(pos - _head, note);
+		return true;
+
+	}
+
+	/**
+	 * Removes the event-note at the given position.
+	 *
+	 * @param index
+	 *            int : The position, starting at 0
+	 * @return EventNote : The event-note removed
+	 */
+	public EventNote remove(int index) {
+
+		EventNote note = get(index);
+		removeAt(index);
+		return note;
+
+	}
+
+	/**
+	 * Removes the event-note given, identified by reference.
+	 *
+	 * @param o
+	 *            Object : The event-note to remove
+	 * @return boolean : <code>true</code> if the event-note has been removed
+	 */
+	public boolean remove(Object o) {
+
+		int index = indexOf(o);
+		if (index < 0) {
+			return false; // not contained
+		}
+		removeAt(index);
+		return true;
+
+	}
+
+	/**
+	 * Returns whether the event-note given is contained, identified by
+	 * reference.
+	 *
+	 * @param o
+	 *            Object : The event-note to look for
+	 * @return boolean : <code>true</code> if the event-note is contained
+	 */
+	public boolean contains(Object o) {
+
+		return indexOf(o) >= 0;
+
+	}
+
+	/**
+	 * Returns the position of the event-note given, identified by reference.
+	 *
+	 * @param o
+	 *            Object : The event-note to look for
+	 * @return int : The position of the event-note, -1 if not contained
+	 */
+	public int indexOf(Object o) {
+
+		if (_size == 1) {
+			return _slot == o ? 0 : -1;
+		}
+		for (int i = 0; i < _size; i++) {
+			if (_spill[_head + i] == o) {
+				return i;
+			}
+		}
+		return -1;
+
+	}
+
+	/**
+	 * Returns the last position of the event-note given, identified by
+	 * reference. As <code>insert(EventNote)</code> adds an event-note only
+	 * once, this is its only position unless it has been stored twice by the
+	 * positional methods.
+	 *
+	 * @param o
+	 *            Object : The event-note to look for
+	 * @return int : The last position of the event-note, -1 if not contained
+	 */
+	public int lastIndexOf(Object o) {
+
+		if (_size == 1) {
+			return _slot == o ? 0 : -1;
+		}
+		for (int i = _size - 1; i >= 0; i--) {
+			if (_spill[_head + i] == o) {
+				return i;
+			}
+		}
+		return -1;
+
+	}
+
+	/**
+	 * Removes all event-notes. The array is kept for reuse.
+	 */
+	public void clear() {
+
+		if (_size > 1) {
+			Arrays.fill(_spill, _head, _head + _size, null);
+		}
+		_slot = null;
+		_head = 0;
+		_size = 0;
+		modCount++;
+
+	}
+
+	/**
+	 * Inserts the event-note at the given position, spilling the slot to the
+	 * array if there will be more than one event-note.
+	 */
+	private void insertAt(int index, EventNote note) {
+
+		modCount++;
+		if (_size == 0) {
+			_slot = note;
+			_size = 1;
+			return;
+		}
+		if (_size == 1) {
+			if (_spill == null) {
+				_spill = new EventNote[4];
+			}
+			// spill the slot to the array
+			_spill[0] = _slot;
+			_slot = null;
+			_head = 0;
+		}
+
+		int pos = _head + index;
+		int end = _head + _size;
+		if (end == _spill.length) {
+			if (_head > 0) {
+				// move to the front to make room at the end
+				System.arraycopy(_spill, _head, _spill, 0, _size);
+				Arrays.fill(_spill, _size, end, null);
+				pos -= _head;
+				end -= _head;
+				_head = 0;
+			} else {
+				_spill = Arrays.copyOf(_spill, _spill.length * 2);
+			}
+		}
+		System.arraycopy(_spill, pos, _spill, pos + 1, end - pos);
+		_spill[pos] = note;
+		_size++;
+
+	}
+
+	/**
+	 * Removes the event-note at the given position, moving the remaining
+	 * event-note back to the slot if only one is left.
+	 */
+	private void removeAt(int index) {
+
+		modCount++;
+		if (_size == 1) {
+			_slot = null;
+			_size = 0;
+			return;
+		}
+
+		int pos = _head + index;
+		int end = _head + _size;
+		if (pos == _head) {
+			_spill[_head++] = null; // removed from the front
+		} else {
+			System.arraycopy(_spill, pos + 1, _spill, pos, end - pos - 1);
+			_spill[end - 1] = null;
+		}
+		_size--;
+
+		if (_size == 1) {
+			// move the remaining note back to the slot
+			_slot = _spill[_head];
+			_spill[_head] = null;
+			_head = 0;
+		}
+
+	}
+}
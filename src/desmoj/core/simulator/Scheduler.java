@@ -141,6 +141,56 @@ public class Scheduler extends NamedObject {
 	 */
 	private java.util.concurrent.BlockingQueue<RealTimeEventWrapper> _realTimeEventQueue;
 
+	/**
+	 * The hand-off of control between this scheduler's strand and the strands
+	 * of the SimProcesses, counting the context switches.
+	 */
+	private StrandHandoff _handoff;
+
+	/**
+	 * The number of event-notes processed since the experiment was started.
+	 */
+	private long _eventsProcessed;
+
+	/**
+	 * The throughput metrics, <code>null</code> if metrics have never been
+	 * enabled.
+	 */
+	private SchedulerMetrics _metrics;
+
+	/**
+	 * Flag indicating the throughput metrics are updated.
+	 */
+	private boolean _metricsEnabled;
+
+	/**
+	 * Flag indicating event-notes are recycled after processing.
+	 */
+	private boolean _recycleEventNotes;
+
+	/**
+	 * The event-notes recycled and available for reuse, the first
+	 * <code>_notePoolSize</code> positions being used.
+	 */
+	private EventNote[] _notePool;
+
+	/**
+	 * The number of event-notes available for reuse.
+	 */
+	private int _notePoolSize;
+
+	/**
+	 * The maximum number of event-notes kept for reuse.
+	 */
+	private static final int MAX_NOTE_POOL_SIZE = 1 << 16;
+
+	/**
+	 * Flag indicating a subclass overrides
+	 * <code>advanceTime(TimeInstant, TimeInstant)</code>, so the points in
+	 * simulation time have to be passed as <code>TimeInstant</code>s.
+	 */
+	private final boolean _advancesTimeInstants;
+
 	/**
 	 * Constructs a scheduler with given name and the event-list (i.e. inheritor
 	 * of <code>desmoj.core.simulator.EventList</code>) to use.
@@ -163,6 +213,225 @@ public class Scheduler extends NamedObject {
 		_lock = new ReentrantLock();
 		_waitSynchCondition = _lock.newCondition();
 		_realTimeEventQueue = new LinkedBlockingQueue<RealTimeEventWrapper>();
+		_handoff = new StrandHandoff();
+		_advancesTimeInstants = overridesAdvanceTime(getClass());
+	}
+
+	/**
+	 * Tests if the given subclass of the scheduler overrides
+	 * <code>advanceTime(TimeInstant, TimeInstant)</code>.
+	 */
+	private static boolean overridesAdvanceTime(Class<?> type) {
+
+		for (Class<?> c = type; c != Scheduler.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("advanceTime", TimeInstant.class,
+						TimeInstant.class);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not declared here, look at the superclass
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of event-notes processed, i.e. of events executed
+	 * and SimProcesses activated, since the experiment was started.
+	 * 
+	 * @return long : The number of event-notes processed
+	 */
+	public long getEventsProcessed() {
+
+		return _eventsProcessed;
+
+	}
+
+	/**
+	 * Returns the number of context switches, i.e. hand-offs of control
+	 * between the scheduler and the SimProcesses, performed since the
+	 * experiment was started.
+	 * 
+	 * @return long : The number of context switches
+	 */
+	public long getContextSwitches() {
+
+		return _handoff.getSwitches();
+
+	}
+
+	/**
+	 * Returns the number of context switches between the scheduler and the
+	 * SimProcesses per second of wall clock time, measured from the first to
+	 * the latest switch. Allows to compare the performance of the different
+	 * <code>CoroutineModel</code>s.
+	 * 
+	 * @return double : The context switches per second, 0 if less than two
+	 *         switches have been performed yet
+	 */
+	public double getContextSwitchRate() {
+
+		return _handoff.getSwitchRate();
+
+	}
+
+	/**
+	 * Returns the throughput metrics of this scheduler.
+	 * 
+	 * @return SchedulerMetrics : The metrics collected so far or
+	 *         <code>null</code> if metrics have never been enabled
+	 * @see Experiment#setMetricsEnabled(boolean)
+	 */
+	public SchedulerMetrics getMetrics() {
+
+		return _metrics;
+
+	}
+
+	/**
+	 * Tells whether throughput metrics are collected.
+	 * 
+	 * @return boolean : <code>true</code> if metrics are collected
+	 */
+	boolean isMetricsEnabled() {
+
+		return _metricsEnabled;
+
+	}
+
+	/**
+	 * Switches the collection of throughput metrics on or off. Switching it
+	 * off keeps the metrics collected so far, which are continued when
+	 * switching it on again.
+	 * 
+	 * @param enabled
+	 *            boolean : <code>true</code> to collect metrics
+	 */
+	void setMetricsEnabled(boolean enabled) {
+
+		if (enabled && !_metricsEnabled) {
+			if (_metrics == null) {
+				_metrics = new SchedulerMetrics(this);
+			} else {
+				_metrics.resume();
+			}
+		}
+		_metricsEnabled = enabled;
+
+	}
+
+	/**
+	 * Switches recycling of event-notes on or off. If switched on, event-notes
+	 * are kept for reuse once they have been processed instead of being left
+	 * to the garbage collector, so models scheduling many events do not
+	 * allocate a new event-note for each event.
+	 * 
+	 * @param recycle
+	 *            boolean : <code>true</code> to recycle event-notes
+	 */
+	void setEventNoteRecycling(boolean recycle) {
+
+		_recycleEventNotes = recycle;
+		if (!recycle) {
+			_notePool = null;
+			_notePoolSize = 0;
+		} else if (_notePool == null) {
+			_notePool = new EventNote[64];
+		}
+
+	}
+
+	/**
+	 * Tells whether event-notes are recycled after processing.
+	 * 
+	 * @return boolean : <code>true</code> if event-notes are recycled
+	 */
+	boolean isEventNoteRecycling() {
+
+		return _recycleEventNotes;
+
+	}
+
+	/**
+	 * Returns an event-note for the data given, reusing a recycled event-note
+	 * if available.
+	 * 
+	 * @see EventNote#EventNote(Entity, Entity, Entity, EventAbstract,
+	 *      TimeInstant, int, Schedulable)
+	 */
+	EventNote newEventNote(Entity who1, Entity who2, Entity who3,
+			EventAbstract what, TimeInstant when, int howImportant,
+			Schedulable source) {
+
+		if (_notePoolSize == 0) {
+			return new EventNote(who1, who2, who3, what, when, howImportant, source);
+		}
+		EventNote note = _notePool[--_notePoolSize];
+		_notePool[_notePoolSize] = null;
+		note.init(who1, who2, who3, what, when, howImportant, source);
+		return note;
+
+	}
+
+	/**
+	 * Returns an event-note for the data given, the point of simulation time
+	 * given in the unit of epsilon, reusing a recycled event-note if
+	 * available.
+	 * 
+	 * @see EventNote#EventNote(Entity, Entity, Entity, EventAbstract,
+	 *      TimeInstant, int, Schedulable)
+	 */
+	EventNote newEventNote(Entity who1, Entity who2, Entity who3,
+			EventAbstract what, long whenInEpsilon, int howImportant,
+			Schedulable source) {
+
+		if (_notePoolSize == 0) {
+			return new EventNote(who1, who2, who3, what, whenInEpsilon, howImportant, source);
+		}
+		EventNote note = _notePool[--_notePoolSize];
+		_notePool[_notePoolSize] = null;
+		note.init(who1, who2, who3, what, whenInEpsilon, howImportant, source);
+		return note;
+
+	}
+
+	/**
+	 * Keeps an event-note processed and no longer referenced by any
+	 * Schedulable for reuse.
+	 */
+	private void recycleEventNote(EventNote note) {
+
+		if (!note.clear()) {
+			if (myExperiment.debugIsOn()) {
+				myExperiment.sendWarning("Event-note recycled twice! "
+						+ "Event-note discarded.", "Scheduler of experiment "
+						+ myExperiment.getName()
+						+ " Method recycleEventNote(EventNote note)",
+						"The event-note has been recycled before.",
+						"Do not keep references to event-notes processed.");
+			}
+			return;
+		}
+		if (_notePoolSize == _notePool.length) {
+			if (_notePoolSize == MAX_NOTE_POOL_SIZE) {
+				return; // enough notes kept
+			}
+			_notePool = java.util.Arrays.copyOf(_notePool, _notePoolSize * 2);
+		}
+		_notePool[_notePoolSize++] = note;
+
+	}
+
+	/**
+	 * Returns the hand-off used to transfer control between the scheduler's
+	 * strand and the strands of the SimProcesses.
+	 * 
+	 * @return StrandHandoff : The hand-off of this scheduler
+	 */
+	StrandHandoff getStrandHandoff() {
+
+		return _handoff;
+
 	}
 
 	/**
@@ -176,6 +445,19 @@ public class Scheduler extends NamedObject {
 
 	}
 
+	/**
+	 * Returns the actual simulation time in the unit of epsilon without
+	 * creating a <code>TimeInstant</code>.
+	 * 
+	 * @return long : The current point in simulation time in the unit of
+	 *         epsilon
+	 */
+	long presentTimeInEpsilon() {
+
+		return clock.getTimeInEpsilon();
+
+	}
+
 	/**
 	 * Returns the currently active Entity. Returns <code>null</code> if the current
 	 * Schedulable happens to be an external event or a simprocess.
@@ -342,7 +624,7 @@ public class Scheduler extends NamedObject {
 
 		preemptNote.setTime(presentTime());
 
-		EventNote currentNote = new EventNote(_currentProcess, null, null, null, presentTime(), Integer.MAX_VALUE, _currentSchedulable);
+		EventNote currentNote = newEventNote(_currentProcess, null, null, null, presentTime(), Integer.MAX_VALUE, _currentSchedulable);
 
 		evList.insertAsFirst(currentNote); // schedule currentProcess..
 		evList.insertAsFirst(preemptNote);
@@ -498,14 +780,23 @@ public class Scheduler extends NamedObject {
 			}
 		}
 		// get next event-note and take EventNote from EventList
+		SchedulerMetrics metrics = _metricsEnabled ? _metrics : null;
+		if (metrics != null) {
+			metrics.observeEventListSize(evList.size());
+		}
 		_currentNote = evList.removeFirst();
-		TimeInstant nextTime = _currentNote.getTime();
+		long nextTime = _currentNote.getTimeInEpsilon();
 		// check if the next event-note is in the future
-		if (TimeInstant.isAfter(nextTime, presentTime())) {
-			this.advanceTime(presentTime(), nextTime);
+		if (nextTime > clock.getTimeInEpsilon()) {
+			// only create TimeInstants if a subclass wants to receive them
+			if (_advancesTimeInstants) {
+				this.advanceTime(presentTime(), _currentNote.getTime());
+			} else {
+				this.advanceTime(clock.getTimeInEpsilon(), nextTime);
+			}
 		} else {
 			// throw an exception if the next event-note is in the past
-			if (TimeInstant.isBefore(nextTime, presentTime())) {
+			if (nextTime < clock.getTimeInEpsilon()) {
 				throw (new desmoj.core.exception.SimAbortedException(
 						new desmoj.core.report.ErrorMessage(
 								null,
@@ -576,7 +867,18 @@ public class Scheduler extends NamedObject {
 		// clear time value and discard EventNote
 		//TODO wtf?
 //		_currentNote.setTime(null);
+		if (_recycleEventNotes
+				&& (_currentEvent == null || _currentProcess == null)) {
+			// no longer referenced by the Schedulables involved
+			recycleEventNote(_currentNote);
+		}
 		_currentNote = null;
+		_eventsProcessed++;
+
+		// the event or process executed, measured if metrics are enabled
+		Schedulable executed = (_currentEvent != null) ? _currentEvent
+				: _currentProcess;
+		long began = (metrics != null) ? System.nanoTime() : 0;
 
 		// determine if event-oriented or process-oriented
 		if (_currentEvent != null) { // event-oriented
@@ -655,6 +957,9 @@ public class Scheduler extends NamedObject {
 			}
 
 		}
+		if (metrics != null) {
+			metrics.record(executed, began, System.nanoTime());
+		}
 		if (_executionSpeedRate > 0) {
 			// calculate deviation
 			long simTimeSinceReset = TimeOperations.diff(presentTime(),
@@ -733,9 +1038,29 @@ public class Scheduler extends NamedObject {
      */
     protected void advanceTime(TimeInstant now, TimeInstant next) {
         
+        advanceTime(now.getTimeInEpsilon(), next.getTimeInEpsilon());
+    }
+
+    /**
+     * Advances the simulation time like
+     * <code>advanceTime(TimeInstant, TimeInstant)</code>, the points in
+     * simulation time given in the smallest representable unit (epsilon).
+     * This method is called instead of the <code>TimeInstant</code> variant
+     * unless a subclass overrides the latter, sparing the creation of
+     * <code>TimeInstant</code>s for each event. The implementation of this
+     * method just sets the scheduler's clock to the new instant.
+     * 
+     * @param nowInEpsilon
+     *          long : The current point in simulation time in epsilon
+     * @param nextInEpsilon
+     *          long : The next point in simulation time to advance the
+     *              clock to in epsilon (e.g. instant of the next event) 
+     */
+    protected void advanceTime(long nowInEpsilon, long nextInEpsilon) {
+        
         // just update the simulation clock to the instant of
         // the next event
-        clock.setTime(next);
+        clock.setTime(nextInEpsilon);
     }
 	
 
@@ -855,7 +1180,8 @@ public class Scheduler extends NamedObject {
 
 		// all parameters checked, now remove the Schedulable's EventNote
 		// first...
-		List<EventNote> notes = who.getEventNotes();
+		// copied, as the notes are removed and re-inserted in the loop
+		EventNote[] notes = who.getEventNotes().toArray(new EventNote[0]);
 		for (EventNote note : notes) {
     		evList.remove(note);
     		note.setTime(presentTime());
@@ -956,10 +1282,11 @@ public class Scheduler extends NamedObject {
 
         // all parameters checked, now remove the Schedulable's EventNote
         // first...
-        List<EventNote> notes = who.getEventNotes();
+        // copied, as the notes are removed and re-inserted in the loop
+        EventNote[] notes = who.getEventNotes().toArray(new EventNote[0]);
         for (EventNote note : notes) {
             evList.remove(note);
-            note.setTime(TimeOperations.add(presentTime(), dt));
+            note.setTime(TimeOperations.addInEpsilon(clock.getTimeInEpsilon(), dt.getTimeInEpsilon()));
             evList.insert(note);
         }
     }
@@ -1090,6 +1417,24 @@ public class Scheduler extends NamedObject {
             return; // time missing
         }
 
+        scheduleNoPreempt(who, what, dt.getTimeInEpsilon());
+    }
+
+    /**
+     * Schedules the given Entity and Event to happen after the given span of
+     * time in the unit of epsilon, computing the point of time on primitives
+     * and creating the corresponding <code>TimeInstant</code> only on demand.
+     * 
+     * @param who
+     *            Entity : The Entity to be scheduled
+     * @param what
+     *            EventAbstract : The Event to be scheduled
+     * @param dtInEpsilon
+     *            long : The span of time from now in the unit of epsilon
+     * @see #scheduleNoPreempt(Entity, EventAbstract, TimeSpan)
+     */
+    void scheduleNoPreempt(Entity who, EventAbstract what, long dtInEpsilon) {
+
         if ((who == null) && (what == null)) {
             myExperiment.sendWarning("Can't schedule Entity and Event! "
                     + "Command ignored.", "Scheduler : " + getName()
@@ -1137,7 +1482,7 @@ public class Scheduler extends NamedObject {
             }
         } 
         
-        TimeInstant time = TimeOperations.add(presentTime(), dt);
+        long time = TimeOperations.addInEpsilon(clock.getTimeInEpsilon(), dtInEpsilon);
         // set time for being scheduled
         
         // determine priority
@@ -1148,7 +1493,7 @@ public class Scheduler extends NamedObject {
             priority = what.getSchedulingPriority();
         } 
 
-        EventNote note = new EventNote(who, null, null, what, time, priority, _currentSchedulable);
+        EventNote note = newEventNote(who, null, null, what, time, priority, _currentSchedulable);
 
         // all parameters checked, now schedule Event
         evList.insert(note);
@@ -1243,7 +1588,7 @@ public class Scheduler extends NamedObject {
             priority = what.getSchedulingPriority();
         }            
 
-        EventNote note = new EventNote(who, null, null, what, when, priority, _currentSchedulable);
+        EventNote note = newEventNote(who, null, null, what, when, priority, _currentSchedulable);
 
         // all parameters checked, now schedule Event
         evList.insert(note); 
@@ -1309,7 +1654,7 @@ public class Scheduler extends NamedObject {
             priority = what.getSchedulingPriority();
         }            
 
-        EventNote note = new EventNote(who, null, null, what, presentTime(), priority, _currentSchedulable);
+        EventNote note = newEventNote(who, null, null, what, presentTime(), priority, _currentSchedulable);
 
         if (_currentProcess == null) { // currently Event -> no preemption
             // inserted as first in the event-list with the current time as
@@ -1379,10 +1724,10 @@ public class Scheduler extends NamedObject {
             return; // Event needed with Entity
         }
         
-        TimeInstant time = TimeOperations.add(presentTime(), dt);
+        long time = TimeOperations.addInEpsilon(clock.getTimeInEpsilon(), dt.getTimeInEpsilon());
         // set time for being scheduled
     
-        EventNote note = new EventNote(who1, who2, null, what, time, what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, null, what, time, what.getSchedulingPriority(), _currentSchedulable);
     
         // all parameters checked, now schedule Event
         evList.insert(note);
@@ -1463,7 +1808,7 @@ public class Scheduler extends NamedObject {
             // I can't be scheduled, TimeInstant has already passed.
         }
     
-        EventNote note = new EventNote(who1, who2, null, what, when, what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, null, what, when, what.getSchedulingPriority(), _currentSchedulable);
     
         // all parameters checked, now schedule Event
         evList.insert(note);
@@ -1516,7 +1861,7 @@ public class Scheduler extends NamedObject {
             return; // Event needed with Entity
         }
     
-        EventNote note = new EventNote(who1, who2, null, what, presentTime(), what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, null, what, presentTime(), what.getSchedulingPriority(), _currentSchedulable);
     
         if (_currentProcess == null) { // currently Event -> no preemption
             // inserted as first in the event-list with the current time as
@@ -1607,10 +1952,10 @@ public class Scheduler extends NamedObject {
             return; // Event needed with Entity
         }
         
-        TimeInstant time = TimeOperations.add(presentTime(), dt);
+        long time = TimeOperations.addInEpsilon(clock.getTimeInEpsilon(), dt.getTimeInEpsilon());
         // set time for being scheduled
     
-        EventNote note = new EventNote(who1, who2, who3, what, time, what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, who3, what, time, what.getSchedulingPriority(), _currentSchedulable);
     
         // all parameters checked, now schedule Event
         evList.insert(note);
@@ -1712,7 +2057,7 @@ public class Scheduler extends NamedObject {
             // I can't be scheduled, TimeInstant has already passed.
         }
     
-        EventNote note = new EventNote(who1, who2, who3, what, when, what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, who3, what, when, what.getSchedulingPriority(), _currentSchedulable);
     
         // all parameters checked, now schedule Event
         evList.insert(note);
@@ -1786,7 +2131,7 @@ public class Scheduler extends NamedObject {
             return; // Event needed with Entity
         }
     
-        EventNote note = new EventNote(who1, who2, who3, what, presentTime(), what.getSchedulingPriority(), _currentSchedulable);
+        EventNote note = newEventNote(who1, who2, who3, what, presentTime(), what.getSchedulingPriority(), _currentSchedulable);
     
         if (_currentProcess == null) { // currently Event -> no preemption
             // inserted as first in the event-list with the current time as
@@ -1910,11 +2255,11 @@ public class Scheduler extends NamedObject {
 		if (after != _currentSchedulable) {
 			// all parameters checked, now go on and schedule
 			EventNote afterNote = after.getEventNotes().get(after.getEventNotes().size()-1);
-			evList.insertAfter(afterNote, new EventNote(who, null, null, what, afterNote
+			evList.insertAfter(afterNote, newEventNote(who, null, null, what, afterNote
 					.getTime(), afterNote.getPriority(), _currentSchedulable));
 			// sets the time equivalent to the Schedulable's
 		} else {
-			evList.insertAsFirst(new EventNote(who, null, null, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
+			evList.insertAsFirst(newEventNote(who, null, null, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
 		}
 
 	}
@@ -2025,11 +2370,11 @@ public class Scheduler extends NamedObject {
 		if (after != _currentSchedulable) {
 			// all parameters checked, now go on and schedule
 		    EventNote afterNote = after.getEventNotes().get(after.getEventNotes().size()-1);
-			evList.insertAfter(afterNote, new EventNote(who1, who2, null, what, afterNote
+			evList.insertAfter(afterNote, newEventNote(who1, who2, null, what, afterNote
 					.getTime(), afterNote.getPriority(), _currentSchedulable));
 			// sets the time equivalent to the Schedulable's
 		} else {
-			evList.insertAsFirst(new EventNote(who1, who2, null, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
+			evList.insertAsFirst(newEventNote(who1, who2, null, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
 		}
 	
 	}
@@ -2162,11 +2507,11 @@ public class Scheduler extends NamedObject {
 		if (after != _currentSchedulable) {
 			// all parameters checked, now go on and schedule
 		    EventNote afterNote = after.getEventNotes().get(after.getEventNotes().size()-1);
-			evList.insertAfter(afterNote, new EventNote(who1, who2, who3, what, afterNote
+			evList.insertAfter(afterNote, newEventNote(who1, who2, who3, what, afterNote
 					.getTime(), afterNote.getPriority(), _currentSchedulable));
 			// sets the time equivalent to the Schedulable's
 		} else {
-			evList.insertAsFirst(new EventNote(who1, who2, who3, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
+			evList.insertAsFirst(newEventNote(who1, who2, who3, what, presentTime(), Integer.MAX_VALUE, _currentSchedulable));
 		}
 	
 	}
@@ -2277,7 +2622,7 @@ public class Scheduler extends NamedObject {
 
 		// all parameters checked, now go on and schedule
 		EventNote beforeNote = before.getEventNotes().get(0);
-		evList.insertBefore(beforeNote, new EventNote(who, null, null, what, beforeNote
+		evList.insertBefore(beforeNote, newEventNote(who, null, null, what, beforeNote
 				.getTime(), beforeNote.getPriority(), _currentSchedulable));
 		// sets the time equivalent to the Schedulable's
 	}
@@ -2389,7 +2734,7 @@ public class Scheduler extends NamedObject {
 	
 		// all parameters checked, now go on and schedule
 	    EventNote beforeNote = before.getEventNotes().get(0);
-		evList.insertBefore(beforeNote, new EventNote(who1, who2, null, what, beforeNote
+		evList.insertBefore(beforeNote, newEventNote(who1, who2, null, what, beforeNote
 				.getTime(), beforeNote.getPriority(), _currentSchedulable));
 		// sets the time equivalent to the Schedulable's
 	}
@@ -2521,7 +2866,7 @@ public class Scheduler extends NamedObject {
 	
 		// all parameters checked, now go on and schedule
         EventNote beforeNote = before.getEventNotes().get(0);
-		evList.insertBefore(beforeNote, new EventNote(who1, who2, who3, what, beforeNote
+		evList.insertBefore(beforeNote, newEventNote(who1, who2, who3, what, beforeNote
 				.getTime(), beforeNote.getPriority(), _currentSchedulable));
 		// sets the time equivalent to the Schedulable's
 	}
@@ -2557,11 +2902,18 @@ public class Scheduler extends NamedObject {
 
 		// ok, we have to change the event-list (oh bother!)
 
-		// copy old list into new list
-		EventNote note = this.evList.firstNote();
-		while (note != null) {
-			newEventList.insert(note);
-			note = this.evList.nextNote(note);
+		// empty the old list first, as both lists use the same link fields
+		// of the event-notes, then insert the notes into the new list
+		EventNote[] notes = new EventNote[this.evList.size()];
+		int count = 0;
+		for (EventNote note = this.evList.removeFirst(); note != null; note = this.evList.removeFirst()) {
+			if (count == notes.length) {
+				notes = java.util.Arrays.copyOf(notes, 2 * count + 1);
+			}
+			notes[count++] = note;
+		}
+		for (int i = 0; i < count; i++) {
+			newEventList.insert(notes[i]);
 		}
 		this.evList = newEventList;
 	}
@@ -2638,8 +2990,7 @@ public class Scheduler extends NamedObject {
 			// go thru list and present Event notes
 			int i = 0; // counter for position
 
-			for (EventNote iNote = evList.firstNote(); iNote != null; iNote = evList
-					.nextNote(iNote)) { // loop thru list
+			for (EventNote iNote : evList.toArray()) { // loop thru snapshot
 
 				buffer.append(i + ":");
                 i++; // increment counter
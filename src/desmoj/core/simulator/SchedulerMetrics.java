@@ -0,0 +1,261 @@
+package desmoj.core.simulator;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throughput metrics of a <code>Scheduler</code>: the event-notes processed
+ * and processed per second, the high-water mark of the event-list size, the
+ * context switches between scheduler and SimProcesses and, per class of event
+ * or SimProcess, the number of event-notes processed and the wall clock time
+ * spent in <code>eventRoutine()</code> resp. <code>lifeCycle()</code>.
+ * <p>
+ * Metrics are collected only if enabled by
+ * <code>Experiment.setMetricsEnabled(true)</code>, adding two reads of the
+ * system's nanosecond timer to each event-note processed. They are shown in
+ * a section of the report and can be queried at runtime via
+ * <code>Experiment.getMetrics()</code> or via JMX after
+ * <code>Experiment.registerMetricsMBean()</code>. Values read by another
+ * thread while the simulation is running may be slightly out of date.
+ *
+ * @see Experiment#setMetricsEnabled(boolean)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+public final class SchedulerMetrics implements SchedulerMetricsMXBean {
+
+	/**
+	 * The scheduler measured.
+	 */
+	private final Scheduler _scheduler;
+
+	/**
+	 * The number of event-notes measured, i.e. processed since the metrics
+	 * have been enabled.
+	 */
+	private long _events;
+
+	/**
+	 * Wall clock time (in nanoseconds) the first event-note measured has been
+	 * processed at, 0 if none.
+	 */
+	private long _firstNanos;
+
+	/**
+	 * Wall clock time (in nanoseconds) the latest event-note measured has been
+	 * processed until.
+	 */
+	private long _lastNanos;
+
+	/**
+	 * Set when the metrics are enabled again after having been disabled, so
+	 * the time in between is not counted for the event rate.
+	 */
+	private boolean _resumed;
+
+	/**
+	 * The largest number of event-notes contained in the event-list.
+	 */
+	private int _eventListHighWaterMark;
+
+	/**
+	 * The time spent in events resp. SimProcesses in nanoseconds.
+	 */
+	private long _eventRoutineNanos, _lifeCycleNanos;
+
+	/**
+	 * The number of event-notes and the time spent per class, stored as array
+	 * <code>{count, nanos}</code>.
+	 */
+	private final Map<Class<?>, long[]> _byClass;
+
+	/**
+	 * The class measured last and its entry, saving the look-up for
+	 * subsequent event-notes of the same class.
+	 */
+	private Class<?> _lastClass;
+	private long[] _lastEntry;
+
+	/**
+	 * Creates the metrics of the given scheduler.
+	 *
+	 * @param scheduler
+	 *            Scheduler : The scheduler to measure
+	 */
+	SchedulerMetrics(Scheduler scheduler) {
+
+		_scheduler = scheduler;
+		_byClass = new ConcurrentHashMap<Class<?>, long[]>();
+
+	}
+
+	/**
+	 * Records the size of the event-list before the next event-note is taken
+	 * from it.
+	 */
+	void observeEventListSize(int size) {
+
+		if (size > _eventListHighWaterMark) {
+			_eventListHighWaterMark = size;
+		}
+	}
+
+	/**
+	 * Notes that the metrics are enabled again after having been disabled.
+	 */
+	void resume() {
+
+		_resumed = true;
+
+	}
+
+	/**
+	 * Records an event-note processed.
+	 *
+	 * @param what
+	 *            Schedulable : The event or SimProcess executed
+	 * @param began
+	 *            long : Wall clock time (in nanoseconds) the execution began
+	 * @param ended
+	 *            long : Wall clock time (in nanoseconds) the execution ended
+	 */
+	void record(Schedulable what, long began, long ended) {
+
+		long nanos = ended - began;
+		if (_firstNanos == 0) {
+			_firstNanos = began;
+		} else if (_resumed) {
+			_firstNanos += began - _lastNanos; // skip the time disabled
+		}
+		_resumed = false;
+		_lastNanos = ended;
+		_events++;
+
+		if (what instanceof SimProcess) {
+			_lifeCycleNanos += nanos;
+		} else {
+			_eventRoutineNanos += nanos;
+		}
+
+		Class<?> c = what.getClass();
+		long[] entry = _lastEntry;
+		if (c != _lastClass) {
+			entry = _byClass.get(c);
+			if (entry == null) {
+				entry = new long[2];
+				_byClass.put(c, entry);
+			}
+			_lastClass = c;
+			_lastEntry = entry;
+		}
+		entry[0]++;
+		entry[1] += nanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getEventsProcessed() {
+
+		return _scheduler.getEventsProcessed();
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public double getEventRate() {
+
+		long elapsed = _lastNanos - _firstNanos;
+		return elapsed > 0 ? _events * 1e9 / elapsed : 0;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getEventListHighWaterMark() {
+
+		return _eventListHighWaterMark;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getContextSwitches() {
+
+		return _scheduler.getContextSwitches();
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public double getContextSwitchRate() {
+
+		return _scheduler.getContextSwitchRate();
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getEventRoutineNanos() {
+
+		return _eventRoutineNanos;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getLifeCycleNanos() {
+
+		return _lifeCycleNanos;
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Map<String, Long> getCountsByClass() {
+
+		return byClass(0);
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Map<String, Long> getNanosByClass() {
+
+		return byClass(1);
+
+	}
+
+	/**
+	 * Returns the given entry per class, sorted by class name.
+	 */
+	private Map<String, Long> byClass(int index) {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<Class<?>, long[]> e : _byClass.entrySet()) {
+			result.put(e.getKey().getName(), e.getValue()[index]);
+		}
+		return result;
+
+	}
+}
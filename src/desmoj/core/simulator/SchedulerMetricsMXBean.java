@@ -0,0 +1,95 @@
+package desmoj.core.simulator;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing the <code>SchedulerMetrics</code> of a
+ * running experiment via JMX, see
+ * <code>Experiment.registerMetricsMBean()</code>. All times are wall clock
+ * times.
+ *
+ * @see SchedulerMetrics
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+public interface SchedulerMetricsMXBean {
+
+	/**
+	 * Returns the number of event-notes processed since the experiment was
+	 * started.
+	 *
+	 * @return long : The number of event-notes processed
+	 */
+	long getEventsProcessed();
+
+	/**
+	 * Returns the number of event-notes processed per second since the
+	 * metrics have been enabled.
+	 *
+	 * @return double : The event-notes processed per second
+	 */
+	double getEventRate();
+
+	/**
+	 * Returns the largest number of event-notes contained in the event-list.
+	 *
+	 * @return int : The high-water mark of the event-list size
+	 */
+	int getEventListHighWaterMark();
+
+	/**
+	 * Returns the number of context switches between the scheduler and the
+	 * SimProcesses.
+	 *
+	 * @return long : The number of context switches
+	 */
+	long getContextSwitches();
+
+	/**
+	 * Returns the number of context switches per second.
+	 *
+	 * @return double : The context switches per second
+	 */
+	double getContextSwitchRate();
+
+	/**
+	 * Returns the time spent in the <code>eventRoutine()</code>s of events.
+	 *
+	 * @return long : The time spent in events in nanoseconds
+	 */
+	long getEventRoutineNanos();
+
+	/**
+	 * Returns the time spent in the <code>lifeCycle()</code>s of
+	 * SimProcesses.
+	 *
+	 * @return long : The time spent in SimProcesses in nanoseconds
+	 */
+	long getLifeCycleNanos();
+
+	/**
+	 * Returns the number of event-notes processed per class of event or
+	 * SimProcess.
+	 *
+	 * @return java.util.Map : The number of event-notes by class name
+	 */
+	Map<String, Long> getCountsByClass();
+
+	/**
+	 * Returns the time spent per class of event or SimProcess.
+	 *
+	 * @return java.util.Map : The time in nanoseconds by class name
+	 */
+	Map<String, Long> getNanosByClass();
+}
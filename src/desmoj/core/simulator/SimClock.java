@@ -1,6 +1,7 @@
 package desmoj.core.simulator;
 
 import java.util.Observable;
+import java.util.TimeZone;
 
 /**
  * The simulation clock shows the actual simulation time. The actual simulation
@@ -49,6 +50,19 @@ public class SimClock extends Observable {
 	 */
 	private TimeInstant _timeNow;
 
+	/**
+	 * Stores internally the actual simulation time in the unit of epsilon.
+	 * The <code>TimeInstant</code> above is only created on demand if the
+	 * time has been advanced by a primitive time value.
+	 */
+	private long _timeNowInEpsilon;
+
+	/**
+	 * The preferred time zone of the last <code>TimeInstant</code> set,
+	 * passed on to the instants created on demand.
+	 */
+	private TimeZone _timeZone;
+
 	/**
 	 * Constructs a simulation clock with no parameters given. By default the
 	 * actual simulation time is set to zero.
@@ -63,6 +77,7 @@ public class SimClock extends Observable {
 		this.name = name + "_clock";
 		// set the simulation clock to 0
 		_timeNow = new TimeInstant(0); // the birth of time ;-)
+		_timeZone = _timeNow.getPreferredTimeZone();
 
 	}
 	/**
@@ -84,9 +99,24 @@ public class SimClock extends Observable {
 	 * @return TimeInstant : The actual simulation time
 	 */
 	public TimeInstant getTime() {
+		if (_timeNow == null) {
+			// advanced by a primitive time value, create on demand
+			_timeNow = TimeInstant.ofEpsilon(_timeNowInEpsilon);
+			_timeNow.setPreferredTimeZone(_timeZone);
+		}
 		return _timeNow;
 	}
 
+	/**
+	 * Returns the actual simulation time in the unit of epsilon without
+	 * creating a <code>TimeInstant</code>.
+	 * 
+	 * @return long : The actual simulation time in the unit of epsilon
+	 */
+	long getTimeInEpsilon() {
+		return _timeNowInEpsilon;
+	}
+
 	/**
 	 * Sets the actual simulation time to a new value. This method has to be
 	 * protected from user access since it must not be manipulated by anyone but
@@ -97,23 +127,58 @@ public class SimClock extends Observable {
 	 */
 	void setTime(TimeInstant newTime) {
 		//check if newTime is in the future
-		if(TimeInstant.isBeforeOrEqual(newTime, _timeNow)){
+		if(newTime.getTimeInEpsilon() <= _timeNowInEpsilon){
 			// check for legal parameter (newTime>oldTime)
-			if (TimeInstant.isBefore(newTime, _timeNow)) {
+			if (newTime.getTimeInEpsilon() < _timeNowInEpsilon) {
 				//TODO Exception (Wrong Time)
 			}			
 			return;
 		}
 		
+		notifyTimeChange();
+		
+		_timeNow = newTime; // now make the move for the next time change.
+		_timeNowInEpsilon = newTime.getTimeInEpsilon();
+		_timeZone = newTime.getPreferredTimeZone();
+	}
+
+	/**
+	 * Sets the actual simulation time to a new value given in the unit of
+	 * epsilon, creating the corresponding <code>TimeInstant</code> only on
+	 * demand. This method has to be protected from user access since it must
+	 * not be manipulated by anyone but the scheduler.
+	 * 
+	 * @param newTimeInEpsilon
+	 *            long : The new simulation time in the unit of epsilon
+	 */
+	void setTime(long newTimeInEpsilon) {
+		//check if newTime is in the future
+		if (newTimeInEpsilon <= _timeNowInEpsilon) {
+			return;
+		}
+		
+		notifyTimeChange();
+		
+		_timeNow = null; // created on demand
+		_timeNowInEpsilon = newTimeInEpsilon;
+	}
+
+	/**
+	 * Notifies all observers registered of the time about to change. The
+	 * actual time is only passed as a <code>TimeInstant</code> if there are
+	 * observers.
+	 */
+	private void notifyTimeChange() {
+		if (countObservers() == 0) {
+			return; // nobody to notify
+		}
 
 		// note all observers of change before setting the new time!!!!
 		setChanged(); // set the status to changed
 
 		// tell every Observer registered the actual TimeInstant which will be
 		// changed now
-		notifyObservers(_timeNow);
-		
-		_timeNow = newTime; // now make the move for the next time change.
+		notifyObservers(getTime());
 	}
 	
 	/**
@@ -126,6 +191,8 @@ public class SimClock extends Observable {
 	 */
 	void setInitTime(TimeInstant initTime){
 		_timeNow= initTime;
+		_timeNowInEpsilon = initTime.getTimeInEpsilon();
+		_timeZone = initTime.getPreferredTimeZone();
 	}
 
 	/**
@@ -2,6 +2,7 @@ package desmoj.core.simulator;
 
 import java.util.Enumeration;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
 
 import co.paralleluniverse.fibers.SuspendExecution;
 import co.paralleluniverse.strands.Strand;
@@ -474,6 +475,63 @@ public abstract class SimProcess extends Entity {
 
 	}
 
+	/**
+	 * Schedules the SimProcess to be activated after a given span of
+	 * simulation time, given as a primitive value in the time unit given.
+	 * Unlike <code>activate(TimeSpan)</code>, no <code>TimeSpan</code> or
+	 * <code>TimeInstant</code> objects are created unless needed for the
+	 * trace. Process preemption is not permitted.
+	 * 
+	 * @param dt
+	 *            long : The offset to the current simulation time this
+	 *            process is to be activated, not negative
+	 * @param unit
+	 *            TimeUnit : The time unit of the offset
+	 * @see #activate(TimeSpan)
+	 */
+	public void activate(long dt, TimeUnit unit) {
+		if (isBlocked()) {
+			sendWarning(
+					"Can't activate SimProcess! Command ignored.",
+					"SimProcess : " + getName()
+							+ " Method: activate(long dt, TimeUnit unit)",
+					"The SimProcess to be activated is blocked inside "
+							+ "a higher level synchronization object.",
+					"Simprocesses waiting inside higher synchronization "
+							+ "constructs can not be activated by other SimProcesses or "
+							+ "events!");
+			return; // is blocked in some synch construction
+		}
+
+		long dtInEpsilon = TimeOperations.toEpsilon(dt, unit,
+				getModel().getExperiment().getContext());
+		Scheduler scheduler = getModel().getExperiment().getScheduler();
+
+		// tell in the trace when the SimProcess will be activated
+		if (currentlySendTraceNotes()) {
+			String who = (this == currentSimProcess()) ? "itself" : getQuotedName();
+			if (dtInEpsilon == 0) {
+				sendTraceNote("activates " + who + " now");
+			} else {
+				sendTraceNote("activates " + who + " at "
+						+ TimeInstant.ofEpsilon(TimeOperations.addInEpsilon(
+								scheduler.presentTimeInEpsilon(), dtInEpsilon)));
+			}
+		}
+
+		// schedule this SimProcess
+		scheduler.scheduleNoPreempt(this, null, dtInEpsilon);
+
+		// debug output
+		if (currentlySendDebugNotes()) {
+			sendDebugNote("is activated on EventList<br>"
+					+ scheduler.toString());
+		}
+
+		resetMaster(); // there is no Master anymore controlling it.
+
+	}
+
 	/**
 	 * Schedules this SimProcess to be activated directly after the given
 	 * Schedulable, which itself is already scheduled. Note that this
@@ -615,8 +673,8 @@ public abstract class SimProcess extends Entity {
 	public void cancelInterruptDelayed() {
 
 		if (isDelayedInterruptScheduled()) {
-			sendTraceNote("canceling delayed interrupt scheduled at "
-					+ _currentlyScheduledDelayedInterruptEvent.scheduledNext());
+			sendTraceNote("canceling delayed interrupt scheduled at %s",
+					_currentlyScheduledDelayedInterruptEvent.scheduledNext());
 			_currentlyScheduledDelayedInterruptEvent.cancel();
 			_currentlyScheduledDelayedInterruptEvent = null;
 		} else {
@@ -766,7 +824,7 @@ public abstract class SimProcess extends Entity {
 	void freeThread() throws SuspendExecution {
 	    Strand s = this.getModel().getExperiment().getSchedulerStrand();
 	    if (s != null) {
-	        s.unpark();
+	        this.getModel().getExperiment().getScheduler().getStrandHandoff().handOver(s);
 	    }
 	}
 
@@ -1033,6 +1091,74 @@ public abstract class SimProcess extends Entity {
 		// a running thread of SimProcess
 		passivate();
 	}
+
+	/**
+	 * Passivates a SimProcess for the given span of time, given as a primitive
+	 * value in the time unit given. Unlike <code>hold(TimeSpan)</code>, no
+	 * <code>TimeSpan</code> or <code>TimeInstant</code> objects are created
+	 * unless needed for the trace, so processes holding frequently avoid
+	 * allocating time objects.
+	 * 
+	 * @param dt
+	 *            long : The duration of the SimProcess' passivation, not
+	 *            negative
+	 * @param unit
+	 *            TimeUnit : The time unit of the duration
+	 * @see #hold(TimeSpan)
+	 */
+	public void hold(long dt, TimeUnit unit) throws DelayedInterruptException,
+			InterruptException, SuspendExecution {
+		if (isBlocked()) {
+			sendWarning(
+					"Can't activate SimProcess! Command ignored.",
+					"SimProcess : " + getName() + " Method: hold(long dt, TimeUnit unit)",
+					"The SimProcess to be activated is blocked inside "
+							+ "a higher level synchronization object.",
+					"Simprocesses waiting inside higher synchronization "
+							+ "constructs can not be set to be activated by other "
+							+ "SimProcesses or events!");
+			return; // is blocked in some synch construction
+		}
+
+		if (isScheduled()) {
+			sendWarning("Can't schedule SimProcess! Command ignored.",
+					"SimProcess : " + getName()
+							+ " Method: void hold(long dt, TimeUnit unit)",
+					"The SimProcess to be scheduled is already scheduled.",
+					"Use method reActivate(TimeSpan dt) to shift the SimProcess "
+							+ "to be scheduled at some other point of time.");
+			return; // was already scheduled
+		}
+
+		long dtInEpsilon = TimeOperations.toEpsilon(dt, unit,
+				getModel().getExperiment().getContext());
+		Scheduler scheduler = getModel().getExperiment().getScheduler();
+
+		if (currentlySendTraceNotes()) {
+			TimeSpan span = TimeSpan.ofEpsilon(dtInEpsilon);
+			TimeInstant until = TimeInstant.ofEpsilon(TimeOperations.addInEpsilon(
+					scheduler.presentTimeInEpsilon(), dtInEpsilon));
+			if (this == currentSimProcess()) {
+				sendTraceNote("holds for " + span + " until " + until);
+			} else {
+				sendTraceNote("holds " + getQuotedName() + "for " + span
+						+ " until " + until);
+			}
+			skipTraceNote(); // skip passivate message
+		}
+
+		// schedule to be reactivated in dt
+		scheduler.scheduleNoPreempt(this, null, dtInEpsilon);
+		
+        if (currentlySendDebugNotes()) {
+			sendDebugNote("holds on EventList<br>"
+					+ scheduler.toString());
+		}
+
+		// hand control over to scheduler only if this is
+		// a running thread of SimProcess
+		passivate();
+	}
 	
 	/**
      * Passivates a SimProcess for span of time sampled from the distribution
@@ -1533,7 +1659,8 @@ public abstract class SimProcess extends Entity {
 		}
 
 		//wait and free the scheduler
-		Strand.parkAndUnpark(this.getModel().getExperiment().getSchedulerStrand());
+		this.getModel().getExperiment().getScheduler().getStrandHandoff().switchTo(
+				this.getModel().getExperiment().getSchedulerStrand());
 
 		// if simulation is not running, throw SimFinishedException to stop
 		// thread
@@ -1862,7 +1989,7 @@ public abstract class SimProcess extends Entity {
 		// to be released
 		// and go wait until the next notification by the SimThread
 		// of this SimProcess
-		Strand.parkAndUnpark(_myStrand);
+		this.getModel().getExperiment().getScheduler().getStrandHandoff().switchTo(_myStrand);
 	}
 	
     void unpark() throws SuspendExecution {
@@ -2264,11 +2391,9 @@ public abstract class SimProcess extends Entity {
 		// control from the scheduler's thread
 		_isRunning = true;
 
-		// start thread and let it run into the block
-		_myStrand.start();
-
+		// start thread and let it run into the block,
 		// put scheduler thread in to a wait for synchronization
-		Strand.park();
+		this.getModel().getExperiment().getScheduler().getStrandHandoff().startAndSwitchTo(_myStrand);
 
 		// check if simulation has been stopped in between and throw SimFinished
 		if (getModel().getExperiment().isAborted()) {
@@ -72,6 +72,9 @@ public class SimThread implements SuspendableRunnable {
 	@Override
     public void run() throws SuspendExecution {
 
+		// the strand may have been created by a thread of another experiment
+		simProc.getModel().getExperiment().bindContext();
+
 		// let all other threads, esp. the main thread get into the block
 		// yield();
 		// catch SimFinishedExceptions to clear this thread
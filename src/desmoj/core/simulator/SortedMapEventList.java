@@ -122,6 +122,11 @@ public class SortedMapEventList extends EventList {
     
     private TreeMap<EventNote, EventNoteWrapper> queue = new TreeMap<>();
 
+    /**
+     * The number of event-notes in this event-list, i.e. in all linked lists.
+     */
+    private int size;
+
     /**
      * {@inheritDoc}.
      */
@@ -155,6 +160,8 @@ public class SortedMapEventList extends EventList {
      * Add the {@link EventNote} to its various entities. 
      */
     private void addNoteToEntities(EventNote newNote) {
+        size++;
+        
         Entity who1 = newNote.getEntity1();
         if (who1 != null) {
             who1.addEventNote(newNote);
@@ -289,6 +296,14 @@ public class SortedMapEventList extends EventList {
         return this.queue.isEmpty();
     }
 
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    int size() {
+        return this.size;
+    }
+
     /**
      * {@inheritDoc}.
      */
@@ -411,6 +426,8 @@ public class SortedMapEventList extends EventList {
      * Remove the {@link EventNote} from its various entities.
      */
     private void removeNoteFromEntities(EventNote note) {
+        size--;
+        
         if (note.getEntity1() != null) { // if an entity exists (no external event)
             note.getEntity1().removeEventNote(note); // removes list entry in Entity!
         }
@@ -0,0 +1,136 @@
+package desmoj.core.simulator;
+
+/**
+ * A declarative condition to stop an experiment, watching a single
+ * reportable (e.g. a statistic or a queue). Unlike other
+ * <code>ModelCondition</code>s, which are checked after every event, a stop
+ * trigger passed to <code>Experiment.stop(ModelCondition)</code> is checked
+ * only after events which have changed the reportable it watches, so models
+ * can be stopped by conditions on statistics or queues without the cost of
+ * checking them all the time.
+ * <p>
+ * Derive from this class and implement <code>check()</code> to return
+ * <code>true</code> once the watched reportable fulfills the condition. See
+ * <code>QueueLengthTrigger</code>,
+ * <code>desmoj.core.statistic.CountTrigger</code> and
+ * <code>desmoj.core.statistic.ThresholdTrigger</code> for triggers provided.
+ * Custom reportables have to call <code>notifyStopTriggers()</code> whenever
+ * they change to be watched by a stop trigger.
+ *
+ * @see Experiment#stop(ModelCondition)
+ * @see Reportable#notifyStopTriggers()
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+public abstract class StopTrigger extends ModelCondition {
+
+	/**
+	 * The reportable watched by this trigger.
+	 */
+	private Reportable _watched;
+
+	/**
+	 * The experiment this trigger is armed for, <code>null</code> if not
+	 * armed.
+	 */
+	private Experiment _armedFor;
+
+	/**
+	 * Flag indicating the watched reportable has changed since this trigger
+	 * has been checked last.
+	 */
+	private boolean _changed;
+
+	/**
+	 * Constructs a stop trigger watching the given reportable.
+	 *
+	 * @param owner
+	 *            Model : The main model this trigger is associated to
+	 * @param name
+	 *            java.lang.String : The name of this trigger
+	 * @param showInTrace
+	 *            boolean : Flag for showing this trigger in trace-files
+	 * @param watched
+	 *            Reportable : The reportable whose changes cause this trigger
+	 *            to be checked
+	 */
+	public StopTrigger(Model owner, String name, boolean showInTrace,
+			Reportable watched) {
+
+		super(owner, name, showInTrace);
+		_watched = watched;
+
+	}
+
+	/**
+	 * Returns the reportable watched by this trigger.
+	 *
+	 * @return Reportable : The reportable watched by this trigger
+	 */
+	public Reportable getWatched() {
+
+		return _watched;
+
+	}
+
+	/**
+	 * Arms this trigger for the given experiment, which will check it after
+	 * the next event and after each event changing the watched reportable.
+	 */
+	void arm(Experiment experiment) {
+
+		if (_armedFor == null && _watched != null) {
+			_watched.addStopTrigger(this);
+		}
+		_armedFor = experiment;
+		markChanged(); // the condition may already be fulfilled
+	}
+
+	/**
+	 * Disarms this trigger, which will no longer be checked.
+	 */
+	void disarm() {
+
+		if (_armedFor != null && _watched != null) {
+			_watched.removeStopTrigger(this);
+		}
+		_armedFor = null;
+		_changed = false;
+	}
+
+	/**
+	 * Marks the watched reportable as changed and tells the experiment to
+	 * check this trigger after the current event.
+	 */
+	void markChanged() {
+
+		if (!_changed && _armedFor != null) {
+			_changed = true;
+			_armedFor.stopTriggerChanged(this);
+		}
+	}
+
+	/**
+	 * Checks this trigger after the watched reportable has changed. A trigger
+	 * fulfilled remains marked as changed, to be checked again if the
+	 * experiment is proceeded.
+	 *
+	 * @return boolean : The result of <code>check()</code>
+	 */
+	boolean checkChanged() {
+
+		_changed = check();
+		return _changed;
+	}
+}
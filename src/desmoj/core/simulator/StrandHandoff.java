@@ -0,0 +1,193 @@
+package desmoj.core.simulator;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import co.paralleluniverse.strands.Strand;
+import desmoj.core.exception.SimAbortedException;
+import desmoj.core.report.ErrorMessage;
+
+/**
+ * Hand-off of control between the scheduler's strand and the strands of the
+ * <code>SimProcess</code>es of an experiment, tracking which strand owns
+ * control. Exactly one strand owns control at any time, and only the owner
+ * may hand it off; a hand-off by any other strand aborts the simulation. A
+ * hand-off records the new owner, then wakes it and parks the calling strand
+ * in a single <code>Strand.parkAndUnpark(Strand)</code>, so no lock is taken
+ * and the scheduler is not woken in between. The calling strand blocks until
+ * control is handed back to it. Since a strand only continues once it has
+ * been made the owner, spurious wake-ups of the underlying park mechanism can
+ * never let two strands run at the same time.
+ * <p>
+ * The strands are still woken by Quasar's park and unpark, as before: this
+ * class adds the ownership checks and the instrumentation, not a switching
+ * mechanism of its own. How fast a hand-off is thus depends on the
+ * <code>CoroutineModel</code>; for fibers, Quasar performs the combined park
+ * and unpark as one yield of the calling fiber.
+ * <p>
+ * Each hand-off is counted as a context switch, which allows to compare the
+ * switching performance of the different <code>CoroutineModel</code>s via
+ * <code>Scheduler.getContextSwitches()</code> and
+ * <code>Scheduler.getContextSwitchRate()</code>.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+final class StrandHandoff {
+
+    /**
+     * The strand currently owning control.
+     */
+    private volatile Strand _owner;
+
+    /**
+     * Set when the experiment has ended, releasing all waiting strands.
+     */
+    private volatile boolean _released;
+
+    /**
+     * The number of hand-offs performed so far. Only modified by the owning
+     * strand, ordered by the volatile write of the owner.
+     */
+    private long _switches;
+
+    /**
+     * Wall clock time (in nanoseconds) of the first and of the latest hand-off.
+     */
+    private long _firstSwitchTime, _lastSwitchTime;
+
+    /**
+     * Makes the given strand the owner of control without waking it, e.g.
+     * the scheduler's strand when the experiment is (re-)started.
+     */
+    void setOwner(Strand owner) {
+        _released = false;
+        _owner = owner;
+    }
+
+    /**
+     * Hands control from the calling strand to the given target strand and
+     * blocks until control is handed back.
+     *
+     * @param target
+     *            Strand : The strand to take over control
+     */
+    void switchTo(Strand target) throws SuspendExecution {
+        Strand self = checkOwner("switchTo(Strand)");
+        count();
+        _owner = target;
+        Strand.parkAndUnpark(target);
+        awaitControl(self);
+    }
+
+    /**
+     * Starts the given new strand, handing control to it, and blocks until
+     * control is handed back to the calling strand.
+     *
+     * @param target
+     *            Strand : The strand to be started
+     */
+    void startAndSwitchTo(Strand target) throws SuspendExecution {
+        Strand self = checkOwner("startAndSwitchTo(Strand)");
+        count();
+        _owner = target;
+        target.start();
+        awaitControl(self);
+    }
+
+    /**
+     * Hands control from the calling strand to the given target strand
+     * without waiting to get it back, e.g. when a process terminates.
+     *
+     * @param target
+     *            Strand : The strand to take over control
+     */
+    void handOver(Strand target) throws SuspendExecution {
+        checkOwner("handOver(Strand)");
+        count();
+        _owner = target;
+        target.unpark();
+    }
+
+    /**
+     * Releases all strands waiting for control, which is used to let the
+     * strands of surviving processes terminate at the end of an experiment.
+     */
+    void release() {
+        _released = true;
+    }
+
+    /**
+     * Returns the number of hand-offs performed so far.
+     */
+    long getSwitches() {
+        return _switches;
+    }
+
+    /**
+     * Returns the number of hand-offs per second of wall clock time elapsed
+     * between the first and the latest hand-off, or 0 if there have been
+     * less than two hand-offs.
+     */
+    double getSwitchRate() {
+        long elapsed = _lastSwitchTime - _firstSwitchTime;
+        return elapsed > 0 ? (_switches - 1) * 1e9 / elapsed : 0;
+    }
+
+    /**
+     * Returns the owner of control after making sure it is the calling
+     * strand. Once the experiment has ended, the strands of surviving
+     * processes may terminate without owning control.
+     *
+     * @param method
+     *            String : The hand-off method called, for the error message
+     * @return Strand : The owner of control, i.e. the calling strand
+     */
+    private Strand checkOwner(String method) {
+        Strand self = _owner;
+        if (!_released && !Strand.currentStrand().equals(self)) {
+            throw new SimAbortedException(new ErrorMessage(null,
+                    "A strand not owning control tried to hand it off! "
+                            + "Simulation aborted.",
+                    "Class : StrandHandoff  Method : " + method,
+                    "The calling strand '" + Strand.currentStrand().getName()
+                            + "' is not the owner of control '"
+                            + (self == null ? null : self.getName()) + "'.",
+                    "Make sure SimProcesses are only activated, passivated "
+                            + "and resumed by the simulation itself, not by "
+                            + "threads of their own.",
+                    null));
+        }
+        return self;
+    }
+
+    /**
+     * Blocks the calling strand until it owns control or the experiment has
+     * ended.
+     */
+    private void awaitControl(Strand self) throws SuspendExecution {
+        while (_owner != self && !_released) {
+            Strand.park();
+        }
+    }
+
+    /**
+     * Counts a hand-off.
+     */
+    private void count() {
+        long now = System.nanoTime();
+        if (_switches++ == 0) {
+            _firstSwitchTime = now;
+        }
+        _lastSwitchTime = now;
+    }
+}
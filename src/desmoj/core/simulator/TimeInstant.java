@@ -77,28 +77,27 @@ public final class TimeInstant implements Comparable<TimeInstant> {
 		// System.out.println(time + " " + unit);
 		// System.out.println("Format: "
 		// + new SimpleDateFormat().format(new Date(time)));
-		if (unit.compareTo(TimeOperations.getEpsilon()) < 0) {
+		ExperimentContext context = ExperimentContext.current();
+		if (unit.compareTo(context.epsilon) < 0) {
 			// unit is a finer granularity than epsilon
-			if (TimeOperations.getStartTime() != null) {// Start time has been
+			if (context.startTime != null) {// Start time has been
 				// set
 				System.out.println("Starttime: "
-						+ TimeOperations.getStartTime());
+						+ context.startTime);
 				long timeSinceStart = time // time since start...?
-						- unit.convert(TimeOperations.getStartTime()// Achtung-negative
+						- unit.convert(context.startTime// Achtung-negative
 								// werden
 								// positiv
-								.getTimeInEpsilon(), TimeOperations
-								.getEpsilon());
+								.getTimeInEpsilon(), context.epsilon);
 				System.out.println("TimeSinceStart: " + timeSinceStart);
 				if (timeSinceStart != 0) {
 					time = time
-							- (timeSinceStart % unit.convert(1, TimeOperations
-									.getEpsilon()));
+							- (timeSinceStart % unit.convert(1, context.epsilon));
 				}
 			}
 		}
-		this._timeInEpsilon = TimeOperations.getEpsilon().convert(time, unit);
-		TimeOperations.timeObjectsCreated = true;
+		this._timeInEpsilon = context.epsilon.convert(time, unit);
+		context.markTimeObjectsCreated();
 		if (_timeInEpsilon == Long.MAX_VALUE) {
 			/*The timeInstant is too big. 
 			(The method TimeUnit.convert(duration,unit)returns Long.MAX_VALUE if
@@ -160,28 +159,27 @@ public final class TimeInstant implements Comparable<TimeInstant> {
         // System.out.println(time + " " + unit);
         // System.out.println("Format: "
         // + new SimpleDateFormat().format(new Date(time)));
-        if (unit.compareTo(TimeOperations.getEpsilon()) < 0) {
+        ExperimentContext context = ExperimentContext.current();
+        if (unit.compareTo(context.epsilon) < 0) {
             // unit is a finer granularity than epsilon
-            if (TimeOperations.getStartTime() != null) {// Start time has been
+            if (context.startTime != null) {// Start time has been
                 // set
                 System.out.println("Starttime: "
-                        + TimeOperations.getStartTime());
+                        + context.startTime);
                 double timeSinceStart = time // time since start...?
-                        - unit.convert(TimeOperations.getStartTime()// Achtung-negative
+                        - unit.convert(context.startTime// Achtung-negative
                                 // werden
                                 // positiv
-                                .getTimeInEpsilon(), TimeOperations
-                                .getEpsilon());
+                                .getTimeInEpsilon(), context.epsilon);
                 System.out.println("TimeSinceStart: " + timeSinceStart);
                 if (timeSinceStart != 0) {
                     time = time
-                            - (timeSinceStart % unit.convert(1, TimeOperations
-                                    .getEpsilon()));
+                            - (timeSinceStart % unit.convert(1, context.epsilon));
                 }
             }
         }
-        this._timeInEpsilon = (long) (TimeOperations.getEpsilon().convert(1, unit) * time);
-        TimeOperations.timeObjectsCreated = true;
+        this._timeInEpsilon = (long) (context.epsilon.convert(1, unit) * time);
+        context.markTimeObjectsCreated();
         if (_timeInEpsilon == Long.MAX_VALUE) {
             /*The timeInstant is too big. 
             (The method TimeUnit.convert(duration,unit)returns Long.MAX_VALUE if
@@ -254,6 +252,30 @@ public final class TimeInstant implements Comparable<TimeInstant> {
 		this(date.getTime(), MILLISECONDS);
 	}
 
+	/**
+	 * Constructs a TimeInstant from a point of time already in the unit of
+	 * epsilon and known to be valid, e.g. taken from the clock or an
+	 * event-note.
+	 */
+	private TimeInstant(long timeInEpsilon, TimeZone preferredTimeZone) {
+		this._timeInEpsilon = timeInEpsilon;
+		this._preferredTimeZone = preferredTimeZone;
+	}
+
+	/**
+	 * Returns a TimeInstant for a point of time already in the unit of
+	 * epsilon, without converting or checking it and thus without referring
+	 * to the time settings. This is a package private method for internal
+	 * framework use only.
+	 * 
+	 * @param timeInEpsilon
+	 *            long : The point of time in the unit of epsilon
+	 * @return TimeInstant : The point of time as TimeInstant
+	 */
+	static TimeInstant ofEpsilon(long timeInEpsilon) {
+		return new TimeInstant(timeInEpsilon, DEFAULT_PREFERRED_TIMEZONE);
+	}
+
 	/**
 	 * Returns the value of the TimeInstant object as a long type in the time
 	 * unit of epsilon
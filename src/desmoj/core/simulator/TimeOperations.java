@@ -6,7 +6,10 @@ import java.util.concurrent.TimeUnit;
 /**
  * TimeOperations is an utility class that provides arithmetic operations for
  * the time classes TimeInstant and TimeSpan. It also holds the time settings,
- * i.e. the granularity (epsilon) and the reference time unit.
+ * i.e. the granularity (epsilon) and the reference time unit. The time
+ * settings are kept per <code>Experiment</code>: the static methods of this
+ * class refer to the settings of the experiment bound to the calling thread,
+ * so experiments can run in parallel threads with different time settings.
  * 
  * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
  * @author Felix Klueckmann
@@ -25,41 +28,6 @@ import java.util.concurrent.TimeUnit;
  */
 public final class TimeOperations {
 
-	/**
-	 * The granularity of simulation time. Default is MICROSECONDS.
-	 */
-	private static TimeUnit epsilon = TimeUnit.MICROSECONDS;
-
-	/**
-	 * The reference time unit specifying what is meant by the simulation time
-	 * step of 1 in statements without an explicit declaration of a time unit
-	 * like in <code>new TimeSpan(5)</code>.
-	 */
-	private static TimeUnit referenceUnit = TimeUnit.SECONDS;
-
-	/**
-	 * The point in simulation time when the experiment has started.
-	 */
-	private static TimeInstant startTime;
-	
-	/**
-     * The TimeFormatter to use for printing TimeInstants in this environment.
-     */
-    private static TimeFormatter myTimeFormatter = getDefaultTimeFormatter();
-
-    /**
-     * Flag to indicate that a user-defined <code>TimeFormatter</code> is used 
-     * (<code>true</code>), while <code>false</code> means the default is applied.
-     */
-    private static boolean customTimeFormatterUsed = false;
-    
-    /**
-     * Flag to indicate that the user has already created <code>TimeInstants</code>
-     * or <code>TimeSpans</code>, proving a means of sending a warning if <code>epislon</code>
-     * is changed afterwards.
-     */
-    protected static boolean timeObjectsCreated = false;
-        
 	// Suppress default constuctor for noninstantiability
 	private TimeOperations() {
 	}
@@ -87,8 +55,7 @@ public final class TimeOperations {
 							"Can only create TimeSpan objects which are smaller than Long.MAX_VALUE (in the TimeUnit of epsilon).",
 							null)));
 		}
-		return new TimeSpan(a.getTimeInEpsilon() + b.getTimeInEpsilon(),
-				epsilon);
+		return TimeSpan.ofEpsilon(a.getTimeInEpsilon() + b.getTimeInEpsilon());
 	}
 
     /**
@@ -145,8 +112,8 @@ public final class TimeOperations {
 								null)));
 			}
 		}
-		TimeInstant result = new TimeInstant(span.getTimeInEpsilon()
-				+ instant.getTimeInEpsilon(), epsilon);
+		TimeInstant result = TimeInstant.ofEpsilon(span.getTimeInEpsilon()
+				+ instant.getTimeInEpsilon());
 		result.setPreferredTimeZone(instant.getPreferredTimeZone());
 		return result;
 	}
@@ -184,8 +151,8 @@ public final class TimeOperations {
                                 null)));
             }
         }
-        TimeInstant result = new TimeInstant(instant.getTimeInEpsilon()
-                - span.getTimeInEpsilon(), epsilon);
+        TimeInstant result = TimeInstant.ofEpsilon(instant.getTimeInEpsilon()
+                - span.getTimeInEpsilon());
         result.setPreferredTimeZone(instant.getPreferredTimeZone());
         return result;
     }
@@ -205,12 +172,10 @@ public final class TimeOperations {
 	public static TimeSpan diff(TimeSpan a, TimeSpan b) {
 
 		if (TimeSpan.isShorter(a, b)) {
-			return new TimeSpan(b.getTimeInEpsilon() - a.getTimeInEpsilon(),
-					epsilon);
+			return TimeSpan.ofEpsilon(b.getTimeInEpsilon() - a.getTimeInEpsilon());
 		}
 
-		return new TimeSpan(a.getTimeInEpsilon() - b.getTimeInEpsilon(),
-				epsilon);
+		return TimeSpan.ofEpsilon(a.getTimeInEpsilon() - b.getTimeInEpsilon());
 	}
 
 	/**
@@ -245,8 +210,7 @@ public final class TimeOperations {
 									null)));
 				}
 			}
-			return new TimeSpan(a.getTimeInEpsilon() - b.getTimeInEpsilon(),
-					epsilon);
+			return TimeSpan.ofEpsilon(a.getTimeInEpsilon() - b.getTimeInEpsilon());
 		} else {
 			// b is after a
 			if (a.getTimeInEpsilon() < 0) {
@@ -266,8 +230,7 @@ public final class TimeOperations {
 				}
 			}
 
-			return new TimeSpan(b.getTimeInEpsilon() - a.getTimeInEpsilon(),
-					epsilon);
+			return TimeSpan.ofEpsilon(b.getTimeInEpsilon() - a.getTimeInEpsilon());
 		}
 
 	}
@@ -299,7 +262,7 @@ public final class TimeOperations {
 								null)));
 			}
 		}
-		return new TimeSpan((long) (span.getTimeInEpsilon() * factor), epsilon);
+		return new TimeSpan((long) (span.getTimeInEpsilon() * factor), getEpsilon());
 	}
 
 	/**
@@ -382,7 +345,7 @@ public final class TimeOperations {
 			}
 		}
 		return new TimeSpan((long) (dividend.getTimeInEpsilon() / divisor),
-				epsilon);
+				getEpsilon());
 	}
 
 	/**
@@ -392,7 +355,7 @@ public final class TimeOperations {
 	 * @return TimeUnit : The granularity of simulation time
 	 */
 	public static TimeUnit getEpsilon() {
-		return epsilon;
+		return ExperimentContext.current().epsilon;
 	}
 	
     /**
@@ -402,7 +365,7 @@ public final class TimeOperations {
      *       of the epsilon unit 
      */
     public static TimeSpan getEpsilonSpan() {
-        return new TimeSpan(1, epsilon);
+        return new TimeSpan(1, getEpsilon());
     }
 
 	/**
@@ -414,7 +377,7 @@ public final class TimeOperations {
 	 * 
 	 */
 	public static TimeUnit getReferenceUnit() {
-		return referenceUnit;
+		return ExperimentContext.current().referenceUnit;
 	}
 
 	/**
@@ -429,8 +392,9 @@ public final class TimeOperations {
 	 */
 	static void setEpsilonUnit(TimeUnit epsilon) {
 	    
-	    if (!epsilon.equals(TimeOperations.epsilon)) {
-		      TimeOperations.epsilon = epsilon;
+	    ExperimentContext context = ExperimentContext.forUpdate();
+	    if (!epsilon.equals(context.epsilon)) {
+		      context.epsilon = epsilon;
 	    }
 		
 	}
@@ -445,7 +409,7 @@ public final class TimeOperations {
 	 * 
 	 */
 	public static void setReferenceUnitX(TimeUnit referenceUnit) {
-		TimeOperations.referenceUnit = referenceUnit;
+		ExperimentContext.forUpdate().referenceUnit = referenceUnit;
 	}
 
 	/**
@@ -457,7 +421,7 @@ public final class TimeOperations {
 	 */
 
 	public static String formatTimeInstant(TimeInstant instant) {
-		return myTimeFormatter.buildTimeString(instant);
+		return getTimeFormatter().buildTimeString(instant);
 	}
 
 	/**
@@ -468,7 +432,7 @@ public final class TimeOperations {
 	 * 
 	 */
 	public static String formatTimeSpan(TimeSpan span) {
-		return myTimeFormatter.buildTimeString(span);
+		return getTimeFormatter().buildTimeString(span);
 	}
 
 	/**
@@ -476,7 +440,15 @@ public final class TimeOperations {
 	 * framework use only.
 	 */
 	public static TimeFormatter getTimeFormatter() {
-		return myTimeFormatter;
+		ExperimentContext context = ExperimentContext.current();
+		TimeFormatter formatter = context.timeFormatter;
+		if (formatter == null) {
+		    formatter = getDefaultTimeFormatter(context);
+		    if (context != ExperimentContext.DEFAULTS) {
+		        context.timeFormatter = formatter;
+		    }
+		}
+		return formatter;
 	}
 
 	/**
@@ -494,16 +466,18 @@ public final class TimeOperations {
 	 */
 	public static void setTimeFormatter(TimeFormatter myTimeFormatter, boolean override) {
 	    
+	    ExperimentContext context = ExperimentContext.forUpdate();
+	    
 	    // user defined -> use always, mark as user-defined
 	    if (override) {
-		    TimeOperations.myTimeFormatter = myTimeFormatter;
-		    customTimeFormatterUsed = true;
+		    context.timeFormatter = myTimeFormatter;
+		    context.customTimeFormatterUsed = true;
 		    return;
 	    }
 	    
 	    // otherwise (not user-defined) -> use only if no TimeFormatter already set by the user
-	    if (!customTimeFormatterUsed) {
-	        TimeOperations.myTimeFormatter = myTimeFormatter;
+	    if (!context.customTimeFormatterUsed) {
+	        context.timeFormatter = myTimeFormatter;
 	        return;
 	    }
 	}
@@ -514,9 +488,17 @@ public final class TimeOperations {
      * unit and four floating point digits. 
      */
     public static TimeFormatter getDefaultTimeFormatter() {
-        return new SingleUnitTimeFormatter(referenceUnit, epsilon, 4, false);
+        return getDefaultTimeFormatter(ExperimentContext.current());
     }   
 
+    /**
+     * Returns a <code>SingleUnitTimeFormatter</code> using the reference unit
+     * and epsilon of the given context and four floating point digits.
+     */
+    private static TimeFormatter getDefaultTimeFormatter(ExperimentContext context) {
+        return new SingleUnitTimeFormatter(context.referenceUnit, context.epsilon, 4, false);
+    }
+
 	/**
 	 * Returns the TimeInstant when the experiment has started.
 	 * 
@@ -524,18 +506,123 @@ public final class TimeOperations {
 	 *         started.
 	 */
 	public static TimeInstant getStartTime() {
-		return startTime;
+		return ExperimentContext.current().startTime;
 	}
 
 	/**
-     * Sets the experiment start time. This is a package private method for
-     * internal framework use only since calling this method after experiment setup 
-     * does not make sense.   
-     * 
-     * @param startTime
-     *            TimeInstant : The start time of the current experiment.
-     */
-	static void setStartTime(TimeInstant startTime) {
-		TimeOperations.startTime = startTime;
+	 * Converts a duration given as primitive value in the given time unit to
+	 * the unit of epsilon, checking it the same way as the constructor
+	 * <code>TimeSpan(long, TimeUnit)</code> does, but without creating a
+	 * <code>TimeSpan</code>. This is a package private method for internal
+	 * framework use only.
+	 * 
+	 * @return long : The duration in the unit of epsilon
+	 * @param duration
+	 *            long : The duration in the given time unit
+	 * @param unit
+	 *            TimeUnit : The time unit of the duration
+	 */
+	static long toEpsilon(long duration, TimeUnit unit) {
+		return toEpsilon(duration, unit, ExperimentContext.current());
+	}
+
+	/**
+	 * Converts a duration like <code>toEpsilon(long, TimeUnit)</code>, using
+	 * the time settings of the given context, i.e. those of the experiment the
+	 * caller belongs to. This is a package private method for internal
+	 * framework use only.
+	 * 
+	 * @return long : The duration in the unit of epsilon
+	 * @param duration
+	 *            long : The duration in the given time unit
+	 * @param unit
+	 *            TimeUnit : The time unit of the duration
+	 * @param context
+	 *            ExperimentContext : The settings of the caller's experiment
+	 */
+	static long toEpsilon(long duration, TimeUnit unit, ExperimentContext context) {
+		if (unit == null) { // no time unit given
+			throw (new desmoj.core.exception.SimAbortedException(
+					new desmoj.core.report.ErrorMessage(
+							null,
+							"Can't convert duration! Simulation aborted.",
+							"Class : TimeOperations  Method : toEpsilon(long, TimeUnit)",
+							"Time unit passed is null",
+							"Make sure to pass a non-null time unit.",
+							null)));
+		}
+		if (duration < 0) { // durations must be positive
+			throw (new desmoj.core.exception.SimAbortedException(
+					new desmoj.core.report.ErrorMessage(
+							null,
+							"Can't convert duration! Simulation aborted.",
+							"Class : TimeOperations  Method : toEpsilon(long, TimeUnit)",
+							"the duration passed is negative : " + duration,
+							"Negative values for simulation time are illegal.",
+							null)));
+		}
+		long durationInEpsilon = context.epsilon.convert(duration, unit);
+		context.markTimeObjectsCreated();
+		if (durationInEpsilon == Long.MAX_VALUE) {
+			// the conversion saturates if the result is too big
+			throw (new desmoj.core.exception.SimAbortedException(
+					new desmoj.core.report.ErrorMessage(
+							null,
+							"Can't convert duration! Simulation aborted.",
+							"Class : TimeOperations  Method : toEpsilon(long, TimeUnit)",
+							"the duration is too big. ",
+							"Can only use durations which are smaller than Long.MAX_VALUE (in the TimeUnit of epsilon).",
+							null)));
+		}
+		return durationInEpsilon;
+	}
+
+	/**
+	 * Returns the point of time a given span after the instant given, both in
+	 * the unit of epsilon, checking for overflow like
+	 * <code>add(TimeInstant, TimeSpan)</code> without creating a
+	 * <code>TimeInstant</code>. This is a package private method for internal
+	 * framework use only.
+	 * 
+	 * @return long : The instant plus the span in the unit of epsilon
+	 * @param instantInEpsilon
+	 *            long : The point of time in the unit of epsilon
+	 * @param spanInEpsilon
+	 *            long : The span of time in the unit of epsilon
+	 */
+	static long addInEpsilon(long instantInEpsilon, long spanInEpsilon) {
+		if (instantInEpsilon > 0
+				&& Long.MAX_VALUE - spanInEpsilon - instantInEpsilon < 1) {
+			// the resulting sum is too big
+			throw (new desmoj.core.exception.SimAbortedException(
+					new desmoj.core.report.ErrorMessage(
+							null,
+							"Can't add time values! Simulation aborted.",
+							"Class : TimeOperations  Method : addInEpsilon(long, long)",
+							"the resulting sum is too big. ",
+							"Can only create TimeInstant objects which are before Long.MAX_VALUE (in the TimeUnit of epsilon).",
+							null)));
+		}
+		return instantInEpsilon + spanInEpsilon;
+	}
+
+	/**
+	 * Notes that <code>TimeInstants</code> or <code>TimeSpans</code> have been
+	 * created, so changing epsilon afterwards causes a warning. This is a
+	 * package private method for internal framework use only.
+	 */
+	static void markTimeObjectsCreated() {
+		ExperimentContext.current().markTimeObjectsCreated();
+	}
+
+	/**
+	 * Tells whether <code>TimeInstants</code> or <code>TimeSpans</code> have
+	 * already been created. This is a package private method for internal
+	 * framework use only.
+	 * 
+	 * @return boolean : <code>true</code> if time objects have been created
+	 */
+	static boolean timeObjectsCreated() {
+		return ExperimentContext.current().isTimeObjectsCreated();
 	}
 }
\ No newline at end of file
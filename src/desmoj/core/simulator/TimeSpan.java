@@ -60,6 +60,7 @@ public final class TimeSpan implements Comparable<TimeSpan> {
                               "TimeInstant(long time).",
                             null)));
         } 	    
+		ExperimentContext context = ExperimentContext.current();
 		if (duration < 0) { // points of time must be postive
 			throw (new desmoj.core.exception.SimAbortedException(
 					new desmoj.core.report.ErrorMessage(
@@ -71,8 +72,8 @@ public final class TimeSpan implements Comparable<TimeSpan> {
 							"Negative values for simulation time are illegal.",
 							null)));
 		}
-		_durationInEpsilon = TimeOperations.getEpsilon().convert(duration, unit);
-		TimeOperations.timeObjectsCreated = true;
+		_durationInEpsilon = context.epsilon.convert(duration, unit);
+		context.markTimeObjectsCreated();
 		if (_durationInEpsilon == Long.MAX_VALUE) {
 			/*The timeSpan is too big. 
 			(The method TimeUnit.convert(duration,unit)returns Long.MAX_VALUE if
@@ -133,8 +134,9 @@ public final class TimeSpan implements Comparable<TimeSpan> {
                               "TimeInstant(double time).",
                             null)));
         }         
-        _durationInEpsilon = (long) (duration * TimeOperations.getEpsilon().convert(1, unit));
-        TimeOperations.timeObjectsCreated = true;
+        ExperimentContext context = ExperimentContext.current();
+        _durationInEpsilon = (long) (duration * context.epsilon.convert(1, unit));
+        context.markTimeObjectsCreated();
         
         if (_durationInEpsilon < 0) { // points of time must be postive
             throw (new desmoj.core.exception.SimAbortedException(
@@ -325,6 +327,27 @@ public final class TimeSpan implements Comparable<TimeSpan> {
 		_durationInEpsilon = builder.durationInEpsilon;
 	}
 
+	/**
+	 * private constructor for a duration already in the unit of epsilon
+	 */
+	private TimeSpan(long durationInEpsilon, boolean inEpsilon) {
+		_durationInEpsilon = durationInEpsilon;
+	}
+
+	/**
+	 * Returns a TimeSpan for a duration already in the unit of epsilon and
+	 * known to be valid, without converting or checking it and thus without
+	 * referring to the time settings. This is a package private method for
+	 * internal framework use only.
+	 * 
+	 * @param durationInEpsilon
+	 *            long : The non-negative duration in the unit of epsilon
+	 * @return TimeSpan : The duration as TimeSpan
+	 */
+	static TimeSpan ofEpsilon(long durationInEpsilon) {
+		return new TimeSpan(durationInEpsilon, true);
+	}
+
 	/**
 	 * Returns the value of the TimeSpan object as a long type in the time unit
 	 * of epsilon
@@ -0,0 +1,105 @@
+package desmoj.core.simulator;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+import co.paralleluniverse.fibers.SuspendExecution;
+import co.paralleluniverse.strands.Strand;
+import co.paralleluniverse.strands.SuspendableRunnable;
+
+/**
+ * {@link SimStrandFactory} that uses JDK virtual threads.
+ * Virtual threads are not bound to native threads while parked, so models
+ * with a very large number of live processes neither exhaust native threads
+ * nor need bytecode instrumentation like Quasar fibers do.
+ * Virtual threads are available from Java 21 on; they are accessed
+ * reflectively, so DESMO-J still runs on older Java versions as long as
+ * this coroutine model is not used.
+ * 
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+class VirtualThreadSimStrandFactory extends SimStrandFactory {
+
+    private final ThreadFactory threadFactory;
+
+    /**
+     * The processes whose virtual threads have been created but not yet
+     * terminated, so that they can be unparked during cleanup. Virtual
+     * threads do not belong to an enumerable thread group.
+     */
+    private final Set<SimProcess> liveProcesses = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadSimStrandFactory(String experimentName) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = Class.forName("java.lang.Thread$Builder")
+                    .getMethod("name", String.class, long.class)
+                    .invoke(builder, experimentName + "-", 0L);
+            this.threadFactory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                    .getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException(
+                    "The coroutine model VIRTUAL_THREADS requires Java 21 or later.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Strand create(final SimProcess process, SuspendableRunnable runnable) {
+        final Runnable target = Strand.toRunnable(runnable);
+        Thread thread = this.threadFactory.newThread(new Runnable() {
+            public void run() {
+                try {
+                    target.run();
+                } finally {
+                    liveProcesses.remove(process);
+                }
+            }
+        });
+        thread.setName(process.getName());
+        this.liveProcesses.add(process);
+        return Strand.of(thread);
+    }
+
+    /**
+     * {@inheritDoc}.
+     */
+    @Override
+    public Strand create(String name, SuspendableRunnable runnable) {
+        Thread thread = this.threadFactory.newThread(Strand.toRunnable(runnable));
+        thread.setName(name);
+        return Strand.of(thread);
+    }
+
+    /**
+     * Unpark all processes whose virtual threads somehow survived the experiment's end.
+     */
+    @Override
+    public void cleanUp() {
+        for (final SimProcess survivor : this.liveProcesses.toArray(new SimProcess[0])) {
+            try {
+                survivor.unpark();
+            } catch (final NullPointerException e) {
+                ; // process terminated in between, forget it anyway...
+            } catch (SuspendExecution e) {
+                throw new RuntimeException("should not happen because we are in thread mode", e);
+            }
+        }
+    }
+
+}
@@ -254,22 +254,8 @@ public class Accumulate extends desmoj.core.statistic.ValueStatistics {
             return UNDEFINED; // return UNDEFINED = -1.0
         }
         
-        // determine overall period measured, excluding all past and current pauses
-        long periodMeasured = this.getPeriodMeasured().getTimeInEpsilon();
-
-        // fetch current mean
-        double current_mean = _mean;
-        
-        // update mean to reflect the period since the last update
-        // (only necessary if not paused at the moment)
-        if (this._pausedSince == null) {
-            long periodCurrentValue = 
-                TimeOperations.diff(this.presentTime(), _lastUpdate).getTimeInEpsilon();
-            current_mean += (getLastValue() - _mean) / periodMeasured*periodCurrentValue;
-        }
-        
         // return the rounded mean value
-        return round(current_mean);
+        return round(getUnroundedMean());
     }
 
     /**
@@ -303,11 +289,55 @@ public class Accumulate extends desmoj.core.statistic.ValueStatistics {
 
         // determine overall period measured, excluding all past and current pauses
         long periodMeasured = this.getPeriodMeasured().getTimeInEpsilon();
+
+        // calculate the standard deviation
+        double stdDev = Math.sqrt(getSumOfSquaredDevsFromMean()/periodMeasured);
+                
+        // return the rounded standard deviation
+        return round(stdDev);
+
+    }
+    
+    /**
+     * Returns the time-weighted mean value of all the values observed so far
+     * without rounding and without checking for sufficient data, e.g. to
+     * merge this accumulate with others.
+     * 
+     * @return double : The unrounded mean value, weighted over time
+     */
+    double getUnroundedMean() {
+        
+        // fetch current mean
+        double current_mean = _mean;
+        
+        // update mean to reflect the period since the last update
+        // (only necessary if not paused at the moment)
+        if (this._pausedSince == null) {
+            long periodMeasured = this.getPeriodMeasured().getTimeInEpsilon();
+            long periodCurrentValue = 
+                TimeOperations.diff(this.presentTime(), _lastUpdate).getTimeInEpsilon();
+            current_mean += (getLastValue() - _mean) / periodMeasured*periodCurrentValue;
+        }
+        
+        return current_mean;
+    }
+
+    /**
+     * Returns the sum of the time-weighted squares of the differences from the
+     * mean of all the values observed so far, the weights measured in epsilon,
+     * e.g. to merge this accumulate with others.
+     * 
+     * @return double : The sum of the squared deviations from the mean,
+     *         weighted over time
+     */
+    double getSumOfSquaredDevsFromMean() {
+        
         double currentSumOfSquaredDevsFromMean = _sumOfSquaredDevsFromMean;
         
         // update mean and sum of squares of... to reflect the period since the last update
         // (only necessary if not paused at the moment)
         if (this._pausedSince == null) {
+            long periodMeasured = this.getPeriodMeasured().getTimeInEpsilon();
             long periodCurrentValue = 
                 TimeOperations.diff(this.presentTime(), _lastUpdate).getTimeInEpsilon();
             double old_mean = _mean;
@@ -316,14 +346,9 @@ public class Accumulate extends desmoj.core.statistic.ValueStatistics {
                 (getLastValue() - old_mean)*(getLastValue() - current_mean)*periodCurrentValue;
         }
         
-        // calculate the standard deviation
-        double stdDev = Math.sqrt(currentSumOfSquaredDevsFromMean/periodMeasured);
-                
-        // return the rounded standard deviation
-        return round(stdDev);
-
+        return currentSumOfSquaredDevsFromMean;
     }
-    
+
     /**
      * Resets this Accumulate object by resetting all variables to 0.0.
      * If the flag retainLastValueOnReset is set to true, the last value
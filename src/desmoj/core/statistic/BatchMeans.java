@@ -0,0 +1,538 @@
+package desmoj.core.statistic;
+
+import java.util.Observable;
+
+import org.apache.commons.math.MathException;
+import org.apache.commons.math.distribution.TDistribution;
+import org.apache.commons.math.distribution.TDistributionImpl;
+
+import desmoj.core.simulator.Model;
+
+/**
+ * The <code>BatchMeans</code> class has the same functionality as the
+ * <code>Tally</code> class. Additionally, it estimates the steady-state mean
+ * of the values observed in a single long run: the initial transient
+ * (warm-up) period is detected automatically by the MSER-5 rule and a
+ * confidence interval of the steady-state mean is computed by the method of
+ * batch means, so neither a warm-up period has to be guessed in advance nor
+ * the run has to be split into replications.
+ * <p>
+ * Memory is bounded: the values observed are summed up in at most
+ * <code>maxBatches</code> consecutive batches, initially of 5 values each
+ * (the batch size of MSER-5). Whenever all batches are filled, adjacent
+ * batches are merged, doubling the batch size. Thus, MSER is applied to the
+ * means of batches of 5 * 2<sup>j</sup> values, which shifts the truncation
+ * point found to a multiple of the batch size, but keeps both memory and the
+ * effort per update constant. MSER determines the truncation point
+ * <code>d</code> (at most half the batches) minimizing the squared standard
+ * error of the mean of the batch means remaining, i.e. the sum of squared
+ * deviations of these batch means divided by <code>(k-d)^2</code>. The values
+ * of a batch not yet filled are not taken into account.
+ * <p>
+ * For the confidence interval, the batches remaining after truncation are
+ * grouped into (by default) 20 consecutive groups of equal size, whose means
+ * are regarded as approximately independent and normally distributed. The
+ * confidence interval is thus only valid if the groups are large compared to
+ * the correlation time of the observed process.
+ *
+ * @see Tally
+ * @see ConfidenceCalculator
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+public class BatchMeans extends Tally {
+
+    /**
+     * The initial batch size, i.e. the number of values per batch of MSER-5.
+     */
+    public static final int MSER_BATCH_SIZE = 5;
+
+    /**
+     * The default maximum number of batches kept.
+     */
+    public static final int DEFAULT_MAX_BATCHES = 1000;
+
+    /**
+     * The sums of the values of the batches filled so far.
+     */
+    private double[] _batchSums;
+
+    /**
+     * The number of batches filled so far.
+     */
+    private int _batches;
+
+    /**
+     * The number of values per batch.
+     */
+    private long _batchSize;
+
+    /**
+     * The sum of the values of the batch currently being filled.
+     */
+    private double _partialSum;
+
+    /**
+     * The number of values of the batch currently being filled.
+     */
+    private long _partialCount;
+
+    /**
+     * The number of groups of batches to build for the confidence interval.
+     */
+    private int _groups;
+
+    /**
+     * The confidence level.
+     */
+    private double _confidenceLevel;
+
+    /**
+     * The tDistribution for the t-quantile.
+     */
+    private TDistribution _tDistribution;
+
+    /**
+     * The truncation point (in batches) found by MSER for the current number
+     * of batches, or -1 if not determined yet.
+     */
+    private int _truncation;
+
+    /**
+     * Constructor for a BatchMeans object that is connected to a
+     * <code>ValueSupplier</code>. The confidence level is set to 0.95.
+     *
+     * @param ownerModel
+     *            Model : The model this BatchMeans is associated to
+     * @param name
+     *            java.lang.String : The name of this BatchMeans object
+     * @param valSup
+     *            ValueSupplier : The ValueSupplier providing the value for this
+     *            BatchMeans. The given ValueSupplier will be observed by this
+     *            BatchMeans object.
+     * @param showInReport
+     *            boolean : Flag for showing the report about this BatchMeans.
+     * @param showInTrace
+     *            boolean : Flag for showing the trace output of this
+     *            BatchMeans.
+     */
+    public BatchMeans(Model ownerModel, String name, ValueSupplier valSup,
+            boolean showInReport, boolean showInTrace) {
+        super(ownerModel, name, valSup, showInReport, showInTrace);
+        init(DEFAULT_MAX_BATCHES);
+    }
+
+    /**
+     * Constructor for a BatchMeans object that has no connection to a
+     * <code>ValueSupplier</code>. The confidence level is set to 0.95.
+     *
+     * @param ownerModel
+     *            Model : The model this BatchMeans is associated to
+     * @param name
+     *            java.lang.String : The name of this BatchMeans object
+     * @param showInReport
+     *            boolean : Flag for showing the report about this BatchMeans.
+     * @param showInTrace
+     *            boolean : Flag for showing the trace output of this
+     *            BatchMeans.
+     */
+    public BatchMeans(Model ownerModel, String name, boolean showInReport,
+            boolean showInTrace) {
+        super(ownerModel, name, showInReport, showInTrace);
+        init(DEFAULT_MAX_BATCHES);
+    }
+
+    /**
+     * Constructor for a BatchMeans object that has no connection to a
+     * <code>ValueSupplier</code>, keeping at most the given number of
+     * batches. The confidence level is set to 0.95.
+     *
+     * @param ownerModel
+     *            Model : The model this BatchMeans is associated to
+     * @param name
+     *            java.lang.String : The name of this BatchMeans object
+     * @param maxBatches
+     *            int : The maximum number of batches kept, an even number of
+     *            at least 40; larger values locate the truncation point more
+     *            precisely at the expense of memory and query time.
+     * @param showInReport
+     *            boolean : Flag for showing the report about this BatchMeans.
+     * @param showInTrace
+     *            boolean : Flag for showing the trace output of this
+     *            BatchMeans.
+     */
+    public BatchMeans(Model ownerModel, String name, int maxBatches,
+            boolean showInReport, boolean showInTrace) {
+        super(ownerModel, name, showInReport, showInTrace);
+        if (maxBatches < 40 || maxBatches % 2 != 0) {
+            sendWarning("Invalid maximum number of batches given! "
+                    + "The default of " + DEFAULT_MAX_BATCHES + " is used instead.",
+                    "BatchMeans: " + this.getName() + " Constructor: BatchMeans("
+                            + "Model, String, int, boolean, boolean)",
+                    "The maximum number of batches must be even and at least 40.",
+                    "Make sure to pass an even number of at least 40 batches.");
+            maxBatches = DEFAULT_MAX_BATCHES;
+        }
+        init(maxBatches);
+    }
+
+    /**
+     * Initializes the batches and the confidence interval settings.
+     */
+    private void init(int maxBatches) {
+        _batchSums = new double[maxBatches];
+        _groups = 20;
+        _confidenceLevel = 0.95;
+        _tDistribution = new TDistributionImpl(1);
+        clearBatches();
+    }
+
+    /**
+     * Returns a Reporter to produce a report about this BatchMeans.
+     *
+     * @return desmoj.report.Reporter : The Reporter for this BatchMeans.
+     */
+    public desmoj.core.report.Reporter createDefaultReporter() {
+        return new desmoj.core.report.BatchMeansReporter(this);
+    }
+
+    /**
+     * Resets this BatchMeans object by resetting all variables to 0.0 and
+     * discarding all batches.
+     */
+    public void reset() {
+        super.reset();
+        clearBatches();
+    }
+
+    /**
+     * Updates this <code>BatchMeans</code> object by fetching the actual
+     * value of the <code>ValueSupplier</code> and processing it.
+     */
+    public void update() {
+        long observations = getObservations();
+        super.update();
+        if (getObservations() > observations) {
+            addToBatch(getLastValue());
+        }
+    }
+
+    /**
+     * Updates this <code>BatchMeans</code> object with the double value given
+     * as parameter.
+     *
+     * @param val
+     *            double : The value with which this <code>BatchMeans</code>
+     *            will be updated.
+     */
+    public void update(double val) {
+        long observations = getObservations();
+        super.update(val);
+        if (getObservations() > observations) {
+            addToBatch(getLastValue());
+        }
+    }
+
+    /**
+     * Implementation of the virtual <code>update(Observable, Object)</code>
+     * method of the <code>Observer</code> interface, see
+     * <code>Tally.update(Observable, Object)</code>.
+     *
+     * @param o
+     *            java.util.Observable : The Observable calling this method
+     *            within its own <code>notifyObservers()</code> method.
+     * @param arg
+     *            Object : The Object with which this <code>BatchMeans</code>
+     *            is updated. Normally a double number which is added to the
+     *            statistics or <code>null</code>.
+     */
+    public void update(Observable o, Object arg) {
+        long observations = getObservations();
+        super.update(o, arg);
+        if (getObservations() > observations) {
+            addToBatch(getLastValue());
+        }
+    }
+
+    /**
+     * Sets the confidence level; default value is 0.95.
+     *
+     * @param level
+     *            double : the confidence level
+     */
+    public void setConfidenceLevel(double level) {
+        _confidenceLevel = level;
+    }
+
+    /**
+     * Returns the confidence level.
+     *
+     * @return double : the confidence level
+     */
+    public double getConfidenceLevel() {
+        return round(_confidenceLevel);
+    }
+
+    /**
+     * Sets the number of groups the batches remaining after truncation are
+     * combined to for the confidence interval; default is 20. Fewer groups
+     * are larger and thus less correlated, but yield a wider confidence
+     * interval.
+     *
+     * @param groups
+     *            int : The number of groups, at least 2
+     */
+    public void setNumberOfGroups(int groups) {
+        if (groups < 2) {
+            sendWarning("Invalid number of groups given! Command ignored.",
+                    "BatchMeans: " + this.getName()
+                            + " Method: void setNumberOfGroups(int groups)",
+                    "A confidence interval can not be based on less than two groups.",
+                    "Make sure to pass a number of at least 2 groups.");
+            return;
+        }
+        _groups = groups;
+    }
+
+    /**
+     * Returns the number of values per batch, which is 5 initially and
+     * doubles whenever the maximum number of batches has been filled.
+     *
+     * @return long : The number of values per batch
+     */
+    public long getBatchSize() {
+        return _batchSize;
+    }
+
+    /**
+     * Returns the number of batches filled so far.
+     *
+     * @return int : The number of batches filled
+     */
+    public int getNumberOfBatches() {
+        return _batches;
+    }
+
+    /**
+     * Returns the number of values observed during the warm-up period as
+     * determined by the MSER-5 rule, i.e. the number of values to be
+     * discarded when estimating the steady-state mean.
+     *
+     * @return long : The number of values in the warm-up period, 0 if there
+     *         are not sufficient batches yet
+     */
+    public long getWarmUpObservations() {
+        return determineTruncation() * _batchSize;
+    }
+
+    /**
+     * Returns the number of values the steady-state estimates are based on,
+     * i.e. the values of all batches filled after the warm-up period.
+     *
+     * @return long : The number of values after the warm-up period
+     */
+    public long getSteadyStateObservations() {
+        return (_batches - determineTruncation()) * _batchSize;
+    }
+
+    /**
+     * Returns the estimate of the steady-state mean, i.e. the mean of the
+     * values observed after the warm-up period.
+     *
+     * @return double : The steady-state mean
+     */
+    public double getSteadyStateMean() {
+        if (_batches == 0) {
+            sendWarning(
+                    "Attempt to get a steady-state mean, but there is not "
+                            + "sufficient data yet. UNDEFINED (-1.0) will be returned!",
+                    "BatchMeans: " + this.getName()
+                            + " Method: double getSteadyStateMean()",
+                    "A steady-state mean can not be estimated before the first "
+                            + "batch of values is complete.",
+                    "Make sure to ask for the steady-state mean only after some data "
+                            + "has been collected already.");
+            return UNDEFINED;
+        }
+        return round(steadyStateMean());
+    }
+
+    /**
+     * Calculates the lower bound of the confidence interval of the
+     * steady-state mean.
+     *
+     * @return double : The lower bound of the confidence interval of the
+     *         steady-state mean
+     */
+    public double getConfidenceIntervalOfSteadyStateMeanLowerBound() {
+        double halfWidth = calcConfidenceIntervalHalfWidth(
+                "double getConfidenceIntervalOfSteadyStateMeanLowerBound()");
+        return Double.isNaN(halfWidth) ? UNDEFINED : round(steadyStateMean()
+                - halfWidth);
+    }
+
+    /**
+     * Calculates the upper bound of the confidence interval of the
+     * steady-state mean.
+     *
+     * @return double : The upper bound of the confidence interval of the
+     *         steady-state mean
+     */
+    public double getConfidenceIntervalOfSteadyStateMeanUpperBound() {
+        double halfWidth = calcConfidenceIntervalHalfWidth(
+                "double getConfidenceIntervalOfSteadyStateMeanUpperBound()");
+        return Double.isNaN(halfWidth) ? UNDEFINED : round(steadyStateMean()
+                + halfWidth);
+    }
+
+    /**
+     * Tells whether there are sufficient batches after the warm-up period to
+     * compute a confidence interval of the steady-state mean.
+     *
+     * @return boolean : <code>true</code> if a confidence interval can be
+     *         computed
+     */
+    public boolean hasSufficientBatches() {
+        return _batches - determineTruncation() >= _groups;
+    }
+
+    /**
+     * Adds a value to the batch currently being filled.
+     */
+    private void addToBatch(double value) {
+        _partialSum += value;
+        if (++_partialCount < _batchSize) {
+            return;
+        }
+
+        // batch complete
+        _batchSums[_batches++] = _partialSum;
+        _partialSum = 0;
+        _partialCount = 0;
+        _truncation = -1;
+
+        // all batches filled: merge adjacent batches
+        if (_batches == _batchSums.length) {
+            for (int i = 0; i < _batches / 2; i++) {
+                _batchSums[i] = _batchSums[2 * i] + _batchSums[2 * i + 1];
+            }
+            _batches /= 2;
+            _batchSize *= 2;
+        }
+    }
+
+    /**
+     * Discards all batches.
+     */
+    private void clearBatches() {
+        if (_batchSums == null) {
+            return; // reset by the constructor of a superclass
+        }
+        _batches = 0;
+        _batchSize = MSER_BATCH_SIZE;
+        _partialSum = 0;
+        _partialCount = 0;
+        _truncation = -1;
+    }
+
+    /**
+     * Determines the truncation point (in batches) by the MSER rule, scanning
+     * the batch means from the end.
+     */
+    private int determineTruncation() {
+        if (_truncation >= 0) {
+            return _truncation;
+        }
+        int k = _batches;
+        int best = 0;
+        double bestMser = Double.POSITIVE_INFINITY;
+
+        // mean and sum of squared deviations of the batch means d..k-1
+        double mean = 0, ssd = 0;
+        for (int d = k - 1; d >= 0; d--) {
+            double z = _batchSums[d] / _batchSize;
+            int n = k - d;
+            double delta = z - mean;
+            mean += delta / n;
+            ssd += delta * (z - mean);
+            if (d <= k / 2) {
+                double mser = ssd / ((double) n * n);
+                if (mser <= bestMser) {
+                    bestMser = mser;
+                    best = d;
+                }
+            }
+        }
+        _truncation = best;
+        return best;
+    }
+
+    /**
+     * Returns the mean of the batch means after truncation.
+     */
+    private double steadyStateMean() {
+        int d = determineTruncation();
+        double sum = 0;
+        for (int i = d; i < _batches; i++) {
+            sum += _batchSums[i];
+        }
+        return sum / ((_batches - d) * (double) _batchSize);
+    }
+
+    /**
+     * Computes the half width of the confidence interval of the steady-state
+     * mean by grouping the batches after truncation, or returns
+     * <code>NaN</code> after sending a warning if there are not sufficient
+     * batches.
+     */
+    private double calcConfidenceIntervalHalfWidth(String method) {
+        int d = determineTruncation();
+        int remaining = _batches - d;
+        if (remaining < _groups) {
+            sendWarning(
+                    "Attempt to determine a confidence interval, but there is no "
+                            + "sufficient data yet. UNDEFINED (-1.0) will be returned!",
+                    "BatchMeans: " + this.getName() + " Method: " + method,
+                    "There are less batches after the warm-up period than groups to "
+                            + "build for the confidence interval.",
+                    "Make sure to collect more data or to reduce the number of groups.");
+            return Double.NaN;
+        }
+
+        // groups of equal size, dropping the first batches after truncation
+        int groupSize = remaining / _groups;
+        int first = _batches - groupSize * _groups;
+        double mean = 0, ssd = 0;
+        for (int g = 0; g < _groups; g++) {
+            double sum = 0;
+            for (int i = 0; i < groupSize; i++) {
+                sum += _batchSums[first + g * groupSize + i];
+            }
+            double groupMean = sum / (groupSize * (double) _batchSize);
+            double delta = groupMean - mean;
+            mean += delta / (g + 1);
+            ssd += delta * (groupMean - mean);
+        }
+        double s = Math.sqrt(ssd / (_groups - 1));
+
+        _tDistribution.setDegreesOfFreedom(_groups - 1);
+        try {
+            double t = _tDistribution
+                    .inverseCumulativeProbability(0.5 + _confidenceLevel / 2);
+            return t * s / Math.sqrt(_groups);
+        } catch (MathException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package desmoj.core.statistic;
+
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.StopTrigger;
+
+/**
+ * A stop trigger fulfilled once a <code>Count</code> reaches a given value,
+ * e.g. to stop an experiment after a given number of customers have been
+ * served. The trigger is checked only after events which have updated the
+ * count.
+ * 
+ * @see desmoj.core.simulator.Experiment#stop(desmoj.core.simulator.ModelCondition)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public class CountTrigger extends StopTrigger {
+
+	/**
+	 * The count watched.
+	 */
+	private Count _count;
+
+	/**
+	 * The value to reach.
+	 */
+	private long _value;
+
+	/**
+	 * Constructs a trigger fulfilled once the value of the given count is at
+	 * least the given value.
+	 * 
+	 * @param owner
+	 *            Model : The main model this trigger is associated to
+	 * @param name
+	 *            java.lang.String : The name of this trigger
+	 * @param showInTrace
+	 *            boolean : Flag for showing this trigger in trace-files
+	 * @param count
+	 *            Count : The count to watch
+	 * @param value
+	 *            long : The value to reach
+	 */
+	public CountTrigger(Model owner, String name, boolean showInTrace,
+			Count count, long value) {
+
+		super(owner, name, showInTrace, count);
+		_count = count;
+		_value = value;
+
+		if (count == null) {
+			sendWarning("Can not watch count! Trigger will never be fulfilled.",
+					"CountTrigger : " + getName() + " Constructor: "
+							+ "CountTrigger(Model, String, boolean, Count, long)",
+					"The count passed was a null reference.",
+					"Make sure to provide a valid count to watch.");
+		}
+
+	}
+
+	/**
+	 * Returns <code>true</code> if the value of the count is at least the
+	 * given value.
+	 * 
+	 * @return boolean : Is <code>true</code> if the value has been reached,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean check() {
+
+		return _count != null && _count.getValue() >= _value;
+
+	}
+
+	/**
+	 * Returns the value to reach.
+	 * 
+	 * @return long : The value to reach
+	 */
+	public long getValue() {
+
+		return _value;
+
+	}
+}
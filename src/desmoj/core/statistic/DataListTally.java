@@ -12,9 +12,12 @@ import desmoj.core.simulator.Reportable;
  * The <code>DataListTally</code> class is providing a statistic analysis about
  * one value. The mean value and the standard deviation is calculated on basis
  * of the total number of observations. All observed values are stored in a list
- * to be able to calculate quartiles or histograms.
+ * to be able to calculate quartiles or histograms. For large numbers of
+ * observations, consider a <code>QuantileTally</code>, which estimates
+ * quantiles in constant memory.
  * 
  * @see Tally
+ * @see QuantileTally
  * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
  * @author Tim Janz
  * 
@@ -37,6 +37,13 @@ public class Histogram extends desmoj.core.statistic.Tally {
    */
   private double[] _range;
 
+  /**
+   * The number of cells per unit of the interval if the cells are
+   * equidistant, allowing to compute the cell of a value arithmetically, or
+   * zero if the cell has to be searched for.
+   */
+  private double _cellsPerUnit;
+
   /**
    * The array representing the sections of the interval.
    */
@@ -381,6 +388,7 @@ public class Histogram extends desmoj.core.statistic.Tally {
       for(int i = 0; i < this._range.length-1; i++)
           this._range[i] = lowerLimit + i * (upperLimit - lowerLimit)/cells;
       this._range[this._range.length-1] = upperLimit;
+      this._cellsPerUnit = (upperLimit > lowerLimit) ? cells / (upperLimit - lowerLimit) : 0;
   }
 
   /**
@@ -480,9 +488,61 @@ public class Histogram extends desmoj.core.statistic.Tally {
 
       // Init range array;
       _range = range;
+      _cellsPerUnit = 0;
 
   }
 
+  /**
+   * Returns the cell a value belongs to: 0 for the underflow (including
+   * <code>NaN</code>), <code>range.length</code> for the overflow and
+   * <code>i + 1</code> for values in <code>[range[i], range[i+1])</code>.
+   * Equidistant cells are computed arithmetically in constant time, other
+   * cells are found by binary search in logarithmic time.
+   *
+   * @param range
+   *            double[] : The strictly ascending limits of the cells
+   * @param cellsPerUnit
+   *            double : The number of cells per unit if the cells are
+   *            equidistant, zero otherwise
+   * @param val
+   *            double : The value to find the cell for
+   * @return int : The cell the value belongs to
+   */
+  static int findCellIndex(double[] range, double cellsPerUnit, double val) {
+      int cells = range.length - 1;
+      if (!(val >= range[0])) { // underflow
+          return 0;
+      }
+      if (val >= range[cells]) { // overflow
+          return cells + 1;
+      }
+      int i;
+      if (cellsPerUnit > 0) {
+          i = Math.min((int) ((val - range[0]) * cellsPerUnit), cells - 1);
+          // correct rounding errors at the limits of the cells
+          while (val < range[i]) {
+              i--;
+          }
+          while (val >= range[i + 1]) {
+              i++;
+          }
+      } else {
+          // find the last lower limit not greater than the value
+          int lo = 0;
+          int hi = cells - 1;
+          while (lo < hi) {
+              int mid = (lo + hi + 1) >>> 1;
+              if (range[mid] <= val) {
+                  lo = mid;
+              } else {
+                  hi = mid - 1;
+              }
+          }
+          i = lo;
+      }
+      return i + 1;
+  }
+
   /**
    * Performs Pearson's Chi-square test on given frequencies, a fixed degree of freedom and desired probability.
    * The frequencies are given in an array either including under- and overflow cells or not. The degree of freedom is
@@ -854,31 +914,7 @@ public class Histogram extends desmoj.core.statistic.Tally {
       // get last value
       double val = getLastValue();
 
-      int n = 0; // to which cell does the value belong to?
-
-      if(val < this._range[0]){   // underflow
-          n = 0;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      //else if(val > this._range[this._range.length - 1]){ // overflow
-      else if(val >= this._range[this._range.length - 1]){ // overflow
-          n = this.getCells() + 1;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      /*
-      else if(val >= this._range[this._range.length - 2] && val <= this._range[this._range.length - 1]) { // last segment
-          n = this.getCells();
-      }
-      */
-      else {
-          for(int i = 0; i < this._range.length - 1; i++){
-              if (val >= this._range[i] && val < this._range[i+1]){
-                  n = i + 1;
-              }
-          }
-      }
-
-      _table[n]++;
+      _table[findCellIndex(this._range, this._cellsPerUnit, val)]++;
   }
 
   /**
@@ -895,31 +931,7 @@ public class Histogram extends desmoj.core.statistic.Tally {
   public void update(double val) {
       super.update(val); // update Tally
 
-      int n = 0; // to which cell does the value belong to?
-
-      if(val < this._range[0]){   // underflow
-          n = 0;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      //else if(val > this._range[this._range.length - 1]){ // overflow
-      else if(val >= this._range[this._range.length - 1]){ // overflow
-          n = this.getCells() + 1;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      /*
-      else if(val >= this._range[this._range.length - 2] && val <= this._range[this._range.length - 1]) { // last segment
-          n = this.getCells();
-      }
-      */
-      else {
-          for(int i = 0; i < this._range.length - 1; i++){
-              if (val >= this._range[i] && val < this._range[i+1]){
-                  n = i + 1;
-              }
-          }
-      }
-
-      _table[n]++;
+      _table[findCellIndex(this._range, this._cellsPerUnit, val)]++;
   }
 
   /**
@@ -961,30 +973,6 @@ public class Histogram extends desmoj.core.statistic.Tally {
       // get last value
       double val = getLastValue();
 
-      int n = 0; // to which cell does the value belong to?
-
-      if(val < this._range[0]){   // underflow
-          n = 0;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      //else if(val > this._range[this._range.length - 1]){ // overflow
-      else if(val >= this._range[this._range.length - 1]){ // overflow
-          n = this.getCells() + 1;
-      }
-      // changed at 6.12.2012 by Chr. M&uuml;ller (TH Wildau)
-      /*
-      else if(val >= this._range[this._range.length - 2] && val <= this._range[this._range.length - 1]) { // last segment
-          n = this.getCells();
-      }
-      */
-      else {
-          for(int i = 0; i < this._range.length - 1; i++){
-              if (val >= this._range[i] && val < this._range[i+1]){
-                  n = i + 1;
-              }
-          }
-      }
-
-      _table[n]++;
+      _table[findCellIndex(this._range, this._cellsPerUnit, val)]++;
   }
 } // end class Histogram
\ No newline at end of file
@@ -40,6 +40,13 @@ public class HistogramAccumulate extends desmoj.core.statistic.Accumulate {
    */
   private double[] _range;
 
+  /**
+   * The number of cells per unit of the interval if the cells are
+   * equidistant, allowing to compute the cell of a value arithmetically, or
+   * zero if the cell has to be searched for.
+   */
+  private double _cellsPerUnit;
+
   /**
    * The array representing the sections of the interval.
    */
@@ -358,6 +365,7 @@ public class HistogramAccumulate extends desmoj.core.statistic.Accumulate {
       for(int i = 0; i < this._range.length-1; i++)
           this._range[i] = lowerLimit + i * (upperLimit - lowerLimit)/cells;
       this._range[this._range.length-1] = upperLimit;
+      this._cellsPerUnit = (upperLimit > lowerLimit) ? cells / (upperLimit - lowerLimit) : 0;
   }
 
   /**
@@ -457,6 +465,7 @@ public class HistogramAccumulate extends desmoj.core.statistic.Accumulate {
 
       // Init range array;
       _range = range;
+      _cellsPerUnit = 0;
 
   }
   
@@ -711,21 +720,8 @@ public class HistogramAccumulate extends desmoj.core.statistic.Accumulate {
   }
   
   private int findCellIndex(double val){
-      int n = 0; // to which cell does the value belong to?
-      if(val < this._range[0]){ n = 0;  // underflow
-      //}else if(val > this._range[this._range.length - 1]){ // overflow
-      }else if(val >= this._range[this._range.length - 1]){ // overflow
-          n = this.getCells() + 1;
-      /*
-      }else if(val >= this._range[this._range.length - 2] && val <= this._range[this._range.length - 1]) { // last segment
-          n = this.getCells();
-      */
-      }else {
-          for(int i = 0; i < this._range.length - 1; i++){
-              if (val >= this._range[i] && val < this._range[i+1]) n = i + 1;
-          }
-      }
-      return n;
+      // constant time for equidistant cells, binary search otherwise
+      return Histogram.findCellIndex(this._range, this._cellsPerUnit, val);
   }
   
 } // end class Histogram
\ No newline at end of file
@@ -0,0 +1,399 @@
+package desmoj.core.statistic;
+
+import java.util.Observable;
+
+import desmoj.core.simulator.Model;
+
+/**
+ * The <code>LogLinearHistogram</code> class is providing a statistic analysis
+ * about values spanning several orders of magnitude, e.g. response times or
+ * latencies. Like a <code>Histogram</code>, it counts the values per cell, but
+ * its cells are logarithmic: each power of two between the lowest discernible
+ * and the highest trackable value is divided into the same number of
+ * equidistant cells (log-linear or HDR-style bucketing). Thus, the cells are
+ * narrow for small values and wide for large values, bounding the relative
+ * error of the percentiles reported instead of the absolute error, at a fixed
+ * memory footprint independent of the number of values.
+ * <p>
+ * The cell of a value is computed from the bits of its floating point
+ * representation in constant time. The number of significant decimal digits
+ * (1 to 5) determines the number of cells per power of two and thus the
+ * relative error, which is at most <code>10^-digits</code>. Values below the
+ * lowest discernible value (including zero and negative values) and values
+ * above the highest trackable value are counted in an under- resp. overflow.
+ * As a <code>Tally</code>, mean, standard deviation, minimum and maximum are
+ * exact.
+ *
+ * @see Histogram
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+public class LogLinearHistogram extends desmoj.core.statistic.Tally {
+
+  // ****** attributes ******
+
+  /**
+   * The lowest value discernible from zero.
+   */
+  private double _lowest;
+
+  /**
+   * The reciprocal of the lowest discernible value, scaling values to
+   * multiples of it.
+   */
+  private double _scale;
+
+  /**
+   * The highest value tracked.
+   */
+  private double _highest;
+
+  /**
+   * The number of significant decimal digits.
+   */
+  private int _digits;
+
+  /**
+   * The binary logarithm of the number of cells per power of two.
+   */
+  private int _subBits;
+
+  /**
+   * The cell counters, <code>1 &lt;&lt; _subBits</code> cells per power of
+   * two of the scaled value.
+   */
+  private long[] _counts;
+
+  /**
+   * The number of values below the lowest discernible value.
+   */
+  private long _underflow;
+
+  /**
+   * The number of values above the highest trackable value.
+   */
+  private long _overflow;
+
+  // ****** methods ******
+
+  /**
+   * Constructor for a LogLinearHistogram object that will NOT be connected to
+   * a <code>ValueSupplier</code>.
+   *
+   * @param ownerModel
+   *            Model : The model this LogLinearHistogram is associated to.
+   * @param name
+   *            java.lang.String : The name of this LogLinearHistogram object.
+   * @param lowest
+   *            double : The lowest value discernible from zero, larger than
+   *            zero.
+   * @param highest
+   *            double : The highest value tracked, larger than the lowest.
+   * @param digits
+   *            int : The number of significant decimal digits, 1 to 5.
+   * @param showInReport
+   *            boolean : Flag for showing the report about this
+   *            LogLinearHistogram.
+   * @param showInTrace
+   *            boolean : Flag for showing the trace output of this
+   *            LogLinearHistogram.
+   */
+  public LogLinearHistogram(Model ownerModel, String name, double lowest,
+          double highest, int digits, boolean showInReport, boolean showInTrace) {
+      super(ownerModel, name, showInReport, showInTrace);
+
+      if (!(lowest > 0) || Double.isInfinite(lowest)) {
+          sendWarning(
+                  "Attempt to produce a LogLinearHistogram with a lowest "
+                          + "discernible value which is not larger than zero. The lowest "
+                          + "value is set to one!",
+                  "LogLinearHistogram: " + this.getName()
+                          + " Constructor: LogLinearHistogram"
+                          + " (Model ownerModel, String name, double lowest, ...)",
+                  "The given lowest discernible value is zero, negative or not finite.",
+                  "Make sure to pass a positive lowest discernible value, e.g. the "
+                          + "resolution of the values observed.");
+          lowest = 1;
+      }
+      if (!(highest > lowest) || Double.isInfinite(highest)) {
+          sendWarning(
+                  "Attempt to produce a LogLinearHistogram with a highest "
+                          + "trackable value not larger than the lowest discernible value. "
+                          + "The highest value is set to 2^20 times the lowest value!",
+                  "LogLinearHistogram: " + this.getName()
+                          + " Constructor: LogLinearHistogram"
+                          + " (Model ownerModel, String name, ... double highest, ...)",
+                  "The given highest trackable value is not larger than the lowest "
+                          + "discernible value or not finite.",
+                  "Make sure the highest trackable value is larger than the lowest "
+                          + "discernible value.");
+          highest = lowest * (1 << 20);
+      }
+      if (digits < 1 || digits > 5) {
+          sendWarning(
+                  "Attempt to produce a LogLinearHistogram with an invalid "
+                          + "number of significant digits. The number of digits is set to "
+                          + "the nearest valid value!",
+                  "LogLinearHistogram: " + this.getName()
+                          + " Constructor: LogLinearHistogram"
+                          + " (Model ownerModel, String name, ... int digits, ...)",
+                  "The given number of significant digits is not in the range of 1 to 5.",
+                  "Make sure to pass a number of significant digits between 1 and 5.");
+          digits = Math.max(1, Math.min(5, digits));
+      }
+
+      this._lowest = lowest;
+      this._scale = 1.0 / lowest;
+      this._highest = highest;
+      this._digits = digits;
+      this._subBits = 64 - Long.numberOfLeadingZeros((long) Math.pow(10, digits) - 1);
+      initTable();
+  }
+
+  /**
+   * Returns the index of the cell the given value belongs to, -1 for the
+   * underflow and -2 for the overflow.
+   */
+  private int cellIndex(double val) {
+      if (!(val >= this._lowest)) {
+          return -1;
+      }
+      if (val > this._highest) {
+          return -2;
+      }
+      // exponent and leading mantissa bits of the scaled value (at least 1)
+      long bits = Double.doubleToRawLongBits(val * this._scale);
+      int exponent = (int) (bits >>> 52) - 1023;
+      int sub = (int) (bits >>> (52 - this._subBits)) & ((1 << this._subBits) - 1);
+      return (exponent << this._subBits) + sub;
+  }
+
+  /**
+   * Returns the lower limit of the cell with the given index.
+   */
+  private double lowerLimit(int index) {
+      int exponent = index >>> this._subBits;
+      int sub = index & ((1 << this._subBits) - 1);
+      return Math.scalb((1.0 + sub / (double) (1 << this._subBits)) * this._lowest, exponent);
+  }
+
+  /**
+   * Counts the given value in its cell.
+   */
+  private void count(double val) {
+      int index = cellIndex(val);
+      if (index >= 0) {
+          this._counts[index]++;
+      } else if (index == -1) {
+          this._underflow++;
+      } else {
+          this._overflow++;
+      }
+  }
+
+  /**
+   * Returns a Reporter to produce a report about this LogLinearHistogram.
+   *
+   * @return desmoj.report.Reporter : The Reporter for this LogLinearHistogram.
+   */
+  public desmoj.core.report.Reporter createDefaultReporter() {
+      return new desmoj.core.report.LogLinearHistogramReporter(this);
+  }
+
+  /**
+   * Returns the value below which the given percentage of the values observed
+   * fall, with a relative error of at most <code>getRelativeError()</code>.
+   * The value returned is the midpoint of the cell holding the percentile,
+   * limited to the minimum and maximum observed; percentiles in the under- or
+   * overflow are returned as the lowest discernible resp. highest trackable
+   * value, limited likewise. If no values have been observed,
+   * <code>UNDEFINED</code> (-1) will be returned.
+   *
+   * @param percentile
+   *            double : The percentage, 0 to 100.
+   * @return double : The value at the given percentile.
+   */
+  public double getValueAtPercentile(double percentile) {
+      long obs = this._underflow + this._overflow;
+      for (long c : this._counts) {
+          obs += c;
+      }
+      if (obs == 0) {
+          sendWarning("Attempt to get a percentile, but there is not "
+                  + "sufficient data yet. UNDEFINED (-1.0) will be returned!",
+                  "LogLinearHistogram: " + this.getName()
+                          + " Method: double getValueAtPercentile(double percentile)",
+                  "You can not calculate a percentile as long as no data is collected.",
+                  "Make sure to ask for percentiles only after some data has been "
+                          + "collected already.");
+          return UNDEFINED;
+      }
+      if (!(percentile >= 0 && percentile <= 100)) {
+          sendWarning("Attempt to get an invalid percentile. The percentile "
+                  + "is limited to the range of 0 to 100!",
+                  "LogLinearHistogram: " + this.getName()
+                          + " Method: double getValueAtPercentile(double percentile)",
+                  "The given percentage is not in the range of 0 to 100.",
+                  "Make sure to ask for percentiles between 0 and 100 only.");
+          percentile = (percentile > 100) ? 100 : 0;
+      }
+
+      // the rank of the value, 1 to obs
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * obs));
+      double value;
+      if (rank <= this._underflow) {
+          value = this._lowest;
+      } else {
+          long seen = this._underflow;
+          int index = 0;
+          while (index < this._counts.length && seen + this._counts[index] < rank) {
+              seen += this._counts[index];
+              index++;
+          }
+          if (index == this._counts.length) {
+              value = this._highest; // in the overflow
+          } else {
+              value = (lowerLimit(index) + lowerLimit(index + 1)) / 2;
+          }
+      }
+      return Math.max(getMinimum(), Math.min(getMaximum(), value));
+  }
+
+  /**
+   * Returns the maximum relative error of the percentiles, i.e. half the
+   * relative width of a cell.
+   *
+   * @return double : The maximum relative error of the percentiles.
+   */
+  public double getRelativeError() {
+      return 0.5 / (1 << this._subBits);
+  }
+
+  /**
+   * Returns the lowest value discernible from zero.
+   *
+   * @return double : The lowest discernible value.
+   */
+  public double getLowestDiscernibleValue() {
+      return this._lowest;
+  }
+
+  /**
+   * Returns the highest value tracked.
+   *
+   * @return double : The highest trackable value.
+   */
+  public double getHighestTrackableValue() {
+      return this._highest;
+  }
+
+  /**
+   * Returns the number of significant decimal digits.
+   *
+   * @return int : The number of significant decimal digits.
+   */
+  public int getSignificantDigits() {
+      return this._digits;
+  }
+
+  /**
+   * Returns the number of cells, excluding under- and overflow.
+   *
+   * @return int : The number of cells.
+   */
+  public int getCells() {
+      return this._counts.length;
+  }
+
+  /**
+   * Returns the number of values observed below the lowest discernible value.
+   *
+   * @return long : The number of values in the underflow.
+   */
+  public long getUnderflows() {
+      return this._underflow;
+  }
+
+  /**
+   * Returns the number of values observed above the highest trackable value.
+   *
+   * @return long : The number of values in the overflow.
+   */
+  public long getOverflows() {
+      return this._overflow;
+  }
+
+  /**
+   * Initializes the table by setting each cell counter to zero.
+   */
+  protected void initTable() {
+      this._counts = new long[cellIndex(this._highest) + 1];
+      this._underflow = this._overflow = 0;
+  }
+
+  /**
+   * Resets this LogLinearHistogram object by resetting the counters for each
+   * cell to zero.
+   */
+  public void reset() {
+      super.reset(); // reset the Tally, too.
+
+      // reset the cells only if the table already exists
+      if (this._counts != null) {
+          initTable();
+      }
+  }
+
+  /**
+   * Updates this <code>LogLinearHistogram</code> object by fetching the
+   * actual value of the <code>ValueSupplier</code> and processing it.
+   */
+  public void update() {
+      super.update(); // update Tally
+      count(getLastValue());
+  }
+
+  /**
+   * Updates this <code>LogLinearHistogram</code> object with the double
+   * value given as parameter.
+   *
+   * @param val
+   *            double : The value with which this
+   *            <code>LogLinearHistogram</code> will be updated.
+   */
+  public void update(double val) {
+      super.update(val); // update Tally
+      count(val);
+  }
+
+  /**
+   * Implementation of the virtual <code>update(Observable, Object)</code>
+   * method of the <code>Observer</code> interface. If no Object (a
+   * <code>null</code> value) is passed as arg, the actual value of the
+   * ValueSupplier will be fetched with the <code>value()</code> method of the
+   * ValueSupplier. Otherwise it is expected that the actual value is passed in
+   * the Object arg.
+   *
+   * @param o
+   *            java.util.Observable : The Observable calling this method
+   *            within its own <code>notifyObservers()</code> method.
+   * @param arg
+   *            Object : The Object with which this
+   *            <code>LogLinearHistogram</code> is updated. Normally a double
+   *            number which is added to the statistics or <code>null</code>.
+   */
+  public void update(Observable o, Object arg) {
+      super.update(o, arg); // update Tally
+      count(getLastValue());
+  }
+}
@@ -0,0 +1,501 @@
+package desmoj.core.statistic;
+
+import org.apache.commons.math.MathException;
+import org.apache.commons.math.distribution.TDistributionImpl;
+
+/**
+ * The <code>MergedStatistic</code> combines the results of a
+ * <code>Tally</code>, <code>Accumulate</code> or <code>Count</code> of the
+ * same name over several independent replications of an experiment, e.g. as
+ * run by the <code>ReplicationRunner</code>. Two kinds of estimates are
+ * provided:
+ * <ul>
+ * <li>Pooled estimates treat all observations of all replications as one
+ * sample: The pooled mean and standard deviation of tallies are those of all
+ * values observed, the pooled mean and standard deviation of accumulates are
+ * weighted over the total period measured in all replications. Counts
+ * contribute their final values as observations. Minimum and maximum are
+ * taken over all replications.</li>
+ * <li>Across-replication estimates treat the result of each replication
+ * (the mean of a tally or accumulate, the final value of a count) as one
+ * observation. As replications are independent, so are these observations,
+ * thus the confidence interval of the mean of replication results is valid even
+ * if the values observed within a replication are correlated.</li>
+ * </ul>
+ * The t-digests of <code>QuantileTally</code> objects are merged, too, so
+ * quantiles of all values observed in all replications can be estimated by
+ * <code>getQuantile(double)</code>.
+ * <p>
+ * Pooled means and variances are combined with the parallel algorithm of Chan
+ * et al., so merging is exact (up to rounding errors) regardless of the order
+ * replications finish in. All merging methods are synchronized, so
+ * replications running in parallel may merge their results into the same
+ * object. Unlike the statistic objects of a model, merged statistics do not
+ * belong to a model and thus do not send warnings; <code>NaN</code> is
+ * returned if there is not sufficient data.
+ *
+ * @see Tally
+ * @see Accumulate
+ * @see Count
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *          Licensed under the Apache License, Version 2.0 (the "License"); you
+ *          may not use this file except in compliance with the License. You
+ *          may obtain a copy of the License at
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *          Unless required by applicable law or agreed to in writing, software
+ *          distributed under the License is distributed on an "AS IS" BASIS,
+ *          WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *          implied. See the License for the specific language governing
+ *          permissions and limitations under the License.
+ *
+ */
+public class MergedStatistic {
+
+    /**
+     * The kinds of statistic objects that can be merged.
+     */
+    public enum Kind {
+        /** Merged <code>Tally</code> objects. */
+        TALLY,
+        /** Merged <code>Accumulate</code> objects. */
+        ACCUMULATE,
+        /** Merged <code>Count</code> objects. */
+        COUNT
+    }
+
+    /**
+     * The name of the statistic objects merged.
+     */
+    private final String _name;
+
+    /**
+     * The kind of statistic objects merged.
+     */
+    private final Kind _kind;
+
+    /**
+     * The total weight of all observations merged, i.e. the number of
+     * observations of tallies and counts or the period measured (in epsilon)
+     * of accumulates.
+     */
+    private double _weight;
+
+    /**
+     * The number of values observed in all replications merged.
+     */
+    private long _observations;
+
+    /**
+     * The pooled mean.
+     */
+    private double _mean;
+
+    /**
+     * The pooled sum of the (weighted) squares of the differences from the
+     * mean.
+     */
+    private double _sumOfSquaredDevsFromMean;
+
+    /**
+     * The minimum over all replications.
+     */
+    private double _min = Double.NaN;
+
+    /**
+     * The maximum over all replications.
+     */
+    private double _max = Double.NaN;
+
+    /**
+     * The number of replications merged.
+     */
+    private int _replications;
+
+    /**
+     * The number of replications contributing a result, i.e. those with
+     * observations.
+     */
+    private int _replicationResults;
+
+    /**
+     * The mean of the replication results.
+     */
+    private double _replicationMean;
+
+    /**
+     * The sum of the squares of the differences of the replication results
+     * from their mean.
+     */
+    private double _replicationSumOfSquaredDevsFromMean;
+
+    /**
+     * The merged t-digests of the <code>QuantileTally</code> objects merged,
+     * <code>null</code> if none.
+     */
+    private TDigest _digest;
+
+    /**
+     * Creates an empty merged statistic.
+     *
+     * @param name
+     *            java.lang.String : The name of the statistic objects to merge
+     * @param kind
+     *            Kind : The kind of statistic objects to merge
+     */
+    public MergedStatistic(String name, Kind kind) {
+        _name = name;
+        _kind = kind;
+    }
+
+    /**
+     * Returns the kind of merged statistic the given statistic object can be
+     * merged into.
+     *
+     * @param statistic
+     *            StatisticObject : A statistic object
+     * @return Kind : The kind of the statistic object or <code>null</code> if
+     *         statistic objects of its class cannot be merged
+     */
+    public static Kind kindOf(StatisticObject statistic) {
+        if (statistic instanceof Tally) {
+            return Kind.TALLY;
+        }
+        if (statistic instanceof Accumulate) {
+            return Kind.ACCUMULATE;
+        }
+        if (statistic instanceof Count) {
+            return Kind.COUNT;
+        }
+        return null;
+    }
+
+    /**
+     * Merges the result of a replication, i.e. the statistic object given,
+     * which has to be of the kind of this merged statistic. Statistic objects
+     * without observations are counted as replications, but do not
+     * contribute to the estimates.
+     *
+     * @param statistic
+     *            StatisticObject : The <code>Tally</code>,
+     *            <code>Accumulate</code> or <code>Count</code> to merge
+     * @throws IllegalArgumentException
+     *             if the statistic object is not of the kind of this merged
+     *             statistic
+     */
+    public synchronized void merge(StatisticObject statistic) {
+
+        if (kindOf(statistic) != _kind) {
+            throw new IllegalArgumentException("Can not merge "
+                    + statistic.getClass().getName() + " '" + statistic.getName()
+                    + "' into merged statistic '" + _name + "' of kind " + _kind
+                    + ".");
+        }
+        _replications++;
+
+        switch (_kind) {
+        case TALLY:
+            Tally tally = (Tally) statistic;
+            if (tally.getObservations() > 0) {
+                combine(tally.getObservations(), tally.getObservations(),
+                        tally.getUnroundedMean(),
+                        tally.getSumOfSquaredDevsFromMean(),
+                        tally.getUnroundedMinimum(),
+                        tally.getUnroundedMaximum());
+                addReplicationResult(tally.getUnroundedMean());
+            }
+            if (tally instanceof QuantileTally) {
+                mergeDigest(((QuantileTally) tally).getDigest());
+            }
+            break;
+        case ACCUMULATE:
+            Accumulate accumulate = (Accumulate) statistic;
+            long period = accumulate.getPeriodMeasured().getTimeInEpsilon();
+            double mean = period > 0 ? accumulate.getUnroundedMean()
+                    : Double.NaN;
+            if (!Double.isNaN(mean)) {
+                combine(accumulate.getObservations(), period, mean,
+                        accumulate.getSumOfSquaredDevsFromMean(),
+                        accumulate.getUnroundedMinimum(),
+                        accumulate.getUnroundedMaximum());
+                addReplicationResult(mean);
+            }
+            break;
+        case COUNT:
+            Count count = (Count) statistic;
+            combine(1, 1, count.getValue(), 0, count.getMinimum(),
+                    count.getMaximum());
+            addReplicationResult(count.getValue());
+            break;
+        }
+    }
+
+    /**
+     * Merges another merged statistic of the same kind into this one, e.g. to
+     * combine the results of several runs of replications.
+     *
+     * @param other
+     *            MergedStatistic : The merged statistic to merge
+     * @throws IllegalArgumentException
+     *             if the other merged statistic is not of the kind of this
+     *             merged statistic
+     */
+    public void merge(MergedStatistic other) {
+
+        if (other._kind != _kind) {
+            throw new IllegalArgumentException("Can not merge merged statistic '"
+                    + other._name + "' of kind " + other._kind
+                    + " into merged statistic '" + _name + "' of kind "
+                    + _kind + ".");
+        }
+
+        // take a consistent snapshot of the other statistic first to
+        // avoid holding both locks at a time
+        double weight, mean, ssd, min, max, repMean, repSsd;
+        long observations;
+        int replications, otherResults;
+        TDigest digest;
+        synchronized (other) {
+            weight = other._weight;
+            observations = other._observations;
+            mean = other._mean;
+            ssd = other._sumOfSquaredDevsFromMean;
+            min = other._min;
+            max = other._max;
+            replications = other._replications;
+            otherResults = other._replicationResults;
+            repMean = other._replicationMean;
+            repSsd = other._replicationSumOfSquaredDevsFromMean;
+            digest = other._digest == null ? null : new TDigest(other._digest);
+        }
+
+        synchronized (this) {
+            if (weight > 0) {
+                combine(observations, weight, mean, ssd, min, max);
+            }
+            // pool the replication results like the observations
+            if (otherResults > 0) {
+                double n = _replicationResults + otherResults;
+                double delta = repMean - _replicationMean;
+                _replicationMean += delta * otherResults / n;
+                _replicationSumOfSquaredDevsFromMean += repSsd + delta * delta
+                        * _replicationResults * otherResults / n;
+                _replicationResults += otherResults;
+            }
+            _replications += replications;
+            if (digest != null) {
+                mergeDigest(digest);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the statistic objects merged.
+     *
+     * @return java.lang.String : The name of the statistic objects merged
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * Returns the kind of the statistic objects merged.
+     *
+     * @return Kind : The kind of the statistic objects merged
+     */
+    public Kind getKind() {
+        return _kind;
+    }
+
+    /**
+     * Returns the number of replications merged.
+     *
+     * @return int : The number of replications merged
+     */
+    public synchronized int getReplications() {
+        return _replications;
+    }
+
+    /**
+     * Returns the number of values observed in all replications merged (the
+     * number of replications for counts).
+     *
+     * @return long : The number of values observed in all replications
+     */
+    public synchronized long getObservations() {
+        return _observations;
+    }
+
+    /**
+     * Returns the pooled mean of all replications.
+     *
+     * @return double : The pooled mean, <code>NaN</code> if there are no
+     *         observations
+     */
+    public synchronized double getMean() {
+        return _weight > 0 ? _mean : Double.NaN;
+    }
+
+    /**
+     * Returns the pooled standard deviation of all replications.
+     *
+     * @return double : The pooled standard deviation, <code>NaN</code> if
+     *         there is not sufficient data
+     */
+    public synchronized double getStdDev() {
+        if (_kind == Kind.ACCUMULATE) {
+            return _weight > 0 ? Math.sqrt(_sumOfSquaredDevsFromMean / _weight)
+                    : Double.NaN;
+        }
+        return _weight > 1 ? Math.sqrt(_sumOfSquaredDevsFromMean
+                / (_weight - 1)) : Double.NaN;
+    }
+
+    /**
+     * Returns the minimum over all replications.
+     *
+     * @return double : The minimum, <code>NaN</code> if there are no
+     *         observations
+     */
+    public synchronized double getMinimum() {
+        return _min;
+    }
+
+    /**
+     * Returns the maximum over all replications.
+     *
+     * @return double : The maximum, <code>NaN</code> if there are no
+     *         observations
+     */
+    public synchronized double getMaximum() {
+        return _max;
+    }
+
+    /**
+     * Returns the estimated value below which the given fraction of all
+     * values observed in all replications fall, based on the merged t-digests
+     * of <code>QuantileTally</code> objects.
+     *
+     * @param q
+     *            double : The fraction, 0 to 1
+     * @return double : The estimated quantile, <code>NaN</code> if no
+     *         <code>QuantileTally</code> with observations has been merged
+     */
+    public synchronized double getQuantile(double q) {
+        return _digest == null ? Double.NaN : _digest.getQuantile(q);
+    }
+
+    /**
+     * Returns a copy of the merged t-digests of the
+     * <code>QuantileTally</code> objects merged.
+     *
+     * @return TDigest : A copy of the merged t-digest, <code>null</code> if
+     *         no <code>QuantileTally</code> has been merged
+     */
+    public synchronized TDigest getDigest() {
+        return _digest == null ? null : new TDigest(_digest);
+    }
+
+    /**
+     * Returns the mean of the replication results, i.e. of the means of
+     * tallies and accumulates or of the final values of counts.
+     *
+     * @return double : The mean of the replication results, <code>NaN</code>
+     *         if there are none
+     */
+    public synchronized double getReplicationMean() {
+        return _replicationResults > 0 ? _replicationMean : Double.NaN;
+    }
+
+    /**
+     * Returns the standard deviation of the replication results.
+     *
+     * @return double : The standard deviation of the replication results,
+     *         <code>NaN</code> if there are less than two
+     */
+    public synchronized double getReplicationStdDev() {
+        int n = _replicationResults;
+        return n > 1 ? Math.sqrt(_replicationSumOfSquaredDevsFromMean / (n - 1))
+                : Double.NaN;
+    }
+
+    /**
+     * Returns the half width of the confidence interval of the mean of the
+     * replication results, based on the t-distribution like the
+     * <code>ConfidenceCalculator</code>.
+     *
+     * @param confidenceLevel
+     *            double : The confidence level, e.g. 0.95
+     * @return double : The half width of the confidence interval,
+     *         <code>NaN</code> if there are less than two replication results
+     */
+    public synchronized double getConfidenceIntervalHalfWidth(
+            double confidenceLevel) {
+        int n = _replicationResults;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        try {
+            double t = new TDistributionImpl(n - 1)
+                    .inverseCumulativeProbability(0.5 + confidenceLevel / 2);
+            return t * getReplicationStdDev() / Math.sqrt(n);
+        } catch (MathException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns a short description of this merged statistic.
+     *
+     * @return java.lang.String : The name, kind and main estimates
+     */
+    public synchronized String toString() {
+        return _name + " (" + _kind + ", " + _replications
+                + " replications): mean=" + getMean() + " stdDev="
+                + getStdDev() + " min=" + _min + " max=" + _max;
+    }
+
+    /**
+     * Adds a replication result to the across-replication estimates
+     * (Welford's algorithm).
+     */
+    private void addReplicationResult(double result) {
+        _replicationResults++;
+        double old = _replicationMean;
+        _replicationMean += (result - _replicationMean) / _replicationResults;
+        _replicationSumOfSquaredDevsFromMean += (result - old)
+                * (result - _replicationMean);
+    }
+
+    /**
+     * Merges a t-digest owned by this merged statistic from now on.
+     */
+    private void mergeDigest(TDigest digest) {
+        if (_digest == null) {
+            _digest = digest;
+        } else {
+            _digest.merge(digest);
+        }
+    }
+
+    /**
+     * Combines the pooled estimates with those of another sample.
+     */
+    private void combine(long observations, double weight, double mean,
+            double sumOfSquaredDevsFromMean, double min, double max) {
+        double total = _weight + weight;
+        double delta = mean - _mean;
+        _mean += delta * weight / total;
+        _sumOfSquaredDevsFromMean += sumOfSquaredDevsFromMean + delta * delta
+                * _weight * weight / total;
+        _weight = total;
+        _observations += observations;
+        if (Double.isNaN(_min) || min < _min) {
+            _min = min;
+        }
+        if (Double.isNaN(_max) || max > _max) {
+            _max = max;
+        }
+    }
+}
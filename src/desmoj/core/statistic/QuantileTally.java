@@ -0,0 +1,275 @@
+package desmoj.core.statistic;
+
+import java.util.Observable;
+
+import desmoj.core.simulator.Model;
+
+/**
+ * The <code>QuantileTally</code> class is providing a statistic analysis about
+ * one value like a <code>Tally</code>, adding estimates of quantiles like the
+ * median or the 99% quantile. Unlike <code>DataListTally</code>, which stores
+ * every value observed and sorts them to get quartiles, the values are
+ * summarized by a <code>TDigest</code> of constant memory, so neither memory
+ * nor the time needed for the report grow with the number of observations.
+ * <p>
+ * The percentiles reported are 50%, 90%, 99% and 99.9% by default, see
+ * <code>setReportedPercentiles(double[])</code>; any percentile can be
+ * estimated by <code>getPercentile(double)</code>. The digests of several
+ * replications can be combined via <code>getDigest()</code> and
+ * <code>TDigest.merge(TDigest)</code>; a <code>MergedStatistic</code> does so
+ * for the replications of a <code>ReplicationRunner</code>.
+ *
+ * @see Tally
+ * @see TDigest
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ *
+ */
+public class QuantileTally extends Tally {
+
+	// ****** attributes ******
+
+	/**
+	 * The default compression of the t-digest.
+	 */
+	public static final double DEFAULT_COMPRESSION = 200;
+
+	/**
+	 * The t-digest summarizing the values observed.
+	 */
+	private TDigest _digest;
+
+	/**
+	 * The percentiles shown in the report.
+	 */
+	private double[] _reportedPercentiles = { 50, 90, 99, 99.9 };
+
+	// ****** methods ******
+
+	/**
+	 * Constructor for a QuantileTally object that has no connection to a
+	 * <code>ValueSupplier</code>, using the default compression.
+	 *
+	 * @param ownerModel
+	 *            Model : The model this QuantileTally is associated to
+	 * @param name
+	 *            java.lang.String : The name of this QuantileTally object
+	 * @param showInReport
+	 *            boolean : Flag for showing the report about this
+	 *            QuantileTally.
+	 * @param showInTrace
+	 *            boolean : Flag for showing the trace output of this
+	 *            QuantileTally.
+	 */
+	public QuantileTally(Model ownerModel, String name, boolean showInReport,
+			boolean showInTrace) {
+		this(ownerModel, name, DEFAULT_COMPRESSION, showInReport, showInTrace);
+	}
+
+	/**
+	 * Constructor for a QuantileTally object that has no connection to a
+	 * <code>ValueSupplier</code>.
+	 *
+	 * @param ownerModel
+	 *            Model : The model this QuantileTally is associated to
+	 * @param name
+	 *            java.lang.String : The name of this QuantileTally object
+	 * @param compression
+	 *            double : The compression of the t-digest, at least 10. Larger
+	 *            values give more accurate estimates at the cost of memory.
+	 * @param showInReport
+	 *            boolean : Flag for showing the report about this
+	 *            QuantileTally.
+	 * @param showInTrace
+	 *            boolean : Flag for showing the trace output of this
+	 *            QuantileTally.
+	 */
+	public QuantileTally(Model ownerModel, String name, double compression,
+			boolean showInReport, boolean showInTrace) {
+		super(ownerModel, name, showInReport, showInTrace);
+		_digest = new TDigest(compression);
+	}
+
+	/**
+	 * Constructor for a QuantileTally object that is connected to a
+	 * <code>ValueSupplier</code>, using the default compression.
+	 *
+	 * @param ownerModel
+	 *            Model : The model this QuantileTally is associated to
+	 * @param name
+	 *            java.lang.String : The name of this QuantileTally object
+	 * @param valSup
+	 *            ValueSupplier : The ValueSupplier providing the value for this
+	 *            QuantileTally. The given ValueSupplier will be observed by
+	 *            this QuantileTally object.
+	 * @param showInReport
+	 *            boolean : Flag for showing the report about this
+	 *            QuantileTally.
+	 * @param showInTrace
+	 *            boolean : Flag for showing the trace output of this
+	 *            QuantileTally.
+	 */
+	public QuantileTally(Model ownerModel, String name, ValueSupplier valSup,
+			boolean showInReport, boolean showInTrace) {
+		super(ownerModel, name, valSup, showInReport, showInTrace);
+		_digest = new TDigest(DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Returns a Reporter to produce a report about this QuantileTally.
+	 *
+	 * @return desmoj.report.Reporter : The Reporter for this QuantileTally.
+	 */
+	public desmoj.core.report.Reporter createDefaultReporter() {
+		return new desmoj.core.report.QuantileTallyReporter(this);
+	}
+
+	/**
+	 * Returns the estimated value below which the given percentage of the
+	 * values observed fall. The 0% and 100% percentiles are the exact minimum
+	 * and maximum.
+	 *
+	 * @param percentile
+	 *            double : The percentage, 0 to 100.
+	 * @return double : The estimated percentile, UNDEFINED (-1) if no values
+	 *         have been observed.
+	 */
+	public double getPercentile(double percentile) {
+		if (getObservations() == 0 || _digest.getCount() == 0) {
+			sendWarning("Attempt to get a percentile, but there is not "
+					+ "sufficient data yet. UNDEFINED (-1.0) will be returned!",
+					"QuantileTally: " + this.getName()
+							+ " Method: double getPercentile(double percentile)",
+					"You can not estimate a percentile as long as no data is collected.",
+					"Make sure to ask for percentiles only after some data has been "
+							+ "collected already.");
+			return UNDEFINED;
+		}
+		if (!(percentile >= 0 && percentile <= 100)) {
+			sendWarning("Attempt to get an invalid percentile. The percentile "
+					+ "is limited to the range of 0 to 100!",
+					"QuantileTally: " + this.getName()
+							+ " Method: double getPercentile(double percentile)",
+					"The given percentage is not in the range of 0 to 100.",
+					"Make sure to ask for percentiles between 0 and 100 only.");
+			percentile = (percentile > 100) ? 100 : 0;
+		}
+		return round(_digest.getQuantile(percentile / 100));
+	}
+
+	/**
+	 * Returns a copy of the t-digest summarizing the values observed since the
+	 * last reset, e.g. to merge the digests of several replications.
+	 *
+	 * @return TDigest : A copy of the t-digest of this QuantileTally.
+	 */
+	public TDigest getDigest() {
+		return new TDigest(_digest);
+	}
+
+	/**
+	 * Returns the percentiles shown in the report.
+	 *
+	 * @return double[] : The percentiles reported, 0 to 100.
+	 */
+	public double[] getReportedPercentiles() {
+		return _reportedPercentiles.clone();
+	}
+
+	/**
+	 * Sets the percentiles shown in the report, 50%, 90%, 99% and 99.9% by
+	 * default.
+	 *
+	 * @param percentiles
+	 *            double[] : The percentiles to report, 0 to 100.
+	 */
+	public void setReportedPercentiles(double[] percentiles) {
+		if (percentiles == null) {
+			sendWarning("Attempt to report no percentiles. The command will be "
+					+ "ignored!",
+					"QuantileTally: " + this.getName()
+							+ " Method: void setReportedPercentiles(double[] percentiles)",
+					"The given array of percentiles is only a null pointer.",
+					"Make sure to pass an array of percentiles, which may be empty.");
+			return;
+		}
+		for (double p : percentiles) {
+			if (!(p >= 0 && p <= 100)) {
+				sendWarning("Attempt to report an invalid percentile. The command "
+						+ "will be ignored!",
+						"QuantileTally: " + this.getName()
+								+ " Method: void setReportedPercentiles(double[] percentiles)",
+						"The percentage " + p + " is not in the range of 0 to 100.",
+						"Make sure to report percentiles between 0 and 100 only.");
+				return;
+			}
+		}
+		_reportedPercentiles = percentiles.clone();
+	}
+
+	/**
+	 * Resets this QuantileTally object by resetting all variables and the
+	 * t-digest.
+	 */
+	public void reset() {
+		super.reset(); // reset the Tally, too.
+
+		// reset the digest only if it already exists
+		if (_digest != null) {
+			_digest.reset();
+		}
+	}
+
+	/**
+	 * Updates this <code>QuantileTally</code> object by fetching the actual
+	 * value of the <code>ValueSupplier</code> and processing it.
+	 */
+	public void update() {
+		super.update(); // update Tally
+		_digest.add(getLastValue());
+	}
+
+	/**
+	 * Updates this <code>QuantileTally</code> object with the double value
+	 * given as parameter.
+	 *
+	 * @param val
+	 *            double : The value with which this <code>QuantileTally</code>
+	 *            will be updated.
+	 */
+	public void update(double val) {
+		super.update(val); // update Tally
+		_digest.add(val);
+	}
+
+	/**
+	 * Implementation of the virtual <code>update(Observable, Object)</code>
+	 * method of the <code>Observer</code> interface. If no Object (a
+	 * <code>null</code> value) is passed as arg, the actual value of the
+	 * ValueSupplier will be fetched with the <code>value()</code> method of the
+	 * ValueSupplier. Otherwise it is expected that the actual value is passed in
+	 * the Object arg.
+	 *
+	 * @param o
+	 *            java.util.Observable : The Observable calling this method
+	 *            within its own <code>notifyObservers()</code> method.
+	 * @param arg
+	 *            Object : The Object with which this
+	 *            <code>QuantileTally</code> is updated. Normally a double
+	 *            number which is added to the statistics or <code>null</code>.
+	 */
+	public void update(Observable o, Object arg) {
+		super.update(o, arg); // update Tally
+		_digest.add(getLastValue());
+	}
+}
@@ -158,9 +158,11 @@ public abstract class StatisticObject extends desmoj.core.simulator.Reportable
 	}
 
 	/**
-	 * Leaves a message in the trace that this StatisticObject has been updated.
+	 * Leaves a message in the trace that this StatisticObject has been updated
+	 * and notifies the stop triggers watching it.
 	 */
 	protected void traceUpdate() {
+		notifyStopTriggers();
 		if (currentlySendTraceNotes()) {
 			sendTraceNote("updates " + this.getQuotedName());
 		} // tell in the trace which StatisticObject is updated
@@ -166,6 +166,26 @@ public class Tally extends desmoj.core.statistic.ValueStatistics {
         return round(stdDev);
     }
 
+    /**
+     * Returns the mean value of all the values observed so far without
+     * rounding, e.g. to merge this tally with others.
+     * 
+     * @return double : The unrounded mean value
+     */
+    double getUnroundedMean() {
+        return _mean;
+    }
+
+    /**
+     * Returns the sum of the squares of the differences from the mean of all
+     * the values observed so far, e.g. to merge this tally with others.
+     * 
+     * @return double : The sum of the squared deviations from the mean
+     */
+    double getSumOfSquaredDevsFromMean() {
+        return _sumOfSquaredDevsFromMean;
+    }
+
 	/**
 	 * Resets this Tally object by resetting all variables to 0.0 .
 	 */
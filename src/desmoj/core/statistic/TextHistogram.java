@@ -413,9 +413,11 @@ desmoj.core.simulator.Reportable implements java.util.Observer {
 	}
 	
 	/**
-     * Leaves a message in the trace that this StatisticObject has been updated.
+     * Leaves a message in the trace that this StatisticObject has been updated
+     * and notifies the stop triggers watching it.
      */
     protected void traceUpdate() {
+        notifyStopTriggers();
         if (currentlySendTraceNotes()) {
             sendTraceNote("updates " + this.getQuotedName());
         } // tell in the trace which StatisticObject is updated
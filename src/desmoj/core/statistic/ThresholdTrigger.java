@@ -0,0 +1,179 @@
+package desmoj.core.statistic;
+
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.StopTrigger;
+
+/**
+ * A stop trigger fulfilled once a measure of a <code>ValueStatistics</code>
+ * crosses a given threshold, e.g. to stop an experiment once the maximum
+ * waiting time recorded by a tally exceeds a limit. The trigger is checked
+ * only after events which have updated the statistic. The measures supported
+ * are the last value, the minimum, the maximum and, for a <code>Tally</code>,
+ * the mean.
+ * 
+ * @see desmoj.core.simulator.Experiment#stop(desmoj.core.simulator.ModelCondition)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ * 
+ *         Licensed under the Apache License, Version 2.0 (the "License"); you
+ *         may not use this file except in compliance with the License. You may
+ *         obtain a copy of the License at
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ *         Unless required by applicable law or agreed to in writing, software
+ *         distributed under the License is distributed on an "AS IS" BASIS,
+ *         WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ *         implied. See the License for the specific language governing
+ *         permissions and limitations under the License.
+ * 
+ */
+public class ThresholdTrigger extends StopTrigger {
+
+	/**
+	 * The measures of a statistic a threshold can be set for.
+	 */
+	public enum Measure {
+
+		/** The value the statistic has been updated with last. */
+		LAST,
+
+		/** The minimum value observed. */
+		MINIMUM,
+
+		/** The maximum value observed. */
+		MAXIMUM,
+
+		/** The mean value observed, available for <code>Tally</code> only. */
+		MEAN
+	}
+
+	/**
+	 * The statistic watched.
+	 */
+	private ValueStatistics _statistic;
+
+	/**
+	 * The measure compared to the threshold.
+	 */
+	private Measure _measure;
+
+	/**
+	 * The threshold.
+	 */
+	private double _threshold;
+
+	/**
+	 * Flag indicating if the trigger is fulfilled at or above the threshold
+	 * (<code>true</code>) or at or below the threshold (<code>false</code>).
+	 */
+	private boolean _above;
+
+	/**
+	 * Constructs a trigger fulfilled once the given measure of the statistic
+	 * reaches the threshold from below (<code>above</code> is
+	 * <code>true</code>) or from above (<code>above</code> is
+	 * <code>false</code>). The trigger is not fulfilled as long as the
+	 * statistic has no observations.
+	 * 
+	 * @param owner
+	 *            Model : The main model this trigger is associated to
+	 * @param name
+	 *            java.lang.String : The name of this trigger
+	 * @param showInTrace
+	 *            boolean : Flag for showing this trigger in trace-files
+	 * @param statistic
+	 *            ValueStatistics : The statistic to watch
+	 * @param measure
+	 *            Measure : The measure of the statistic to compare to the
+	 *            threshold
+	 * @param threshold
+	 *            double : The threshold
+	 * @param above
+	 *            boolean : Flag for being fulfilled at or above the threshold
+	 *            (<code>true</code>) or at or below the threshold (
+	 *            <code>false</code>)
+	 */
+	public ThresholdTrigger(Model owner, String name, boolean showInTrace,
+			ValueStatistics statistic, Measure measure, double threshold,
+			boolean above) {
+
+		super(owner, name, showInTrace, statistic);
+		_statistic = statistic;
+		_measure = (measure == null) ? Measure.LAST : measure;
+		_threshold = threshold;
+		_above = above;
+
+		if (statistic == null) {
+			sendWarning(
+					"Can not watch statistic! Trigger will never be fulfilled.",
+					"ThresholdTrigger : " + getName() + " Constructor: "
+							+ "ThresholdTrigger(Model, String, boolean, "
+							+ "ValueStatistics, Measure, double, boolean)",
+					"The statistic passed was a null reference.",
+					"Make sure to provide a valid statistic to watch.");
+		} else if (_measure == Measure.MEAN && !(statistic instanceof Tally)) {
+			sendWarning(
+					"Can not watch mean of statistic! The last value is "
+							+ "watched instead.",
+					"ThresholdTrigger : " + getName() + " Constructor: "
+							+ "ThresholdTrigger(Model, String, boolean, "
+							+ "ValueStatistics, Measure, double, boolean)",
+					"The statistic " + statistic.getName()
+							+ " is not a Tally.",
+					"Make sure to watch the mean of Tally objects only.");
+			_measure = Measure.LAST;
+		}
+
+	}
+
+	/**
+	 * Returns <code>true</code> if the measure of the statistic has reached
+	 * the threshold.
+	 * 
+	 * @return boolean : Is <code>true</code> if the threshold has been
+	 *         reached, <code>false</code> otherwise
+	 */
+	public boolean check() {
+
+		if (_statistic == null || _statistic.getObservations() == 0) {
+			return false;
+		}
+		double value;
+		switch (_measure) {
+		case MINIMUM:
+			value = _statistic.getMinimum();
+			break;
+		case MAXIMUM:
+			value = _statistic.getMaximum();
+			break;
+		case MEAN:
+			value = ((Tally) _statistic).getMean();
+			break;
+		default:
+			value = _statistic.getLastValue();
+		}
+		return _above ? value >= _threshold : value <= _threshold;
+
+	}
+
+	/**
+	 * Returns the measure of the statistic compared to the threshold.
+	 * 
+	 * @return Measure : The measure compared to the threshold
+	 */
+	public Measure getMeasure() {
+
+		return _measure;
+
+	}
+
+	/**
+	 * Returns the threshold.
+	 * 
+	 * @return double : The threshold
+	 */
+	public double getThreshold() {
+
+		return _threshold;
+
+	}
+}
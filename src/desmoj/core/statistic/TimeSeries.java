@@ -1,6 +1,6 @@
 package desmoj.core.statistic;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 import java.util.Observable;
 
@@ -34,6 +34,13 @@ import desmoj.core.simulator.TimeSpan;
  * As separator between different values (e.g. SimTime and value of the
  * Valuesupplier) ";" is used. See also FileOutput.
  * 
+ * The points recorded are kept in memory for plotters and reporters. For long
+ * runs, the memory needed can be limited by a retention policy, keeping only
+ * the latest points, points downsampled by largest-triangle-three-buckets or
+ * the minimum and maximum per interval, see <code>Retention</code>. All points
+ * can be spilled to a binary file in addition, see
+ * <code>setSpillFile(String)</code>.
+ * 
  * @see desmoj.core.report.FileOutput
  * 
  * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
@@ -78,14 +85,73 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
     java.util.Observer plotter=null;
     
     /**
-     * List for saving the time values in the memory, needed for the GraphicalObserver.
+     * The policies which points of a <code>TimeSeries</code> are retained in
+     * memory for plotters and reporters, see <code>setRetentionAll()</code>,
+     * <code>setRetentionRing(int)</code>, <code>setRetentionLTTB(int)</code>
+     * and <code>setRetentionMinMax(TimeSpan)</code>.
+     */
+    public enum Retention {
+        
+        /** All points are retained. */
+        ALL,
+        
+        /** The latest points up to a given number are retained. */
+        RING,
+        
+        /** Points downsampled by largest-triangle-three-buckets are retained. */
+        LTTB,
+        
+        /** The points with minimum and maximum value per interval are retained. */
+        MIN_MAX
+    }
+    
+    /**
+     * The primitive storage of the points retained in memory, needed for the
+     * GraphicalObserver. 'null' as long as no point has been recorded.
+     */
+    TimeSeriesStore store=null;
+    
+    /**
+     * View of the time values retained in the memory, needed for the GraphicalObserver.
+     */
+    List<Double> timeValues=null;
+    
+    /**
+     * View of the data values retained in the memory, needed for the GraphicalObserver.
+     */
+    List<Double> dataValues=null;
+    
+    /**
+     * The policy which points are retained in memory.
      */
-    ArrayList<Double> timeValues=null;
+    private Retention _retention = Retention.ALL;
     
     /**
-     * List for saving the data values in the memory, needed for the GraphicalObserver.
+     * The number of points retained for <code>Retention.RING</code> and
+     * <code>Retention.LTTB</code>.
      */
-    ArrayList<Double> dataValues=null;
+    private int _capacity;
+    
+    /**
+     * The length of the intervals for <code>Retention.MIN_MAX</code>.
+     */
+    private double _interval;
+    
+    /**
+     * The binary file all points are spilled to, 'null' if none.
+     */
+    private TimeSeriesSpill _spill;
+    
+    /**
+     * The number of points recorded, independent of the points retained.
+     */
+    private long _points;
+    
+    /**
+     * The first, last, minimum and maximum data value recorded, independent of
+     * the points retained.
+     */
+    private double _firstValue, _lastValue, _minimum, _maximum;
     
     /**
      * The ValueSupplier which values will be recorded and saved in the file.
@@ -410,8 +476,11 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
 
     /**
      * Resets this TimeSeries object by deleting the contents of the file to
-     * which all the data is saved to. The name of the file will remain the
-     * same. This is done by closing and opening the existing file.
+     * which all the data is saved to, as well as the contents of the spill
+     * file, if any. The name of the file will remain the same. This is done by
+     * closing and opening the existing file. The points retained in memory
+     * are removed as well, as are the number of points recorded and their
+     * first, last, minimum and maximum value.
      */
     public void reset() {
         super.reset(); // reset the Reportable, too.
@@ -427,6 +496,20 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
             // write the fileName in the first line of the file
             _file.writeln(_fileName);
         }
+        
+        if (_spill != null) {
+            try {
+                openSpill(); // this will overwrite the existing spill file
+            } catch (IOException e) {
+                spillFailed(e, "reset()");
+            }
+        }
+        
+        if (store != null) {
+            store.clear(); // the views of the plotters stay valid
+        }
+        _points = 0;
+        _firstValue = _lastValue = _minimum = _maximum = UNDEFINED;
     }
     
     @Override
@@ -508,22 +591,7 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
         // get double representation of current time (rounding!)
         double actTime = actualTime.getTimeAsDouble();
         
-        if(hasToWriteToFile) {
-            // make the string which will be saved in the file
-            String record = actTime + FileOutput.getSeparator() + actualValue;
-            _file.writeln(record); // write the String: record to the file
-        }
-        
-        if(timeValues==null)
-            timeValues=new ArrayList<Double>();
-        if(dataValues==null)
-            dataValues=new ArrayList<Double>();
-        dataValues.add(actualValue);
-        timeValues.add(actTime);
-        if (plotter != null) plotter.update(null, null);
-        
-        incrementObservations(); // increment the observations (see Reportable)
-        traceUpdate(); // leave a message in the trace
+        record(actTime, actualValue);
     }
 
     /**
@@ -583,22 +651,7 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
         // get double representation of current time (rounding!)
         double actTime = round(actualTime.getTimeAsDouble());
 
-        if(hasToWriteToFile) {
-            // make the string which will be saved in the file
-            String record = actTime + FileOutput.getSeparator() + val;
-            _file.writeln(record); // write the String: record to the file
-        }
-        
-        if(timeValues==null)
-            timeValues=new ArrayList<Double>();
-        if(dataValues==null)
-            dataValues=new ArrayList<Double>();
-        dataValues.add(new Double(val));
-        timeValues.add(new Double(actTime));
-        if (plotter != null) plotter.update(null, null);
-        
-        incrementObservations(); // increment the observations (see Reportable)
-        traceUpdate(); // leave a message in the trace
+        record(actTime, val);
     }
 
     /**
@@ -716,23 +769,110 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
         // round the time reasonably
         double actTime = round(actualTime.getTimeAsDouble());
         
+        record(actTime, actualValue);
+    }
+
+    /**
+     * Records a point: writes it to the file and the spill file, if any,
+     * retains it in memory according to the retention policy and notifies the
+     * plotter.
+     * 
+     * @param time
+     *            double : The time of the point
+     * @param value
+     *            double : The data value of the point
+     */
+    private void record(double time, double value) {
         if(hasToWriteToFile) {
             // make the string which will be saved in the file
-            String record = actTime + FileOutput.getSeparator() + actualValue;
+            String record = time + FileOutput.getSeparator() + value;
             _file.writeln(record); // write the String: record to the file
         }
-            
-        if(timeValues==null)
-            timeValues=new ArrayList<Double>();
-        if(dataValues==null)
-            dataValues=new ArrayList<Double>();
-        dataValues.add(new Double(actualValue));
-        timeValues.add(new Double(actTime));
+        
+        if(_spill != null) {
+            try {
+                if (!_spill.isOpen()) openSpill(); // opened for the first time
+                _spill.write(time, value);
+            } catch (IOException e) {
+                spillFailed(e, "record(double time, double value)");
+            }
+        }
+        
+        if(store==null)
+            createStore();
+        store.add(time, value);
+        
+        if(_points==0) {
+            _firstValue = _minimum = _maximum = value;
+        } else {
+            if(value < _minimum) _minimum = value;
+            if(value > _maximum) _maximum = value;
+        }
+        _lastValue = value;
+        _points++;
+        
         if (plotter != null) plotter.update(null, null);
         
         incrementObservations(); // increment the observations (see Reportable)
         traceUpdate(); // leave a message in the trace
     }
+    
+    /**
+     * Creates the storage of the points retained according to the retention
+     * policy, taking over the points already retained.
+     */
+    private void createStore() {
+        TimeSeriesStore newStore;
+        switch (_retention) {
+            case RING:
+                newStore = new TimeSeriesStore.Ring(_capacity);
+                break;
+            case LTTB:
+                newStore = new TimeSeriesStore.Lttb(_capacity);
+                break;
+            case MIN_MAX:
+                newStore = new TimeSeriesStore.MinMax(_interval);
+                break;
+            default:
+                newStore = new TimeSeriesStore.Chunked();
+        }
+        if (store != null) {
+            for (int i = 0; i < store.size(); i++) {
+                newStore.add(store.time(i), store.value(i));
+            }
+        }
+        store = newStore;
+        timeValues = store.timeValues();
+        dataValues = store.dataValues();
+    }
+    
+    /**
+     * Opens the spill file, overwriting an existing file, and registers it at
+     * the experiment to be closed when the experiment is over.
+     */
+    private void openSpill() throws IOException {
+        _spill.open(this.getName());
+        this.getModel().getExperiment().registerCloseable(_spill);
+    }
+    
+    /**
+     * Stops spilling after the spill file could not be written.
+     */
+    private void spillFailed(IOException e, String method) {
+        sendWarning("The spill file of a TimeSeries can not be written. "
+                        + "No more points will be spilled to it!",
+                "TimeSeries: " + this.getName() + " Method: " + method,
+                "An IOException was thrown: " + e.getMessage(),
+                "Check access to the file " + _spill.getFileName()
+                        + " and that it is not in use by some other application.");
+        this.getModel().getExperiment().deRegisterCloseable(_spill);
+        try {
+            _spill.close();
+        } catch (IOException ignored) {
+            // the file is given up anyway
+        }
+        _spill = null;
+    }
 
 
     
@@ -747,21 +887,185 @@ public class TimeSeries extends desmoj.core.statistic.StatisticObjectSupportingT
     }
 
     /**
-     * Gets the list of data values.
-     * @return The list with all the data values.
+     * Gets the list of data values retained in memory, see
+     * <code>getRetention()</code>. The list is a read-only view, reflecting
+     * points recorded later.
+     * @return The list with all the data values retained, 'null' if no
+     *         values have been recorded yet.
      */
     public List<Double> getDataValues() {
         return dataValues;
     }
 
     /**
-     * Gets the list of time values.
-     * @return The list of all the time values.
+     * Gets the list of time values retained in memory, see
+     * <code>getRetention()</code>. The list is a read-only view, reflecting
+     * points recorded later.
+     * @return The list of all the time values retained, 'null' if no values
+     *         have been recorded yet.
      */
     public List<Double> getTimeValues() {
         return timeValues;
     }
 
+    /**
+     * Gets the first data value recorded, regardless of the points retained.
+     * @return The first data value recorded, UNDEFINED if none.
+     */
+    public double getFirstValue() {
+        return _points == 0 ? UNDEFINED : _firstValue;
+    }
+
+    /**
+     * Gets the last data value recorded, regardless of the points retained.
+     * @return The last data value recorded, UNDEFINED if none.
+     */
+    public double getLastValue() {
+        return _points == 0 ? UNDEFINED : _lastValue;
+    }
+
+    /**
+     * Gets the minimum data value recorded, regardless of the points retained.
+     * @return The minimum data value recorded, UNDEFINED if none.
+     */
+    public double getMinimum() {
+        return _points == 0 ? UNDEFINED : _minimum;
+    }
+
+    /**
+     * Gets the maximum data value recorded, regardless of the points retained.
+     * @return The maximum data value recorded, UNDEFINED if none.
+     */
+    public double getMaximum() {
+        return _points == 0 ? UNDEFINED : _maximum;
+    }
+
+    /**
+     * Gets the policy which points are retained in memory.
+     * @return The retention policy, <code>Retention.ALL</code> by default.
+     */
+    public Retention getRetention() {
+        return _retention;
+    }
+
+    /**
+     * Retains all points in memory, which is the default. The points are
+     * stored in primitive arrays, taking 16 bytes per point.
+     */
+    public void setRetentionAll() {
+        setRetention(Retention.ALL, 0, 0);
+    }
+
+    /**
+     * Retains only the latest points in memory, up to the given number.
+     * @param capacity The number of points retained, at least 1.
+     */
+    public void setRetentionRing(int capacity) {
+        if (capacity < 1) {
+            sendWarning("Attempt to retain less than one point of a TimeSeries. "
+                            + "The command will be ignored!",
+                    "TimeSeries: " + this.getName() + " Method: setRetentionRing(int capacity)",
+                    "The given capacity is zero or negative.",
+                    "Make sure to retain at least one point.");
+            return;
+        }
+        setRetention(Retention.RING, capacity, 0);
+    }
+
+    /**
+     * Retains the points in memory downsampled by the largest-triangle-three-
+     * buckets algorithm, which preserves the visual shape of the series
+     * including its peaks. Whenever twice the given number of points is
+     * retained, they are downsampled to one point per interval of equal time
+     * span, keeping the first and the last point. The span is doubled as
+     * needed to get at most <code>capacity - 2</code> intervals, so the whole
+     * series is retained at the same time resolution and at most
+     * <code>2 * capacity</code> points are retained.
+     * @param capacity The number of points downsampled to, at least 3.
+     */
+    public void setRetentionLTTB(int capacity) {
+        if (capacity < 3) {
+            sendWarning("Attempt to downsample a TimeSeries to less than three "
+                            + "points. The command will be ignored!",
+                    "TimeSeries: " + this.getName() + " Method: setRetentionLTTB(int capacity)",
+                    "The given capacity is less than three.",
+                    "Make sure to downsample to at least three points, the first, the "
+                            + "last and one in between.");
+            return;
+        }
+        setRetention(Retention.LTTB, capacity, 0);
+    }
+
+    /**
+     * Retains the point with the minimum and the point with the maximum data
+     * value per interval of time in memory, i.e. at most two points per
+     * interval, preserving the range of the values.
+     * @param interval The length of the intervals, larger than zero.
+     */
+    public void setRetentionMinMax(TimeSpan interval) {
+        if (interval == null || interval.getTimeAsDouble() <= 0) {
+            sendWarning("Attempt to retain the minimum and maximum of a TimeSeries "
+                            + "per empty interval. The command will be ignored!",
+                    "TimeSeries: " + this.getName() + " Method: setRetentionMinMax(TimeSpan interval)",
+                    "The given interval is a null pointer or zero.",
+                    "Make sure to pass an interval longer than zero.");
+            return;
+        }
+        setRetention(Retention.MIN_MAX, 0, interval.getTimeAsDouble());
+    }
+
+    /**
+     * Sets the retention policy, applying it to the points already retained.
+     */
+    private void setRetention(Retention retention, int capacity, double interval) {
+        this._retention = retention;
+        this._capacity = capacity;
+        this._interval = interval;
+        if (store != null) createStore();
+        if (plotter != null) plotter.update(null, null);
+    }
+
+    /**
+     * Spills all points recorded to the given binary file, independent of the
+     * points retained in memory. This allows to retain a limited number of
+     * points in memory while keeping the full series on disk, at 16 bytes per
+     * point and without formatting numbers to text. The file is opened with
+     * the first point recorded, overwritten when this TimeSeries is reset
+     * and closed when the experiment is over. Read it by
+     * <code>readSpillFile(String)</code>.
+     * @param fileName The name of the spill file, 'null' to stop spilling.
+     */
+    public void setSpillFile(String fileName) {
+        if (_spill != null) {
+            this.getModel().getExperiment().deRegisterCloseable(_spill);
+            try {
+                _spill.close();
+            } catch (IOException e) {
+                spillFailed(e, "setSpillFile(String fileName)");
+            }
+        }
+        _spill = (fileName == null) ? null : new TimeSeriesSpill(fileName);
+    }
+
+    /**
+     * Gets the name of the binary file all points are spilled to.
+     * @return The name of the spill file, 'null' if none.
+     */
+    public String getSpillFileName() {
+        return _spill == null ? null : _spill.getFileName();
+    }
+
+    /**
+     * Reads all points of a spill file written by a TimeSeries.
+     * @param fileName The name of the spill file.
+     * @return An array of the time values at index 0 and the data values at
+     *         index 1.
+     * @throws IOException If the file can not be read or is no spill file.
+     */
+    public static double[][] readSpillFile(String fileName) throws IOException {
+        return TimeSeriesSpill.read(fileName);
+    }
+
     /**
      * Gets the start instant of this TimeSeries.
      * @return The start instant of this TimeSeries.
@@ -0,0 +1,143 @@
+package desmoj.core.statistic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * A binary file all points recorded by a <code>TimeSeries</code> are spilled
+ * to, independent of the points retained in memory. The file starts with a
+ * header of the magic number <code>0x44534A54</code> ("DSJT"), a format version
+ * and the name of the time series, followed by a pair of big-endian doubles
+ * (time, value) per point, which is 16 bytes per point without any formatting
+ * of numbers to text.
+ *
+ * @see TimeSeries#setSpillFile(String)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+final class TimeSeriesSpill implements Closeable {
+
+    /**
+     * The magic number starting a spill file.
+     */
+    static final int MAGIC = 0x44534A54;
+
+    /**
+     * The version of the file format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The name of the file.
+     */
+    private final String _fileName;
+
+    /**
+     * The stream writing to the file, <code>null</code> if not open.
+     */
+    private DataOutputStream _out;
+
+    /**
+     * Creates a spill file of the given name, to be opened by
+     * <code>open(String)</code>.
+     */
+    TimeSeriesSpill(String fileName) {
+        _fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the file.
+     */
+    String getFileName() {
+        return _fileName;
+    }
+
+    /**
+     * Returns if the file is open.
+     */
+    boolean isOpen() {
+        return _out != null;
+    }
+
+    /**
+     * Opens the file, overwriting an existing file, and writes the header.
+     */
+    void open(String seriesName) throws IOException {
+        close();
+        _out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(_fileName), 1 << 16));
+        _out.writeInt(MAGIC);
+        _out.writeInt(VERSION);
+        _out.writeUTF(seriesName);
+    }
+
+    /**
+     * Writes a point to the file.
+     */
+    void write(double time, double value) throws IOException {
+        _out.writeDouble(time);
+        _out.writeDouble(value);
+    }
+
+    /**
+     * Flushes and closes the file, if open.
+     */
+    public void close() throws IOException {
+        if (_out != null) {
+            DataOutputStream out = _out;
+            _out = null;
+            out.close();
+        }
+    }
+
+    /**
+     * Reads all points of a spill file.
+     */
+    static double[][] read(String fileName) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(fileName), 1 << 16));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(fileName + " is no TimeSeries spill file"
+                        + " of version " + VERSION);
+            }
+            in.readUTF(); // the name of the time series
+            TimeSeriesStore.Chunked points = new TimeSeriesStore.Chunked();
+            while (true) {
+                double time;
+                try {
+                    time = in.readDouble();
+                } catch (EOFException e) {
+                    break; // all points read
+                }
+                points.add(time, in.readDouble());
+            }
+            double[][] result = new double[2][points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                result[0][i] = points.time(i);
+                result[1][i] = points.value(i);
+            }
+            return result;
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package desmoj.core.statistic;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The in-memory storage of the points recorded by a <code>TimeSeries</code>,
+ * keeping time and data values in primitive arrays instead of lists of boxed
+ * <code>Double</code>s. The subclasses implement the retention policies of
+ * <code>TimeSeries.Retention</code>: all points in chunks, the latest points in
+ * a ring buffer, points downsampled by largest-triangle-three-buckets or the
+ * minimum and maximum point per interval. The points retained are accessible
+ * as read-only <code>List</code> views for plotters and reporters.
+ *
+ * @see TimeSeries
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+abstract class TimeSeriesStore {
+
+    /**
+     * Adds a point, the times given being non-decreasing.
+     */
+    abstract void add(double time, double value);
+
+    /**
+     * Removes all points retained.
+     */
+    abstract void clear();
+
+    /**
+     * Returns the number of points retained.
+     */
+    abstract int size();
+
+    /**
+     * Returns the time of the point retained at the given index.
+     */
+    abstract double time(int index);
+
+    /**
+     * Returns the data value of the point retained at the given index.
+     */
+    abstract double value(int index);
+
+    /**
+     * Returns a live, read-only view of the time values retained.
+     */
+    List<Double> timeValues() {
+        return new Column(this, true);
+    }
+
+    /**
+     * Returns a live, read-only view of the data values retained.
+     */
+    List<Double> dataValues() {
+        return new Column(this, false);
+    }
+
+    /**
+     * A column of a store presented as list.
+     */
+    private static final class Column extends AbstractList<Double> implements RandomAccess {
+
+        private final TimeSeriesStore _store;
+
+        private final boolean _times;
+
+        Column(TimeSeriesStore store, boolean times) {
+            _store = store;
+            _times = times;
+        }
+
+        public Double get(int index) {
+            if (index < 0 || index >= _store.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _store.size());
+            }
+            return _times ? _store.time(index) : _store.value(index);
+        }
+
+        public int size() {
+            return _store.size();
+        }
+    }
+
+    /**
+     * Retains all points in chunks of fixed size, so no copying is needed to
+     * grow.
+     */
+    static final class Chunked extends TimeSeriesStore {
+
+        private static final int SHIFT = 12;
+        private static final int MASK = (1 << SHIFT) - 1;
+
+        private double[][] _times = new double[8][];
+        private double[][] _values = new double[8][];
+        private int _size;
+
+        void add(double time, double value) {
+            int chunk = _size >>> SHIFT;
+            if (chunk == _times.length) {
+                _times = java.util.Arrays.copyOf(_times, chunk * 2);
+                _values = java.util.Arrays.copyOf(_values, chunk * 2);
+            }
+            if (_times[chunk] == null) {
+                _times[chunk] = new double[1 << SHIFT];
+                _values[chunk] = new double[1 << SHIFT];
+            }
+            _times[chunk][_size & MASK] = time;
+            _values[chunk][_size & MASK] = value;
+            _size++;
+        }
+
+        void clear() {
+            _times = new double[8][];
+            _values = new double[8][];
+            _size = 0;
+        }
+
+        int size() {
+            return _size;
+        }
+
+        double time(int index) {
+            return _times[index >>> SHIFT][index & MASK];
+        }
+
+        double value(int index) {
+            return _values[index >>> SHIFT][index & MASK];
+        }
+    }
+
+    /**
+     * Retains the latest points in a ring buffer, overwriting the oldest
+     * point when full.
+     */
+    static final class Ring extends TimeSeriesStore {
+
+        private final double[] _times;
+        private final double[] _values;
+        private int _first;
+        private int _size;
+
+        Ring(int capacity) {
+            _times = new double[capacity];
+            _values = new double[capacity];
+        }
+
+        void add(double time, double value) {
+            int i = _first + _size;
+            if (i >= _times.length) {
+                i -= _times.length;
+            }
+            _times[i] = time;
+            _values[i] = value;
+            if (_size < _times.length) {
+                _size++;
+            } else if (++_first == _times.length) {
+                _first = 0;
+            }
+        }
+
+        void clear() {
+            _first = 0;
+            _size = 0;
+        }
+
+        int size() {
+            return _size;
+        }
+
+        double time(int index) {
+            int i = _first + index;
+            return _times[i < _times.length ? i : i - _times.length];
+        }
+
+        double value(int index) {
+            int i = _first + index;
+            return _values[i < _values.length ? i : i - _values.length];
+        }
+    }
+
+    /**
+     * Retains at most <code>2 * threshold</code> points: once
+     * <code>2 * threshold</code> points are buffered, they are downsampled in
+     * place by the largest-triangle-three-buckets algorithm (Steinarsson
+     * 2013), which keeps the first and the last point and, per bucket, the
+     * point spanning the largest triangle with its neighbours, preserving the
+     * visual shape. The buckets are intervals of equal time span, aligned to
+     * the time of the first point, whose span is doubled until at most
+     * <code>threshold - 2</code> buckets contain points. As a bucket of double
+     * span covers exactly two buckets of the span before, each point retained
+     * only competes with the points of its own interval, so the whole history
+     * is kept at the same time resolution instead of older points being
+     * downsampled over and over again.
+     */
+    static final class Lttb extends TimeSeriesStore {
+
+        private final int _threshold;
+        private final double[] _times;
+        private final double[] _values;
+        private int _size;
+
+        /**
+         * The time span of the buckets, 0 before the first downsampling.
+         */
+        private double _span;
+
+        Lttb(int threshold) {
+            _threshold = threshold;
+            _times = new double[2 * threshold];
+            _values = new double[2 * threshold];
+        }
+
+        void add(double time, double value) {
+            _times[_size] = time;
+            _values[_size] = value;
+            if (++_size == _times.length) {
+                downsample();
+            }
+        }
+
+        /**
+         * Downsamples the buffered points to one point per bucket, plus the
+         * first and the last point. The point selected for a bucket is written
+         * to an index not after the bucket's first point and before all points
+         * still to be read.
+         */
+        private void downsample() {
+            int n = _size;
+            if (_span == 0) {
+                _span = (_times[n - 1] - _times[0]) / (_threshold - 2);
+            }
+            if (_span == 0) {
+                // all points at the same time, nothing to show in between
+                _times[1] = _times[n - 1];
+                _values[1] = _values[n - 1];
+                _size = 2;
+                return;
+            }
+            while (buckets(n) > _threshold - 2) {
+                _span *= 2;
+            }
+
+            double aT = _times[0];
+            double aV = _values[0];
+            int selectedCount = 0;
+            int start = 1;
+            int end = bucketEnd(start, n);
+            while (start < n - 1) {
+                // the average of the next bucket is the third vertex
+                int next = end < n - 1 ? bucketEnd(end, n) : n;
+                double avgT = 0;
+                double avgV = 0;
+                for (int j = end; j < next; j++) {
+                    avgT += _times[j];
+                    avgV += _values[j];
+                }
+                avgT /= (next - end);
+                avgV /= (next - end);
+
+                int selected = start;
+                double maxArea = -1;
+                for (int j = start; j < end; j++) {
+                    double area = Math.abs((aT - avgT) * (_values[j] - aV)
+                            - (aT - _times[j]) * (avgV - aV));
+                    if (area > maxArea) {
+                        maxArea = area;
+                        selected = j;
+                    }
+                }
+                aT = _times[selected];
+                aV = _values[selected];
+                selectedCount++;
+                _times[selectedCount] = aT;
+                _values[selectedCount] = aV;
+                start = end;
+                end = next;
+            }
+            _times[selectedCount + 1] = _times[n - 1];
+            _values[selectedCount + 1] = _values[n - 1];
+            _size = selectedCount + 2;
+        }
+
+        /**
+         * Returns the number of buckets containing points between the first
+         * and the last of the given number of points.
+         */
+        private int buckets(int n) {
+            int buckets = 0;
+            for (int i = 1; i < n - 1; i = bucketEnd(i, n)) {
+                buckets++;
+            }
+            return buckets;
+        }
+
+        /**
+         * Returns the index after the last point in the bucket of the point at
+         * the given index, not after the last of the given number of points.
+         */
+        private int bucketEnd(int index, int n) {
+            long bucket = bucket(_times[index]);
+            int end = index + 1;
+            while (end < n - 1 && bucket(_times[end]) == bucket) {
+                end++;
+            }
+            return end;
+        }
+
+        /**
+         * Returns the bucket of the given time.
+         */
+        private long bucket(double time) {
+            return (long) Math.floor((time - _times[0]) / _span);
+        }
+
+        void clear() {
+            _size = 0;
+            _span = 0;
+        }
+
+        int size() {
+            return _size;
+        }
+
+        double time(int index) {
+            return _times[index];
+        }
+
+        double value(int index) {
+            return _values[index];
+        }
+    }
+
+    /**
+     * Retains the point with the minimum and the point with the maximum value
+     * per interval of time, in the order they have been recorded. The points
+     * of the current interval are retained as well and replaced while the
+     * interval is open.
+     */
+    static final class MinMax extends TimeSeriesStore {
+
+        private final double _interval;
+        private final Chunked _closed = new Chunked();
+        private boolean _open;
+        private double _intervalEnd;
+        private double _minT, _minV, _maxT, _maxV;
+
+        MinMax(double interval) {
+            _interval = interval;
+        }
+
+        void add(double time, double value) {
+            if (_open && time >= _intervalEnd) {
+                close();
+            }
+            if (!_open) {
+                _open = true;
+                _intervalEnd = (Math.floor(time / _interval) + 1) * _interval;
+                _minT = _maxT = time;
+                _minV = _maxV = value;
+            } else if (value < _minV) {
+                _minT = time;
+                _minV = value;
+            } else if (value > _maxV) {
+                _maxT = time;
+                _maxV = value;
+            }
+        }
+
+        /**
+         * Moves the points of the current interval to the closed intervals.
+         */
+        private void close() {
+            for (int i = 0; i < openPoints(); i++) {
+                _closed.add(openTime(i), openValue(i));
+            }
+            _open = false;
+        }
+
+        void clear() {
+            _closed.clear();
+            _open = false;
+        }
+
+        private int openPoints() {
+            return !_open ? 0 : (_minT == _maxT && _minV == _maxV) ? 1 : 2;
+        }
+
+        private double openTime(int index) {
+            boolean minFirst = _minT <= _maxT;
+            return (index == 0) == minFirst ? _minT : _maxT;
+        }
+
+        private double openValue(int index) {
+            boolean minFirst = _minT <= _maxT;
+            return (index == 0) == minFirst ? _minV : _maxV;
+        }
+
+        int size() {
+            return _closed.size() + openPoints();
+        }
+
+        double time(int index) {
+            int closed = _closed.size();
+            return index < closed ? _closed.time(index) : openTime(index - closed);
+        }
+
+        double value(int index) {
+            int closed = _closed.size();
+            return index < closed ? _closed.value(index) : openValue(index - closed);
+        }
+    }
+}
@@ -164,6 +164,28 @@ public abstract class ValueStatistics extends
         return round(this._max);
     }
 
+    /**
+     * Returns the maximum value observed so far without rounding, e.g. to
+     * merge statistics.
+     * 
+     * @return double : The unrounded maximum, <code>NaN</code> if no value
+     *         has been observed yet
+     */
+    double getUnroundedMaximum() {
+        return this._max;
+    }
+
+    /**
+     * Returns the minimum value observed so far without rounding, e.g. to
+     * merge statistics.
+     * 
+     * @return double : The unrounded minimum, <code>NaN</code> if no value
+     *         has been observed yet
+     */
+    double getUnroundedMinimum() {
+        return this._min;
+    }
+
     /**
      * Returns the mean value of all the values observed so far. Has to be
      * implemented in a derived class.
@@ -234,8 +234,8 @@ public abstract class Merger<EIn extends Entity, EEx extends Entity> extends Sta
 
 			mergedEntity = mergeEntities(partsContainer.getParts());
 
-			this.sendTraceNote(Merger.this.getName() + " starts transporting of  " + mergedEntity.getName()
-					+ " to the successor (next station)");
+			this.sendTraceNote("%s starts transporting of  %s to the successor (next station)",
+					Merger.this, mergedEntity);
 
 			successorAdministration.getSuccessorEvent().clone().schedule(mergedEntity, getTransportTime());
 		} catch (CloneNotSupportedException e) {
@@ -78,8 +78,8 @@ public class ServiceStation<E extends Entity> extends Station<E> implements HasP
 	@Override
 	protected void onServiceFinisched(E who) {
 		try {
-			this.sendTraceNote(ServiceStation.this.getName() + " starts transporting of  " + who.getName()
-					+ " to the successor (next station)");
+			this.sendTraceNote("%s starts transporting of  %s to the successor (next station)",
+					ServiceStation.this, who);
 
 			successorAdministration.getSuccessorEvent().clone().schedule(who, getTransportTime());
 		} catch (CloneNotSupportedException e) {
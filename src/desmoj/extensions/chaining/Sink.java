@@ -3,6 +3,7 @@ package desmoj.extensions.chaining;
 import desmoj.core.dist.NumericalDist;
 import desmoj.core.simulator.Entity;
 import desmoj.core.simulator.Model;
+import desmoj.core.simulator.SchedulablePool;
 import desmoj.extensions.chaining.abstractions.HasPredecessor;
 import desmoj.extensions.chaining.abstractions.Station;
 import desmoj.extensions.chaining.report.SmartReporter;
@@ -30,6 +31,12 @@ import desmoj.extensions.chaining.report.SmartReporter;
  */
 public class Sink<E extends Entity> extends Station<E> implements
 		HasPredecessor<E> {
+
+	/**
+	 * the pool the entities are released to after being handled, may be null
+	 */
+	private SchedulablePool<? super E> pool;
+
 	/**
 	 * This Constructor sets the given times, initializes the queues and fills
 	 * the free service capacity queue. If a given int is lower than zero the
@@ -68,6 +75,29 @@ public class Sink<E extends Entity> extends Station<E> implements
 
 	}
 
+	/**
+	 * Sets the pool the entities are released to once the sink has handled
+	 * them, so they can be reused, e.g. by the <code>createEntity()</code>
+	 * method of a source. By default, entities are not released.
+	 * 
+	 * @param pool
+	 *            the pool to release the entities to or null to not release
+	 *            them
+	 */
+	public void setPool(SchedulablePool<? super E> pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Releases the entity handled to the pool, if set.
+	 */
+	@Override
+	protected void onServiceFinisched(E who) {
+		if (pool != null) {
+			pool.release(who);
+		}
+	}
+
 	@Override
 	protected SmartReporter createDefaultReporter() {
 
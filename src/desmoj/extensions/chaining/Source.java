@@ -116,8 +116,8 @@ public abstract class Source<E extends Entity> extends Station<E> implements Has
 	@Override
 	protected void onServiceFinisched(E who) {
 		try {
-			this.sendTraceNote(Source.this.getName() + " starts transporting of  " + who.getName()
-					+ " to the successor (next station)");
+			this.sendTraceNote("%s starts transporting of  %s to the successor (next station)",
+					Source.this, who);
 			successorAdministration.getSuccessorEvent().clone().schedule(createEntity(), getTransportTime());
 		} catch (CloneNotSupportedException e) {
 			throw new RuntimeException(e);
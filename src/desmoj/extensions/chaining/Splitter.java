@@ -101,8 +101,8 @@ public class Splitter<EIn extends Entity, EEx extends Entity> extends Station<EI
 					eventToSchedule = outputConfig.getSuccessorEvent().clone();
 					outputEntity = outputConfig.createOutputEntity(who);
 
-					this.sendTraceNote(Splitter.this.getName() + " starts transporting of  "
-							+ outputEntity.getName() + " to the successor (next station)");
+					this.sendTraceNote("%s starts transporting of  %s to the successor (next station)",
+							Splitter.this, outputEntity);
 
 					eventToSchedule.schedule(outputEntity, outputConfig.getTransportTime());
 				} catch (CloneNotSupportedException ex) {
@@ -101,8 +101,8 @@ public abstract class Station<E extends Entity> extends Reportable {
 		@Override
 		public void eventRoutine(E who) throws SuspendExecution {
 			entitiesBeeingServicedQueue.remove(who);
-			Station.this.sendTraceNote(Station.this.getName() + " finishes processing of  " + who.getName()
-					+ "and removes it from internal handle queue");
+			Station.this.sendTraceNote("%s finishes processing of  %sand removes it from internal handle queue",
+					Station.this, who);
 			onServiceFinisched(who);
 
 			new ServiceCapacityReleasedEvent(getModel(), Station.this.getName()
@@ -128,8 +128,8 @@ public abstract class Station<E extends Entity> extends Reportable {
 		public void eventRoutine(E who) throws SuspendExecution {
 			setupQueue.remove(who);
 			entitiesBeeingServicedQueue.insert(who);
-			Station.this.sendTraceNote(Station.this.getName() + " inserts " + who.getName()
-					+ " into internal handle queue and starts progressing");
+			Station.this.sendTraceNote("%s inserts %s into internal handle queue and starts progressing",
+					Station.this, who);
 			getServiceEndEvent().schedule(who, getServiceTime());
 		}
 	}
@@ -462,8 +462,8 @@ public abstract class Station<E extends Entity> extends Reportable {
 			handledEntitiesSoFar++;
 			claimServiceCapacity();
 
-			this.sendTraceNote(Station.this.getName() + " inserts " + entityToHandle.getName()
-					+ " into internal setup queue to wait for progressing");
+			this.sendTraceNote("%s inserts %s into internal setup queue to wait for progressing",
+					Station.this, entityToHandle);
 
 			new ServiceStartEvent(getModel(), Station.this.getName() + "_ServiceStartEvent").schedule(
 					entityToHandle, getSetupTime());
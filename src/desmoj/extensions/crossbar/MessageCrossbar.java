@@ -607,8 +607,8 @@ public class MessageCrossbar<T extends SimProcess> extends Reportable {
 			return;
 		}
 
-		sendTraceNote("SimProcess " + currentSimProcess.getName()
-				+ " sends a message to the MessageCrossbar " + getName());
+		sendTraceNote("SimProcess %s sends a message to the MessageCrossbar %s",
+				currentSimProcess, this);
 
 		// Set the sender of the message
 		message.setSender(currentSimProcess);
@@ -747,19 +747,17 @@ public class MessageCrossbar<T extends SimProcess> extends Reportable {
 
 		skipTraceNote(); // dont tell the user that...
 		try {
-			sendTraceNote("SimProcess " + current.getName()
-					+ " starts waiting at MessageCrossbar " + getName());
+			sendTraceNote("SimProcess %s starts waiting at MessageCrossbar %s",
+					current, this);
 			current.passivate();// ...the process is passivated here.
-			sendTraceNote("SimProcess "
-					+ current.getName()
-					+ " receives a message and finishes waiting at MessageCrossbar "
-					+ getName());
+			sendTraceNote("SimProcess %s receives a message and finishes waiting at MessageCrossbar %s",
+					current, this);
 		} catch (DelayedInterruptException ex) {
 			// If the process is interrupted by the delayed interupt, remove it
 			// from the crossbar queue and from all channels it might still be
 			// waiting on
-			sendTraceNote("SimProcess " + current.getName()
-					+ " interrupts waiting at MessageCrossbar " + getName());
+			sendTraceNote("SimProcess %s interrupts waiting at MessageCrossbar %s",
+					current, this);
 			getPassivatedProcessesQueue().remove(current);
 			interruptedWaits++; // increment the number of interrupted waits
 			for (MessageChannel<T> channel : messageChannelsByName.values()) {
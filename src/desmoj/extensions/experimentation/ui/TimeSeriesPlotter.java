@@ -309,6 +309,13 @@ public class TimeSeriesPlotter extends GraphicalObserver implements
 				myGUI.setMin_y(dataValues.get(0));
 				elements[series]=1;
 			}
+			
+			// unless all points are retained, points may have been replaced
+			// instead of appended, so test all of them and redraw the chart
+			if(myData[series].getRetention()!=TimeSeries.Retention.ALL && elements[series]>1) {
+				elements[series]=1;
+				redraw=true;
+			}
 				
 			for(int i=elements[series]; i<dataValues.size(); i++) {
 				redraw=redraw || myGUI.testValue(timeValues.get(i), dataValues.get(i).doubleValue());
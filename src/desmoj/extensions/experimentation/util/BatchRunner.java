@@ -1,12 +1,21 @@
 package desmoj.extensions.experimentation.util;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import desmoj.core.simulator.Experiment;
 import desmoj.core.simulator.Model;
 import desmoj.extensions.xml.util.DocumentReader;
 
@@ -17,6 +26,19 @@ import desmoj.extensions.xml.util.DocumentReader;
  * experiment settings valid for every run using the <model>and <exp>tag known
  * from the Run class. Furthermore an arbitrary number of runs (specified by a
  * <run>tag) containing the variable settings can be embedded.
+ * <p>
+ * Runs are executed one after another by default. With more than one worker
+ * (see <code>setWorkers(int)</code> or the second command line argument), the
+ * runs are executed by a pool of that many worker threads, each worker
+ * taking the next run not yet started and waiting for it to finish, so at
+ * most that many runs execute at a time. Each run
+ * then creates its own model and experiment runner instances and writes its
+ * output to a directory of its own, i.e. the subdirectory
+ * <code>run_&lt;number&gt;</code> of the output path of the run. In both
+ * modes, a summary of all runs (wall time, events processed and events per
+ * second of each run) is written to the file
+ * <code>batch_summary.csv</code> in the summary directory (see
+ * <code>setSummaryDirectory(String)</code>).
  * 
  * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
  * @author Nicolas Knaak 
@@ -35,11 +57,14 @@ import desmoj.extensions.xml.util.DocumentReader;
  */
 public class BatchRunner implements Runnable {
 
+	/** Name of the summary file written after processing the batch */
+	public static final String SUMMARY_FILE = "batch_summary.csv";
+
 	protected Document batchfile;
 
-	protected HashMap defaultExpSettings = new HashMap();
+	protected HashMap<String, Object> defaultExpSettings = new HashMap<String, Object>();
 
-	protected HashMap defaultModelParams = new HashMap();
+	protected HashMap<String, Object> defaultModelParams = new HashMap<String, Object>();
 
 	protected Model model = null;
 
@@ -47,6 +72,41 @@ public class BatchRunner implements Runnable {
 
 	protected String batchfilename = null;
 
+	/** Number of worker threads executing runs in parallel */
+	protected int workers = 1;
+
+	/** Directory the summary file is written to */
+	protected String summaryDirectory = ".";
+
+	/**
+	 * The result of a single run, as listed in the summary file.
+	 */
+	protected static class RunResult {
+
+		/** Number of the run in the batch, starting at 1 */
+		protected int number;
+
+		/** Name of the run's experiment */
+		protected String name = "";
+
+		/** Output path of the run's experiment */
+		protected String outputPath = "";
+
+		/** Wall clock time of the run in seconds */
+		protected double wallTime;
+
+		/** Number of events processed by the run's scheduler */
+		protected long events;
+
+		/** Error message if the run has failed, <code>null</code> otherwise */
+		protected String error;
+
+		/** @return the events processed per second of wall clock time */
+		public double getEventsPerSecond() {
+			return wallTime > 0 ? events / wallTime : 0;
+		}
+	}
+
 	/**
 	 * Creates a new BatchRunner that loads the given batch file.
 	 * 
@@ -63,6 +123,33 @@ public class BatchRunner implements Runnable {
 		}
 	}
 
+	/**
+	 * Sets the number of worker threads executing runs in parallel. Default
+	 * is 1, i.e. runs are executed one after another.
+	 * 
+	 * @param workers
+	 *            number of worker threads
+	 */
+	public void setWorkers(int workers) {
+		this.workers = Math.max(1, workers);
+	}
+
+	/** @return the number of worker threads executing runs in parallel */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Sets the directory the summary file is written to. Default is the
+	 * current directory.
+	 * 
+	 * @param summaryDirectory
+	 *            path of the summary directory
+	 */
+	public void setSummaryDirectory(String summaryDirectory) {
+		this.summaryDirectory = summaryDirectory;
+	}
+
 	/** Runs the simulations specified in the assigned batch file */
 	public void run() {
 		System.out.println("*** DESMO-J Batch Runner ***");
@@ -83,7 +170,7 @@ public class BatchRunner implements Runnable {
 				Node n = nl.item(i);
 				if (n.getNodeName().equals("exp"))
 					settings = n;
-				if (n.getNodeName().equals(model.toString()))
+				if (n.getNodeName().equals("model"))
 					params = n;
 			}
 
@@ -101,66 +188,198 @@ public class BatchRunner implements Runnable {
 			if (defaultExpRunnerName == null || defaultExpRunnerName.equals(""))
 				defaultExpRunnerName = "desmoj.extensions.experimentation.util.ExperimentRunner";
 
-			// Create the default model
+			// Read list of runs
+			final List<Element> runs = new ArrayList<Element>();
+			NodeList nodes = root.getChildNodes();
+			for (int i = 0; i < nodes.getLength(); i++) {
+				if (nodes.item(i).getNodeName().equals("run"))
+					runs.add((Element) nodes.item(i));
+			}
+			final RunResult[] results = new RunResult[runs.size()];
+
+			if (workers <= 1) {
+				System.out.println("* Processing batch...\n");
+				for (int i = 0; i < runs.size(); i++) {
+					results[i] = executeRun(runs.get(i), i + 1,
+							defaultModelName, defaultExpRunnerName, false);
+				}
+			} else {
+				System.out.println("* Processing batch with " + workers
+						+ " workers...\n");
+				final String modelName = defaultModelName;
+				final String expRunnerName = defaultExpRunnerName;
+				final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+				for (int i = 0; i < runs.size(); i++) {
+					final int index = i;
+					tasks.add(new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
 
-			System.out.println("* Processing batch...\n");
+						protected void compute() {
+							// time settings of this worker's runs only
+							Experiment.isolateSettings();
+							results[index] = executeRun(runs.get(index),
+									index + 1, modelName, expRunnerName, true);
+						}
+					});
+				}
+				// each task blocks its worker while its run executes, so
+				// the pool runs at most 'workers' runs at a time
+				ForkJoinPool pool = new ForkJoinPool(workers);
+				try {
+					pool.submit(new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
 
-			// Read list of runs
-			NodeList runs = root.getChildNodes();
-			int count = 0;
-			for (int i = 0; i < runs.getLength(); i++) {
-				HashMap expSettings = new HashMap(defaultExpSettings);
-				HashMap modelParams = new HashMap(defaultModelParams);
-				Node nextDesc = runs.item(i);
-				if (nextDesc.getNodeName().equals("run")) {
-					count++;
-					System.out.println("* Initializing run no " + count);
-
-					try {
-
-						if (defaultModelName != null)
-							model = (Model) Class.forName(defaultModelName)
-									.newInstance();
-						if (defaultExpRunnerName != null)
-							expRunner = (ExperimentRunner) Class.forName(
-									defaultExpRunnerName).newInstance();
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
-
-					Run nextRun = new Run(model, expRunner, expSettings,
-							modelParams, count);
-					nextRun.readFromNode((Element) nextDesc);
-					ExperimentRunner er = nextRun.getExperimentRunner();
-					long startMillis = System.currentTimeMillis();
-					er.start();
-					try {
-						Thread t = er.getThread();
-						t.join();
-					} catch (Exception e) {
-						e.printStackTrace();
-						throw new java.lang.RuntimeException("Cannot access experiment runner thread.");
-					}
-					long stopMillis = System.currentTimeMillis();
-					System.out.println("* Simulation took "
-							+ (stopMillis - startMillis) / 1000.0
-							+ " seconds.\n");
+						protected void compute() {
+							invokeAll(tasks);
+						}
+					}).join();
+				} finally {
+					pool.shutdown();
 				}
 			}
+
+			writeSummary(results);
 			System.out.println("* Batch completed.");
 		}
 	}
 
+	/**
+	 * Executes a single run of the batch in the calling thread and waits for
+	 * it to finish.
+	 * 
+	 * @param desc
+	 *            the run's node of the batch file
+	 * @param count
+	 *            the number of the run, starting at 1
+	 * @param defaultModelName
+	 *            class name of the default model or <code>null</code>
+	 * @param defaultExpRunnerName
+	 *            class name of the default experiment runner
+	 * @param parallel
+	 *            <code>true</code> if runs are executed in parallel, i.e.
+	 *            with own model instances and output directories
+	 * @return the result of the run
+	 */
+	protected RunResult executeRun(Element desc, int count,
+			String defaultModelName, String defaultExpRunnerName,
+			boolean parallel) {
+
+		RunResult result = new RunResult();
+		result.number = count;
+		HashMap<String, Object> expSettings = new HashMap<String, Object>(defaultExpSettings);
+		HashMap<String, Object> modelParams = new HashMap<String, Object>(defaultModelParams);
+		System.out.println("* Initializing run no " + count);
+
+		Model runModel = parallel ? null : model;
+		ExperimentRunner runExpRunner = parallel ? null : expRunner;
+		try {
+
+			if (defaultModelName != null)
+				runModel = (Model) Class.forName(defaultModelName)
+						.getDeclaredConstructor().newInstance();
+			if (defaultExpRunnerName != null)
+				runExpRunner = (ExperimentRunner) Class.forName(
+						defaultExpRunnerName).getDeclaredConstructor()
+						.newInstance();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		if (!parallel) {
+			model = runModel;
+			expRunner = runExpRunner;
+		}
+
+		Run nextRun = new Run(runModel, runExpRunner, expSettings,
+				modelParams, count);
+		nextRun.readFromNode(desc);
+
+		// parallel runs must not overwrite each other's output files
+		if (parallel) {
+			Object basePath = expSettings.get(ExperimentRunner.EXP_OUTPUT_PATH);
+			File runDir = new File(basePath == null ? "."
+					: basePath.toString(), "run_" + count);
+			runDir.mkdirs();
+			expSettings.put(ExperimentRunner.EXP_OUTPUT_PATH, runDir.getPath()
+					+ File.separator);
+		}
+
+		long startNanos = System.nanoTime();
+		try {
+			ExperimentRunner er = nextRun.getExperimentRunner();
+			result.name = String.valueOf(expSettings.get(ExperimentRunner.EXP_NAME));
+			Object outputPath = expSettings.get(ExperimentRunner.EXP_OUTPUT_PATH);
+			result.outputPath = outputPath == null ? "" : outputPath.toString();
+			er.start();
+			er.getThread().join();
+			if (er.getExperiment() != null)
+				result.events = er.getExperiment().getScheduler()
+						.getEventsProcessed();
+		} catch (Exception e) {
+			e.printStackTrace();
+			result.error = e.toString();
+		}
+		result.wallTime = (System.nanoTime() - startNanos) / 1e9;
+		System.out.println("* Run no " + count + " took " + result.wallTime
+				+ " seconds (" + result.events + " events).\n");
+		return result;
+	}
+
+	/**
+	 * Writes the summary of all runs to the summary file, one line of comma
+	 * separated values per run.
+	 * 
+	 * @param results
+	 *            the results of all runs, in the order of the batch file
+	 */
+	protected void writeSummary(RunResult[] results) {
+		File file = new File(summaryDirectory, SUMMARY_FILE);
+		PrintWriter out = null;
+		try {
+			out = new PrintWriter(new FileWriter(file));
+			out.println("run,name,outputPath,wallTimeSeconds,events,eventsPerSecond,status");
+			double totalTime = 0;
+			long totalEvents = 0;
+			for (RunResult r : results) {
+				if (r == null)
+					continue;
+				out.println(r.number + "," + csv(r.name) + ","
+						+ csv(r.outputPath) + "," + r.wallTime + ","
+						+ r.events + "," + r.getEventsPerSecond() + ","
+						+ (r.error == null ? "ok" : csv(r.error)));
+				totalTime += r.wallTime;
+				totalEvents += r.events;
+			}
+			System.out.println("* Summary written to " + file.getPath()
+					+ " (" + totalEvents + " events in " + totalTime
+					+ " seconds of run time).");
+		} catch (IOException e) {
+			System.out.println("** ERROR: Cannot write batch summary to "
+					+ file.getPath() + ": " + e);
+		} finally {
+			if (out != null)
+				out.close();
+		}
+	}
+
+	/** Quotes a value for the summary file if necessary */
+	private static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0)
+			return value;
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
 	/** Command line interface for the batch runner */
 	public static void main(String[] args) throws Exception {
 		if (args.length < 1)
 			System.out
-					.println("Usage: java desmoj.util.BatchRunner <batchfile>.xml");
+					.println("Usage: java desmoj.util.BatchRunner <batchfile>.xml [workers]");
 		else {
 			String filename = args[0];
 			BatchRunner br = new BatchRunner(filename);
+			if (args.length > 1)
+				br.setWorkers(Integer.parseInt(args[1]));
 			br.run();
 			// br.join();
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,389 @@
+package desmoj.extensions.experimentation.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import desmoj.core.dist.UniformRandomGenerator;
+import desmoj.core.dist.Xoshiro256StarStarRandomGenerator;
+import desmoj.core.simulator.CoroutineModel;
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.Reportable;
+import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeOperations;
+import desmoj.core.statistic.MergedStatistic;
+import desmoj.core.statistic.StatisticObject;
+
+/**
+ * Runs a number of independent replications of a model on a fork-join pool
+ * and merges the <code>Tally</code>, <code>Accumulate</code> and
+ * <code>Count</code> objects of the replications by name into
+ * <code>MergedStatistic</code>s. The t-digests of <code>QuantileTally</code>
+ * objects are merged as well, see
+ * <code>MergedStatistic.getQuantile(double)</code>.
+ * <p>
+ * Each replication runs in an experiment of its own, created by the worker
+ * thread running the replication, with a new model instance obtained from the
+ * <code>ModelFactory</code>. All replications use the time settings (epsilon,
+ * reference unit) and coroutine model of the thread that created this
+ * replication runner, so these settings have to be made first. Random numbers
+ * are kept apart by substreams: the distributions of all replications use
+ * the same seed and a splittable random number generator, replication
+ * <code>r</code> assigning the substreams starting at
+ * <code>r * substreamsPerReplication</code> to its distributions in the order
+ * they are created. The statistic objects of the replications are merged in
+ * the order of the replications once all of them have finished. Thus, results
+ * do not depend on the number of worker threads or on the order replications
+ * are executed in.
+ * <p>
+ * Replications run silently without report, trace, debug and error output,
+ * which can be changed by overriding
+ * <code>configureExperiment(Experiment, int)</code>. The statistic objects
+ * merged are those registered directly at the model returned by the factory.
+ *
+ * @see desmoj.core.statistic.MergedStatistic
+ * @see SequentialReplicationController
+ * @see desmoj.core.dist.DistributionManager#setSubstreamMode(boolean)
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class ReplicationRunner {
+
+	/**
+	 * Creates the model instances of the replications.
+	 */
+	public interface ModelFactory {
+
+		/**
+		 * Creates a new, unconnected model instance for the given replication.
+		 * Called by the worker thread running the replication, so
+		 * implementations must not share mutable state between model
+		 * instances.
+		 *
+		 * @param replication
+		 *            int : The number of the replication, starting at 0
+		 * @return Model : A new model instance
+		 */
+		Model createModel(int replication);
+	}
+
+	/** The name of the replications' experiments. */
+	private final String _name;
+
+	/** Creates the model instances. */
+	private final ModelFactory _factory;
+
+	/** The number of replications to run. */
+	private int _replications = 10;
+
+	/** The number of worker threads. */
+	private int _parallelism = Runtime.getRuntime().availableProcessors();
+
+	/** The time to stop each replication at. */
+	private TimeInstant _stopTime;
+
+	/** The common seed of all replications. */
+	private long _seed = 979;
+
+	/** The number of substreams reserved for each replication. */
+	private long _substreamsPerReplication = 1024;
+
+	/** The splittable random number generator used by all distributions. */
+	private Class<? extends UniformRandomGenerator> _randomNumberGenerator = Xoshiro256StarStarRandomGenerator.class;
+
+	/** The granularity of simulation time of the replications. */
+	private final TimeUnit _epsilon;
+
+	/** The reference time unit of the replications. */
+	private final TimeUnit _referenceUnit;
+
+	/** The coroutine model of the replications. */
+	private final CoroutineModel _coroutineModel;
+
+	/** The merged statistics of the last run, by name. */
+	private Map<String, MergedStatistic> _results;
+
+	/**
+	 * Creates a replication runner for models created by the factory given,
+	 * adopting the time settings and coroutine model of the calling thread.
+	 *
+	 * @param name
+	 *            java.lang.String : The name of the replications' experiments
+	 * @param factory
+	 *            ModelFactory : Creates a model instance for each replication
+	 */
+	public ReplicationRunner(String name, ModelFactory factory) {
+		_name = name;
+		_factory = factory;
+		_epsilon = TimeOperations.getEpsilon();
+		_referenceUnit = TimeOperations.getReferenceUnit();
+		_coroutineModel = Experiment.getCoroutineModel();
+	}
+
+	/**
+	 * Sets the number of replications to run. Default is 10.
+	 *
+	 * @param replications
+	 *            int : The number of replications
+	 */
+	public void setReplications(int replications) {
+		_replications = replications;
+	}
+
+	/**
+	 * Returns the number of replications to run.
+	 *
+	 * @return int : The number of replications
+	 */
+	public int getReplications() {
+		return _replications;
+	}
+
+	/**
+	 * Sets the number of worker threads running replications in parallel.
+	 * Default is the number of available processors.
+	 *
+	 * @param parallelism
+	 *            int : The number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		_parallelism = parallelism;
+	}
+
+	/**
+	 * Returns the number of worker threads running replications in parallel.
+	 *
+	 * @return int : The number of worker threads
+	 */
+	public int getParallelism() {
+		return _parallelism;
+	}
+
+	/**
+	 * Sets the time to stop each replication at. If no stop time is set, the
+	 * model has to stop the experiment itself, e.g. by a stop condition set in
+	 * <code>configureExperiment(Experiment, int)</code>.
+	 *
+	 * @param stopTime
+	 *            TimeInstant : The time to stop each replication at
+	 */
+	public void setStopTime(TimeInstant stopTime) {
+		_stopTime = stopTime;
+	}
+
+	/**
+	 * Sets the common seed of all replications. Default is 979, the default
+	 * seed of experiments.
+	 *
+	 * @param seed
+	 *            long : The common seed
+	 */
+	public void setSeed(long seed) {
+		_seed = seed;
+	}
+
+	/**
+	 * Sets the number of substreams reserved for each replication, which has
+	 * to be an upper bound of the number of distributions of the model.
+	 * Default is 1024.
+	 *
+	 * @param substreams
+	 *            long : The number of substreams per replication
+	 */
+	public void setSubstreamsPerReplication(long substreams) {
+		_substreamsPerReplication = substreams;
+	}
+
+	/**
+	 * Sets the random number generator used by the distributions of all
+	 * replications. Only distributions using a generator implementing
+	 * <code>SplittableRandomGenerator</code> are guaranteed not to share random
+	 * numbers across replications. Default is
+	 * <code>Xoshiro256StarStarRandomGenerator</code>.
+	 *
+	 * @param randomNumberGenerator
+	 *            Class : The random number generator class to be used
+	 */
+	public void setRandomNumberGenerator(
+			Class<? extends UniformRandomGenerator> randomNumberGenerator) {
+		_randomNumberGenerator = randomNumberGenerator;
+	}
+
+	/**
+	 * Runs all replications and waits for them to finish. Exceptions thrown
+	 * by a replication are passed on to the caller once the replications
+	 * running in parallel have finished.
+	 *
+	 * @return java.util.Map : The merged statistics by name, sorted by name
+	 */
+	public Map<String, MergedStatistic> run() {
+
+		Map<String, MergedStatistic> results = new TreeMap<String, MergedStatistic>();
+		runReplications(0, _replications, results);
+
+		setResults(results);
+		return _results;
+	}
+
+	/**
+	 * Runs the given range of replications in parallel, waits for them to
+	 * finish and merges their statistic objects into the results given in the
+	 * order of the replications, as merging floating-point values depends on
+	 * the order. Used by <code>SequentialReplicationController</code> to add
+	 * replications in batches.
+	 *
+	 * @param first
+	 *            int : The number of the first replication to run
+	 * @param count
+	 *            int : The number of replications to run
+	 * @param results
+	 *            java.util.Map : The merged statistics to merge into, by name
+	 */
+	void runReplications(int first, int count,
+			final Map<String, MergedStatistic> results) {
+
+		// the statistics of each replication, by replication
+		final List<Map<String, MergedStatistic>> statistics = new ArrayList<Map<String, MergedStatistic>>(
+				Collections.<Map<String, MergedStatistic>> nCopies(count, null));
+		final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>(count);
+		for (int r = first; r < first + count; r++) {
+			final int replication = r;
+			final int index = r - first;
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				protected void compute() {
+					statistics.set(index, runReplication(replication));
+				}
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(_parallelism);
+		try {
+			pool.submit(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			}).join();
+		} finally {
+			pool.shutdown();
+		}
+
+		for (Map<String, MergedStatistic> replication : statistics) {
+			for (MergedStatistic statistic : replication.values()) {
+				mergedStatistic(results, statistic.getName(), statistic.getKind())
+						.merge(statistic);
+			}
+		}
+	}
+
+	/**
+	 * Sets the merged statistics of the last run, e.g. of a run controlled by
+	 * a <code>SequentialReplicationController</code>.
+	 */
+	void setResults(Map<String, MergedStatistic> results) {
+		_results = Collections.unmodifiableMap(results);
+	}
+
+	/**
+	 * Returns the merged statistics of the last run.
+	 *
+	 * @return java.util.Map : The merged statistics by name, sorted by name,
+	 *         or <code>null</code> if the replications have not been run yet
+	 */
+	public Map<String, MergedStatistic> getResults() {
+		return _results;
+	}
+
+	/**
+	 * Called for each replication after creating its experiment and before
+	 * connecting the model. The default implementation switches off all
+	 * output to the console; override to add outputs, stop conditions etc.
+	 *
+	 * @param experiment
+	 *            Experiment : The experiment of the replication
+	 * @param replication
+	 *            int : The number of the replication, starting at 0
+	 */
+	protected void configureExperiment(Experiment experiment, int replication) {
+		experiment.setSilent(true);
+		experiment.setShowProgressBar(false);
+	}
+
+	/**
+	 * Runs a single replication in the calling worker thread and returns its
+	 * statistic objects, each merged into a statistic of its own to not keep
+	 * the model reachable.
+	 */
+	private Map<String, MergedStatistic> runReplication(int replication) {
+
+		// settings of this worker thread, independent of other workers
+		Experiment.isolateSettings();
+		Experiment.setEpsilon(_epsilon);
+		Experiment.setReferenceUnit(_referenceUnit);
+		Experiment.setCoroutineModel(_coroutineModel);
+
+		Experiment exp = new Experiment(_name + "_" + replication, false);
+		configureExperiment(exp, replication);
+
+		// own substreams, to be set before the model creates distributions
+		exp.getDistributionManager().setRandomNumberGenerator(_randomNumberGenerator);
+		exp.getDistributionManager().setSeed(_seed);
+		exp.getDistributionManager().setSubstreamMode(true);
+		exp.getDistributionManager().setFirstSubstream(replication * _substreamsPerReplication);
+
+		Model model = _factory.createModel(replication);
+		model.connectToExperiment(exp);
+		if (_stopTime != null) {
+			exp.stop(_stopTime);
+		}
+		exp.start();
+		exp.finish();
+
+		Map<String, MergedStatistic> statistics = new LinkedHashMap<String, MergedStatistic>();
+		for (Reportable r : model.getReportables()) {
+			if (r instanceof StatisticObject) {
+				StatisticObject statistic = (StatisticObject) r;
+				MergedStatistic.Kind kind = MergedStatistic.kindOf(statistic);
+				if (kind != null) {
+					mergedStatistic(statistics, r.getName(), kind).merge(statistic);
+				}
+			}
+		}
+		return statistics;
+	}
+
+	/**
+	 * Returns the merged statistic of the given name, created on demand.
+	 */
+	private static MergedStatistic mergedStatistic(
+			Map<String, MergedStatistic> results, String name,
+			MergedStatistic.Kind kind) {
+		MergedStatistic merged = results.get(name);
+		if (merged == null) {
+			merged = new MergedStatistic(name, kind);
+			results.put(name, merged);
+		}
+		return merged;
+	}
+}
@@ -0,0 +1,305 @@
+package desmoj.extensions.experimentation.util;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+import desmoj.core.statistic.MergedStatistic;
+
+/**
+ * Controls the number of replications run by a <code>ReplicationRunner</code>
+ * by sequential stopping: replications are added in batches until the
+ * confidence intervals of the mean of selected output statistics are narrow
+ * enough, i.e. until the relative half width (half width divided by the
+ * absolute mean of the replication results) of each selected statistic has
+ * dropped below its target, or until the maximum number of replications has
+ * been run.
+ * <p>
+ * Confidence intervals are t-based like those of the
+ * <code>ConfidenceCalculator</code>, computed over the results of the
+ * replications (the mean of a tally or accumulate, the final value of a count)
+ * by <code>MergedStatistic.getConfidenceIntervalHalfWidth(double)</code>. As
+ * the replications are numbered consecutively across batches, a replication
+ * uses the same random numbers as in a fixed-count run of the replication
+ * runner, so the results equal those of a fixed-count run with the number of
+ * replications finally needed.
+ * <p>
+ * Note that stopping as soon as the precision target is met slightly biases
+ * the coverage of the final confidence interval; a sufficient minimum number
+ * of replications (at least 5 to 10) keeps this effect small.
+ *
+ * @see ReplicationRunner
+ * @see desmoj.core.statistic.ConfidenceCalculator
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class SequentialReplicationController {
+
+	/** The replication runner running the replications. */
+	private final ReplicationRunner _runner;
+
+	/** The target relative half widths of the statistics selected, by name. */
+	private final Map<String, Double> _targets = new TreeMap<String, Double>();
+
+	/** The confidence level of the confidence intervals. */
+	private double _confidenceLevel = 0.95;
+
+	/** The number of replications to run at least. */
+	private int _minReplications = 10;
+
+	/** The number of replications to run at most. */
+	private int _maxReplications = 1000;
+
+	/** The number of replications added per batch, 0 for the parallelism. */
+	private int _batchSize = 0;
+
+	/** The number of replications run by the last call of run(). */
+	private int _replicationsRun;
+
+	/** Flag indicating all targets have been met by the last call of run(). */
+	private boolean _converged;
+
+	/** The wall clock time of the last call of run() in nanoseconds. */
+	private long _wallTimeNanos;
+
+	/**
+	 * Creates a sequential replication controller for the given replication
+	 * runner. The number of replications set at the runner is ignored.
+	 *
+	 * @param runner
+	 *            ReplicationRunner : The replication runner to run the
+	 *            replications
+	 */
+	public SequentialReplicationController(ReplicationRunner runner) {
+		_runner = runner;
+	}
+
+	/**
+	 * Selects a statistic object of the model (a <code>Tally</code>,
+	 * <code>Accumulate</code> or <code>Count</code>) to control the number of
+	 * replications with. Replications are added until the half width of the
+	 * confidence interval of the mean of this statistic's replication results
+	 * is at most the given fraction of the mean.
+	 *
+	 * @param name
+	 *            java.lang.String : The name of the statistic object
+	 * @param relativeHalfWidth
+	 *            double : The target relative half width, e.g. 0.01 for a
+	 *            precision of +/- 1%
+	 */
+	public void addTarget(String name, double relativeHalfWidth) {
+		_targets.put(name, relativeHalfWidth);
+	}
+
+	/**
+	 * Sets the confidence level of the confidence intervals. Default is 0.95.
+	 *
+	 * @param level
+	 *            double : The confidence level
+	 */
+	public void setConfidenceLevel(double level) {
+		_confidenceLevel = level;
+	}
+
+	/**
+	 * Sets the number of replications to run at least. Default is 10.
+	 *
+	 * @param minReplications
+	 *            int : The minimum number of replications, at least 2
+	 */
+	public void setMinReplications(int minReplications) {
+		_minReplications = Math.max(2, minReplications);
+	}
+
+	/**
+	 * Sets the number of replications to run at most, regardless of whether
+	 * the targets have been met. Default is 1000.
+	 *
+	 * @param maxReplications
+	 *            int : The maximum number of replications
+	 */
+	public void setMaxReplications(int maxReplications) {
+		_maxReplications = maxReplications;
+	}
+
+	/**
+	 * Sets the number of replications added per batch before checking the
+	 * targets again. Default is the parallelism of the replication runner.
+	 *
+	 * @param batchSize
+	 *            int : The number of replications per batch
+	 */
+	public void setBatchSize(int batchSize) {
+		_batchSize = batchSize;
+	}
+
+	/**
+	 * Runs replications until all targets have been met or the maximum
+	 * number of replications has been run. The results are also available
+	 * from the replication runner.
+	 *
+	 * @return java.util.Map : The merged statistics by name, sorted by name
+	 */
+	public Map<String, MergedStatistic> run() {
+
+		if (_targets.isEmpty()) {
+			throw new IllegalStateException(
+					"No target set for sequential replication control. Call addTarget(String, double) first.");
+		}
+
+		int batchSize = _batchSize > 0 ? _batchSize : _runner.getParallelism();
+		long start = System.nanoTime();
+
+		Map<String, MergedStatistic> results = new TreeMap<String, MergedStatistic>();
+		_replicationsRun = 0;
+		_converged = false;
+
+		int next = Math.min(Math.max(_minReplications, batchSize), _maxReplications);
+		while (next > 0) {
+			_runner.runReplications(_replicationsRun, next, results);
+			_replicationsRun += next;
+			_converged = targetsMet(results);
+			if (_converged) {
+				break;
+			}
+			next = Math.min(batchSize, _maxReplications - _replicationsRun);
+		}
+
+		_wallTimeNanos = System.nanoTime() - start;
+		_runner.setResults(results);
+		return _runner.getResults();
+	}
+
+	/**
+	 * Returns the number of replications run by the last call of
+	 * <code>run()</code>.
+	 *
+	 * @return int : The number of replications run
+	 */
+	public int getReplicationsRun() {
+		return _replicationsRun;
+	}
+
+	/**
+	 * Tells whether all targets have been met by the last call of
+	 * <code>run()</code>, i.e. whether it stopped before the maximum number of
+	 * replications.
+	 *
+	 * @return boolean : <code>true</code> if all targets have been met
+	 */
+	public boolean isConverged() {
+		return _converged;
+	}
+
+	/**
+	 * Returns the wall clock time of the last call of <code>run()</code>.
+	 *
+	 * @return double : The wall clock time in seconds
+	 */
+	public double getWallTime() {
+		return _wallTimeNanos / 1e9;
+	}
+
+	/**
+	 * Returns an estimate of the wall clock time saved compared to running the
+	 * maximum number of replications, extrapolating the average wall clock
+	 * time per replication of the last call of <code>run()</code>.
+	 *
+	 * @return double : The estimated wall clock time saved in seconds
+	 */
+	public double getTimeSaved() {
+		if (_replicationsRun == 0) {
+			return 0;
+		}
+		return getWallTime() / _replicationsRun
+				* (_maxReplications - _replicationsRun);
+	}
+
+	/**
+	 * Returns the relative half width of the confidence interval of the mean
+	 * of the replication results of the statistic given.
+	 *
+	 * @param name
+	 *            java.lang.String : The name of the statistic object
+	 * @return double : The relative half width, <code>NaN</code> if the
+	 *         statistic is unknown or has less than two replication results
+	 */
+	public double getRelativeHalfWidth(String name) {
+		Map<String, MergedStatistic> results = _runner.getResults();
+		MergedStatistic merged = results == null ? null : results.get(name);
+		return merged == null ? Double.NaN : relativeHalfWidth(merged);
+	}
+
+	/**
+	 * Writes a short report of the last call of <code>run()</code>: the
+	 * number of replications needed, the time saved and the precision reached
+	 * for each target.
+	 *
+	 * @param out
+	 *            java.io.PrintStream : The stream to write the report to
+	 */
+	public void report(PrintStream out) {
+		out.println("* Sequential replication control: "
+				+ _replicationsRun + " replications run in " + getWallTime()
+				+ " seconds, " + (_converged ? "all targets met" : "maximum of "
+						+ _maxReplications + " replications reached") + ".");
+		out.println("* Estimated time saved compared to " + _maxReplications
+				+ " replications: " + getTimeSaved() + " seconds.");
+		for (Map.Entry<String, Double> target : _targets.entrySet()) {
+			MergedStatistic merged = _runner.getResults() == null ? null
+					: _runner.getResults().get(target.getKey());
+			out.println("* " + target.getKey() + ": mean "
+					+ (merged == null ? Double.NaN : merged.getReplicationMean())
+					+ " +/- "
+					+ (merged == null ? Double.NaN : merged
+							.getConfidenceIntervalHalfWidth(_confidenceLevel))
+					+ " (relative half width "
+					+ getRelativeHalfWidth(target.getKey()) + ", target "
+					+ target.getValue() + ")");
+		}
+	}
+
+	/**
+	 * Checks whether the relative half widths of all statistics selected are
+	 * at most their targets.
+	 */
+	private boolean targetsMet(Map<String, MergedStatistic> results) {
+		synchronized (results) {
+			for (Map.Entry<String, Double> target : _targets.entrySet()) {
+				MergedStatistic merged = results.get(target.getKey());
+				if (merged == null) {
+					return false;
+				}
+				double relativeHalfWidth = relativeHalfWidth(merged);
+				if (Double.isNaN(relativeHalfWidth)
+						|| relativeHalfWidth > target.getValue()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the relative half width of the confidence interval of the mean
+	 * of the replication results of the merged statistic given.
+	 */
+	private double relativeHalfWidth(MergedStatistic merged) {
+		double halfWidth = merged.getConfidenceIntervalHalfWidth(_confidenceLevel);
+		if (halfWidth == 0) {
+			return 0; // also for a mean of 0
+		}
+		return halfWidth / Math.abs(merged.getReplicationMean());
+	}
+}
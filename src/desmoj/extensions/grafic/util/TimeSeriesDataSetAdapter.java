@@ -55,8 +55,9 @@ public class TimeSeriesDataSetAdapter extends AbstractXYDataset
 			this.rangeTimeUnit = this.chooseRangeTimeUnit(3);
 			this.isValid	= (this.rangeTimeUnit != null); // series has negative value
 		}
-		if(isValid)	itemCount = (int)timeSeries.getObservations();
-		else		itemCount = 0;
+		// the points retained in memory, see TimeSeries.getRetention()
+		if(isValid && timeSeries.getTimeValues() != null)	itemCount = timeSeries.getTimeValues().size();
+		else												itemCount = 0;
 		
 		seriesCount = 1;
         xValues = new Double[seriesCount][itemCount];
@@ -255,7 +256,8 @@ public class TimeSeriesDataSetAdapter extends AbstractXYDataset
 		boolean negativeTime = false;
 		// determine max observation
 		TimeSpan max = new TimeSpan(0);
-		for(int i = 0; i<timeSeries.getObservations(); i++){
+		int retained = timeSeries.getDataValues() == null ? 0 : timeSeries.getDataValues().size();
+		for(int i = 0; i<retained; i++){
 			double value 	= timeSeries.getDataValues().get(i);
 			if(value < 0.0) {negativeTime = true; break;}
 			TimeSpan time	= new TimeSpan(value);
@@ -49,7 +49,7 @@ public class EventoGeradorCliente extends ExternalEvent{
 		
 		// Criação de um novo cliente que chega à lavanderia.
 		cliente = new Cliente (modeloLavanderia, "Cliente", true);
-		modeloLavanderia.sendTraceNote ("Cliente chegou à lavanderia em " + modeloLavanderia.presentTime());
+		modeloLavanderia.sendTraceNote("Cliente chegou à lavanderia em %s", modeloLavanderia.presentTime());
 		
 		// O cliente que chegou à lavanderia deve ser servido.
 		modeloLavanderia.servirCliente(cliente);
@@ -141,6 +141,14 @@ public class Lavanderia extends Model{
 		 */
 		distribuicaoTempoChegadasClientes.setNonNegative(true);
 
+		/**
+		 * Método que faz a distribuição sortear as amostras em blocos, guardando-as em um buffer.
+		 * 
+		 * Nesse caso, são sorteadas 1024 amostras de cada vez, evitando o custo de sortear
+		 * e registrar cada amostra separadamente a cada chegada de cliente.
+		 */
+		distribuicaoTempoChegadasClientes.setPrefetchSize(1024);
+
 		/**
 		 * Criação da distribuição do tempo de serviço da máquina de lavar.
 		 * Parâmetros:
@@ -193,7 +201,7 @@ public class Lavanderia extends Model{
 	 */
 	public double getTempoEntreChegadasClientes(){
 		
-		return (distribuicaoTempoChegadasClientes.sample());
+		return (distribuicaoTempoChegadasClientes.samplePrefetched());
 	}
 	
 	/**
@@ -68,7 +68,7 @@ public class MaquinaLavar extends Entity{
 		* de acordo com a distribuição de probabilidade do tempo de serviço da máquina de lavar.
 		*/
 	   tempoLavagem = modeloLavanderia.getTempoLavagem();
-	   modeloLavanderia.sendTraceNote(this + " serve " + cliente + " por " + tempoLavagem + " minutos.");
+	   modeloLavanderia.sendTraceNote("%s serve %s por %s minutos.", this, cliente, tempoLavagem);
 	   
 	   // O evento correspondente ao término da lavagem das roupas desse cliente da lavanderia, por essa máquina de lavar, é criado...
 	   eventoTerminoLavagem = new EventoTerminoLavagem(modeloLavanderia, "Evento relacionado ao término da lavagem das roupas do cliente", true);
@@ -0,0 +1,207 @@
+package desmoj.core.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import desmoj.core.simulator.Entity;
+import desmoj.core.simulator.EventAbstract;
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.ExternalEvent;
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.TimeInstant;
+
+/**
+ * Round-trip test of the binary trace: tracenotes written by a
+ * <code>BinaryTraceOutput</code> and rendered by the
+ * <code>BinaryTraceConverter</code> have to arrive at the output with the
+ * same model, time, event, entity and description as the notes written.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class BinaryTraceRoundTripTest {
+
+	/**
+	 * The directory the binary trace logs are written to.
+	 */
+	private File _directory;
+
+	/**
+	 * The model the tracenotes originate from.
+	 */
+	private TestModel _model;
+
+	@Before
+	public void setUp() throws IOException {
+		_directory = File.createTempFile("BinaryTraceRoundTripTest", "");
+		assertTrue(_directory.delete() && _directory.mkdir());
+		Experiment experiment = new Experiment("BinaryTraceRoundTripTest",
+				false);
+		experiment.setShowProgressBar(false);
+		experiment.setSilent(true);
+		_model = new TestModel();
+		_model.connectToExperiment(experiment);
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = _directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		_directory.delete();
+	}
+
+	@Test
+	public void notesSurviveTheRoundTrip() throws IOException {
+		// a small buffer, so the simulation has to wait for the writer
+		BinaryTraceOutput output = new BinaryTraceOutput(8);
+		output.open(_directory.getPath(), "roundtrip");
+
+		List<TraceNote> written = new ArrayList<TraceNote>();
+		Entity[] entities = { new TestEntity(_model, "Customer"),
+				new TestEntity(_model, "Server"), null };
+		EventAbstract[] events = { new TestEvent(_model, "Arrival"),
+				new TestEvent(_model, "Departure"), null };
+		for (int i = 0; i < 2000; i++) {
+			TraceNote note = new TraceNote(_model, "note " + i
+					+ " \u00e4\u00f6\u00fc", new TimeInstant(i / 7),
+					entities[i % 3], events[(i / 3) % 3]);
+			written.add(note);
+			output.receive(note);
+		}
+		output.close();
+
+		RecordingOutput recording = new RecordingOutput();
+		long notes = BinaryTraceConverter.convert(output.getFileName(),
+				recording, _directory.getPath(), null);
+
+		assertEquals(written.size(), notes);
+		assertEquals(written.size(), recording.notes.size());
+		assertEquals("roundtrip", recording.name);
+		assertTrue(recording.closed);
+		for (int i = 0; i < written.size(); i++) {
+			TraceNote expected = written.get(i);
+			TraceNote actual = recording.notes.get(i);
+			assertEquals(expected.getModelName(), actual.getModelName());
+			assertEquals(expected.getTime(), actual.getTime());
+			assertEquals(expected.getEvent(), actual.getEvent());
+			assertEquals(expected.getEntity(), actual.getEntity());
+			assertEquals(expected.getDescription(), actual.getDescription());
+		}
+	}
+
+	@Test
+	public void failingWriterDoesNotBlockTheSimulation() {
+		BinaryTraceOutput output = new BinaryTraceOutput(2);
+		output.open(_directory.getPath(), "failing");
+		output.receive(new TraceNote(_model, "failing",
+				new TimeInstant(0), (Entity) null, null) {
+			public String getDescription() {
+				throw new IllegalStateException("failing note");
+			}
+		});
+		// more notes than the buffer holds, dropped once the writer failed
+		for (int i = 0; i < 100; i++) {
+			output.receive(new TraceNote(_model, "dropped " + i,
+					new TimeInstant(i), (Entity) null, null));
+		}
+		output.close();
+	}
+
+	/**
+	 * An output recording the notes rendered to it.
+	 */
+	private static class RecordingOutput implements OutputType {
+
+		final List<TraceNote> notes = new ArrayList<TraceNote>();
+
+		String name;
+
+		boolean closed;
+
+		public void open(String pathname, String name) {
+			this.name = name;
+		}
+
+		public void close() {
+			closed = true;
+		}
+
+		public String getAppendix() {
+			return ".txt";
+		}
+
+		public void receive(Message m) {
+			notes.add((TraceNote) m);
+		}
+
+		public void receive(Reporter r) {
+		}
+	}
+
+	/**
+	 * A model without events of its own.
+	 */
+	private static class TestModel extends Model {
+
+		TestModel() {
+			super(null, "BinaryTraceRoundTripModel", false, false);
+		}
+
+		public String description() {
+			return "Model of the binary trace round-trip test.";
+		}
+
+		public void doInitialSchedules() {
+		}
+
+		public void init() {
+		}
+	}
+
+	/**
+	 * An entity named as given.
+	 */
+	private static class TestEntity extends Entity {
+
+		TestEntity(Model owner, String name) {
+			super(owner, name, true);
+		}
+	}
+
+	/**
+	 * An event named as given.
+	 */
+	private static class TestEvent extends ExternalEvent {
+
+		TestEvent(Model owner, String name) {
+			super(owner, name, true);
+		}
+
+		public void eventRoutine() {
+		}
+	}
+}
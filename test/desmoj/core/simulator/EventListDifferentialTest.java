@@ -0,0 +1,195 @@
+package desmoj.core.simulator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Differential test of the event-lists: the same random sequence of
+ * schedules, schedules before and after other events, cancellations and
+ * removals of the first event-note is applied to a reference event-list and
+ * to the event-list under test, which has to keep the event-notes in exactly
+ * the same order, including the FIFO order of concurrent events.
+ * <p>
+ * The reference is the <code>SortedMapEventList</code>. The
+ * <code>EventTreeList</code> is compared with sequences of a single priority
+ * only, as its binary search may misplace an event-note among event-notes of
+ * the same point of time but different priorities.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class EventListDifferentialTest {
+
+	/**
+	 * The number of operations per sequence.
+	 */
+	private static final int OPERATIONS = 3000;
+
+	/**
+	 * The number of random sequences per event-list.
+	 */
+	private static final int SEQUENCES = 10;
+
+	@Test
+	public void eventHeapListMatchesSortedMapEventList() {
+		assertSameOrder(SortedMapEventList.class, EventHeapList.class, true);
+	}
+
+	@Test
+	public void ladderEventListMatchesSortedMapEventList() {
+		assertSameOrder(SortedMapEventList.class, LadderEventList.class, true);
+	}
+
+	@Test
+	public void eventHeapListMatchesEventTreeList() {
+		assertSameOrder(EventTreeList.class, EventHeapList.class, false);
+	}
+
+	@Test
+	public void ladderEventListMatchesEventTreeList() {
+		assertSameOrder(EventTreeList.class, LadderEventList.class, false);
+	}
+
+	@Test
+	public void sortedMapEventListMatchesEventTreeList() {
+		assertSameOrder(EventTreeList.class, SortedMapEventList.class, false);
+	}
+
+	/**
+	 * Applies the random sequences to the given event-lists and compares the
+	 * order of the event-notes after each sequence as well as the order they
+	 * are removed in.
+	 */
+	private static void assertSameOrder(Class<? extends EventList> reference,
+			Class<? extends EventList> eventList, boolean priorities) {
+		for (long seed = 1; seed <= SEQUENCES; seed++) {
+			assertArrayEquals(eventList.getSimpleName() + ", seed " + seed,
+					run(reference, seed, priorities),
+					run(eventList, seed, priorities));
+		}
+	}
+
+	/**
+	 * Applies the random sequence of the given seed to a new experiment using
+	 * the given event-list, scheduling events with priorities from 0 to 2 or
+	 * with priority 0 only. Returns the numbers of the events in the order of
+	 * the event-list after the sequence, followed by the numbers of the
+	 * events removed by the sequence and while emptying the event-list.
+	 */
+	private static long[] run(Class<? extends EventList> eventList, long seed,
+			boolean priorities) {
+		Experiment experiment = new Experiment("EventListDifferentialTest"
+				+ seed, false);
+		experiment.setShowProgressBar(false);
+		experiment.setSilent(true);
+		TestModel model = new TestModel();
+		model.connectToExperiment(experiment);
+		experiment.setEventList(eventList);
+		Scheduler scheduler = experiment.getScheduler();
+
+		Random random = new Random(seed);
+		List<TestEvent> scheduled = new ArrayList<TestEvent>();
+		List<Long> removed = new ArrayList<Long>();
+		int number = 0;
+		for (int i = 0; i < OPERATIONS; i++) {
+			int operation = random.nextInt(10);
+			if (operation < 5 || scheduled.isEmpty()) {
+				// few distinct points of time and priorities to get ties
+				TestEvent event = new TestEvent(model, number++);
+				int priority = random.nextInt(3);
+				event.setSchedulingPriority(priorities ? priority : 0);
+				event.schedule(new TimeInstant(random.nextInt(200)));
+				scheduled.add(event);
+			} else if (operation < 7) {
+				TestEvent reference = scheduled.get(random.nextInt(scheduled
+						.size()));
+				TestEvent event = new TestEvent(model, number++);
+				if (operation == 5) {
+					event.scheduleBefore(reference);
+				} else {
+					event.scheduleAfter(reference);
+				}
+				scheduled.add(event);
+			} else if (operation < 9) {
+				TestEvent event = scheduled.remove(random.nextInt(scheduled
+						.size()));
+				event.cancel();
+			} else {
+				TestEvent event = (TestEvent) scheduler.evList.removeFirst()
+						.getEvent();
+				scheduled.remove(event);
+				removed.add(event.number);
+			}
+			assertEquals(scheduled.size(), scheduler.evList.size());
+		}
+
+		EventNote[] notes = scheduler.evList.toArray();
+		long[] order = new long[notes.length + removed.size() + notes.length];
+		int n = 0;
+		for (EventNote note : notes) {
+			order[n++] = ((TestEvent) note.getEvent()).number;
+		}
+		for (Long event : removed) {
+			order[n++] = event;
+		}
+		while (!scheduler.evList.isEmpty()) {
+			order[n++] = ((TestEvent) scheduler.evList.removeFirst()
+					.getEvent()).number;
+		}
+		assertEquals(order.length, n);
+		return order;
+	}
+
+	/**
+	 * A model without events of its own.
+	 */
+	private static class TestModel extends Model {
+
+		TestModel() {
+			super(null, "EventListDifferentialTest", false, false);
+		}
+
+		public String description() {
+			return "Model of the event-list differential test.";
+		}
+
+		public void doInitialSchedules() {
+		}
+
+		public void init() {
+		}
+	}
+
+	/**
+	 * An event identified by the number of its creation.
+	 */
+	private static class TestEvent extends ExternalEvent {
+
+		final long number;
+
+		TestEvent(Model owner, long number) {
+			super(owner, "TestEvent", false);
+			this.number = number;
+		}
+
+		public void eventRoutine() {
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package desmoj.core.statistic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import desmoj.core.simulator.Experiment;
+import desmoj.core.simulator.Model;
+
+/**
+ * Accuracy test of <code>BatchMeans</code>: a correlated autoregressive
+ * process starting far off its steady state is observed, so the overall mean
+ * is biased by the warm-up period. MSER-5 has to truncate the warm-up period
+ * and the confidence interval of the steady-state mean has to cover the true
+ * mean.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class BatchMeansTest {
+
+	/**
+	 * The steady-state mean of the process observed.
+	 */
+	private static final double MEAN = 10;
+
+	/**
+	 * The value the process starts at, far below its steady-state mean.
+	 */
+	private static final double START = MEAN - 200;
+
+	/**
+	 * The autocorrelation of successive values of the process.
+	 */
+	private static final double CORRELATION = 0.99;
+
+	/**
+	 * The standard deviation of the noise added to each value.
+	 */
+	private static final double NOISE = 0.1;
+
+	/**
+	 * The model the statistic objects belong to.
+	 */
+	private TestModel _model;
+
+	@Before
+	public void setUp() {
+		Experiment experiment = new Experiment("BatchMeansTest", false);
+		experiment.setShowProgressBar(false);
+		experiment.setSilent(true);
+		_model = new TestModel();
+		_model.connectToExperiment(experiment);
+	}
+
+	@Test
+	public void warmUpIsTruncatedAndMeanIsCovered() {
+		BatchMeans batchMeans = new BatchMeans(_model, "BatchMeans", false,
+				false);
+		observe(batchMeans, 100000, 1);
+
+		// the transient decays by a factor of 0.99 per value, i.e. is
+		// negligible after about a thousand values, but biases the overall
+		// mean by about 0.2
+		long warmUp = batchMeans.getWarmUpObservations();
+		assertTrue("warm-up " + warmUp, warmUp > 100 && warmUp < 10000);
+		assertEquals(100000, warmUp + batchMeans.getSteadyStateObservations(),
+				5 * batchMeans.getBatchSize());
+
+		assertTrue(batchMeans.hasSufficientBatches());
+		double lower = batchMeans
+				.getConfidenceIntervalOfSteadyStateMeanLowerBound();
+		double upper = batchMeans
+				.getConfidenceIntervalOfSteadyStateMeanUpperBound();
+		assertTrue(lower + " .. " + upper, lower < MEAN && MEAN < upper);
+		assertTrue(upper - lower < 0.1 * MEAN);
+
+		// closer to the steady-state mean than the biased overall mean
+		assertTrue(Math.abs(batchMeans.getSteadyStateMean() - MEAN) < Math
+				.abs(batchMeans.getMean() - MEAN));
+	}
+
+	@Test
+	public void memoryIsBounded() {
+		BatchMeans batchMeans = new BatchMeans(_model, "BatchMeans", 40,
+				false, false);
+		observe(batchMeans, 100000, 2);
+		assertTrue(batchMeans.getNumberOfBatches() <= 40);
+		assertTrue(batchMeans.getBatchSize() >= 100000 / 40 / 2);
+	}
+
+	@Test
+	public void tooFewValuesGiveNoConfidenceInterval() {
+		BatchMeans batchMeans = new BatchMeans(_model, "BatchMeans", false,
+				false);
+		observe(batchMeans, 50, 3);
+		assertFalse(batchMeans.hasSufficientBatches());
+	}
+
+	/**
+	 * Updates the given batch means with the given number of values of an
+	 * autoregressive process of order 1 starting far below its steady-state
+	 * mean.
+	 */
+	private static void observe(BatchMeans batchMeans, int values, long seed) {
+		Random random = new Random(seed);
+		double x = START;
+		for (int i = 0; i < values; i++) {
+			x = MEAN + CORRELATION * (x - MEAN) + NOISE
+					* random.nextGaussian();
+			batchMeans.update(x);
+		}
+	}
+
+	/**
+	 * A model without events of its own.
+	 */
+	private static class TestModel extends Model {
+
+		TestModel() {
+			super(null, "BatchMeansTest", false, false);
+		}
+
+		public String description() {
+			return "Model of the batch means test.";
+		}
+
+		public void doInitialSchedules() {
+		}
+
+		public void init() {
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package desmoj.core.statistic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Accuracy test of the <code>TDigest</code>: the quantiles of lognormally
+ * distributed values, whose upper tail is heavy, are compared with the exact
+ * quantiles of the values, for a single t-digest as well as for t-digests
+ * merged like those of several replications.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class TDigestTest {
+
+	/**
+	 * The number of values added.
+	 */
+	private static final int VALUES = 200000;
+
+	/**
+	 * The number of t-digests merged.
+	 */
+	private static final int REPLICATIONS = 10;
+
+	@Test
+	public void quantilesOfHeavyTailAreAccurate() {
+		double[] values = lognormalValues(42);
+		TDigest digest = new TDigest(QuantileTally.DEFAULT_COMPRESSION);
+		for (double value : values) {
+			digest.add(value);
+		}
+		assertAccurate(digest, values);
+		assertTrue(digest.getCentroidCount() < 2
+				* QuantileTally.DEFAULT_COMPRESSION);
+	}
+
+	@Test
+	public void mergedQuantilesAreAccurate() {
+		double[] values = lognormalValues(7);
+		TDigest[] digests = new TDigest[REPLICATIONS];
+		for (int i = 0; i < REPLICATIONS; i++) {
+			digests[i] = new TDigest(QuantileTally.DEFAULT_COMPRESSION);
+		}
+		for (int i = 0; i < values.length; i++) {
+			digests[i % REPLICATIONS].add(values[i]);
+		}
+		TDigest merged = new TDigest(QuantileTally.DEFAULT_COMPRESSION);
+		for (TDigest digest : digests) {
+			merged.merge(digest);
+		}
+		assertAccurate(merged, values);
+	}
+
+	@Test
+	public void extremesAreExact() {
+		TDigest digest = new TDigest(100);
+		assertTrue(Double.isNaN(digest.getQuantile(0.5)));
+		for (int i = 1; i <= 1000; i++) {
+			digest.add(i);
+			digest.add(Double.NaN);
+		}
+		assertEquals(1000, digest.getCount());
+		assertEquals(1, digest.getQuantile(0), 0);
+		assertEquals(1000, digest.getQuantile(1), 0);
+		assertEquals(1, digest.getMinimum(), 0);
+		assertEquals(1000, digest.getMaximum(), 0);
+	}
+
+	/**
+	 * Asserts that the quantiles of the given t-digest are within a small
+	 * error of the rank of the exact quantiles of the given values, which
+	 * is smaller the more extreme the quantile, and that the 99.9% quantile
+	 * is within 2% of its exact value.
+	 */
+	private static void assertAccurate(TDigest digest, double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int n = sorted.length;
+		assertEquals(n, digest.getCount());
+		assertEquals(sorted[0], digest.getMinimum(), 0);
+		assertEquals(sorted[n - 1], digest.getMaximum(), 0);
+
+		double[] quantiles = { 0.5, 0.9, 0.99, 0.999 };
+		double[] rankErrors = { 0.005, 0.005, 0.0005, 0.0001 };
+		for (int i = 0; i < quantiles.length; i++) {
+			double estimate = digest.getQuantile(quantiles[i]);
+			int rank = Arrays.binarySearch(sorted, estimate);
+			if (rank < 0) {
+				rank = -rank - 1;
+			}
+			assertEquals("rank of quantile " + quantiles[i], quantiles[i] * n,
+					rank, rankErrors[i] * n);
+		}
+		double exact = sorted[(int) Math.ceil(0.999 * n) - 1];
+		assertEquals("99.9% quantile", exact, digest.getQuantile(0.999),
+				0.02 * exact);
+	}
+
+	/**
+	 * Returns lognormally distributed values (sigma 1.5) of the given seed.
+	 */
+	private static double[] lognormalValues(long seed) {
+		Random random = new Random(seed);
+		double[] values = new double[VALUES];
+		for (int i = 0; i < VALUES; i++) {
+			values[i] = Math.exp(1.5 * random.nextGaussian());
+		}
+		return values;
+	}
+}
@@ -0,0 +1,168 @@
+package desmoj.extensions.experimentation.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import desmoj.core.dist.ContDistExponential;
+import desmoj.core.simulator.ExternalEvent;
+import desmoj.core.simulator.Model;
+import desmoj.core.simulator.TimeInstant;
+import desmoj.core.simulator.TimeSpan;
+import desmoj.core.statistic.MergedStatistic;
+import desmoj.core.statistic.Tally;
+
+/**
+ * Convergence test of the <code>SequentialReplicationController</code>:
+ * replications of a model observing exponentially distributed values are
+ * added until the confidence interval of the mean is narrow enough. The
+ * controller has to stop as soon as the target is met, to report the
+ * precision reached and to produce the same results as a fixed-count run of
+ * the number of replications it needed.
+ *
+ * @version DESMO-J, Ver. 2.5.1e copyright (c) 2017
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS"
+ * BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+public class SequentialReplicationControllerTest {
+
+	/**
+	 * The mean of the values observed.
+	 */
+	private static final double MEAN = 2;
+
+	/**
+	 * The target relative half width of the confidence interval.
+	 */
+	private static final double TARGET = 0.02;
+
+	@Test
+	public void stopsOnceTheTargetIsMet() {
+		SequentialReplicationController controller = new SequentialReplicationController(
+				createRunner());
+		controller.addTarget("Values", TARGET);
+		controller.setMinReplications(5);
+		controller.setMaxReplications(200);
+		Map<String, MergedStatistic> results = controller.run();
+
+		assertTrue(controller.isConverged());
+		int replications = controller.getReplicationsRun();
+		assertTrue("replications " + replications, replications >= 5
+				&& replications < 200);
+		assertTrue(controller.getRelativeHalfWidth("Values") <= TARGET);
+
+		MergedStatistic values = results.get("Values");
+		assertEquals(replications, values.getReplications());
+		assertEquals(MEAN, values.getReplicationMean(), values
+				.getConfidenceIntervalHalfWidth(0.999));
+	}
+
+	@Test
+	public void equalsFixedCountRun() {
+		SequentialReplicationController controller = new SequentialReplicationController(
+				createRunner());
+		controller.addTarget("Values", TARGET);
+		controller.setBatchSize(3);
+		MergedStatistic sequential = controller.run().get("Values");
+
+		ReplicationRunner runner = createRunner();
+		runner.setReplications(controller.getReplicationsRun());
+		MergedStatistic fixed = runner.run().get("Values");
+
+		assertEquals(fixed.getReplications(), sequential.getReplications());
+		assertEquals(fixed.getObservations(), sequential.getObservations());
+		assertEquals(fixed.getReplicationMean(), sequential
+				.getReplicationMean(), 1e-12);
+		assertEquals(fixed.getReplicationStdDev(), sequential
+				.getReplicationStdDev(), 1e-12);
+	}
+
+	@Test
+	public void stopsAtTheMaximumIfTheTargetIsUnreachable() {
+		SequentialReplicationController controller = new SequentialReplicationController(
+				createRunner());
+		controller.addTarget("Values", 1e-6);
+		controller.setMaxReplications(12);
+		controller.run();
+
+		assertFalse(controller.isConverged());
+		assertEquals(12, controller.getReplicationsRun());
+		assertTrue(controller.getRelativeHalfWidth("Values") > 1e-6);
+	}
+
+	/**
+	 * Returns a replication runner of two workers for the test model.
+	 */
+	private static ReplicationRunner createRunner() {
+		ReplicationRunner runner = new ReplicationRunner(
+				"SequentialReplicationControllerTest",
+				new ReplicationRunner.ModelFactory() {
+					public Model createModel(int replication) {
+						return new TestModel();
+					}
+				});
+		runner.setParallelism(2);
+		runner.setStopTime(new TimeInstant(1000));
+		return runner;
+	}
+
+	/**
+	 * A model observing exponentially distributed values, each one after a
+	 * delay of the value observed.
+	 */
+	private static class TestModel extends Model {
+
+		ContDistExponential distribution;
+
+		Tally values;
+
+		TestModel() {
+			super(null, "SequentialReplicationControllerTest", false, false);
+		}
+
+		public String description() {
+			return "Model of the sequential replication controller test.";
+		}
+
+		public void doInitialSchedules() {
+			new Observation(this).schedule(new TimeSpan(0));
+		}
+
+		public void init() {
+			distribution = new ContDistExponential(this, "Distribution",
+					MEAN, false, false);
+			values = new Tally(this, "Values", false, false);
+		}
+	}
+
+	/**
+	 * An event observing a value and scheduling the next observation.
+	 */
+	private static class Observation extends ExternalEvent {
+
+		Observation(TestModel owner) {
+			super(owner, "Observation", false);
+		}
+
+		public void eventRoutine() {
+			TestModel model = (TestModel) getModel();
+			double value = model.distribution.sample();
+			model.values.update(value);
+			schedule(new TimeSpan(value));
+		}
+	}
+}